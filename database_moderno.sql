@@ -5,6 +5,10 @@
 -- Data: 2024
 -- Descrição: Script completo para recriação do banco de dados
 -- Inclui: Estrutura básica + funcionalidades avançadas + dados iniciais
+--
+-- O esquema da aplicação é mantido pelas migrações em src/main/resources/db/migration
+-- (Flyway); este script fica só como referência. Um banco criado por ele não pode ser
+-- atualizado pelas migrações: crie o banco vazio pelo Flyway e copie os dados.
 
 -- 1. Criação do banco
 DROP DATABASE IF EXISTS teatro_db;
@@ -237,11 +241,13 @@ CREATE INDEX idx_reservas_status ON reservas(status);
 
 CREATE INDEX idx_pontos_usuario ON pontos_fidelidade(usuario_id);
 CREATE INDEX idx_notificacoes_usuario ON notificacoes(usuario_id, lida);
+CREATE INDEX idx_notificacoes_usuario_id ON notificacoes(usuario_id, id);
 CREATE INDEX idx_logs_usuario ON logs_auditoria(usuario_id);
 CREATE INDEX idx_logs_acao ON logs_auditoria(acao, data_acao);
 CREATE INDEX idx_cupons_codigo ON cupons(codigo);
 CREATE INDEX idx_cupons_data ON cupons(data_inicio, data_fim);
-CREATE INDEX idx_avaliacoes_sessao ON avaliacoes(sessao_id);
+CREATE INDEX idx_avaliacoes_sessao ON avaliacoes(sessao_id, id);
+CREATE INDEX idx_avaliacoes_usuario ON avaliacoes(usuario_id, sessao_id);
 
 -- ========================================
 -- DADOS INICIAIS
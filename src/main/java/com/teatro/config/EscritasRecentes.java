@@ -0,0 +1,69 @@
+package com.teatro.config;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.teatro.security.UsuarioPrincipal;
+import com.teatro.util.CacheLimitado;
+
+/**
+ * Registro em memória dos usuários que escreveram há pouco, para ler as próprias escritas
+ *
+ * A réplica fica alguns instantes atrás do primário; quem acabou de comprar um ingresso e abre a
+ * lista dos seus ingressos não pode deixar de vê-lo. Depois do commit de uma escrita o usuário
+ * fica marcado por {@code janelaLeituraPropriaMs} e, enquanto isso, as transações somente leitura
+ * da requisição dele continuam no primário. Acima do máximo de usuários acompanhados, entradas
+ * arbitrárias são descartadas e essas leituras voltam à réplica antes do fim da janela.
+ */
+@Component
+public class EscritasRecentes {
+
+  private final boolean habilitada;
+  private final long janelaMs;
+  private final CacheLimitado<Long, Boolean> usuarios;
+
+  public EscritasRecentes(ReplicaLeituraProperties propriedades) {
+    this.habilitada = propriedades.isHabilitada();
+    this.janelaMs = propriedades.getJanelaLeituraPropriaMs();
+    this.usuarios = new CacheLimitado<>(propriedades.getMaximoUsuarios());
+  }
+
+  /**
+   * Marca uma escrita do usuário, a partir do commit da transação corrente (ou de agora, fora de
+   * transação)
+   */
+  public void registrar(Long usuarioId) {
+    if (!habilitada || usuarioId == null) {
+      return;
+    }
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          marcar(usuarioId);
+        }
+      });
+    } else {
+      marcar(usuarioId);
+    }
+  }
+
+  /**
+   * Verifica se o usuário autenticado na thread corrente escreveu dentro da janela
+   */
+  public boolean usuarioAtualEscreveuRecentemente() {
+    Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+    if (autenticacao == null
+        || !(autenticacao.getPrincipal() instanceof UsuarioPrincipal principal)) {
+      return false;
+    }
+    return usuarios.obter(principal.getId(), System.currentTimeMillis()) != null;
+  }
+
+  private void marcar(Long usuarioId) {
+    long agora = System.currentTimeMillis();
+    usuarios.guardar(usuarioId, Boolean.TRUE, agora + janelaMs, agora);
+  }
+}
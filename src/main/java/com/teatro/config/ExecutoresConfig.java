@@ -0,0 +1,123 @@
+package com.teatro.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.teatro.model.Notificacao;
+
+/**
+ * Configuração dos executores usados fora da thread da requisição
+ *
+ * Quando a JVM oferece virtual threads (Java 21+), o executor das estatísticas usa uma virtual
+ * thread por tarefa; caso contrário usa um pool limitado que recusa o excedente quando a fila
+ * enche. Nos dois casos o EstatisticasService limita as seções em andamento a um número de
+ * conexões abaixo do pool do banco.
+ */
+@Configuration
+public class ExecutoresConfig {
+
+  private static final Logger log = LoggerFactory.getLogger(ExecutoresConfig.class);
+
+  @Bean(name = "executorEstatisticas")
+  public ExecutorService executorEstatisticas(
+      @Value("${teatro.estatisticas.executor.threads:8}") int threads,
+      @Value("${teatro.estatisticas.executor.fila:64}") int fila) {
+    ExecutorService virtual = criarExecutorVirtual();
+    if (virtual != null) {
+      log.info("Executor de estatísticas usando virtual threads");
+      return virtual;
+    }
+
+    AtomicInteger contador = new AtomicInteger();
+    ThreadFactory fabrica = tarefa -> {
+      Thread thread = new Thread(tarefa, "estatisticas-" + contador.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(fila), fabrica, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Executor do hashing de senhas (BCrypt)
+   *
+   * Trabalho de CPU, portanto nunca usa virtual threads: poucas threads de plataforma e fila curta
+   * que recusa o excedente em vez de executar na thread da requisição.
+   */
+  @Bean(name = "executorSenhas", destroyMethod = "shutdown")
+  public ThreadPoolExecutor executorSenhas(
+      @Value("${teatro.autenticacao.senhas.threads:0}") int threads,
+      @Value("${teatro.autenticacao.senhas.fila:32}") int fila) {
+    int total = threads > 0 ? threads
+        : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    AtomicInteger contador = new AtomicInteger();
+    ThreadFactory fabrica = tarefa -> {
+      Thread thread = new Thread(tarefa, "senhas-" + contador.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ThreadPoolExecutor(total, total, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(fila), fabrica, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Executor do processamento do outbox
+   *
+   * O OutboxService limita os eventos em andamento a {@code paralelismo}; a thread extra e a fila
+   * acomodam as varreduras disparadas após cada commit. O excedente é recusado e fica para a
+   * varredura periódica.
+   */
+  @Bean(name = "executorOutbox", destroyMethod = "shutdown")
+  public ThreadPoolExecutor executorOutbox(
+      @Value("${teatro.outbox.paralelismo:4}") int paralelismo) {
+    AtomicInteger contador = new AtomicInteger();
+    ThreadFactory fabrica = tarefa -> {
+      Thread thread = new Thread(tarefa, "outbox-" + contador.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ThreadPoolExecutor(paralelismo + 1, paralelismo + 1, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(paralelismo + 1), fabrica, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Executor da entrega de notificações pelos canais externos
+   *
+   * Cada tarefa percorre os destinatários de um canal respeitando o limite de envios dele, então
+   * passa a maior parte do tempo esperando; há uma thread por tipo de canal. Com a fila cheia a
+   * tarefa é recusada: rodar na thread chamadora prenderia o processador do outbox durante toda a
+   * entrega limitada.
+   */
+  @Bean(name = "executorNotificacoes", destroyMethod = "shutdown")
+  public ThreadPoolExecutor executorNotificacoes(
+      @Value("${teatro.notificacoes.fila:64}") int fila) {
+    int threads = Notificacao.Tipo.values().length;
+    AtomicInteger contador = new AtomicInteger();
+    ThreadFactory fabrica = tarefa -> {
+      Thread thread = new Thread(tarefa, "notificacoes-" + contador.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(fila), fabrica, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  private static ExecutorService criarExecutorVirtual() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+}
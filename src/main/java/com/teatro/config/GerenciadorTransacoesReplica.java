@@ -0,0 +1,57 @@
+package com.teatro.config;
+
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Gerenciador de transações JPA que não popula o cache de segundo nível com leituras da réplica
+ *
+ * A réplica fica atrás do primário; uma entidade lida dela e guardada no cache continuaria
+ * desatualizada até o TTL da região, inclusive para as transações de escrita. Nas transações que o
+ * {@link RoteamentoDataSource} envia à réplica, o EntityManager passa a consultar o cache sem
+ * gravar nele ({@link CacheStoreMode#BYPASS}); o cache só recebe o que foi lido do primário ou
+ * gravado pela aplicação. O modo padrão volta ao fim da transação, já que o EntityManager da
+ * requisição (open-in-view) é reaproveitado pelas transações seguintes.
+ */
+public class GerenciadorTransacoesReplica extends JpaTransactionManager {
+
+  static final String PROPRIEDADE_ARMAZENAMENTO = "jakarta.persistence.cache.storeMode";
+
+  private final EscritasRecentes escritasRecentes;
+
+  public GerenciadorTransacoesReplica(EscritasRecentes escritasRecentes) {
+    this.escritasRecentes = escritasRecentes;
+  }
+
+  @Override
+  protected void doBegin(Object transaction, TransactionDefinition definition) {
+    super.doBegin(transaction, definition);
+    if (RoteamentoDataSource.destino(definition.isReadOnly(),
+        escritasRecentes) == RoteamentoDataSource.Destino.REPLICA) {
+      EntityManager entityManager = entityManagerAtual();
+      if (entityManager != null) {
+        entityManager.setProperty(PROPRIEDADE_ARMAZENAMENTO, CacheStoreMode.BYPASS);
+      }
+    }
+  }
+
+  @Override
+  protected void doCleanupAfterCompletion(Object transaction) {
+    EntityManager entityManager = entityManagerAtual();
+    if (entityManager != null && entityManager.isOpen()
+        && entityManager.getProperties().get(PROPRIEDADE_ARMAZENAMENTO) == CacheStoreMode.BYPASS) {
+      entityManager.setProperty(PROPRIEDADE_ARMAZENAMENTO, CacheStoreMode.USE);
+    }
+    super.doCleanupAfterCompletion(transaction);
+  }
+
+  private EntityManager entityManagerAtual() {
+    EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager
+        .getResource(obtainEntityManagerFactory());
+    return holder != null ? holder.getEntityManager() : null;
+  }
+}
@@ -0,0 +1,33 @@
+package com.teatro.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.teatro.security.JwtTokenProvider;
+import com.teatro.service.MetricasService;
+
+/**
+ * Configuração do limite de requisições
+ *
+ * O filtro é registrado logo antes da cadeia do Spring Security, depois apenas do filtro de
+ * métricas, para que as recusas também apareçam nas latências.
+ */
+@Configuration
+@EnableConfigurationProperties(LimitesRequisicaoProperties.class)
+@ConditionalOnProperty(prefix = "teatro.limites", name = "habilitado", matchIfMissing = true)
+public class LimiteRequisicoesConfig {
+
+  @Bean
+  public FilterRegistrationBean<LimiteRequisicoesFilter> limiteRequisicoesFilter(
+      LimitesRequisicaoProperties propriedades, JwtTokenProvider tokenProvider,
+      MetricasService metricasService) {
+    FilterRegistrationBean<LimiteRequisicoesFilter> registro = new FilterRegistrationBean<>(
+        new LimiteRequisicoesFilter(propriedades, tokenProvider, metricasService));
+    registro.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+    registro.addUrlPatterns("/*");
+    return registro;
+  }
+}
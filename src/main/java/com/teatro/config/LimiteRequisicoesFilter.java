@@ -0,0 +1,151 @@
+package com.teatro.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.teatro.security.JwtTokenProvider;
+import com.teatro.service.MetricasService;
+import com.teatro.util.BaldeGcra;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro de limite de requisições por usuário (ou IP) e classe de endpoint
+ *
+ * Roda antes da cadeia de segurança, de modo que um cliente abusivo custa apenas uma consulta ao
+ * mapa de baldes, sem autenticação nem acesso ao banco. A identidade é o id do usuário quando há
+ * um JWT válido (verificação servida pelo cache do JwtTokenProvider) e o IP de origem nos demais
+ * casos. Cada par classe/identidade tem um BaldeGcra; o ConcurrentHashMap já distribui os locks
+ * de escrita por bin e as leituras não bloqueiam. Baldes ociosos são descartados periodicamente
+ * pela própria requisição que encontra o prazo de limpeza vencido.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+  private static final long NANOS_POR_SEGUNDO = 1_000_000_000L;
+
+  private final JwtTokenProvider tokenProvider;
+  private final List<ClasseEndpoint> classes = new ArrayList<>();
+  private final Map<String, BaldeGcra> baldes = new ConcurrentHashMap<>();
+  private final AntPathMatcher matcher = new AntPathMatcher();
+  private final long ociosidadeMaximaNanos;
+  private final long intervaloLimpezaNanos;
+  private final AtomicLong proximaLimpeza;
+
+  public LimiteRequisicoesFilter(LimitesRequisicaoProperties propriedades,
+      JwtTokenProvider tokenProvider, MetricasService metricasService) {
+    this.tokenProvider = tokenProvider;
+    this.ociosidadeMaximaNanos = TimeUnit.MILLISECONDS.toNanos(propriedades.getOciosidadeMaximaMs());
+    this.intervaloLimpezaNanos = TimeUnit.MILLISECONDS.toNanos(propriedades.getIntervaloLimpezaMs());
+    this.proximaLimpeza = new AtomicLong(System.nanoTime() + intervaloLimpezaNanos);
+
+    propriedades.getClasses().forEach((nome, classe) -> classes.add(new ClasseEndpoint(nome,
+        classe, metricasService.contador("teatro_limite_rejeicoes_total",
+            "Requisições recusadas pelo limite de requisições", "classe", nome))));
+    metricasService.medidor("teatro_limite_baldes", "Baldes de limite de requisições em memória",
+        baldes::size);
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    String caminho = request.getRequestURI().substring(request.getContextPath().length());
+    ClasseEndpoint classe = classificar(request.getMethod(), caminho);
+    if (classe == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    long agora = System.nanoTime();
+    limparOciosos(agora);
+
+    String chave = classe.nome + '|' + identificar(request);
+    BaldeGcra balde = baldes.get(chave);
+    if (balde == null) {
+      balde = baldes.computeIfAbsent(chave, c -> new BaldeGcra(agora));
+    }
+
+    long espera = balde.consumir(agora, classe.intervaloNanos, classe.toleranciaNanos);
+    if (espera > 0) {
+      classe.rejeicoes.increment();
+      long segundos = Math.max(1, (espera + NANOS_POR_SEGUNDO - 1) / NANOS_POR_SEGUNDO);
+      response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+      response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  private ClasseEndpoint classificar(String metodo, String caminho) {
+    for (ClasseEndpoint classe : classes) {
+      if (!classe.metodos.isEmpty() && !classe.metodos.contains(metodo)) {
+        continue;
+      }
+      for (String rota : classe.rotas) {
+        if (matcher.match(rota, caminho)) {
+          return classe;
+        }
+      }
+    }
+    return null;
+  }
+
+  private String identificar(HttpServletRequest request) {
+    String autorizacao = request.getHeader(HttpHeaders.AUTHORIZATION);
+    if (autorizacao != null && autorizacao.startsWith("Bearer ")) {
+      Claims claims = tokenProvider.obterClaimsValidas(autorizacao.substring(7));
+      if (claims != null) {
+        Object usuarioId = claims.get(JwtTokenProvider.CLAIM_USUARIO_ID);
+        return "u:" + (usuarioId != null ? usuarioId : claims.getSubject());
+      }
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+
+  private void limparOciosos(long agora) {
+    long prazo = proximaLimpeza.get();
+    if (agora - prazo < 0 || !proximaLimpeza.compareAndSet(prazo, agora + intervaloLimpezaNanos)) {
+      return;
+    }
+    long limite = agora - ociosidadeMaximaNanos;
+    baldes.values().removeIf(balde -> balde.ocioso(limite));
+  }
+
+  private static final class ClasseEndpoint {
+    private final String nome;
+    private final List<String> rotas;
+    private final Set<String> metodos;
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final LongAdder rejeicoes;
+
+    private ClasseEndpoint(String nome, LimitesRequisicaoProperties.Classe classe,
+        LongAdder rejeicoes) {
+      if (classe.getCapacidade() <= 0 || classe.getRecargaPorSegundo() <= 0) {
+        throw new IllegalArgumentException(
+            "Capacidade e recarga do limite '" + nome + "' devem ser positivas");
+      }
+      this.nome = nome;
+      this.rotas = List.copyOf(classe.getRotas());
+      this.metodos = classe.getMetodos().stream().map(m -> m.toUpperCase(Locale.ROOT))
+          .collect(Collectors.toUnmodifiableSet());
+      this.intervaloNanos = Math.max(1, (long) (NANOS_POR_SEGUNDO / classe.getRecargaPorSegundo()));
+      this.toleranciaNanos = intervaloNanos * (classe.getCapacidade() - 1);
+      this.rejeicoes = rejeicoes;
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.teatro.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Limites de requisições por classe de endpoint (teatro.limites)
+ *
+ * As classes são avaliadas na ordem do application.yml e a primeira cujas rotas e métodos casam
+ * com a requisição é aplicada.
+ */
+@Data
+@ConfigurationProperties(prefix = "teatro.limites")
+public class LimitesRequisicaoProperties {
+
+  private boolean habilitado = true;
+
+  /**
+   * Baldes cheios há mais que esse tempo são descartados
+   */
+  private long ociosidadeMaximaMs = 600000;
+
+  private long intervaloLimpezaMs = 60000;
+
+  private Map<String, Classe> classes = new LinkedHashMap<>();
+
+  @Data
+  public static class Classe {
+
+    /**
+     * Padrões Ant relativos ao context-path, por exemplo /ingressos/**
+     */
+    private List<String> rotas = new ArrayList<>();
+
+    /**
+     * Métodos HTTP cobertos; vazio cobre todos
+     */
+    private List<String> metodos = new ArrayList<>();
+
+    /**
+     * Tamanho da rajada aceita de uma vez
+     */
+    private int capacidade = 10;
+
+    /**
+     * Tokens recarregados por segundo
+     */
+    private double recargaPorSegundo = 1.0;
+  }
+}
@@ -0,0 +1,148 @@
+package com.teatro.config;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import com.teatro.service.MetricasService;
+import com.teatro.util.HistogramaLatencia;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+/**
+ * Configuração da instrumentação de latência e das métricas do pool de conexões
+ *
+ * - Filtro HTTP com histograma por método de controller - Interceptor em todos os repositories
+ * Spring Data com histograma por método - Rastreador do Hikari com espera por conexão, uso e
+ * timeouts
+ */
+@Configuration
+public class MetricasConfig {
+
+  @Bean
+  public FilterRegistrationBean<MetricasFilter> metricasFilter(MetricasService metricasService) {
+    FilterRegistrationBean<MetricasFilter> registro =
+        new FilterRegistrationBean<>(new MetricasFilter(metricasService));
+    registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    registro.addUrlPatterns("/*");
+    return registro;
+  }
+
+  /**
+   * Instrumenta repositories e o pool de conexões antes de serem inicializados
+   *
+   * O MetricasService é resolvido sob demanda para não antecipar a criação de beans comuns.
+   */
+  @Bean
+  public static BeanPostProcessor metricasPostProcessor(ObjectProvider<MetricasService> metricas) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> fabrica) {
+          fabrica.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+              (proxyFactory, informacao) -> proxyFactory.addAdvice(0, new RepositorioInterceptor(
+                  metricas, informacao.getRepositoryInterface().getSimpleName()))));
+        }
+        if (bean instanceof HikariDataSource dataSource && !dataSource.isRunning()) {
+          dataSource.setMetricsTrackerFactory(new PoolMetricsTrackerFactory(metricas));
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Mede cada chamada de método de um repository
+   */
+  private static final class RepositorioInterceptor implements MethodInterceptor {
+    private static final String METRICA = "teatro_repositorio_latencia_segundos";
+    private static final String DESCRICAO = "Latência dos métodos de repository";
+
+    private final ObjectProvider<MetricasService> metricas;
+    private final String repositorio;
+    private final Map<Method, HistogramaLatencia> porMetodo = new ConcurrentHashMap<>();
+
+    private RepositorioInterceptor(ObjectProvider<MetricasService> metricas, String repositorio) {
+      this.metricas = metricas;
+      this.repositorio = repositorio;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+      long inicio = System.nanoTime();
+      try {
+        return invocation.proceed();
+      } finally {
+        histograma(invocation.getMethod()).registrar(System.nanoTime() - inicio);
+      }
+    }
+
+    private HistogramaLatencia histograma(Method metodo) {
+      HistogramaLatencia histograma = porMetodo.get(metodo);
+      if (histograma == null) {
+        histograma = porMetodo.computeIfAbsent(metodo, m -> metricas.getObject()
+            .histograma(METRICA, DESCRICAO, "repositorio", repositorio, "metodo", m.getName()));
+      }
+      return histograma;
+    }
+  }
+
+  /**
+   * Cria o rastreador de métricas do pool Hikari
+   */
+  private static final class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+    private final ObjectProvider<MetricasService> metricas;
+
+    private PoolMetricsTrackerFactory(ObjectProvider<MetricasService> metricas) {
+      this.metricas = metricas;
+    }
+
+    @Override
+    public IMetricsTracker create(String pool, PoolStats estatisticas) {
+      MetricasService metricasService = metricas.getObject();
+      metricasService.medidor("teatro_pool_conexoes", "Conexões do pool por estado",
+          estatisticas::getActiveConnections, "pool", pool, "estado", "ativas");
+      metricasService.medidor("teatro_pool_conexoes", "Conexões do pool por estado",
+          estatisticas::getIdleConnections, "pool", pool, "estado", "ociosas");
+      metricasService.medidor("teatro_pool_conexoes", "Conexões do pool por estado",
+          estatisticas::getTotalConnections, "pool", pool, "estado", "total");
+      metricasService.medidor("teatro_pool_threads_aguardando",
+          "Threads aguardando conexão do pool", estatisticas::getPendingThreads, "pool", pool);
+
+      HistogramaLatencia espera = metricasService.histograma("teatro_pool_espera_segundos",
+          "Tempo de espera para obter conexão do pool", "pool", pool);
+      HistogramaLatencia uso = metricasService.histograma("teatro_pool_uso_segundos",
+          "Tempo de uso das conexões do pool", "pool", pool);
+      LongAdder timeouts = metricasService.contador("teatro_pool_timeouts_total",
+          "Tentativas de obter conexão que expiraram", "pool", pool);
+
+      return new IMetricsTracker() {
+        @Override
+        public void recordConnectionAcquiredNanos(long nanos) {
+          espera.registrar(nanos);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long millis) {
+          uso.registrar(millis * 1_000_000);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+          timeouts.increment();
+        }
+      };
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.teatro.config;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import com.teatro.service.MetricasService;
+import com.teatro.util.HistogramaLatencia;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Filtro que mede a latência de cada requisição por método de controller
+ *
+ * Roda antes da cadeia de segurança, então o tempo inclui autenticação. O método atendido é lido
+ * do atributo que o Spring MVC grava ao escolher o handler; o histograma de cada método é
+ * resolvido uma vez e reaproveitado.
+ */
+public class MetricasFilter extends OncePerRequestFilter {
+
+  private static final String METRICA = "teatro_http_latencia_segundos";
+  private static final String DESCRICAO = "Latência das requisições HTTP por método de controller";
+
+  private final MetricasService metricasService;
+  private final Map<Method, HistogramaLatencia> porMetodo = new ConcurrentHashMap<>();
+  private final HistogramaLatencia naoMapeado;
+
+  public MetricasFilter(MetricasService metricasService) {
+    this.metricasService = metricasService;
+    this.naoMapeado = metricasService.histograma(METRICA, DESCRICAO, "handler", "nao_mapeado");
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    long inicio = System.nanoTime();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      histograma(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE))
+          .registrar(System.nanoTime() - inicio);
+    }
+  }
+
+  private HistogramaLatencia histograma(Object handler) {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return naoMapeado;
+    }
+    Method metodo = handlerMethod.getMethod();
+    HistogramaLatencia histograma = porMetodo.get(metodo);
+    if (histograma == null) {
+      histograma = porMetodo.computeIfAbsent(metodo,
+          m -> metricasService.histograma(METRICA, DESCRICAO, "handler",
+              m.getDeclaringClass().getSimpleName() + "." + m.getName()));
+    }
+    return histograma;
+  }
+}
@@ -0,0 +1,41 @@
+package com.teatro.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.teatro.model.Notificacao;
+import com.teatro.service.CanalLocalNotificacao;
+
+/**
+ * Configuração do disparo de notificações
+ *
+ * Sem provedores reais configurados, os canais EMAIL, SMS e PUSH são atendidos por
+ * CanalLocalNotificacao, que só registra as mensagens em log. Um provedor real é um bean de
+ * CanalNotificacao do mesmo tipo, com teatro.notificacoes.canais-locais=false.
+ */
+@Configuration
+@EnableConfigurationProperties(NotificacoesProperties.class)
+public class NotificacoesConfig {
+
+  @Bean
+  @ConditionalOnProperty(prefix = "teatro.notificacoes", name = "canais-locais",
+      matchIfMissing = true)
+  public CanalLocalNotificacao canalLocalEmail() {
+    return new CanalLocalNotificacao(Notificacao.Tipo.EMAIL);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "teatro.notificacoes", name = "canais-locais",
+      matchIfMissing = true)
+  public CanalLocalNotificacao canalLocalSms() {
+    return new CanalLocalNotificacao(Notificacao.Tipo.SMS);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "teatro.notificacoes", name = "canais-locais",
+      matchIfMissing = true)
+  public CanalLocalNotificacao canalLocalPush() {
+    return new CanalLocalNotificacao(Notificacao.Tipo.PUSH);
+  }
+}
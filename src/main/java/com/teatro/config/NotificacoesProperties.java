@@ -0,0 +1,52 @@
+package com.teatro.config;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import com.teatro.model.Notificacao;
+import lombok.Data;
+
+/**
+ * Configuração do disparo de notificações em massa (teatro.notificacoes)
+ */
+@Data
+@ConfigurationProperties(prefix = "teatro.notificacoes")
+public class NotificacoesProperties {
+
+  /**
+   * Destinatários lidos e notificações inseridas por lote
+   */
+  private int tamanhoLote = 1000;
+
+  /**
+   * Canais usados para avisar os portadores de ingresso de uma sessão alterada
+   *
+   * A notificação na aplicação é gravada uma única vez por portador; os demais canais da lista
+   * apenas entregam a mesma mensagem por fora (SISTEMA na lista não muda nada).
+   */
+  private List<Notificacao.Tipo> canaisSessao =
+      new ArrayList<>(List.of(Notificacao.Tipo.SISTEMA, Notificacao.Tipo.EMAIL));
+
+  /**
+   * Registra os canais EMAIL, SMS e PUSH como saída em log, para desenvolvimento e testes
+   */
+  private boolean canaisLocais = true;
+
+  private Map<Notificacao.Tipo, Canal> canais = new EnumMap<>(Notificacao.Tipo.class);
+
+  @Data
+  public static class Canal {
+
+    /**
+     * Envios aceitos em rajada
+     */
+    private int capacidade = 10;
+
+    /**
+     * Envios por segundo em regime
+     */
+    private double porSegundo = 10.0;
+  }
+}
@@ -0,0 +1,79 @@
+package com.teatro.config;
+
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionManager;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Configuração da réplica de leitura
+ *
+ * Com teatro.datasource.replica.habilitada=true, o DataSource da aplicação passa a ser um
+ * {@link RoteamentoDataSource} sobre dois pools: o primário, configurado por spring.datasource, e
+ * a réplica, por teatro.datasource.replica. As migrações do Flyway rodam sempre no primário. Sem
+ * a propriedade, o DataSource padrão do Spring Boot continua valendo.
+ *
+ * O gerenciador de transações também é substituído ({@link GerenciadorTransacoesReplica}) para que
+ * as leituras feitas na réplica não populem o cache de segundo nível com linhas atrasadas.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaLeituraProperties.class)
+public class ReplicaLeituraConfig {
+
+  @Bean
+  @FlywayDataSource
+  @ConfigurationProperties(prefix = "spring.datasource.hikari")
+  @ConditionalOnProperty(prefix = "teatro.datasource.replica", name = "habilitada",
+      havingValue = "true")
+  public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+    HikariDataSource dataSource =
+        propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primario");
+    return dataSource;
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "teatro.datasource.replica", name = "habilitada",
+      havingValue = "true")
+  public HikariDataSource dataSourceReplica(ReplicaLeituraProperties propriedades) {
+    HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+        .driverClassName(propriedades.getDriverClassName()).url(propriedades.getUrl())
+        .username(propriedades.getUsername()).password(propriedades.getPassword()).build();
+    dataSource.setPoolName("replica");
+    dataSource.setMaximumPoolSize(propriedades.getTamanhoPool());
+    dataSource.setReadOnly(true);
+    return dataSource;
+  }
+
+  @Bean
+  @Primary
+  @ConditionalOnProperty(prefix = "teatro.datasource.replica", name = "habilitada",
+      havingValue = "true")
+  public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+      @Qualifier("dataSourceReplica") DataSource replica, EscritasRecentes escritasRecentes) {
+    return RoteamentoDataSource.criar(primario, replica, escritasRecentes);
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "teatro.datasource.replica", name = "habilitada",
+      havingValue = "true")
+  public PlatformTransactionManager transactionManager(EscritasRecentes escritasRecentes,
+      ObjectProvider<TransactionManagerCustomizers> customizers) {
+    GerenciadorTransacoesReplica transactionManager =
+        new GerenciadorTransacoesReplica(escritasRecentes);
+    customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+    return transactionManager;
+  }
+}
@@ -0,0 +1,41 @@
+package com.teatro.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuração da réplica de leitura (teatro.datasource.replica)
+ */
+@Data
+@ConfigurationProperties(prefix = "teatro.datasource.replica")
+public class ReplicaLeituraProperties {
+
+  /**
+   * Envia as transações somente leitura para a réplica; desabilitada, tudo vai ao primário
+   */
+  private boolean habilitada = false;
+
+  private String url;
+
+  private String username;
+
+  private String password;
+
+  private String driverClassName;
+
+  /**
+   * Conexões máximas do pool da réplica
+   */
+  private int tamanhoPool = 10;
+
+  /**
+   * Tempo, a partir do commit de uma escrita do usuário, em que as leituras dele continuam no
+   * primário; deve cobrir o atraso de replicação esperado
+   */
+  private long janelaLeituraPropriaMs = 5000;
+
+  /**
+   * Usuários com escrita recente acompanhados ao mesmo tempo
+   */
+  private int maximoUsuarios = 100_000;
+}
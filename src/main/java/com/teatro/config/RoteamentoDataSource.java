@@ -0,0 +1,59 @@
+package com.teatro.config;
+
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DataSource que envia as transações somente leitura à réplica e o restante ao primário
+ *
+ * A decisão é tomada quando a conexão física é obtida. Por isso o roteamento é sempre usado atrás
+ * de um {@link LazyConnectionDataSourceProxy} (ver {@link #criar}): o gerenciador de transações
+ * pede a conexão antes de marcar a transação como somente leitura, e o proxy adia a escolha até o
+ * primeiro comando. Fora de transação, em transações de escrita e para usuários com escrita
+ * recente ({@link EscritasRecentes}) a conexão vem do primário.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+  public enum Destino {
+    PRIMARIO, REPLICA
+  }
+
+  private final EscritasRecentes escritasRecentes;
+
+  public RoteamentoDataSource(DataSource primario, DataSource replica,
+      EscritasRecentes escritasRecentes) {
+    this.escritasRecentes = escritasRecentes;
+    setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+    setDefaultTargetDataSource(primario);
+    afterPropertiesSet();
+  }
+
+  /**
+   * Cria o roteamento já envolvido no proxy de conexão tardia
+   */
+  public static DataSource criar(DataSource primario, DataSource replica,
+      EscritasRecentes escritasRecentes) {
+    return new LazyConnectionDataSourceProxy(
+        new RoteamentoDataSource(primario, replica, escritasRecentes));
+  }
+
+  /**
+   * Destino de uma transação, pela marcação de somente leitura e pelas escritas recentes do
+   * usuário autenticado na thread corrente
+   */
+  public static Destino destino(boolean somenteLeitura, EscritasRecentes escritasRecentes) {
+    if (!somenteLeitura || escritasRecentes.usuarioAtualEscreveuRecentemente()) {
+      return Destino.PRIMARIO;
+    }
+    return Destino.REPLICA;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return destino(TransactionSynchronizationManager.isCurrentTransactionReadOnly(),
+        escritasRecentes);
+  }
+}
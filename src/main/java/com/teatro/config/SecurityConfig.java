@@ -1,5 +1,8 @@
 package com.teatro.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,9 +16,12 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import com.teatro.security.CodificadorSenhaLimitado;
 import com.teatro.security.CustomUserDetailsService;
 import com.teatro.security.JwtAuthenticationFilter;
 import com.teatro.security.JwtTokenProvider;
+import com.teatro.security.RevogacaoUsuarios;
+import com.teatro.service.MetricasService;
 
 @Configuration
 @EnableWebSecurity
@@ -24,23 +30,30 @@ public class SecurityConfig {
 
   private final CustomUserDetailsService userDetailsService;
   private final JwtTokenProvider jwtTokenProvider;
+  private final RevogacaoUsuarios revogacaoUsuarios;
 
   public SecurityConfig(CustomUserDetailsService userDetailsService,
-      JwtTokenProvider jwtTokenProvider) {
+      JwtTokenProvider jwtTokenProvider, RevogacaoUsuarios revogacaoUsuarios) {
     this.userDetailsService = userDetailsService;
     this.jwtTokenProvider = jwtTokenProvider;
+    this.revogacaoUsuarios = revogacaoUsuarios;
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Qualifier("executorSenhas") ThreadPoolExecutor executorSenhas,
+      MetricasService metricasService,
+      @Value("${teatro.autenticacao.senhas.espera-maxima-ms:3000}") long esperaMaximaMs,
+      @Value("${teatro.autenticacao.senhas.retry-after-segundos:2}") long retryAfterSegundos) {
+    return new CodificadorSenhaLimitado(new BCryptPasswordEncoder(), executorSenhas,
+        esperaMaximaMs, retryAfterSegundos, metricasService);
   }
 
   @Bean
-  public DaoAuthenticationProvider authenticationProvider() {
+  public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService);
-    authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setPasswordEncoder(passwordEncoder);
     return authProvider;
   }
 
@@ -52,18 +65,19 @@ public class SecurityConfig {
 
   @Bean
   public JwtAuthenticationFilter jwtAuthenticationFilter() {
-    return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService);
+    return new JwtAuthenticationFilter(jwtTokenProvider, userDetailsService, revogacaoUsuarios);
   }
 
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+  public SecurityFilterChain filterChain(HttpSecurity http,
+      DaoAuthenticationProvider authenticationProvider) throws Exception {
     http.csrf(csrf -> csrf.disable())
         .sessionManagement(
             session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(auth -> auth
             // Permitir acesso público a todos os endpoints por enquanto
             .anyRequest().permitAll())
-        .authenticationProvider(authenticationProvider())
+        .authenticationProvider(authenticationProvider)
         .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
 
     return http.build();
@@ -1,5 +1,7 @@
 package com.teatro.controller;
 
+import java.time.LocalDateTime;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -13,7 +15,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import com.teatro.dto.LoginRequest;
 import com.teatro.dto.LoginResponse;
+import com.teatro.dto.RefreshTokenRequest;
 import com.teatro.dto.UsuarioDTO;
+import com.teatro.exception.AutenticacaoException;
 import com.teatro.model.Usuario;
 import com.teatro.security.JwtTokenProvider;
 import com.teatro.service.UsuarioService;
@@ -51,6 +55,8 @@ public class AuthController {
 
     LoginResponse response = new LoginResponse();
     response.setToken(jwt);
+    response.setRefreshToken(tokenProvider.generateRefreshToken(usuario.getEmail(),
+        usuario.getId(), usuario.getTipoUsuario()));
     response.setTipo("Bearer");
     response.setUsuarioId(usuario.getId());
     response.setUsuarioNome(usuario.getNome());
@@ -58,10 +64,30 @@ public class AuthController {
     response.setTipoUsuario(usuario.getTipoUsuario());
     response.setPontosFidelidade(usuario.getTotalPontosFidelidade());
     response.setNivelFidelidade(calcularNivelFidelidade(usuario.getTotalPontosFidelidade()));
+    response.setDataExpiracao(
+        LocalDateTime.now().plusNanos(tokenProvider.getJwtExpirationMs() * 1_000_000L));
 
     return ResponseEntity.ok(response);
   }
 
+  @PostMapping("/refresh")
+  @Operation(summary = "Renovar tokens",
+      description = "Troca um refresh token válido por um novo token de acesso e um novo refresh token")
+  public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+    try {
+      return ResponseEntity.ok(usuarioService.renovarTokens(request.getRefreshToken()));
+    } catch (AutenticacaoException e) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    }
+  }
+
+  @PostMapping("/logout")
+  @Operation(summary = "Encerrar sessão", description = "Revoga o refresh token informado")
+  public ResponseEntity<Void> logout(@Valid @RequestBody RefreshTokenRequest request) {
+    usuarioService.encerrarSessao(request.getRefreshToken());
+    return ResponseEntity.noContent().build();
+  }
+
   @PostMapping("/cadastro")
   @Operation(summary = "Cadastrar usuário", description = "Cadastra um novo usuário no sistema")
   public ResponseEntity<UsuarioDTO> cadastrar(@Valid @RequestBody UsuarioDTO usuarioDTO) {
@@ -0,0 +1,119 @@
+package com.teatro.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.teatro.dto.AvaliacaoDTO;
+import com.teatro.dto.AvaliacaoRequest;
+import com.teatro.dto.EventoRankingDTO;
+import com.teatro.dto.ResumoAvaliacoesDTO;
+import com.teatro.exception.AvaliacaoNaoEncontradaException;
+import com.teatro.exception.EventoNaoEncontradoException;
+import com.teatro.exception.SessaoNaoEncontradaException;
+import com.teatro.exception.UsuarioNaoEncontradoException;
+import com.teatro.service.AvaliacaoService;
+import com.teatro.service.RankingAvaliacoesService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+/**
+ * Controller para operações relacionadas a avaliações
+ *
+ * Endpoints: - POST /api/avaliacoes - Avaliar sessão - GET /api/avaliacoes/sessao/{sessaoId} -
+ * Avaliações da sessão (cursor antesDe) - GET /api/avaliacoes/evento/{eventoId} - Avaliações do
+ * evento (cursor antesDe) - GET /api/avaliacoes/sessao/{sessaoId}/resumo - Média e distribuição
+ * da sessão - GET /api/avaliacoes/evento/{eventoId}/resumo - Média e distribuição do evento -
+ * DELETE /api/avaliacoes/usuario/{usuarioId}/{id} - Remover avaliação do usuário - GET
+ * /api/avaliacoes/ranking/eventos - Eventos mais bem avaliados (média bayesiana, em memória)
+ */
+@RestController
+@RequestMapping("/avaliacoes")
+@CrossOrigin(origins = "*")
+@Tag(name = "Avaliações", description = "Endpoints para avaliações de sessões")
+public class AvaliacaoController {
+
+  @Autowired
+  private AvaliacaoService avaliacaoService;
+
+  @Autowired
+  private RankingAvaliacoesService rankingAvaliacoesService;
+
+  @PostMapping
+  public ResponseEntity<AvaliacaoDTO> avaliar(@Valid @RequestBody AvaliacaoRequest request) {
+    try {
+      return ResponseEntity.status(HttpStatus.CREATED).body(avaliacaoService.avaliar(request));
+    } catch (SessaoNaoEncontradaException | UsuarioNaoEncontradoException e) {
+      return ResponseEntity.notFound().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @GetMapping("/sessao/{sessaoId}")
+  public ResponseEntity<Map<String, Object>> listarPorSessao(@PathVariable Long sessaoId,
+      @RequestParam(required = false) Long antesDe,
+      @RequestParam(defaultValue = "20") int limite) {
+    return ResponseEntity.ok(pagina(avaliacaoService.listarPorSessao(sessaoId, antesDe, limite)));
+  }
+
+  @GetMapping("/evento/{eventoId}")
+  public ResponseEntity<Map<String, Object>> listarPorEvento(@PathVariable Long eventoId,
+      @RequestParam(required = false) Long antesDe,
+      @RequestParam(defaultValue = "20") int limite) {
+    return ResponseEntity.ok(pagina(avaliacaoService.listarPorEvento(eventoId, antesDe, limite)));
+  }
+
+  @GetMapping("/sessao/{sessaoId}/resumo")
+  public ResponseEntity<ResumoAvaliacoesDTO> resumoSessao(@PathVariable Long sessaoId) {
+    try {
+      return ResponseEntity.ok(avaliacaoService.obterResumoSessao(sessaoId));
+    } catch (SessaoNaoEncontradaException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
+  @GetMapping("/evento/{eventoId}/resumo")
+  public ResponseEntity<ResumoAvaliacoesDTO> resumoEvento(@PathVariable Long eventoId) {
+    try {
+      return ResponseEntity.ok(avaliacaoService.obterResumoEvento(eventoId));
+    } catch (EventoNaoEncontradoException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
+  @GetMapping("/ranking/eventos")
+  public ResponseEntity<List<EventoRankingDTO>> rankingEventos(
+      @RequestParam(defaultValue = "0") int pagina,
+      @RequestParam(defaultValue = "20") int tamanho) {
+    return ResponseEntity.ok(rankingAvaliacoesService.listar(pagina, tamanho));
+  }
+
+  @DeleteMapping("/usuario/{usuarioId}/{id}")
+  public ResponseEntity<Void> remover(@PathVariable Long usuarioId, @PathVariable Long id) {
+    try {
+      avaliacaoService.remover(usuarioId, id);
+      return ResponseEntity.noContent().build();
+    } catch (AvaliacaoNaoEncontradaException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
+  private Map<String, Object> pagina(List<AvaliacaoDTO> itens) {
+    Map<String, Object> resposta = new HashMap<>();
+    resposta.put("itens", itens);
+    resposta.put("proximoCursor", itens.isEmpty() ? null : itens.get(itens.size() - 1).getId());
+    return resposta;
+  }
+}
@@ -1,11 +1,13 @@
 package com.teatro.controller;
 
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -27,7 +29,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
  * GET /api/estatisticas/vendas - Estatísticas de vendas - GET /api/estatisticas/ocupacao -
  * Estatísticas de ocupação - GET /api/estatisticas/faturamento - Estatísticas de faturamento - GET
  * /api/estatisticas/fidelidade - Estatísticas de fidelidade - GET /api/estatisticas/periodo -
- * Estatísticas por período
+ * Estatísticas por período - GET /api/estatisticas/populares - Eventos e sessões mais vendidos -
+ * GET /api/estatisticas/compradores-unicos - Compradores distintos - POST
+ * /api/estatisticas/atualizar - Recalcula os snapshots
  */
 @RestController
 @RequestMapping("/estatisticas")
@@ -192,6 +196,66 @@ public class EstatisticasController {
     }
   }
 
+  /**
+   * Eventos e sessões mais vendidos em uma janela recente
+   *
+   * @param janela Janela de tempo (HORA, DIA ou SEMANA)
+   * @param limite Quantidade máxima de itens
+   * @return Eventos e sessões populares
+   */
+  @GetMapping("/populares")
+  @Operation(summary = "Populares agora",
+      description = "Retorna os eventos e sessões mais vendidos na última hora, dia ou semana")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+      @ApiResponse(responseCode = "400", description = "Janela ou limite inválido")})
+  public ResponseEntity<Map<String, Object>> populares(
+      @Parameter(description = "Janela de tempo (HORA, DIA ou SEMANA)") @RequestParam(
+          defaultValue = "DIA") String janela,
+      @Parameter(description = "Quantidade máxima de itens") @RequestParam(
+          defaultValue = "10") int limite) {
+    try {
+      Map<String, Object> estatisticas = estatisticasService.obterPopulares(janela, limite);
+      return ResponseEntity.ok(estatisticas);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  /**
+   * Compradores distintos de eventos, sessões e/ou período
+   *
+   * @param eventoIds IDs dos eventos
+   * @param sessaoIds IDs das sessões
+   * @param dataInicio Data de início (YYYY-MM-DD)
+   * @param dataFim Data de fim (YYYY-MM-DD)
+   * @return Estimativa de compradores distintos
+   */
+  @GetMapping("/compradores-unicos")
+  @Operation(summary = "Compradores distintos",
+      description = "Retorna a estimativa de compradores distintos da união dos eventos, sessões e "
+          + "período informados")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Estatísticas retornadas com sucesso"),
+      @ApiResponse(responseCode = "400", description = "Parâmetros inválidos")})
+  public ResponseEntity<Map<String, Object>> compradoresUnicos(
+      @Parameter(description = "IDs dos eventos") @RequestParam(
+          required = false) List<Long> eventoIds,
+      @Parameter(description = "IDs das sessões") @RequestParam(
+          required = false) List<Long> sessaoIds,
+      @Parameter(description = "Data de início (YYYY-MM-DD)") @RequestParam(
+          required = false) String dataInicio,
+      @Parameter(description = "Data de fim (YYYY-MM-DD)") @RequestParam(
+          required = false) String dataFim) {
+    try {
+      Map<String, Object> estatisticas =
+          estatisticasService.obterCompradoresUnicos(eventoIds, sessaoIds, dataInicio, dataFim);
+      return ResponseEntity.ok(estatisticas);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
   /**
    * Dashboard completo para administradores
    *
@@ -206,4 +270,19 @@ public class EstatisticasController {
     Map<String, Object> dashboard = estatisticasService.obterDashboard();
     return ResponseEntity.ok(dashboard);
   }
+
+  /**
+   * Solicita o recálculo dos snapshots de estatísticas
+   *
+   * @return Quantidade de snapshots agendados
+   */
+  @PostMapping("/atualizar")
+  @Operation(summary = "Atualizar estatísticas",
+      description = "Agenda o recálculo em segundo plano de todas as estatísticas em cache")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Recálculo agendado com sucesso")})
+  public ResponseEntity<Map<String, Object>> atualizar() {
+    int agendados = estatisticasService.solicitarAtualizacao();
+    return ResponseEntity.accepted().body(Map.of("snapshotsAgendados", agendados));
+  }
 }
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 import com.teatro.dto.EventoDTO;
 import com.teatro.exception.EventoJaExisteException;
 import com.teatro.exception.EventoNaoEncontradoException;
+import com.teatro.service.EstatisticasService;
 import com.teatro.service.EventoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -49,6 +50,9 @@ public class EventoController {
   @Autowired
   private EventoService eventoService;
 
+  @Autowired
+  private EstatisticasService estatisticasService;
+
   /**
    * Cadastra um novo evento
    * 
@@ -267,12 +271,9 @@ public class EventoController {
       @ApiResponse(responseCode = "404", description = "Evento não encontrado")})
   public ResponseEntity<Map<String, Object>> estatisticasEvento(@PathVariable Long id) {
     try {
-      Map<String, Object> estatisticas = new HashMap<>();
-      estatisticas.put("eventoId", id);
-      estatisticas.put("totalSessoes", 0);
-      estatisticas.put("totalIngressosVendidos", 0);
+      Map<String, Object> estatisticas = estatisticasService.obterEstatisticasEvento(id);
       return ResponseEntity.ok(estatisticas);
-    } catch (Exception e) {
+    } catch (EventoNaoEncontradoException e) {
       return ResponseEntity.notFound().build();
     }
   }
@@ -0,0 +1,22 @@
+package com.teatro.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import com.teatro.exception.LimiteAutenticacaoExcedidoException;
+
+/**
+ * Converte a saturação do executor de hashing de senhas em 429 com Retry-After, para qualquer
+ * endpoint que verifique ou gere hash de senha (login, cadastro, alteração e recuperação de senha)
+ */
+@RestControllerAdvice
+public class LimiteAutenticacaoHandler {
+
+  @ExceptionHandler(LimiteAutenticacaoExcedidoException.class)
+  public ResponseEntity<Void> limiteExcedido(LimiteAutenticacaoExcedidoException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSegundos())).build();
+  }
+}
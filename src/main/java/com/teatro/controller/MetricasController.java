@@ -0,0 +1,46 @@
+package com.teatro.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import com.teatro.service.MetricasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller que expõe as métricas da aplicação para coleta
+ *
+ * Endpoints: - GET /api/metricas - Métricas no formato texto do Prometheus
+ */
+@RestController
+@RequestMapping("/metricas")
+@Tag(name = "Métricas", description = "Endpoint de coleta de métricas")
+public class MetricasController {
+
+  private static final MediaType PROMETHEUS_TEXTO =
+      MediaType.parseMediaType("text/plain;version=0.0.4;charset=utf-8");
+
+  @Autowired
+  private MetricasService metricasService;
+
+  /**
+   * Métricas no formato texto do Prometheus
+   *
+   * @return Métricas de latência, contadores e medidores
+   */
+  @GetMapping
+  @Operation(summary = "Métricas",
+      description = "Retorna latências (p50/p99/p999), contadores e medidores no formato do "
+          + "Prometheus")
+  @ApiResponses(
+      value = {@ApiResponse(responseCode = "200", description = "Métricas retornadas com sucesso")})
+  public ResponseEntity<String> metricas() {
+    return ResponseEntity.ok().contentType(PROMETHEUS_TEXTO)
+        .body(metricasService.exportarPrometheus());
+  }
+}
@@ -0,0 +1,72 @@
+package com.teatro.controller;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.teatro.dto.NotificacaoDTO;
+import com.teatro.service.NotificacaoService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controller da caixa de entrada de notificações
+ *
+ * Endpoints: - GET /api/notificacoes/usuario/{usuarioId} - Página da caixa de entrada (cursor
+ * antesDe) - GET /api/notificacoes/usuario/{usuarioId}/nao-lidas/total - Total de não lidas -
+ * PUT /api/notificacoes/usuario/{usuarioId}/{id}/lida - Marcar uma como lida - PUT
+ * /api/notificacoes/usuario/{usuarioId}/lidas - Marcar todas como lidas
+ */
+@RestController
+@RequestMapping("/notificacoes")
+@CrossOrigin(origins = "*")
+@Tag(name = "Notificações", description = "Endpoints da caixa de entrada de notificações")
+public class NotificacaoController {
+
+  @Autowired
+  private NotificacaoService notificacaoService;
+
+  @GetMapping("/usuario/{usuarioId}")
+  public ResponseEntity<Map<String, Object>> listar(@PathVariable Long usuarioId,
+      @RequestParam(required = false) Long antesDe,
+      @RequestParam(defaultValue = "20") int limite,
+      @RequestParam(defaultValue = "false") boolean apenasNaoLidas) {
+    List<NotificacaoDTO> itens =
+        notificacaoService.listar(usuarioId, antesDe, limite, apenasNaoLidas);
+
+    Map<String, Object> resposta = new HashMap<>();
+    resposta.put("itens", itens);
+    resposta.put("proximoCursor", itens.isEmpty() ? null : itens.get(itens.size() - 1).getId());
+    return ResponseEntity.ok(resposta);
+  }
+
+  @GetMapping("/usuario/{usuarioId}/nao-lidas/total")
+  public ResponseEntity<Map<String, Object>> contarNaoLidas(@PathVariable Long usuarioId) {
+    Map<String, Object> resposta = new HashMap<>();
+    resposta.put("naoLidas", notificacaoService.contarNaoLidas(usuarioId));
+    return ResponseEntity.ok(resposta);
+  }
+
+  @PutMapping("/usuario/{usuarioId}/{id}/lida")
+  public ResponseEntity<Void> marcarComoLida(@PathVariable Long usuarioId,
+      @PathVariable Long id) {
+    if (notificacaoService.marcarComoLida(usuarioId, id)) {
+      return ResponseEntity.noContent().build();
+    }
+    return ResponseEntity.notFound().build();
+  }
+
+  @PutMapping("/usuario/{usuarioId}/lidas")
+  public ResponseEntity<Map<String, Object>> marcarTodasComoLidas(@PathVariable Long usuarioId) {
+    Map<String, Object> resposta = new HashMap<>();
+    resposta.put("marcadas", notificacaoService.marcarTodasComoLidas(usuarioId));
+    return ResponseEntity.ok(resposta);
+  }
+}
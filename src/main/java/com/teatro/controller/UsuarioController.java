@@ -22,6 +22,7 @@ import com.teatro.exception.AutenticacaoException;
 import com.teatro.exception.UsuarioJaExisteException;
 import com.teatro.exception.UsuarioNaoEncontradoException;
 import com.teatro.model.Usuario;
+import com.teatro.service.FidelidadeService;
 import com.teatro.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -50,6 +51,9 @@ public class UsuarioController {
   @Autowired
   private UsuarioService usuarioService;
 
+  @Autowired
+  private FidelidadeService fidelidadeService;
+
   /**
    * Autenticação de usuário
    * 
@@ -63,23 +67,11 @@ public class UsuarioController {
       @ApiResponse(responseCode = "200", description = "Login realizado com sucesso",
           content = @Content(schema = @Schema(implementation = LoginResponse.class))),
       @ApiResponse(responseCode = "401", description = "Credenciais inválidas"),
+      @ApiResponse(responseCode = "429", description = "Muitas autenticações simultâneas"),
       @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos")})
   public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
     try {
-      Usuario usuario = usuarioService.autenticarUsuario(loginRequest.getIdentificador(),
-          loginRequest.getSenha());
-
-      // TODO: Gerar token JWT
-      String token = "jwt-token-placeholder"; // Implementar JWT
-      String refreshToken = "refresh-token-placeholder"; // Implementar JWT
-
-      LoginResponse response =
-          new LoginResponse(token, refreshToken, usuario.getId(), usuario.getNome(),
-              usuario.getEmail(), usuario.getTipoUsuario(), usuario.getTotalPontosFidelidade(),
-              calcularNivelFidelidade(usuario.getTotalPontosFidelidade()), null); // dataExpiracao
-                                                                                  // será
-                                                                                  // implementada
-                                                                                  // com JWT
+      LoginResponse response = usuarioService.autenticarUsuario(loginRequest);
 
       return ResponseEntity.ok(response);
     } catch (AutenticacaoException e) {
@@ -99,6 +91,7 @@ public class UsuarioController {
       @ApiResponse(responseCode = "201", description = "Usuário criado com sucesso",
           content = @Content(schema = @Schema(implementation = UsuarioDTO.class))),
       @ApiResponse(responseCode = "409", description = "CPF ou email já cadastrado"),
+      @ApiResponse(responseCode = "429", description = "Muitas autenticações simultâneas"),
       @ApiResponse(responseCode = "400", description = "Dados de entrada inválidos")})
   public ResponseEntity<UsuarioDTO> cadastrar(@Valid @RequestBody UsuarioDTO usuarioDTO) {
     try {
@@ -256,8 +249,7 @@ public class UsuarioController {
           @ApiResponse(responseCode = "404", description = "Usuário não encontrado")})
   public ResponseEntity<PontosFidelidadeResponse> consultarPontos(@PathVariable Long id) {
     try {
-      // TODO: Implementar método no service
-      BigDecimal pontos = BigDecimal.ZERO; // Placeholder
+      BigDecimal pontos = BigDecimal.valueOf(fidelidadeService.consultarSaldo(id));
       return ResponseEntity.ok(new PontosFidelidadeResponse(id, pontos));
     } catch (UsuarioNaoEncontradoException e) {
       return ResponseEntity.notFound().build();
@@ -281,11 +273,15 @@ public class UsuarioController {
   public ResponseEntity<Void> adicionarPontos(@PathVariable Long id,
       @RequestBody AdicionarPontosRequest request) {
     try {
-      // TODO: Implementar método no service
+      if (request.getQuantidade() == null) {
+        throw new IllegalArgumentException("Quantidade de pontos é obrigatória");
+      }
+      fidelidadeService.ganhar(id, request.getQuantidade().intValueExact(), "ADMIN",
+          request.getMotivo());
       return ResponseEntity.ok().build();
     } catch (UsuarioNaoEncontradoException e) {
       return ResponseEntity.notFound().build();
-    } catch (IllegalArgumentException e) {
+    } catch (IllegalArgumentException | ArithmeticException e) {
       return ResponseEntity.badRequest().build();
     }
   }
@@ -0,0 +1,48 @@
+package com.teatro.dto;
+
+/**
+ * Payload do evento de outbox publicado quando uma sessão com ingressos é cancelada ou
+ * reagendada
+ *
+ * Título e mensagem já vêm prontos, montados com os dados da sessão no momento da alteração.
+ */
+public class AlteracaoSessaoEvento {
+
+  private Long sessaoId;
+  private String titulo;
+  private String mensagem;
+
+  // Construtores
+  public AlteracaoSessaoEvento() {}
+
+  public AlteracaoSessaoEvento(Long sessaoId, String titulo, String mensagem) {
+    this.sessaoId = sessaoId;
+    this.titulo = titulo;
+    this.mensagem = mensagem;
+  }
+
+  // Getters e Setters
+  public Long getSessaoId() {
+    return sessaoId;
+  }
+
+  public void setSessaoId(Long sessaoId) {
+    this.sessaoId = sessaoId;
+  }
+
+  public String getTitulo() {
+    return titulo;
+  }
+
+  public void setTitulo(String titulo) {
+    this.titulo = titulo;
+  }
+
+  public String getMensagem() {
+    return mensagem;
+  }
+
+  public void setMensagem(String mensagem) {
+    this.mensagem = mensagem;
+  }
+}
@@ -0,0 +1,104 @@
+package com.teatro.dto;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.teatro.model.Avaliacao;
+
+/**
+ * DTO para listagem de avaliações
+ */
+public class AvaliacaoDTO {
+
+  private Long id;
+  private Long usuarioId;
+  private String usuarioNome;
+  private Long sessaoId;
+  private Integer nota;
+  private String descricaoNota;
+  private String comentario;
+
+  @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+  private LocalDateTime dataAvaliacao;
+
+  // Construtores
+  public AvaliacaoDTO() {}
+
+  /**
+   * Espera o usuário já carregado (as listagens fazem JOIN FETCH); a sessão é lida apenas pelo id
+   */
+  public AvaliacaoDTO(Avaliacao avaliacao) {
+    this.id = avaliacao.getId();
+    this.usuarioId = avaliacao.getUsuario().getId();
+    this.usuarioNome = avaliacao.getUsuario().getNome();
+    this.sessaoId = avaliacao.getSessao().getId();
+    this.nota = avaliacao.getNota();
+    this.descricaoNota = avaliacao.getDescricaoNota();
+    this.comentario = avaliacao.getComentario();
+    this.dataAvaliacao = avaliacao.getDataAvaliacao();
+  }
+
+  // Getters e Setters
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Long getUsuarioId() {
+    return usuarioId;
+  }
+
+  public void setUsuarioId(Long usuarioId) {
+    this.usuarioId = usuarioId;
+  }
+
+  public String getUsuarioNome() {
+    return usuarioNome;
+  }
+
+  public void setUsuarioNome(String usuarioNome) {
+    this.usuarioNome = usuarioNome;
+  }
+
+  public Long getSessaoId() {
+    return sessaoId;
+  }
+
+  public void setSessaoId(Long sessaoId) {
+    this.sessaoId = sessaoId;
+  }
+
+  public Integer getNota() {
+    return nota;
+  }
+
+  public void setNota(Integer nota) {
+    this.nota = nota;
+  }
+
+  public String getDescricaoNota() {
+    return descricaoNota;
+  }
+
+  public void setDescricaoNota(String descricaoNota) {
+    this.descricaoNota = descricaoNota;
+  }
+
+  public String getComentario() {
+    return comentario;
+  }
+
+  public void setComentario(String comentario) {
+    this.comentario = comentario;
+  }
+
+  public LocalDateTime getDataAvaliacao() {
+    return dataAvaliacao;
+  }
+
+  public void setDataAvaliacao(LocalDateTime dataAvaliacao) {
+    this.dataAvaliacao = dataAvaliacao;
+  }
+}
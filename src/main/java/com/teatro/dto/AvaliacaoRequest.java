@@ -0,0 +1,66 @@
+package com.teatro.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class AvaliacaoRequest {
+
+  @NotNull(message = "ID do usuário é obrigatório")
+  private Long usuarioId;
+
+  @NotNull(message = "ID da sessão é obrigatório")
+  private Long sessaoId;
+
+  @NotNull(message = "Nota é obrigatória")
+  @Min(value = 1, message = "A nota deve ser no mínimo 1")
+  @Max(value = 5, message = "A nota deve ser no máximo 5")
+  private Integer nota;
+
+  @Size(max = 2000, message = "Comentário deve ter no máximo 2000 caracteres")
+  private String comentario;
+
+  // Construtores
+  public AvaliacaoRequest() {}
+
+  public AvaliacaoRequest(Long usuarioId, Long sessaoId, Integer nota, String comentario) {
+    this.usuarioId = usuarioId;
+    this.sessaoId = sessaoId;
+    this.nota = nota;
+    this.comentario = comentario;
+  }
+
+  // Getters e Setters
+  public Long getUsuarioId() {
+    return usuarioId;
+  }
+
+  public void setUsuarioId(Long usuarioId) {
+    this.usuarioId = usuarioId;
+  }
+
+  public Long getSessaoId() {
+    return sessaoId;
+  }
+
+  public void setSessaoId(Long sessaoId) {
+    this.sessaoId = sessaoId;
+  }
+
+  public Integer getNota() {
+    return nota;
+  }
+
+  public void setNota(Integer nota) {
+    this.nota = nota;
+  }
+
+  public String getComentario() {
+    return comentario;
+  }
+
+  public void setComentario(String comentario) {
+    this.comentario = comentario;
+  }
+}
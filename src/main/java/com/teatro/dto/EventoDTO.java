@@ -59,6 +59,12 @@ public class EventoDTO {
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   private Double faturamentoTotal;
 
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Double mediaAvaliacoes;
+
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Long totalAvaliacoes;
+
   // Construtores
   public EventoDTO() {}
 
@@ -78,6 +84,12 @@ public class EventoDTO {
     if (evento.getSessoes() != null) {
       this.totalSessoes = evento.getSessoes().size();
     }
+
+    // Avaliações (agregado materializado no evento)
+    if (evento.getResumoAvaliacoes() != null) {
+      this.mediaAvaliacoes = evento.getResumoAvaliacoes().getMedia();
+      this.totalAvaliacoes = evento.getResumoAvaliacoes().getQuantidade();
+    }
   }
 
   // Método para converter DTO para entidade
@@ -198,4 +210,20 @@ public class EventoDTO {
   public void setFaturamentoTotal(Double faturamentoTotal) {
     this.faturamentoTotal = faturamentoTotal;
   }
+
+  public Double getMediaAvaliacoes() {
+    return mediaAvaliacoes;
+  }
+
+  public void setMediaAvaliacoes(Double mediaAvaliacoes) {
+    this.mediaAvaliacoes = mediaAvaliacoes;
+  }
+
+  public Long getTotalAvaliacoes() {
+    return totalAvaliacoes;
+  }
+
+  public void setTotalAvaliacoes(Long totalAvaliacoes) {
+    this.totalAvaliacoes = totalAvaliacoes;
+  }
 }
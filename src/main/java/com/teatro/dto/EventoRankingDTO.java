@@ -0,0 +1,76 @@
+package com.teatro.dto;
+
+/**
+ * DTO de uma posição no ranking de eventos mais bem avaliados
+ */
+public class EventoRankingDTO {
+
+  private Integer posicao;
+  private Long eventoId;
+  private String nome;
+  private Double notaPonderada;
+  private Double mediaAvaliacoes;
+  private Long totalAvaliacoes;
+
+  // Construtores
+  public EventoRankingDTO() {}
+
+  public EventoRankingDTO(Integer posicao, Long eventoId, String nome, Double notaPonderada,
+      Double mediaAvaliacoes, Long totalAvaliacoes) {
+    this.posicao = posicao;
+    this.eventoId = eventoId;
+    this.nome = nome;
+    this.notaPonderada = notaPonderada;
+    this.mediaAvaliacoes = mediaAvaliacoes;
+    this.totalAvaliacoes = totalAvaliacoes;
+  }
+
+  // Getters e Setters
+  public Integer getPosicao() {
+    return posicao;
+  }
+
+  public void setPosicao(Integer posicao) {
+    this.posicao = posicao;
+  }
+
+  public Long getEventoId() {
+    return eventoId;
+  }
+
+  public void setEventoId(Long eventoId) {
+    this.eventoId = eventoId;
+  }
+
+  public String getNome() {
+    return nome;
+  }
+
+  public void setNome(String nome) {
+    this.nome = nome;
+  }
+
+  public Double getNotaPonderada() {
+    return notaPonderada;
+  }
+
+  public void setNotaPonderada(Double notaPonderada) {
+    this.notaPonderada = notaPonderada;
+  }
+
+  public Double getMediaAvaliacoes() {
+    return mediaAvaliacoes;
+  }
+
+  public void setMediaAvaliacoes(Double mediaAvaliacoes) {
+    this.mediaAvaliacoes = mediaAvaliacoes;
+  }
+
+  public Long getTotalAvaliacoes() {
+    return totalAvaliacoes;
+  }
+
+  public void setTotalAvaliacoes(Long totalAvaliacoes) {
+    this.totalAvaliacoes = totalAvaliacoes;
+  }
+}
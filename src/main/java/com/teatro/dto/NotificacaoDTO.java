@@ -0,0 +1,94 @@
+package com.teatro.dto;
+
+import java.time.LocalDateTime;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.teatro.model.Notificacao;
+import com.teatro.model.Notificacao.Tipo;
+
+/**
+ * DTO para a caixa de entrada de notificações
+ */
+public class NotificacaoDTO {
+
+  private Long id;
+  private Tipo tipo;
+  private String titulo;
+  private String mensagem;
+  private Boolean lida;
+
+  @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+  private LocalDateTime dataEnvio;
+
+  @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+  private LocalDateTime dataLeitura;
+
+  // Construtores
+  public NotificacaoDTO() {}
+
+  public NotificacaoDTO(Notificacao notificacao) {
+    this.id = notificacao.getId();
+    this.tipo = notificacao.getTipo();
+    this.titulo = notificacao.getTitulo();
+    this.mensagem = notificacao.getMensagem();
+    this.lida = notificacao.isLida();
+    this.dataEnvio = notificacao.getDataEnvio();
+    this.dataLeitura = notificacao.getDataLeitura();
+  }
+
+  // Getters e Setters
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Tipo getTipo() {
+    return tipo;
+  }
+
+  public void setTipo(Tipo tipo) {
+    this.tipo = tipo;
+  }
+
+  public String getTitulo() {
+    return titulo;
+  }
+
+  public void setTitulo(String titulo) {
+    this.titulo = titulo;
+  }
+
+  public String getMensagem() {
+    return mensagem;
+  }
+
+  public void setMensagem(String mensagem) {
+    this.mensagem = mensagem;
+  }
+
+  public Boolean getLida() {
+    return lida;
+  }
+
+  public void setLida(Boolean lida) {
+    this.lida = lida;
+  }
+
+  public LocalDateTime getDataEnvio() {
+    return dataEnvio;
+  }
+
+  public void setDataEnvio(LocalDateTime dataEnvio) {
+    this.dataEnvio = dataEnvio;
+  }
+
+  public LocalDateTime getDataLeitura() {
+    return dataLeitura;
+  }
+
+  public void setDataLeitura(LocalDateTime dataLeitura) {
+    this.dataLeitura = dataLeitura;
+  }
+}
@@ -0,0 +1,28 @@
+package com.teatro.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO para renovação de tokens e logout
+ */
+public class RefreshTokenRequest {
+
+  @NotBlank(message = "Refresh token é obrigatório")
+  private String refreshToken;
+
+  // Construtores
+  public RefreshTokenRequest() {}
+
+  public RefreshTokenRequest(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+
+  // Getters e Setters
+  public String getRefreshToken() {
+    return refreshToken;
+  }
+
+  public void setRefreshToken(String refreshToken) {
+    this.refreshToken = refreshToken;
+  }
+}
@@ -0,0 +1,61 @@
+package com.teatro.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import com.teatro.model.ResumoAvaliacoes;
+
+/**
+ * DTO com média, quantidade e distribuição das notas de uma sessão ou evento
+ */
+public class ResumoAvaliacoesDTO {
+
+  private Long id;
+  private Double media;
+  private Long quantidade;
+  private Map<Integer, Long> histograma;
+
+  // Construtores
+  public ResumoAvaliacoesDTO() {}
+
+  public ResumoAvaliacoesDTO(Long id, ResumoAvaliacoes resumo) {
+    this.id = id;
+    this.media = BigDecimal.valueOf(resumo.getMedia()).setScale(2, RoundingMode.HALF_UP)
+        .doubleValue();
+    this.quantidade = resumo.getQuantidade();
+    this.histograma = resumo.getHistograma();
+  }
+
+  // Getters e Setters
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public Double getMedia() {
+    return media;
+  }
+
+  public void setMedia(Double media) {
+    this.media = media;
+  }
+
+  public Long getQuantidade() {
+    return quantidade;
+  }
+
+  public void setQuantidade(Long quantidade) {
+    this.quantidade = quantidade;
+  }
+
+  public Map<Integer, Long> getHistograma() {
+    return histograma;
+  }
+
+  public void setHistograma(Map<Integer, Long> histograma) {
+    this.histograma = histograma;
+  }
+}
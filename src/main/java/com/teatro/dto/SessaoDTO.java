@@ -72,6 +72,12 @@ public class SessaoDTO {
   @JsonProperty(access = JsonProperty.Access.READ_ONLY)
   private Double faturamentoTotal;
 
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Double mediaAvaliacoes;
+
+  @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+  private Long totalAvaliacoes;
+
   // Construtores
   public SessaoDTO() {}
 
@@ -85,6 +91,12 @@ public class SessaoDTO {
     this.dataCriacao = sessao.getDataCriacao();
     this.dataAtualizacao = sessao.getDataAtualizacao();
 
+    // Avaliações (agregado materializado na sessão)
+    if (sessao.getResumoAvaliacoes() != null) {
+      this.mediaAvaliacoes = sessao.getMediaAvaliacoes();
+      this.totalAvaliacoes = sessao.getResumoAvaliacoes().getQuantidade();
+    }
+
     // Informações do evento
     if (sessao.getEvento() != null) {
       this.eventoId = sessao.getEvento().getId();
@@ -266,4 +278,20 @@ public class SessaoDTO {
   public void setFaturamentoTotal(Double faturamentoTotal) {
     this.faturamentoTotal = faturamentoTotal;
   }
+
+  public Double getMediaAvaliacoes() {
+    return mediaAvaliacoes;
+  }
+
+  public void setMediaAvaliacoes(Double mediaAvaliacoes) {
+    this.mediaAvaliacoes = mediaAvaliacoes;
+  }
+
+  public Long getTotalAvaliacoes() {
+    return totalAvaliacoes;
+  }
+
+  public void setTotalAvaliacoes(Long totalAvaliacoes) {
+    this.totalAvaliacoes = totalAvaliacoes;
+  }
 }
@@ -0,0 +1,130 @@
+package com.teatro.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import com.teatro.model.Ingresso;
+import com.teatro.model.Sessao;
+
+/**
+ * Payload dos eventos de compra e cancelamento de ingresso gravados no outbox
+ *
+ * Carrega apenas identificadores e os valores usados no processamento pós-compra, para que a
+ * linha do outbox fique pequena e o processamento não dependa do ingresso ainda existir.
+ */
+public class VendaIngressoEvento {
+
+  private Long ingressoId;
+  private String codigo;
+  private Long usuarioId;
+  private Long eventoId;
+  private Long sessaoId;
+  private Long areaId;
+  private Integer numeroPoltrona;
+  private Ingresso.Status status;
+  private BigDecimal valor;
+  private LocalDateTime dataCompra;
+
+  // Construtores
+  public VendaIngressoEvento() {}
+
+  /**
+   * Extrai do ingresso os dados do evento
+   */
+  public static VendaIngressoEvento de(Ingresso ingresso) {
+    VendaIngressoEvento evento = new VendaIngressoEvento();
+    Sessao sessao = ingresso.getSessao();
+    evento.ingressoId = ingresso.getId();
+    evento.codigo = ingresso.getCodigo();
+    evento.usuarioId = ingresso.getUsuario() != null ? ingresso.getUsuario().getId() : null;
+    evento.sessaoId = sessao != null ? sessao.getId() : null;
+    evento.eventoId =
+        sessao != null && sessao.getEvento() != null ? sessao.getEvento().getId() : null;
+    evento.areaId = ingresso.getArea() != null ? ingresso.getArea().getId() : null;
+    evento.numeroPoltrona = ingresso.getNumeroPoltrona();
+    evento.status = ingresso.getStatus();
+    evento.valor = ingresso.getValor();
+    evento.dataCompra = ingresso.getDataCompra();
+    return evento;
+  }
+
+  // Getters e Setters
+  public Long getIngressoId() {
+    return ingressoId;
+  }
+
+  public void setIngressoId(Long ingressoId) {
+    this.ingressoId = ingressoId;
+  }
+
+  public String getCodigo() {
+    return codigo;
+  }
+
+  public void setCodigo(String codigo) {
+    this.codigo = codigo;
+  }
+
+  public Long getUsuarioId() {
+    return usuarioId;
+  }
+
+  public void setUsuarioId(Long usuarioId) {
+    this.usuarioId = usuarioId;
+  }
+
+  public Long getEventoId() {
+    return eventoId;
+  }
+
+  public void setEventoId(Long eventoId) {
+    this.eventoId = eventoId;
+  }
+
+  public Long getSessaoId() {
+    return sessaoId;
+  }
+
+  public void setSessaoId(Long sessaoId) {
+    this.sessaoId = sessaoId;
+  }
+
+  public Long getAreaId() {
+    return areaId;
+  }
+
+  public void setAreaId(Long areaId) {
+    this.areaId = areaId;
+  }
+
+  public Integer getNumeroPoltrona() {
+    return numeroPoltrona;
+  }
+
+  public void setNumeroPoltrona(Integer numeroPoltrona) {
+    this.numeroPoltrona = numeroPoltrona;
+  }
+
+  public Ingresso.Status getStatus() {
+    return status;
+  }
+
+  public void setStatus(Ingresso.Status status) {
+    this.status = status;
+  }
+
+  public BigDecimal getValor() {
+    return valor;
+  }
+
+  public void setValor(BigDecimal valor) {
+    this.valor = valor;
+  }
+
+  public LocalDateTime getDataCompra() {
+    return dataCompra;
+  }
+
+  public void setDataCompra(LocalDateTime dataCompra) {
+    this.dataCompra = dataCompra;
+  }
+}
@@ -0,0 +1,15 @@
+package com.teatro.exception;
+
+/**
+ * Exceção lançada quando uma avaliação não é encontrada no sistema
+ */
+public class AvaliacaoNaoEncontradaException extends RuntimeException {
+
+  public AvaliacaoNaoEncontradaException(String message) {
+    super(message);
+  }
+
+  public AvaliacaoNaoEncontradaException(String message, Throwable cause) {
+    super(message, cause);
+  }
+}
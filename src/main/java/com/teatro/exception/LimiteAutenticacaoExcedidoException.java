@@ -0,0 +1,20 @@
+package com.teatro.exception;
+
+/**
+ * Exceção lançada quando o executor de hashing de senhas está saturado
+ *
+ * Deve ser convertida em 429 com o cabeçalho Retry-After.
+ */
+public class LimiteAutenticacaoExcedidoException extends RuntimeException {
+
+  private final long retryAfterSegundos;
+
+  public LimiteAutenticacaoExcedidoException(String message, long retryAfterSegundos) {
+    super(message);
+    this.retryAfterSegundos = retryAfterSegundos;
+  }
+
+  public long getRetryAfterSegundos() {
+    return retryAfterSegundos;
+  }
+}
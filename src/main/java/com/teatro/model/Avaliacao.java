@@ -10,9 +10,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
@@ -22,10 +24,15 @@ import lombok.NoArgsConstructor;
 /**
  * Entidade que representa uma avaliação de sessão por um usuário
  * 
- * Permite que usuários avaliem as sessões que assistiram
+ * Permite que usuários avaliem as sessões que assistiram. A listagem por sessão é paginada por
+ * cursor sobre o índice (sessao_id, id). Cada usuário avalia uma sessão uma única vez, garantido
+ * pela restrição única (usuario_id, sessao_id).
  */
 @Entity
-@Table(name = "avaliacoes")
+@Table(name = "avaliacoes",
+        indexes = @Index(name = "idx_avaliacoes_sessao", columnList = "sessao_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_avaliacoes_usuario_sessao",
+                columnNames = {"usuario_id", "sessao_id"}))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
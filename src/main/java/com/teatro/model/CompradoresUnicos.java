@@ -0,0 +1,77 @@
+package com.teatro.model;
+
+import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa o esboço HyperLogLog de compradores distintos de um escopo
+ *
+ * Cada linha guarda os 4 KB de registradores do esboço de um evento, uma sessão, um dia ou um
+ * evento em um dia. Os esboços são mantidos pelo CompradoresUnicosService.
+ */
+@Entity
+@Table(name = "compradores_unicos",
+    uniqueConstraints = @UniqueConstraint(name = "uk_compradores_unicos_escopo_chave",
+        columnNames = {"escopo", "chave"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompradoresUnicos {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(name = "escopo", nullable = false, length = 15)
+  private Escopo escopo;
+
+  @Column(name = "chave", nullable = false, length = 40)
+  private String chave;
+
+  @Column(name = "registros", nullable = false, length = 4096)
+  private byte[] registros;
+
+  @Column(name = "data_atualizacao")
+  private LocalDateTime dataAtualizacao;
+
+  /**
+   * Enum que define o escopo de um esboço
+   */
+  public enum Escopo {
+    EVENTO("Evento"), SESSAO("Sessão"), DIA("Dia da compra"), EVENTO_DIA("Evento em um dia");
+
+    private final String descricao;
+
+    Escopo(String descricao) {
+      this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+      return descricao;
+    }
+  }
+
+  /**
+   * Construtor para criação de esboço
+   */
+  public CompradoresUnicos(Escopo escopo, String chave, byte[] registros) {
+    this.escopo = escopo;
+    this.chave = chave;
+    this.registros = registros;
+  }
+}
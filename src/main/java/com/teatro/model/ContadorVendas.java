@@ -0,0 +1,82 @@
+package com.teatro.model;
+
+import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa o valor persistido de um contador de vendas
+ *
+ * Os contadores são mantidos em memória pelo ContadoresVendasService e gravados periodicamente
+ * nesta tabela. Cada linha guarda a quantidade de ingressos válidos e o faturamento (em centavos)
+ * de um escopo: um dia, um evento ou uma sessão.
+ */
+@Entity
+@Table(name = "contadores_vendas",
+    uniqueConstraints = @UniqueConstraint(name = "uk_contadores_vendas_escopo_chave",
+        columnNames = {"escopo", "chave"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadorVendas {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(name = "escopo", nullable = false, length = 10)
+  private Escopo escopo;
+
+  @Column(name = "chave", nullable = false, length = 20)
+  private String chave;
+
+  @Column(name = "quantidade", nullable = false)
+  private Long quantidade = 0L;
+
+  @Column(name = "faturamento_centavos", nullable = false)
+  private Long faturamentoCentavos = 0L;
+
+  @Column(name = "data_atualizacao")
+  private LocalDateTime dataAtualizacao;
+
+  /**
+   * Enum que define o escopo de um contador
+   */
+  public enum Escopo {
+    DIA("Dia da compra"), EVENTO("Evento"), SESSAO("Sessão");
+
+    private final String descricao;
+
+    Escopo(String descricao) {
+      this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+      return descricao;
+    }
+  }
+
+  /**
+   * Construtor para criação de contador
+   */
+  public ContadorVendas(Escopo escopo, String chave) {
+    this.escopo = escopo;
+    this.chave = chave;
+    this.quantidade = 0L;
+    this.faturamentoCentavos = 0L;
+  }
+}
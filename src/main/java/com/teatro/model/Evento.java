@@ -3,11 +3,15 @@ package com.teatro.model;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
@@ -30,6 +34,8 @@ import lombok.NoArgsConstructor;
  */
 @Entity
 @Table(name = "eventos")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -71,6 +77,9 @@ public class Evento {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    @Embedded
+    private ResumoAvaliacoes resumoAvaliacoes = new ResumoAvaliacoes();
+
     // Relacionamento com Sessões (1:N)
     @OneToMany(mappedBy = "evento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Sessao> sessoes = new ArrayList<>();
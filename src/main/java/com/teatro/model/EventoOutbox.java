@@ -0,0 +1,128 @@
+package com.teatro.model;
+
+import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa um evento de domínio aguardando processamento (outbox transacional)
+ *
+ * A linha é gravada na mesma transação da operação que a originou e depois consumida pelo
+ * OutboxService, fora da transação original. Enquanto pendente, {@code disponivelEm} indica a
+ * partir de quando o evento pode ser tentado; durante o processamento, até quando a reserva do
+ * processador vale antes de o evento voltar a ficar pendente. Cada reserva grava um identificador
+ * em {@code reserva} e incrementa {@code versao}, de modo que um processador cuja reserva venceu
+ * não consegue mais concluir nem reagendar o evento.
+ */
+@Entity
+@Table(name = "eventos_outbox",
+    indexes = @Index(name = "idx_eventos_outbox_status", columnList = "status, disponivel_em"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(name = "tipo", nullable = false, length = 30)
+  private Tipo tipo;
+
+  @Column(name = "agregado_id")
+  private Long agregadoId;
+
+  @Column(name = "payload", nullable = false, length = 1000)
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(name = "status", nullable = false, length = 20)
+  private Status status = Status.PENDENTE;
+
+  @Column(name = "tentativas", nullable = false)
+  private Integer tentativas = 0;
+
+  @Column(name = "disponivel_em", nullable = false)
+  private LocalDateTime disponivelEm;
+
+  @Column(name = "data_criacao", nullable = false, updatable = false)
+  private LocalDateTime dataCriacao;
+
+  @Column(name = "data_processamento")
+  private LocalDateTime dataProcessamento;
+
+  @Column(name = "ultimo_erro", length = 500)
+  private String ultimoErro;
+
+  @Column(name = "reserva", length = 36)
+  private String reserva;
+
+  @Version
+  @Column(name = "versao", nullable = false)
+  private Long versao = 0L;
+
+  /**
+   * Enum que define os tipos de evento publicados pelo outbox
+   */
+  public enum Tipo {
+    COMPRA_INGRESSO("Compra de ingresso"), CANCELAMENTO_INGRESSO(
+        "Cancelamento de ingresso"), ALTERACAO_SESSAO("Alteração de sessão");
+
+    private final String descricao;
+
+    Tipo(String descricao) {
+      this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+      return descricao;
+    }
+  }
+
+  /**
+   * Enum que define a situação do evento
+   */
+  public enum Status {
+    PENDENTE("Pendente"), PROCESSANDO("Em processamento"), CONCLUIDO("Concluído"), FALHOU(
+        "Falhou");
+
+    private final String descricao;
+
+    Status(String descricao) {
+      this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+      return descricao;
+    }
+  }
+
+  /**
+   * Construtor para publicação de evento
+   */
+  public EventoOutbox(Tipo tipo, Long agregadoId, String payload) {
+    this.tipo = tipo;
+    this.agregadoId = agregadoId;
+    this.payload = payload;
+    this.status = Status.PENDENTE;
+    this.tentativas = 0;
+    this.dataCriacao = LocalDateTime.now();
+    this.disponivelEm = this.dataCriacao;
+  }
+}
@@ -3,6 +3,8 @@ package com.teatro.model;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,6 +20,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
@@ -43,7 +46,9 @@ import lombok.NoArgsConstructor;
 public class Ingresso {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "ingressos_id")
+    @TableGenerator(name = "ingressos_id", table = "sequencias_ids", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "ingressos", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Usuário é obrigatório")
@@ -75,6 +80,7 @@ public class Ingresso {
     private String codigo;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "status", nullable = false)
     private Status status = Status.RESERVADO;
 
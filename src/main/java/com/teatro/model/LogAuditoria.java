@@ -0,0 +1,73 @@
+package com.teatro.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa um registro de auditoria
+ *
+ * Guarda quem executou qual ação sobre qual entidade; os estados anterior e novo, quando
+ * informados, são serializados em JSON.
+ */
+@Entity
+@Table(name = "logs_auditoria",
+    indexes = {@Index(name = "idx_logs_usuario", columnList = "usuario_id"),
+        @Index(name = "idx_logs_acao", columnList = "acao, data_acao")})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogAuditoria {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "usuario_id")
+  private Long usuarioId;
+
+  @Column(name = "acao", nullable = false, length = 100)
+  private String acao;
+
+  @Column(name = "entidade", nullable = false, length = 50)
+  private String entidade;
+
+  @Column(name = "entidade_id")
+  private Long entidadeId;
+
+  @Column(name = "dados_anteriores", columnDefinition = "TEXT")
+  private String dadosAnteriores;
+
+  @Column(name = "dados_novos", columnDefinition = "TEXT")
+  private String dadosNovos;
+
+  @Column(name = "ip_address", length = 45)
+  private String ipAddress;
+
+  @Column(name = "user_agent", columnDefinition = "TEXT")
+  private String userAgent;
+
+  @Column(name = "data_acao", nullable = false)
+  private LocalDateTime dataAcao;
+
+  /**
+   * Construtor para registro de ação
+   */
+  public LogAuditoria(Long usuarioId, String acao, String entidade, Long entidadeId,
+      String dadosNovos) {
+    this.usuarioId = usuarioId;
+    this.acao = acao;
+    this.entidade = entidade;
+    this.entidadeId = entidadeId;
+    this.dadosNovos = dadosNovos;
+    this.dataAcao = LocalDateTime.now();
+  }
+}
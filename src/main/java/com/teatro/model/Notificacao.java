@@ -1,6 +1,8 @@
 package com.teatro.model;
 
 import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import jakarta.persistence.Column;
@@ -12,9 +14,11 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,9 +27,15 @@ import lombok.NoArgsConstructor;
  * Entidade que representa uma notificação do sistema
  * 
  * Pode ser do tipo EMAIL, SMS, PUSH ou SISTEMA
+ *
+ * Os índices atendem a caixa de entrada sem depender do tamanho do histórico: (usuario_id, lida)
+ * cobre a contagem de não lidas e a listagem só das não lidas; (usuario_id, id) a listagem
+ * paginada por cursor. Em InnoDB a chave primária já compõe o fim de todo índice secundário.
  */
 @Entity
-@Table(name = "notificacoes")
+@Table(name = "notificacoes",
+    indexes = {@Index(name = "idx_notificacoes_usuario", columnList = "usuario_id, lida"),
+        @Index(name = "idx_notificacoes_usuario_id", columnList = "usuario_id, id")})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,7 +43,9 @@ import lombok.NoArgsConstructor;
 public class Notificacao {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "notificacoes_id")
+  @TableGenerator(name = "notificacoes_id", table = "sequencias_ids", pkColumnName = "nome",
+      valueColumnName = "proximo_valor", pkColumnValue = "notificacoes", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +53,7 @@ public class Notificacao {
   private Usuario usuario;
 
   @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
   @Column(name = "tipo", nullable = false)
   private Tipo tipo;
 
@@ -1,6 +1,8 @@
 package com.teatro.model;
 
 import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import jakarta.persistence.Column;
@@ -15,6 +17,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -33,7 +36,9 @@ import lombok.NoArgsConstructor;
 public class PontosFidelidade {
 
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.TABLE, generator = "pontos_fidelidade_id")
+  @TableGenerator(name = "pontos_fidelidade_id", table = "sequencias_ids", pkColumnName = "nome",
+      valueColumnName = "proximo_valor", pkColumnValue = "pontos_fidelidade", allocationSize = 50)
   private Long id;
 
   @ManyToOne(fetch = FetchType.LAZY)
@@ -44,6 +49,7 @@ public class PontosFidelidade {
   private Integer pontos;
 
   @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
   @Column(name = "tipo_operacao", nullable = false)
   private TipoOperacao tipoOperacao;
 
@@ -61,7 +67,8 @@ public class PontosFidelidade {
    * Enum que define os tipos de operação com pontos
    */
   public enum TipoOperacao {
-    GANHO("Ganho de Pontos"), RESGATE("Resgate de Pontos"), EXPIRACAO("Expiração de Pontos");
+    GANHO("Ganho de Pontos"), RESGATE("Resgate de Pontos"), EXPIRACAO("Expiração de Pontos"),
+    ESTORNO("Estorno de Pontos");
 
     private final String descricao;
 
@@ -0,0 +1,73 @@
+package com.teatro.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.hibernate.annotations.ColumnDefault;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agregado das avaliações de uma sessão ou de um evento
+ *
+ * Soma, quantidade e histograma por nota ficam materializados na própria linha da sessão/evento e
+ * são mantidos por UPDATEs incrementais a cada avaliação criada ou removida (ver
+ * AvaliacaoService), de modo que média e distribuição são lidas sem consultar as avaliações. As
+ * colunas não são atualizáveis pela entidade para que salvar uma sessão ou evento não sobrescreva
+ * incrementos concorrentes.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+public class ResumoAvaliacoes {
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_soma", nullable = false, updatable = false)
+    private Long soma = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_quantidade", nullable = false, updatable = false)
+    private Long quantidade = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_nota1", nullable = false, updatable = false)
+    private Long nota1 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_nota2", nullable = false, updatable = false)
+    private Long nota2 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_nota3", nullable = false, updatable = false)
+    private Long nota3 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_nota4", nullable = false, updatable = false)
+    private Long nota4 = 0L;
+
+    @ColumnDefault("0")
+    @Column(name = "avaliacoes_nota5", nullable = false, updatable = false)
+    private Long nota5 = 0L;
+
+    /**
+     * Média das notas, ou 0 quando não há avaliações
+     */
+    public double getMedia() {
+        long total = quantidade != null ? quantidade : 0L;
+        return total > 0 ? (double) soma / total : 0.0;
+    }
+
+    /**
+     * Quantidade de avaliações por nota, de 1 a 5
+     */
+    public Map<Integer, Long> getHistograma() {
+        Map<Integer, Long> histograma = new LinkedHashMap<>();
+        histograma.put(1, nota1);
+        histograma.put(2, nota2);
+        histograma.put(3, nota3);
+        histograma.put(4, nota4);
+        histograma.put(5, nota5);
+        return histograma;
+    }
+}
@@ -5,11 +5,16 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
@@ -24,6 +29,7 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -44,7 +50,9 @@ import lombok.NoArgsConstructor;
 public class Sessao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "sessoes_id")
+    @TableGenerator(name = "sessoes_id", table = "sequencias_ids", pkColumnName = "nome",
+            valueColumnName = "proximo_valor", pkColumnValue = "sessoes", allocationSize = 50)
     private Long id;
 
     @Column(name = "nome", length = 100)
@@ -52,6 +60,7 @@ public class Sessao {
 
     @NotNull(message = "Tipo de sessão é obrigatório")
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "tipo_sessao", nullable = false)
     private TipoSessao tipoSessao;
 
@@ -74,13 +83,17 @@ public class Sessao {
     @Column(name = "data_atualizacao")
     private LocalDateTime dataAtualizacao;
 
+    @Embedded
+    private ResumoAvaliacoes resumoAvaliacoes = new ResumoAvaliacoes();
+
     // Relacionamento com Evento (N:1)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "evento_id", nullable = false)
     private Evento evento;
 
-    // Relacionamento com Áreas (N:N)
+    // Relacionamento com Áreas (N:N); a coleção fica no cache de segundo nível, como as áreas
     @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(name = "sessoes_areas", joinColumns = @JoinColumn(name = "sessao_id"),
             inverseJoinColumns = @JoinColumn(name = "area_id"))
     private List<Area> areas = new ArrayList<>();
@@ -269,21 +282,17 @@ public class Sessao {
     }
 
     /**
-     * Calcula a média das avaliações da sessão
+     * Retorna a média das avaliações da sessão (agregado materializado)
      */
     public double getMediaAvaliacoes() {
-        if (this.avaliacoes.isEmpty()) {
-            return 0.0;
-        }
-
-        return this.avaliacoes.stream().mapToInt(Avaliacao::getNota).average().orElse(0.0);
+        return this.resumoAvaliacoes != null ? this.resumoAvaliacoes.getMedia() : 0.0;
     }
 
     /**
-     * Retorna a quantidade de avaliações da sessão
+     * Retorna a quantidade de avaliações da sessão (agregado materializado)
      */
     public int getQuantidadeAvaliacoes() {
-        return this.avaliacoes.size();
+        return this.resumoAvaliacoes != null ? this.resumoAvaliacoes.getQuantidade().intValue() : 0;
     }
 
     /**
@@ -0,0 +1,55 @@
+package com.teatro.model;
+
+import java.time.LocalDateTime;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que registra um refresh token revogado
+ *
+ * Cada linha guarda o identificador (jti) do token e até quando ele seria válido; depois disso a
+ * linha não tem mais utilidade e é removida. A tabela só é lida na inicialização, para reconstruir
+ * o filtro em memória do RevogacaoTokensService.
+ */
+@Entity
+@Table(name = "tokens_revogados",
+    indexes = @Index(name = "idx_tokens_revogados_expira_em", columnList = "expira_em"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevogado {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "jti", nullable = false, unique = true, length = 36)
+  private String jti;
+
+  @Column(name = "usuario_id")
+  private Long usuarioId;
+
+  @Column(name = "expira_em", nullable = false)
+  private LocalDateTime expiraEm;
+
+  @Column(name = "data_revogacao", nullable = false)
+  private LocalDateTime dataRevogacao;
+
+  /**
+   * Construtor para registro de revogação
+   */
+  public TokenRevogado(String jti, Long usuarioId, LocalDateTime expiraEm) {
+    this.jti = jti;
+    this.usuarioId = usuarioId;
+    this.expiraEm = expiraEm;
+    this.dataRevogacao = LocalDateTime.now();
+  }
+}
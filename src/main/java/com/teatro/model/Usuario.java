@@ -3,6 +3,9 @@ package com.teatro.model;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -69,12 +72,33 @@ public class Usuario {
     private String senha;
 
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(name = "tipo_usuario", nullable = false)
     private TipoUsuario tipoUsuario = TipoUsuario.COMUM;
 
     @Column(name = "ativo", nullable = false)
     private Boolean ativo = true;
 
+    /**
+     * Saldo de pontos de fidelidade mantido pelo FidelidadeService
+     *
+     * Alterado apenas por updates atômicos no banco junto com o lançamento em pontos_fidelidade;
+     * por isso não é atualizável pela entidade, e salvar um usuário carregado antes de uma
+     * movimentação não sobrescreve o saldo.
+     */
+    @ColumnDefault("0")
+    @Column(name = "saldo_pontos", nullable = false, updatable = false)
+    private Integer saldoPontos = 0;
+
+    /**
+     * Instante (epoch em ms) antes do qual os tokens do usuário deixaram de valer
+     *
+     * Gravado apenas pelo RevogacaoUsuarios com update atômico; como o saldo, não é atualizável
+     * pela entidade, para que salvar um usuário carregado antes não apague a revogação.
+     */
+    @Column(name = "tokens_validos_desde", insertable = false, updatable = false)
+    private Long tokensValidosDesde;
+
     @CreatedDate
     @Column(name = "data_cadastro", nullable = false, updatable = false)
     private LocalDateTime dataCadastro;
@@ -156,27 +180,10 @@ public class Usuario {
     }
 
     /**
-     * Calcula o total de pontos de fidelidade do usuário
+     * Retorna o total de pontos de fidelidade do usuário (saldo materializado)
      */
     public int getTotalPontosFidelidade() {
-        return this.pontosFidelidade.stream()
-                .mapToInt(pf -> {
-                    if (pf.getTipoOperacao() == PontosFidelidade.TipoOperacao.GANHO) {
-                        return pf.getPontos();
-                    } else {
-                        return -pf.getPontos();
-                    }
-                })
-                .sum();
-    }
-
-    /**
-     * Retorna apenas as notificações não lidas
-     */
-    public List<Notificacao> getNotificacoesNaoLidas() {
-        return this.notificacoes.stream()
-                .filter(n -> !n.isLida())
-                .toList();
+        return this.saldoPontos != null ? this.saldoPontos : 0;
     }
 
     /**
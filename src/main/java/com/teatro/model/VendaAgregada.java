@@ -0,0 +1,100 @@
+package com.teatro.model;
+
+import java.time.LocalDateTime;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import com.teatro.model.Ingresso.Status;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidade que representa um bucket pré-agregado de vendas
+ *
+ * Cada linha acumula a quantidade de ingressos e o valor (em centavos) de uma combinação evento +
+ * sessão + área + status dentro de um intervalo de tempo. Os buckets nascem por minuto e são
+ * compactados em hora e depois em dia; uma mudança de ingresso fica em exatamente uma
+ * granularidade, então consultas por período apenas somam as linhas do intervalo.
+ */
+@Entity
+@Table(name = "vendas_agregadas",
+    indexes = @Index(name = "idx_vendas_agregadas_granularidade_inicio",
+        columnList = "granularidade, inicio"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendaAgregada {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(name = "granularidade", nullable = false, length = 10)
+  private Granularidade granularidade;
+
+  @Column(name = "inicio", nullable = false)
+  private LocalDateTime inicio;
+
+  @Column(name = "evento_id")
+  private Long eventoId;
+
+  @Column(name = "sessao_id")
+  private Long sessaoId;
+
+  @Column(name = "area_id")
+  private Long areaId;
+
+  @Enumerated(EnumType.STRING)
+  @JdbcTypeCode(SqlTypes.VARCHAR)
+  @Column(name = "status", nullable = false, length = 20)
+  private Status status;
+
+  @Column(name = "quantidade", nullable = false)
+  private Long quantidade = 0L;
+
+  @Column(name = "valor_centavos", nullable = false)
+  private Long valorCentavos = 0L;
+
+  /**
+   * Enum que define a granularidade de um bucket
+   */
+  public enum Granularidade {
+    MINUTO("Minuto"), HORA("Hora"), DIA("Dia");
+
+    private final String descricao;
+
+    Granularidade(String descricao) {
+      this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+      return descricao;
+    }
+  }
+
+  /**
+   * Construtor para criação de bucket vazio
+   */
+  public VendaAgregada(Granularidade granularidade, LocalDateTime inicio, Long eventoId,
+      Long sessaoId, Long areaId, Status status) {
+    this.granularidade = granularidade;
+    this.inicio = inicio;
+    this.eventoId = eventoId;
+    this.sessaoId = sessaoId;
+    this.areaId = areaId;
+    this.status = status;
+    this.quantidade = 0L;
+    this.valorCentavos = 0L;
+  }
+}
@@ -3,11 +3,14 @@ package com.teatro.repository;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.teatro.model.Area;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository para operações de persistência da entidade Area
@@ -19,8 +22,16 @@ import com.teatro.model.Area;
 public interface AreaRepository extends JpaRepository<Area, Long> {
 
         /**
-         * Busca áreas ativas
+         * Lista todas as áreas; resultado no cache de consultas
          */
+        @Override
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+        List<Area> findAll();
+
+        /**
+         * Busca áreas ativas; resultado no cache de consultas
+         */
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
         List<Area> findByAtivoTrue();
 
         /**
@@ -0,0 +1,87 @@
+package com.teatro.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.Avaliacao;
+
+/**
+ * Repository para operações de persistência da entidade Avaliacao
+ *
+ * Fornece métodos para: - Listagem paginada por cursor por sessão e por evento - Reconciliação dos
+ * agregados materializados em sessões e eventos
+ */
+@Repository
+public interface AvaliacaoRepository extends JpaRepository<Avaliacao, Long> {
+
+  /**
+   * Busca avaliações por sessão
+   */
+  List<Avaliacao> findBySessaoId(Long sessaoId);
+
+  /**
+   * Verifica se o usuário já avaliou a sessão
+   */
+  boolean existsByUsuarioIdAndSessaoId(Long usuarioId, Long sessaoId);
+
+  /**
+   * Busca as avaliações da sessão com id menor que o cursor, da mais recente para a mais antiga
+   */
+  @Query("SELECT a FROM Avaliacao a JOIN FETCH a.usuario "
+      + "WHERE a.sessao.id = :sessaoId AND a.id < :antesDe ORDER BY a.id DESC")
+  List<Avaliacao> buscarPaginaPorSessao(@Param("sessaoId") Long sessaoId,
+      @Param("antesDe") Long antesDe, Pageable pageable);
+
+  /**
+   * Busca as avaliações das sessões do evento com id menor que o cursor
+   */
+  @Query("SELECT a FROM Avaliacao a JOIN FETCH a.usuario JOIN a.sessao s "
+      + "WHERE s.evento.id = :eventoId AND a.id < :antesDe ORDER BY a.id DESC")
+  List<Avaliacao> buscarPaginaPorEvento(@Param("eventoId") Long eventoId,
+      @Param("antesDe") Long antesDe, Pageable pageable);
+
+  /**
+   * Recalcula o agregado de avaliações de todas as sessões a partir das avaliações
+   */
+  @Modifying
+  @Query("UPDATE Sessao s SET "
+      + "s.resumoAvaliacoes.soma = COALESCE((SELECT SUM(a.nota) FROM Avaliacao a "
+      + "WHERE a.sessao = s), 0), "
+      + "s.resumoAvaliacoes.quantidade = (SELECT COUNT(a) FROM Avaliacao a WHERE a.sessao = s), "
+      + "s.resumoAvaliacoes.nota1 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao = s AND a.nota = 1), "
+      + "s.resumoAvaliacoes.nota2 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao = s AND a.nota = 2), "
+      + "s.resumoAvaliacoes.nota3 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao = s AND a.nota = 3), "
+      + "s.resumoAvaliacoes.nota4 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao = s AND a.nota = 4), "
+      + "s.resumoAvaliacoes.nota5 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao = s AND a.nota = 5)")
+  int reconciliarResumosSessoes();
+
+  /**
+   * Recalcula o agregado de avaliações de todos os eventos a partir das avaliações
+   */
+  @Modifying
+  @Query("UPDATE Evento e SET "
+      + "e.resumoAvaliacoes.soma = COALESCE((SELECT SUM(a.nota) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e), 0), "
+      + "e.resumoAvaliacoes.quantidade = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e), "
+      + "e.resumoAvaliacoes.nota1 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e AND a.nota = 1), "
+      + "e.resumoAvaliacoes.nota2 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e AND a.nota = 2), "
+      + "e.resumoAvaliacoes.nota3 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e AND a.nota = 3), "
+      + "e.resumoAvaliacoes.nota4 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e AND a.nota = 4), "
+      + "e.resumoAvaliacoes.nota5 = (SELECT COUNT(a) FROM Avaliacao a "
+      + "WHERE a.sessao.evento = e AND a.nota = 5)")
+  int reconciliarResumosEventos();
+}
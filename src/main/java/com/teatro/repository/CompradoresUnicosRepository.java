@@ -0,0 +1,20 @@
+package com.teatro.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.CompradoresUnicos;
+import com.teatro.model.CompradoresUnicos.Escopo;
+
+/**
+ * Repository para persistência dos esboços de compradores distintos
+ */
+@Repository
+public interface CompradoresUnicosRepository extends JpaRepository<CompradoresUnicos, Long> {
+
+  /**
+   * Busca os esboços de um escopo pelas chaves
+   */
+  List<CompradoresUnicos> findByEscopoAndChaveIn(Escopo escopo, Collection<String> chaves);
+}
@@ -0,0 +1,15 @@
+package com.teatro.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.ContadorVendas;
+
+/**
+ * Repository para persistência dos contadores de vendas mantidos em memória
+ *
+ * Os contadores são lidos integralmente na inicialização e gravados em lote pela rotina periódica
+ * do ContadoresVendasService.
+ */
+@Repository
+public interface ContadorVendasRepository extends JpaRepository<ContadorVendas, Long> {
+}
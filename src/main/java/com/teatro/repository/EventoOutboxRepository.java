@@ -0,0 +1,72 @@
+package com.teatro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.model.EventoOutbox;
+import com.teatro.model.EventoOutbox.Status;
+
+/**
+ * Repository para os eventos do outbox transacional
+ *
+ * A reserva de um evento é um UPDATE condicional no status, de modo que mais de uma instância da
+ * aplicação pode despachar a mesma tabela sem processar o mesmo evento duas vezes. Reservar e
+ * liberar incrementam a versão, invalidando a gravação de um processador que ainda tenha o evento
+ * carregado.
+ */
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long> {
+
+    /**
+     * Busca, em ordem de criação, os ids dos eventos no status informado já disponíveis
+     */
+    @Query("SELECT e.id FROM EventoOutbox e WHERE e.status = :status "
+            + "AND e.disponivelEm <= :agora ORDER BY e.id")
+    List<Long> buscarDisponiveis(@Param("status") Status status,
+            @Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Reserva o evento para processamento até {@code reservaAte}
+     *
+     * @return 1 se a reserva foi obtida; 0 se outro processador chegou antes
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.status = :reservado, e.disponivelEm = :reservaAte, "
+            + "e.reserva = :reserva, e.versao = e.versao + 1 "
+            + "WHERE e.id = :id AND e.status = :pendente")
+    int reservar(@Param("id") Long id, @Param("pendente") Status pendente,
+            @Param("reservado") Status reservado, @Param("reservaAte") LocalDateTime reservaAte,
+            @Param("reserva") String reserva);
+
+    /**
+     * Devolve à fila os eventos cuja reserva venceu (processador interrompido)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.status = :pendente, e.reserva = NULL, "
+            + "e.versao = e.versao + 1 WHERE e.status = :reservado AND e.disponivelEm <= :agora")
+    int liberarReservasVencidas(@Param("pendente") Status pendente,
+            @Param("reservado") Status reservado, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Remove os eventos no status informado processados antes do instante
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.status = :status "
+            + "AND e.dataProcessamento < :instante")
+    int removerProcessados(@Param("status") Status status,
+            @Param("instante") LocalDateTime instante);
+
+    /**
+     * Conta eventos por status
+     */
+    long countByStatus(Status status);
+}
@@ -2,11 +2,15 @@ package com.teatro.repository;
 
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.teatro.model.Evento;
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository para operações de persistência da entidade Evento
@@ -17,8 +21,16 @@ import com.teatro.model.Evento;
 public interface EventoRepository extends JpaRepository<Evento, Long> {
 
        /**
-        * Busca eventos ativos
+        * Lista todos os eventos; resultado no cache de consultas
         */
+       @Override
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+       List<Evento> findAll();
+
+       /**
+        * Busca eventos ativos; resultado no cache de consultas
+        */
+       @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
        List<Evento> findByAtivoTrue();
 
        /**
@@ -81,4 +93,32 @@ public interface EventoRepository extends JpaRepository<Evento, Long> {
         */
        @Query("SELECT e FROM Evento e " + "WHERE e.ativo = true " + "AND e.sessoes IS EMPTY")
        List<Evento> findEventosSemSessoes();
+
+       /**
+        * Lista id, nome, situação e agregado de avaliações de todos os eventos
+        */
+       @Query("SELECT e.id, e.nome, e.ativo, e.resumoAvaliacoes.soma, "
+                     + "e.resumoAvaliacoes.quantidade FROM Evento e")
+       List<Object[]> listarResumosAvaliacoes();
+
+       /**
+        * Soma (delta = 1) ou retira (delta = -1) uma nota do agregado de avaliações do evento
+        */
+       @Modifying
+       @Query("UPDATE Evento e SET "
+                     + "e.resumoAvaliacoes.soma = e.resumoAvaliacoes.soma + :nota * :delta, "
+                     + "e.resumoAvaliacoes.quantidade = e.resumoAvaliacoes.quantidade + :delta, "
+                     + "e.resumoAvaliacoes.nota1 = e.resumoAvaliacoes.nota1 "
+                     + "+ CASE WHEN :nota = 1 THEN :delta ELSE 0 END, "
+                     + "e.resumoAvaliacoes.nota2 = e.resumoAvaliacoes.nota2 "
+                     + "+ CASE WHEN :nota = 2 THEN :delta ELSE 0 END, "
+                     + "e.resumoAvaliacoes.nota3 = e.resumoAvaliacoes.nota3 "
+                     + "+ CASE WHEN :nota = 3 THEN :delta ELSE 0 END, "
+                     + "e.resumoAvaliacoes.nota4 = e.resumoAvaliacoes.nota4 "
+                     + "+ CASE WHEN :nota = 4 THEN :delta ELSE 0 END, "
+                     + "e.resumoAvaliacoes.nota5 = e.resumoAvaliacoes.nota5 "
+                     + "+ CASE WHEN :nota = 5 THEN :delta ELSE 0 END "
+                     + "WHERE e.id = :eventoId")
+       int acumularAvaliacao(@Param("eventoId") Long eventoId, @Param("nota") long nota,
+                     @Param("delta") long delta);
 }
@@ -2,8 +2,10 @@ package com.teatro.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -197,6 +199,74 @@ public interface IngressoRepository extends JpaRepository<Ingresso, Long> {
                                                   @Param("dataInicio") LocalDate dataInicio,
                                                   @Param("dataFim") LocalDate dataFim);
 
+    /**
+     * Agrupa ingressos válidos por dia de compra (quantidade e faturamento)
+     *
+     * Usado apenas para reconstruir os contadores de vendas quando não há valores persistidos.
+     */
+    @Query("SELECT cast(i.dataCompra as LocalDate), COUNT(i), COALESCE(SUM(i.valor), 0) " +
+           "FROM Ingresso i " +
+           "WHERE i.status IN ('RESERVADO', 'PAGO') " +
+           "GROUP BY cast(i.dataCompra as LocalDate)")
+    List<Object[]> agruparVendasPorDia();
+
+    /**
+     * Agrupa ingressos válidos comprados em [inicio, fim) por dia de compra
+     *
+     * Usado na reconciliação dos contadores diários recentes na inicialização.
+     */
+    @Query("SELECT cast(i.dataCompra as LocalDate), COUNT(i), COALESCE(SUM(i.valor), 0) " +
+           "FROM Ingresso i " +
+           "WHERE i.status IN ('RESERVADO', 'PAGO') " +
+           "AND i.dataCompra >= :inicio AND i.dataCompra < :fim " +
+           "GROUP BY cast(i.dataCompra as LocalDate)")
+    List<Object[]> agruparVendasPorDiaEntre(@Param("inicio") LocalDateTime inicio,
+                                            @Param("fim") LocalDateTime fim);
+
+    /**
+     * Agrupa ingressos válidos por sessão e evento (quantidade e faturamento)
+     *
+     * Usado apenas para reconstruir os contadores de vendas quando não há valores persistidos.
+     */
+    @Query("SELECT i.sessao.id, i.sessao.evento.id, COUNT(i), COALESCE(SUM(i.valor), 0) " +
+           "FROM Ingresso i " +
+           "WHERE i.status IN ('RESERVADO', 'PAGO') " +
+           "GROUP BY i.sessao.id, i.sessao.evento.id")
+    List<Object[]> agruparVendasPorSessao();
+
+    /**
+     * Agrupa todos os ingressos por dia de compra, evento, sessão, área e status
+     *
+     * Usado apenas para popular os buckets diários de vendas quando a tabela está vazia.
+     */
+    @Query("SELECT cast(i.dataCompra as LocalDate), i.sessao.evento.id, i.sessao.id, i.area.id, " +
+           "i.status, COUNT(i), COALESCE(SUM(i.valor), 0) " +
+           "FROM Ingresso i " +
+           "GROUP BY cast(i.dataCompra as LocalDate), i.sessao.evento.id, i.sessao.id, " +
+           "i.area.id, i.status")
+    List<Object[]> agruparVendasPorDiaEDimensoes();
+
+    /**
+     * Agrupa os ingressos de um evento por área e status (quantidade e faturamento)
+     */
+    @Query("SELECT i.area.id, i.area.nome, i.status, COUNT(i), COALESCE(SUM(i.valor), 0) " +
+           "FROM Ingresso i " +
+           "WHERE i.sessao.evento.id = :eventoId " +
+           "GROUP BY i.area.id, i.area.nome, i.status")
+    List<Object[]> agruparPorAreaEStatusDoEvento(@Param("eventoId") Long eventoId);
+
+    /**
+     * Busca compras válidas (id, usuário, sessão, evento e data) a partir de um id, em ordem de id
+     *
+     * Usado em páginas para reconstruir os esboços de compradores distintos.
+     */
+    @Query("SELECT i.id, i.usuario.id, i.sessao.id, i.sessao.evento.id, i.dataCompra " +
+           "FROM Ingresso i " +
+           "WHERE i.status IN ('RESERVADO', 'PAGO') " +
+           "AND i.id > :ultimoId " +
+           "ORDER BY i.id")
+    List<Object[]> buscarComprasAPartirDe(@Param("ultimoId") Long ultimoId, Pageable pageable);
+
     /**
      * Verifica se um usuário já comprou ingresso para uma sessão específica
      */
@@ -206,4 +276,10 @@ public interface IngressoRepository extends JpaRepository<Ingresso, Long> {
            "AND i.status IN ('RESERVADO', 'PAGO')")
     boolean usuarioJaComprouParaSessao(@Param("usuarioId") Long usuarioId,
                                       @Param("sessaoId") Long sessaoId);
+
+    /**
+     * Verifica se o usuário tem ingresso para a sessão em um status diferente do informado
+     */
+    boolean existsByUsuarioIdAndSessaoIdAndStatusNot(Long usuarioId, Long sessaoId,
+                                                     Status status);
 } 
\ No newline at end of file
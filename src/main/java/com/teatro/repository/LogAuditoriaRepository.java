@@ -0,0 +1,12 @@
+package com.teatro.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.LogAuditoria;
+
+/**
+ * Repository para operações de persistência da entidade LogAuditoria
+ */
+@Repository
+public interface LogAuditoriaRepository extends JpaRepository<LogAuditoria, Long> {
+}
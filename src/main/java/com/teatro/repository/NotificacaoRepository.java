@@ -0,0 +1,61 @@
+package com.teatro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.Notificacao;
+
+/**
+ * Repository para operações de persistência da entidade Notificacao
+ *
+ * As listagens são paginadas por cursor (id da última notificação recebida), e não por offset,
+ * para que o custo de uma página não cresça com o histórico do usuário.
+ */
+@Repository
+public interface NotificacaoRepository extends JpaRepository<Notificacao, Long> {
+
+    /**
+     * Busca as notificações do usuário com id menor que o cursor, da mais recente para a mais
+     * antiga
+     */
+    @Query("SELECT n FROM Notificacao n WHERE n.usuario.id = :usuarioId AND n.id < :antesDe "
+            + "ORDER BY n.id DESC")
+    List<Notificacao> buscarPagina(@Param("usuarioId") Long usuarioId,
+            @Param("antesDe") Long antesDe, Pageable pageable);
+
+    /**
+     * Busca as notificações não lidas do usuário com id menor que o cursor
+     */
+    @Query("SELECT n FROM Notificacao n WHERE n.usuario.id = :usuarioId AND n.lida = false "
+            + "AND n.id < :antesDe ORDER BY n.id DESC")
+    List<Notificacao> buscarPaginaNaoLidas(@Param("usuarioId") Long usuarioId,
+            @Param("antesDe") Long antesDe, Pageable pageable);
+
+    /**
+     * Conta as notificações não lidas do usuário (atendida pelo índice idx_notificacoes_usuario)
+     */
+    long countByUsuarioIdAndLidaFalse(Long usuarioId);
+
+    /**
+     * Marca uma notificação do usuário como lida
+     */
+    @Modifying
+    @Query("UPDATE Notificacao n SET n.lida = true, n.dataLeitura = :agora "
+            + "WHERE n.id = :id AND n.usuario.id = :usuarioId AND n.lida = false")
+    int marcarComoLida(@Param("id") Long id, @Param("usuarioId") Long usuarioId,
+            @Param("agora") LocalDateTime agora);
+
+    /**
+     * Marca todas as notificações não lidas do usuário como lidas
+     */
+    @Modifying
+    @Query("UPDATE Notificacao n SET n.lida = true, n.dataLeitura = :agora "
+            + "WHERE n.usuario.id = :usuarioId AND n.lida = false")
+    int marcarTodasComoLidas(@Param("usuarioId") Long usuarioId,
+            @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,38 @@
+package com.teatro.repository;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.PontosFidelidade;
+import com.teatro.model.PontosFidelidade.TipoOperacao;
+
+/**
+ * Repository para o extrato (ledger) de pontos de fidelidade
+ *
+ * O saldo não é calculado a partir do extrato nas leituras; ele fica materializado em
+ * usuarios.saldo_pontos e o extrato serve de histórico e de base para reconciliação.
+ */
+@Repository
+public interface PontosFidelidadeRepository extends JpaRepository<PontosFidelidade, Long> {
+
+    /**
+     * Busca as operações mais recentes de um usuário
+     */
+    List<PontosFidelidade> findByUsuarioIdOrderByDataOperacaoDesc(Long usuarioId, Pageable pageable);
+
+    /**
+     * Recalcula o saldo materializado de todos os usuários a partir do extrato
+     *
+     * Operações do tipo {@code credito} somam; as demais (resgate, expiração) subtraem.
+     */
+    @Modifying
+    @Query("UPDATE Usuario u SET u.saldoPontos = COALESCE((SELECT SUM(CASE "
+            + "WHEN p.tipoOperacao = :credito "
+            + "THEN p.pontos ELSE -p.pontos END) "
+            + "FROM PontosFidelidade p WHERE p.usuario = u), 0)")
+    int reconciliarSaldos(@Param("credito") TipoOperacao credito);
+}
@@ -2,8 +2,11 @@ package com.teatro.repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -143,4 +146,67 @@ public interface SessaoRepository extends JpaRepository<Sessao, Long> {
         * Conta sessões ativas
         */
        long countByAtivaTrue();
+
+       /**
+        * Busca os ids das sessões inativas
+        */
+       @Query("SELECT s.id FROM Sessao s WHERE s.ativa = false")
+       List<Long> buscarIdsInativas();
+
+       /**
+        * Soma a capacidade das áreas associadas a cada sessão informada
+        */
+       @Query("SELECT s.id, COALESCE(SUM(a.capacidadeTotal), 0) " + "FROM Sessao s "
+                     + "LEFT JOIN s.areas a " + "WHERE s.id IN :sessaoIds " + "GROUP BY s.id")
+       List<Object[]> somarCapacidadePorSessao(@Param("sessaoIds") Collection<Long> sessaoIds);
+
+       /**
+        * Conta sessões por evento
+        */
+       long countByEventoId(Long eventoId);
+
+       /**
+        * Conta sessões de cada evento informado
+        */
+       @Query("SELECT s.evento.id, COUNT(s) " + "FROM Sessao s "
+                     + "WHERE s.evento.id IN :eventoIds " + "GROUP BY s.evento.id")
+       List<Object[]> contarPorEvento(@Param("eventoIds") Collection<Long> eventoIds);
+
+       /**
+        * Soma, por área, a capacidade oferecida nas sessões de um evento
+        *
+        * Retorna: id da área, nome, quantidade de sessões que oferecem a área e capacidade total
+        * (capacidade da área multiplicada pelas sessões)
+        */
+       @Query("SELECT a.id, a.nome, COUNT(s), COALESCE(SUM(a.capacidadeTotal), 0) "
+                     + "FROM Sessao s " + "JOIN s.areas a " + "WHERE s.evento.id = :eventoId "
+                     + "GROUP BY a.id, a.nome")
+       List<Object[]> somarCapacidadePorAreaDoEvento(@Param("eventoId") Long eventoId);
+
+       /**
+        * Retorna o id do evento da sessão
+        */
+       @Query("SELECT s.evento.id FROM Sessao s WHERE s.id = :sessaoId")
+       Optional<Long> buscarEventoId(@Param("sessaoId") Long sessaoId);
+
+       /**
+        * Soma (delta = 1) ou retira (delta = -1) uma nota do agregado de avaliações da sessão
+        */
+       @Modifying
+       @Query("UPDATE Sessao s SET "
+                     + "s.resumoAvaliacoes.soma = s.resumoAvaliacoes.soma + :nota * :delta, "
+                     + "s.resumoAvaliacoes.quantidade = s.resumoAvaliacoes.quantidade + :delta, "
+                     + "s.resumoAvaliacoes.nota1 = s.resumoAvaliacoes.nota1 "
+                     + "+ CASE WHEN :nota = 1 THEN :delta ELSE 0 END, "
+                     + "s.resumoAvaliacoes.nota2 = s.resumoAvaliacoes.nota2 "
+                     + "+ CASE WHEN :nota = 2 THEN :delta ELSE 0 END, "
+                     + "s.resumoAvaliacoes.nota3 = s.resumoAvaliacoes.nota3 "
+                     + "+ CASE WHEN :nota = 3 THEN :delta ELSE 0 END, "
+                     + "s.resumoAvaliacoes.nota4 = s.resumoAvaliacoes.nota4 "
+                     + "+ CASE WHEN :nota = 4 THEN :delta ELSE 0 END, "
+                     + "s.resumoAvaliacoes.nota5 = s.resumoAvaliacoes.nota5 "
+                     + "+ CASE WHEN :nota = 5 THEN :delta ELSE 0 END "
+                     + "WHERE s.id = :sessaoId")
+       int acumularAvaliacao(@Param("sessaoId") Long sessaoId, @Param("nota") long nota,
+                     @Param("delta") long delta);
 }
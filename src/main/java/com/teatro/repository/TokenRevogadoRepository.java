@@ -0,0 +1,33 @@
+package com.teatro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.model.TokenRevogado;
+
+/**
+ * Repository para os refresh tokens revogados
+ *
+ * Lido apenas na inicialização; as consultas de revogação são atendidas em memória.
+ */
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, Long> {
+
+    /**
+     * Busca as revogações ainda relevantes (tokens que não expiraram)
+     */
+    List<TokenRevogado> findByExpiraEmAfter(LocalDateTime instante);
+
+    /**
+     * Remove as revogações de tokens já expirados
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm <= :instante")
+    int removerExpirados(@Param("instante") LocalDateTime instante);
+}
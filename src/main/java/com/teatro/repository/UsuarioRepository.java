@@ -3,9 +3,11 @@ package com.teatro.repository;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.teatro.model.Usuario;
 
 /**
@@ -27,12 +29,6 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     Optional<Usuario> findByEmail(String email);
 
-    /**
-     * Busca usuário por CPF ou email (para autenticação)
-     */
-    @Query("SELECT u FROM Usuario u WHERE u.cpf = :identificador OR u.email = :identificador")
-    Optional<Usuario> findByCpfOrEmail(@Param("identificador") String identificador);
-
     /**
      * Verifica se existe usuário com CPF
      */
@@ -48,6 +44,52 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      */
     List<Usuario> findByAtivoTrue();
 
+    /**
+     * Consulta o saldo materializado de pontos de fidelidade
+     */
+    @Query("SELECT u.saldoPontos FROM Usuario u WHERE u.id = :id")
+    Optional<Integer> buscarSaldoPontos(@Param("id") Long id);
+
+    /**
+     * Credita pontos no saldo de forma atômica
+     *
+     * @return 1 se o usuário existe, 0 caso contrário
+     */
+    @Modifying
+    @Query("UPDATE Usuario u SET u.saldoPontos = u.saldoPontos + :pontos WHERE u.id = :id")
+    int creditarPontos(@Param("id") Long id, @Param("pontos") int pontos);
+
+    /**
+     * Debita pontos do saldo de forma atômica, apenas se houver saldo suficiente
+     *
+     * @return 1 se debitou, 0 se o usuário não existe ou o saldo é insuficiente
+     */
+    @Modifying
+    @Query("UPDATE Usuario u SET u.saldoPontos = u.saldoPontos - :pontos "
+            + "WHERE u.id = :id AND u.saldoPontos >= :pontos")
+    int debitarPontos(@Param("id") Long id, @Param("pontos") int pontos);
+
+    /**
+     * Grava o instante de revogação dos tokens do usuário, sem recuar um instante já gravado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.tokensValidosDesde = :instante WHERE u.id = :id "
+            + "AND (u.tokensValidosDesde IS NULL OR u.tokensValidosDesde < :instante)")
+    int registrarRevogacao(@Param("id") Long id, @Param("instante") long instante);
+
+    /**
+     * Busca id e instante de revogação dos usuários revogados depois do limite informado
+     */
+    @Query("SELECT u.id, u.tokensValidosDesde FROM Usuario u WHERE u.tokensValidosDesde > :limite")
+    List<Object[]> buscarRevogacoesDesde(@Param("limite") long limite);
+
+    /**
+     * Busca os ids dos usuários inativos
+     */
+    @Query("SELECT u.id FROM Usuario u WHERE u.ativo = false")
+    List<Long> buscarIdsInativos();
+
     /**
      * Busca usuários por tipo
      */
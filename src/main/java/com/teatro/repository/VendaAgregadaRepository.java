@@ -0,0 +1,54 @@
+package com.teatro.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.teatro.model.VendaAgregada;
+import com.teatro.model.VendaAgregada.Granularidade;
+import jakarta.persistence.LockModeType;
+
+/**
+ * Repository para operações de persistência dos buckets agregados de vendas
+ *
+ * Fornece métodos para: - Leitura em lotes dos buckets de uma granularidade para compactação -
+ * Soma dos buckets de um período agrupada por status - Leitura dos buckets recentes
+ */
+@Repository
+public interface VendaAgregadaRepository extends JpaRepository<VendaAgregada, Long> {
+
+  /**
+   * Busca, em ordem de id, um lote dos buckets de uma granularidade iniciados antes de um instante
+   *
+   * As linhas lidas ficam travadas até o fim da transação: uma descarga que tente somar num bucket
+   * já lido pela compactação espera o commit e falha ao encontrá-lo removido, devolvendo o valor ao
+   * buffer em memória em vez de perdê-lo.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<VendaAgregada> findByGranularidadeAndInicioBeforeOrderById(Granularidade granularidade,
+      LocalDateTime limite, Pageable pageable);
+
+  /**
+   * Busca buckets de uma granularidade iniciados em um intervalo [inicio, fim)
+   */
+  List<VendaAgregada> findByGranularidadeAndInicioGreaterThanEqualAndInicioLessThan(
+      Granularidade granularidade, LocalDateTime inicio, LocalDateTime fim);
+
+  /**
+   * Busca buckets de qualquer granularidade iniciados a partir de um instante, em ordem de início
+   */
+  List<VendaAgregada> findByInicioGreaterThanEqualOrderByInicio(LocalDateTime inicio);
+
+  /**
+   * Soma quantidade e valor dos buckets de um intervalo [inicio, fim), agrupando por status
+   */
+  @Query("SELECT v.status, COALESCE(SUM(v.quantidade), 0), COALESCE(SUM(v.valorCentavos), 0) "
+      + "FROM VendaAgregada v " + "WHERE v.inicio >= :inicio AND v.inicio < :fim "
+      + "GROUP BY v.status")
+  List<Object[]> somarPorStatus(@Param("inicio") LocalDateTime inicio,
+      @Param("fim") LocalDateTime fim);
+}
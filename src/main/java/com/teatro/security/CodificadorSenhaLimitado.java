@@ -0,0 +1,113 @@
+package com.teatro.security;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.teatro.exception.LimiteAutenticacaoExcedidoException;
+import com.teatro.service.MetricasService;
+import com.teatro.util.HistogramaLatencia;
+
+/**
+ * PasswordEncoder que executa o BCrypt em um executor dedicado e limitado
+ *
+ * O hashing de senha é caro em CPU; numa onda de logins antes de uma abertura de vendas ele
+ * ocuparia as threads do Tomcat que atendem o restante da API. Aqui cada operação vai para um pool
+ * com poucas threads e fila curta: com a fila cheia, ou se a operação não começar dentro da espera
+ * máxima, a chamada falha na hora com LimiteAutenticacaoExcedidoException, que o
+ * LimiteAutenticacaoHandler converte em 429 com Retry-After.
+ */
+public class CodificadorSenhaLimitado implements PasswordEncoder {
+
+  private final PasswordEncoder delegado;
+  private final ThreadPoolExecutor executor;
+  private final long esperaMaximaMs;
+  private final long retryAfterSegundos;
+
+  private final HistogramaLatencia espera;
+  private final HistogramaLatencia execucao;
+  private final LongAdder rejeicoes;
+
+  public CodificadorSenhaLimitado(PasswordEncoder delegado, ThreadPoolExecutor executor,
+      long esperaMaximaMs, long retryAfterSegundos, MetricasService metricasService) {
+    this.delegado = delegado;
+    this.executor = executor;
+    this.esperaMaximaMs = esperaMaximaMs;
+    this.retryAfterSegundos = retryAfterSegundos;
+
+    this.espera = metricasService.histograma("teatro_senha_espera_segundos",
+        "Tempo na fila do executor de hashing de senhas");
+    this.execucao = metricasService.histograma("teatro_senha_execucao_segundos",
+        "Duração de cada operação de hashing de senha");
+    this.rejeicoes = metricasService.contador("teatro_senha_rejeicoes_total",
+        "Operações de senha recusadas por saturação do executor");
+    metricasService.medidor("teatro_senha_fila", "Operações de senha aguardando execução",
+        () -> executor.getQueue().size());
+    metricasService.medidor("teatro_senha_ativas", "Operações de senha em execução",
+        executor::getActiveCount);
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return executar(() -> delegado.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return executar(() -> delegado.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegado.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T executar(Callable<T> operacao) {
+    long enfileiradoEm = System.nanoTime();
+    Future<T> futuro;
+    try {
+      futuro = executor.submit(() -> {
+        long inicio = System.nanoTime();
+        espera.registrar(inicio - enfileiradoEm);
+        try {
+          return operacao.call();
+        } finally {
+          execucao.registrar(System.nanoTime() - inicio);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      throw rejeitar();
+    }
+
+    try {
+      return futuro.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      futuro.cancel(true);
+      throw rejeitar();
+    } catch (InterruptedException e) {
+      futuro.cancel(true);
+      Thread.currentThread().interrupt();
+      throw rejeitar();
+    } catch (ExecutionException e) {
+      Throwable causa = e.getCause();
+      if (causa instanceof RuntimeException runtime) {
+        throw runtime;
+      }
+      if (causa instanceof Error erro) {
+        throw erro;
+      }
+      throw new IllegalStateException(causa);
+    }
+  }
+
+  private LimiteAutenticacaoExcedidoException rejeitar() {
+    rejeicoes.increment();
+    return new LimiteAutenticacaoExcedidoException(
+        "Muitas autenticações simultâneas. Tente novamente em instantes.", retryAfterSegundos);
+  }
+}
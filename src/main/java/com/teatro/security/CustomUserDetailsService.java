@@ -1,31 +1,25 @@
 package com.teatro.security;
 
-import java.util.Collections;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import com.teatro.model.Usuario;
-import com.teatro.repository.UsuarioRepository;
+import com.teatro.service.UsuarioCacheService;
+import com.teatro.service.UsuarioCacheService.UsuarioResumo;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-  private final UsuarioRepository usuarioRepository;
+  private final UsuarioCacheService usuarioCacheService;
 
-  public CustomUserDetailsService(UsuarioRepository usuarioRepository) {
-    this.usuarioRepository = usuarioRepository;
+  public CustomUserDetailsService(UsuarioCacheService usuarioCacheService) {
+    this.usuarioCacheService = usuarioCacheService;
   }
 
   @Override
-  public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    Usuario usuario = usuarioRepository.findByEmail(username)
+  public UsuarioPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
+    UsuarioResumo usuario = usuarioCacheService.buscarPorEmail(username)
         .orElseThrow(() -> new UsernameNotFoundException("Usuário não encontrado: " + username));
 
-    return User.builder().username(usuario.getEmail()).password(usuario.getSenha()).authorities(
-        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + usuario.getTipoUsuario())))
-        .build();
+    return UsuarioPrincipal.deResumo(usuario);
   }
 }
@@ -1,6 +1,7 @@
 package com.teatro.security;
 
 import java.io.IOException;
+import java.util.Date;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -9,6 +10,8 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import com.teatro.model.Usuario.TipoUsuario;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,10 +22,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsService userDetailsService;
+    private final RevogacaoUsuarios revogacaoUsuarios;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, UserDetailsService userDetailsService,
+            RevogacaoUsuarios revogacaoUsuarios) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
+        this.revogacaoUsuarios = revogacaoUsuarios;
     }
 
     @Override
@@ -30,16 +36,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throws ServletException, IOException {
         try {
             String jwt = getJwtFromRequest(request);
+            Claims claims = StringUtils.hasText(jwt) ? tokenProvider.obterClaimsValidas(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            if (claims != null) {
+                UserDetails userDetails = carregarPrincipal(claims);
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                            userDetails, null, userDetails.getAuthorities());
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -48,6 +56,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Monta o principal a partir das claims; tokens antigos, sem id e perfil, ainda passam pela
+     * consulta ao banco. Retorna null para refresh tokens, que não autenticam requisições, e quando
+     * o token foi revogado ou o usuário está inativo.
+     */
+    private UserDetails carregarPrincipal(Claims claims) {
+        if (JwtTokenProvider.ehRefresh(claims)) {
+            return null;
+        }
+        Date emitidoEm = claims.getIssuedAt();
+        long emitidoEmMs = emitidoEm != null ? emitidoEm.getTime() : 0L;
+        Number usuarioId = claims.get(JwtTokenProvider.CLAIM_USUARIO_ID, Number.class);
+        String perfil = claims.get(JwtTokenProvider.CLAIM_PERFIL, String.class);
+
+        if (usuarioId != null && perfil != null) {
+            if (revogacaoUsuarios.estaRevogado(usuarioId.longValue(), emitidoEmMs)) {
+                return null;
+            }
+            return UsuarioPrincipal.deToken(usuarioId.longValue(), claims.getSubject(),
+                    TipoUsuario.valueOf(perfil));
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!userDetails.isEnabled()) {
+            return null;
+        }
+        if (userDetails instanceof UsuarioPrincipal usuario
+                && revogacaoUsuarios.estaRevogado(usuario.getId(), emitidoEmMs)) {
+            return null;
+        }
+        return userDetails;
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -55,4 +96,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         return null;
     }
-} 
\ No newline at end of file
+}
@@ -1,65 +1,187 @@
 package com.teatro.security;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import com.teatro.model.Usuario.TipoUsuario;
+import com.teatro.util.CacheLimitado;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtTokenProvider {
 
+    public static final String CLAIM_USUARIO_ID = "uid";
+    public static final String CLAIM_PERFIL = "role";
+    public static final String CLAIM_TIPO = "typ";
+    public static final String TIPO_REFRESH = "refresh";
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    });
+
     @Value("${app.jwt.secret:defaultSecretKey}")
     private String jwtSecret;
 
-    @Value("${app.jwt.expiration:86400000}")
-    private int jwtExpirationMs;
+    @Value("${app.jwt.expiration:900000}")
+    private long jwtExpirationMs;
+
+    @Value("${app.jwt.refresh-expiration:604800000}")
+    private long refreshExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${app.jwt.cache.maximo-entradas:10000}")
+    private int maximoEntradasCache;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private CacheLimitado<String, Claims> tokensVerificados;
+
+    /**
+     * Deriva a chave HMAC e monta o parser uma única vez; ambos são imutáveis e thread-safe
+     */
+    @PostConstruct
+    void inicializar() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        tokensVerificados = new CacheLimitado<>(maximoEntradasCache);
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        if (userPrincipal instanceof UsuarioPrincipal usuario) {
+            return generateTokenFromUsuario(usuario.getUsername(), usuario.getId(),
+                    usuario.getTipoUsuario());
+        }
         return generateTokenFromUsername(userPrincipal.getUsername());
     }
 
     public String generateTokenFromUsername(String username) {
+        return generateTokenFromUsuario(username, null, null);
+    }
+
+    /**
+     * Gera o token com o id e o perfil do usuário como claims, dispensando a consulta ao banco na
+     * autenticação das requisições seguintes
+     */
+    public String generateTokenFromUsuario(String username, Long usuarioId, TipoUsuario perfil) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
+        JwtBuilder builder = Jwts.builder()
+                .subject(username);
+        if (usuarioId != null && perfil != null) {
+            builder.claim(CLAIM_USUARIO_ID, usuarioId)
+                    .claim(CLAIM_PERFIL, perfil.name());
+        }
+        return builder
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(signingKey, Jwts.SIG.HS512)
+                .compact();
+    }
+
+    /**
+     * Gera um refresh token com identificador único (jti), usado apenas em /auth/refresh
+     *
+     * Cada uso troca o token por um novo par; o jti do anterior é revogado.
+     */
+    public String generateRefreshToken(String username, Long usuarioId, TipoUsuario perfil) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + refreshExpirationMs);
+
         return Jwts.builder()
                 .subject(username)
+                .id(UUID.randomUUID().toString())
+                .claim(CLAIM_TIPO, TIPO_REFRESH)
+                .claim(CLAIM_USUARIO_ID, usuarioId)
+                .claim(CLAIM_PERFIL, perfil.name())
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey(), Jwts.SIG.HS512)
+                .signWith(signingKey, Jwts.SIG.HS512)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Retorna as claims de um refresh token válido, ou null se o token for inválido, estiver
+     * expirado ou não for um refresh token
+     */
+    public Claims obterClaimsRefresh(String token) {
+        Claims claims = obterClaimsValidas(token);
+        if (claims == null || !ehRefresh(claims) || claims.getId() == null) {
+            return null;
+        }
+        return claims;
+    }
 
-        return claims.getSubject();
+    public static boolean ehRefresh(Claims claims) {
+        return TIPO_REFRESH.equals(claims.get(CLAIM_TIPO));
     }
 
-    public boolean validateToken(String token) {
+    public long getJwtExpirationMs() {
+        return jwtExpirationMs;
+    }
+
+    /**
+     * Verifica o token e retorna suas claims, ou null se for inválido ou estiver expirado
+     *
+     * Tokens já verificados ficam em cache, indexados pelo SHA-256 do token, até a expiração; assim
+     * cada token paga a verificação HS512 uma única vez.
+     */
+    public Claims obterClaimsValidas(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long agora = System.currentTimeMillis();
+        String chave = hash(token);
+        Claims claims = tokensVerificados.obter(chave, agora);
+        if (claims != null) {
+            return claims;
+        }
+
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
+            claims = parser.parseSignedClaims(token).getPayload();
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return null;
         }
+        Date expiracao = claims.getExpiration();
+        if (expiracao != null) {
+            tokensVerificados.guardar(chave, claims, expiracao.getTime(), agora);
+        }
+        return claims;
+    }
+
+    public String getUsernameFromToken(String token) {
+        Claims claims = obterClaimsValidas(token);
+        if (claims == null) {
+            throw new JwtException("Token JWT inválido");
+        }
+        return claims.getSubject();
+    }
+
+    public boolean validateToken(String token) {
+        return obterClaimsValidas(token) != null;
+    }
+
+    private static String hash(String token) {
+        MessageDigest digest = SHA256.get();
+        byte[] resumo = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().withoutPadding().encodeToString(resumo);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,96 @@
+package com.teatro.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Registro de usuários cujos tokens emitidos até certo instante deixaram de valer
+ *
+ * Como o principal é montado a partir das claims do JWT, desativação, troca de perfil ou de senha
+ * não seriam percebidas até o token expirar. Cada revogação guarda o instante em que ocorreu e
+ * invalida os tokens de acesso e refresh tokens emitidos antes dele; passado o tempo de vida do
+ * refresh token a entrada já não tem efeito e é descartada. A consulta é feita em memória, mas o
+ * instante também é gravado em usuarios.tokens_validos_desde (na transação de quem revoga) e
+ * recarregado na inicialização, junto com os usuários inativos, para que um token revogado não
+ * volte a valer após um reinício.
+ */
+@Component
+public class RevogacaoUsuarios {
+
+  private final UsuarioRepository usuarioRepository;
+  private final Map<Long, Long> revogadosEm = new ConcurrentHashMap<>();
+
+  /**
+   * Tempo de vida do token mais longo emitido (o refresh token)
+   */
+  @Value("${app.jwt.refresh-expiration:604800000}")
+  private long jwtExpirationMs;
+
+  public RevogacaoUsuarios(UsuarioRepository usuarioRepository) {
+    this.usuarioRepository = usuarioRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void carregarRevogacoes() {
+    long agora = System.currentTimeMillis();
+    for (Object[] revogacao : usuarioRepository.buscarRevogacoesDesde(agora - jwtExpirationMs)) {
+      revogadosEm.merge((Long) revogacao[0], (Long) revogacao[1], Math::max);
+    }
+    for (Long id : usuarioRepository.buscarIdsInativos()) {
+      revogadosEm.merge(id, agora, Math::max);
+    }
+  }
+
+  /**
+   * Invalida os tokens do usuário emitidos até agora
+   */
+  public void revogar(Long usuarioId) {
+    if (usuarioId == null) {
+      return;
+    }
+    long agora = System.currentTimeMillis();
+    registrar(usuarioId, agora);
+    revogadosEm.values().removeIf(instante -> instante + jwtExpirationMs < agora);
+  }
+
+  /**
+   * Invalida os tokens do usuário emitidos até agora, inclusive os emitidos no segundo corrente
+   *
+   * Usado quando há indício de vazamento (reuso de refresh token), em que a tolerância de
+   * {@link #estaRevogado} para tokens do mesmo segundo não deve valer.
+   */
+  public void revogarImediatamente(Long usuarioId) {
+    if (usuarioId == null) {
+      return;
+    }
+    registrar(usuarioId, System.currentTimeMillis() + 1000);
+  }
+
+  private void registrar(Long usuarioId, long instante) {
+    revogadosEm.merge(usuarioId, instante, Math::max);
+    usuarioRepository.registrarRevogacao(usuarioId, instante);
+  }
+
+  /**
+   * Verifica se um token do usuário emitido em {@code emitidoEmMs} foi revogado
+   *
+   * O iat do JWT tem resolução de segundos, então a comparação é feita no segundo da revogação:
+   * um token emitido no mesmo segundo, como o de um novo login logo após a troca de senha, vale.
+   */
+  public boolean estaRevogado(Long usuarioId, long emitidoEmMs) {
+    Long revogadoEm = revogadosEm.get(usuarioId);
+    if (revogadoEm == null) {
+      return false;
+    }
+    if (revogadoEm + jwtExpirationMs < System.currentTimeMillis()) {
+      revogadosEm.remove(usuarioId, revogadoEm);
+      return false;
+    }
+    return emitidoEmMs < (revogadoEm / 1000) * 1000;
+  }
+}
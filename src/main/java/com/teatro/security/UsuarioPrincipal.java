@@ -0,0 +1,99 @@
+package com.teatro.security;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import com.teatro.model.Usuario.TipoUsuario;
+import com.teatro.service.UsuarioCacheService.UsuarioResumo;
+
+/**
+ * Principal autenticado da aplicação
+ *
+ * Guarda o id e o tipo do usuário além do email, para que o token JWT possa carregá-los como
+ * claims e o filtro reconstrua o principal sem consultar o banco a cada requisição.
+ */
+public class UsuarioPrincipal implements UserDetails, CredentialsContainer {
+
+  private final Long id;
+  private final String email;
+  private final TipoUsuario tipoUsuario;
+  private final boolean ativo;
+  private final List<GrantedAuthority> authorities;
+  private String senha;
+
+  public UsuarioPrincipal(Long id, String email, TipoUsuario tipoUsuario, String senha,
+      boolean ativo) {
+    this.id = id;
+    this.email = email;
+    this.tipoUsuario = tipoUsuario;
+    this.senha = senha;
+    this.ativo = ativo;
+    this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + tipoUsuario));
+  }
+
+  /**
+   * Cria o principal a partir do resumo em cache, com a senha para a autenticação por credenciais
+   */
+  public static UsuarioPrincipal deResumo(UsuarioResumo usuario) {
+    return new UsuarioPrincipal(usuario.getId(), usuario.getEmail(), usuario.getTipoUsuario(),
+        usuario.getSenha(), usuario.isAtivo());
+  }
+
+  /**
+   * Cria o principal a partir das claims de um token já verificado
+   */
+  public static UsuarioPrincipal deToken(Long id, String email, TipoUsuario tipoUsuario) {
+    return new UsuarioPrincipal(id, email, tipoUsuario, null, true);
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public TipoUsuario getTipoUsuario() {
+    return tipoUsuario;
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+
+  @Override
+  public String getPassword() {
+    return senha;
+  }
+
+  @Override
+  public String getUsername() {
+    return email;
+  }
+
+  @Override
+  public boolean isAccountNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isAccountNonLocked() {
+    return true;
+  }
+
+  @Override
+  public boolean isCredentialsNonExpired() {
+    return true;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return ativo;
+  }
+
+  @Override
+  public void eraseCredentials() {
+    senha = null;
+  }
+}
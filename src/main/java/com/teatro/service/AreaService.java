@@ -18,6 +18,9 @@ public class AreaService {
   @Autowired
   private AreaRepository areaRepository;
 
+  @Autowired
+  private AuditoriaService auditoriaService;
+
   public AreaDTO cadastrarArea(AreaDTO areaDTO) {
     if (areaRepository.existsByNome(areaDTO.getNome())) {
       throw new AreaJaExisteException("Área já cadastrada: " + areaDTO.getNome());
@@ -25,7 +28,9 @@ public class AreaService {
 
     Area area = areaDTO.toEntity();
     Area areaSalva = areaRepository.save(area);
-    return new AreaDTO(areaSalva);
+    AreaDTO salva = new AreaDTO(areaSalva);
+    auditoriaService.registrar("CADASTRO_AREA", "Area", salva.getId(), null, salva);
+    return salva;
   }
 
   public List<AreaDTO> listarTodasAreas() {
@@ -39,7 +44,8 @@ public class AreaService {
   }
 
   public AreaDTO atualizarArea(Long id, AreaDTO areaDTO) {
-    Area existente = buscarPorId(id).toEntity();
+    AreaDTO anterior = buscarPorId(id);
+    Area existente = anterior.toEntity();
     if (!existente.getNome().equals(areaDTO.getNome())
         && areaRepository.existsByNome(areaDTO.getNome())) {
       throw new AreaJaExisteException("Área já cadastrada: " + areaDTO.getNome());
@@ -51,12 +57,15 @@ public class AreaService {
     existente.setDescricao(areaDTO.getDescricao());
 
     Area areaAtualizada = areaRepository.save(existente);
-    return new AreaDTO(areaAtualizada);
+    AreaDTO atualizada = new AreaDTO(areaAtualizada);
+    auditoriaService.registrar("ATUALIZACAO_AREA", "Area", id, anterior, atualizada);
+    return atualizada;
   }
 
   public void removerArea(Long id) {
-    Area area = buscarPorId(id).toEntity();
-    areaRepository.delete(area);
+    AreaDTO anterior = buscarPorId(id);
+    areaRepository.delete(anterior.toEntity());
+    auditoriaService.registrar("REMOCAO_AREA", "Area", id, anterior, null);
   }
 
   public List<AreaDTO> listarAreasPorSessao(Long sessaoId) {
@@ -0,0 +1,343 @@
+package com.teatro.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teatro.model.LogAuditoria;
+import com.teatro.security.UsuarioPrincipal;
+import com.teatro.util.AnelMpsc;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Service de auditoria com gravação assíncrona em lote na tabela logs_auditoria
+ *
+ * Responsabilidades: - Montar o registro na thread de quem audita (usuário autenticado, IP, user
+ * agent e estados anterior/novo em JSON) - Publicar o registro em um anel limitado sem locks
+ * ({@link AnelMpsc}), somente após o commit quando houver transação - Gravar os registros em
+ * lotes JDBC por uma única thread escritora - Tratar o transbordo do anel sem bloquear a
+ * requisição: o registro vai para um arquivo local (reimportado quando o anel esvazia) ou é
+ * descartado, conforme teatro.auditoria.transbordo
+ */
+@Service
+public class AuditoriaService {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditoriaService.class);
+
+  private static final String SQL_INSERIR = "INSERT INTO logs_auditoria "
+      + "(usuario_id, acao, entidade, entidade_id, dados_anteriores, dados_novos, ip_address, "
+      + "user_agent, data_acao) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final long INTERVALO_REIMPORTACAO_NS = TimeUnit.SECONDS.toNanos(30);
+
+  /**
+   * Destino dos registros que não cabem no anel
+   */
+  public enum Transbordo {
+    ARQUIVO, DESCARTAR
+  }
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private MetricasService metricasService;
+
+  @Value("${teatro.auditoria.capacidade:8192}")
+  private int capacidade;
+
+  @Value("${teatro.auditoria.tamanho-lote:500}")
+  private int tamanhoLote;
+
+  @Value("${teatro.auditoria.intervalo-ms:200}")
+  private long intervaloMs;
+
+  @Value("${teatro.auditoria.transbordo:ARQUIVO}")
+  private Transbordo transbordo;
+
+  @Value("${teatro.auditoria.arquivo-transbordo:logs/auditoria-transbordo.jsonl}")
+  private String arquivoTransbordo;
+
+  private AnelMpsc<LogAuditoria> anel;
+  private Thread escritor;
+  private volatile boolean ativo;
+  private long ultimaReimportacao;
+  private final Object travaArquivo = new Object();
+
+  private LongAdder gravados;
+  private LongAdder transbordados;
+  private LongAdder descartados;
+
+  @PostConstruct
+  public void iniciar() {
+    anel = new AnelMpsc<>(capacidade);
+    ultimaReimportacao = System.nanoTime() - INTERVALO_REIMPORTACAO_NS;
+
+    String metrica = "teatro_auditoria_registros_total";
+    String descricao = "Registros de auditoria por destino";
+    gravados = metricasService.contador(metrica, descricao, "destino", "banco");
+    transbordados = metricasService.contador(metrica, descricao, "destino", "arquivo");
+    descartados = metricasService.contador(metrica, descricao, "destino", "descartado");
+    metricasService.medidor("teatro_auditoria_fila", "Registros de auditoria aguardando gravação",
+        () -> anel.tamanho());
+
+    ativo = true;
+    escritor = new Thread(this::executarEscritor, "auditoria-escritor");
+    escritor.setDaemon(true);
+    escritor.start();
+  }
+
+  /**
+   * Interrompe o escritor depois de gravar o que ainda estiver no anel
+   */
+  @PreDestroy
+  public void parar() {
+    ativo = false;
+    LockSupport.unpark(escritor);
+    try {
+      escritor.join(TimeUnit.SECONDS.toMillis(10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Audita uma ação do usuário autenticado na requisição corrente
+   */
+  public void registrar(String acao, String entidade, Long entidadeId, Object anterior,
+      Object novo) {
+    registrar(usuarioAutenticado(), acao, entidade, entidadeId, anterior, novo);
+  }
+
+  /**
+   * Audita uma ação atribuída ao usuário informado
+   *
+   * Os estados são serializados imediatamente, então alterações posteriores nos objetos não
+   * afetam o registro. Strings são consideradas JSON já serializado.
+   */
+  public void registrar(Long usuarioId, String acao, String entidade, Long entidadeId,
+      Object anterior, Object novo) {
+    LogAuditoria registro =
+        new LogAuditoria(usuarioId, acao, entidade, entidadeId, paraJson(novo));
+    registro.setDadosAnteriores(paraJson(anterior));
+    preencherOrigem(registro);
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      publicar(registro);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        publicar(registro);
+      }
+    });
+  }
+
+  private void publicar(LogAuditoria registro) {
+    if (anel.oferecer(registro)) {
+      if (anel.tamanho() >= tamanhoLote) {
+        LockSupport.unpark(escritor);
+      }
+      return;
+    }
+    transbordar(registro);
+  }
+
+  private void transbordar(LogAuditoria registro) {
+    if (transbordo == Transbordo.ARQUIVO && anexarAoArquivo(List.of(registro))) {
+      transbordados.increment();
+      return;
+    }
+    descartados.increment();
+  }
+
+  private void executarEscritor() {
+    List<LogAuditoria> lote = new ArrayList<>(tamanhoLote);
+    while (ativo || anel.tamanho() > 0) {
+      anel.drenar(lote::add, tamanhoLote);
+      if (lote.isEmpty()) {
+        reimportarTransbordo();
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(intervaloMs));
+        continue;
+      }
+      gravar(lote);
+      lote.clear();
+    }
+  }
+
+  private void gravar(List<LogAuditoria> lote) {
+    try {
+      jdbcTemplate.batchUpdate(SQL_INSERIR, lote, lote.size(), this::preencherInsercao);
+      gravados.add(lote.size());
+    } catch (DataAccessException e) {
+      log.warn("Falha ao gravar {} registros de auditoria", lote.size(), e);
+      if (transbordo == Transbordo.ARQUIVO && anexarAoArquivo(lote)) {
+        transbordados.add(lote.size());
+      } else {
+        descartados.add(lote.size());
+      }
+    }
+  }
+
+  private void preencherInsercao(PreparedStatement ps, LogAuditoria registro)
+      throws SQLException {
+    if (registro.getUsuarioId() != null) {
+      ps.setLong(1, registro.getUsuarioId());
+    } else {
+      ps.setNull(1, Types.BIGINT);
+    }
+    ps.setString(2, registro.getAcao());
+    ps.setString(3, registro.getEntidade());
+    if (registro.getEntidadeId() != null) {
+      ps.setLong(4, registro.getEntidadeId());
+    } else {
+      ps.setNull(4, Types.BIGINT);
+    }
+    ps.setString(5, registro.getDadosAnteriores());
+    ps.setString(6, registro.getDadosNovos());
+    ps.setString(7, registro.getIpAddress());
+    ps.setString(8, registro.getUserAgent());
+    ps.setTimestamp(9, Timestamp.valueOf(registro.getDataAcao()));
+  }
+
+  /**
+   * Acrescenta os registros ao arquivo de transbordo, um JSON por linha
+   */
+  private boolean anexarAoArquivo(List<LogAuditoria> registros) {
+    synchronized (travaArquivo) {
+      Path arquivo = Paths.get(arquivoTransbordo);
+      try {
+        if (arquivo.getParent() != null) {
+          Files.createDirectories(arquivo.getParent());
+        }
+        try (BufferedWriter escrita = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+          for (LogAuditoria registro : registros) {
+            escrita.write(objectMapper.writeValueAsString(registro));
+            escrita.newLine();
+          }
+        }
+        return true;
+      } catch (IOException e) {
+        log.warn("Falha ao gravar auditoria no arquivo de transbordo {}", arquivo, e);
+        return false;
+      }
+    }
+  }
+
+  /**
+   * Com o anel vazio, grava no banco os registros do arquivo de transbordo
+   *
+   * O arquivo é renomeado antes da leitura para que novos transbordos criem outro; se a gravação
+   * falhar, o arquivo renomeado é mantido e reprocessado na próxima tentativa.
+   */
+  private void reimportarTransbordo() {
+    if (transbordo != Transbordo.ARQUIVO
+        || System.nanoTime() - ultimaReimportacao < INTERVALO_REIMPORTACAO_NS) {
+      return;
+    }
+    ultimaReimportacao = System.nanoTime();
+
+    Path arquivo = Paths.get(arquivoTransbordo);
+    Path emProcessamento = Paths.get(arquivoTransbordo + ".processando");
+    try {
+      if (!Files.exists(emProcessamento)) {
+        synchronized (travaArquivo) {
+          if (!Files.exists(arquivo)) {
+            return;
+          }
+          Files.move(arquivo, emProcessamento, StandardCopyOption.ATOMIC_MOVE);
+        }
+      }
+
+      List<LogAuditoria> lote = new ArrayList<>(tamanhoLote);
+      for (String linha : Files.readAllLines(emProcessamento, StandardCharsets.UTF_8)) {
+        if (linha.isBlank()) {
+          continue;
+        }
+        lote.add(objectMapper.readValue(linha, LogAuditoria.class));
+        if (lote.size() == tamanhoLote) {
+          jdbcTemplate.batchUpdate(SQL_INSERIR, lote, lote.size(), this::preencherInsercao);
+          gravados.add(lote.size());
+          lote.clear();
+        }
+      }
+      if (!lote.isEmpty()) {
+        jdbcTemplate.batchUpdate(SQL_INSERIR, lote, lote.size(), this::preencherInsercao);
+        gravados.add(lote.size());
+      }
+      Files.delete(emProcessamento);
+      log.info("Arquivo de transbordo da auditoria reimportado");
+    } catch (IOException | DataAccessException e) {
+      log.warn("Falha ao reimportar o arquivo de transbordo da auditoria", e);
+    }
+  }
+
+  private String paraJson(Object dados) {
+    if (dados == null || dados instanceof String) {
+      return (String) dados;
+    }
+    try {
+      return objectMapper.writeValueAsString(dados);
+    } catch (JsonProcessingException e) {
+      log.warn("Estado não serializável na auditoria: {}", dados.getClass().getSimpleName());
+      return null;
+    }
+  }
+
+  private static Long usuarioAutenticado() {
+    Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+    if (autenticacao != null && autenticacao.getPrincipal() instanceof UsuarioPrincipal principal) {
+      return principal.getId();
+    }
+    return null;
+  }
+
+  private static void preencherOrigem(LogAuditoria registro) {
+    RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+    if (atributos instanceof ServletRequestAttributes servlet) {
+      HttpServletRequest requisicao = servlet.getRequest();
+      registro.setIpAddress(requisicao.getRemoteAddr());
+      String userAgent = requisicao.getHeader("User-Agent");
+      if (userAgent != null && userAgent.length() > 500) {
+        userAgent = userAgent.substring(0, 500);
+      }
+      registro.setUserAgent(userAgent);
+    }
+  }
+}
@@ -0,0 +1,218 @@
+package com.teatro.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.dto.AvaliacaoDTO;
+import com.teatro.dto.AvaliacaoRequest;
+import com.teatro.dto.ResumoAvaliacoesDTO;
+import com.teatro.exception.AvaliacaoNaoEncontradaException;
+import com.teatro.exception.EventoNaoEncontradoException;
+import com.teatro.exception.SessaoNaoEncontradaException;
+import com.teatro.exception.UsuarioNaoEncontradoException;
+import com.teatro.model.Avaliacao;
+import com.teatro.model.Ingresso;
+import com.teatro.repository.AvaliacaoRepository;
+import com.teatro.repository.EventoRepository;
+import com.teatro.repository.IngressoRepository;
+import com.teatro.repository.SessaoRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Service para operações relacionadas a avaliações de sessões
+ *
+ * Responsabilidades: - Registrar e remover avaliações - Manter os agregados de avaliações
+ * materializados em sessoes e eventos - Listar avaliações paginadas por cursor
+ *
+ * Cada inclusão ou remoção aplica, na mesma transação, um UPDATE incremental no agregado da sessão
+ * e outro no do evento, sempre nessa ordem, para que as travas de linha sejam tomadas na mesma
+ * sequência por operações concorrentes. Média e histograma exibidos no catálogo são lidos dessas
+ * colunas, sem consultar a tabela de avaliações.
+ */
+@Service
+@Transactional
+public class AvaliacaoService {
+
+  private static final Logger log = LoggerFactory.getLogger(AvaliacaoService.class);
+
+  public static final int LIMITE_MAXIMO = 100;
+
+  @Autowired
+  private AvaliacaoRepository avaliacaoRepository;
+
+  @Autowired
+  private SessaoRepository sessaoRepository;
+
+  @Autowired
+  private EventoRepository eventoRepository;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private IngressoRepository ingressoRepository;
+
+  @Autowired
+  private AuditoriaService auditoriaService;
+
+  @Autowired
+  private RankingAvaliacoesService rankingAvaliacoesService;
+
+  @Value("${teatro.avaliacoes.reconciliar-resumos-na-inicializacao:false}")
+  private boolean reconciliarNaInicializacao;
+
+  /**
+   * Registra a avaliação de uma sessão
+   *
+   * @throws UsuarioNaoEncontradoException se usuário não existe
+   * @throws SessaoNaoEncontradaException se sessão não existe
+   * @throws IllegalArgumentException se o usuário não tem ingresso para a sessão ou já a avaliou
+   */
+  public AvaliacaoDTO avaliar(AvaliacaoRequest request) {
+    Long usuarioId = request.getUsuarioId();
+    Long sessaoId = request.getSessaoId();
+    int nota = validarNota(request.getNota());
+
+    Long eventoId = sessaoRepository.buscarEventoId(sessaoId).orElseThrow(
+        () -> new SessaoNaoEncontradaException("Sessão não encontrada com ID: " + sessaoId));
+    if (!usuarioRepository.existsById(usuarioId)) {
+      throw new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + usuarioId);
+    }
+    if (!ingressoRepository.existsByUsuarioIdAndSessaoIdAndStatusNot(usuarioId, sessaoId,
+        Ingresso.Status.CANCELADO)) {
+      throw new IllegalArgumentException("Apenas quem possui ingresso pode avaliar a sessão");
+    }
+    if (avaliacaoRepository.existsByUsuarioIdAndSessaoId(usuarioId, sessaoId)) {
+      throw new IllegalArgumentException("Usuário já avaliou esta sessão");
+    }
+
+    Avaliacao avaliacao = new Avaliacao(usuarioRepository.getReferenceById(usuarioId),
+        sessaoRepository.getReferenceById(sessaoId), nota, request.getComentario());
+    avaliacao.setDataAvaliacao(LocalDateTime.now());
+    Avaliacao salva;
+    try {
+      salva = avaliacaoRepository.saveAndFlush(avaliacao);
+    } catch (DataIntegrityViolationException e) {
+      // Outra requisição gravou a mesma avaliação depois da verificação acima
+      throw new IllegalArgumentException("Usuário já avaliou esta sessão");
+    }
+
+    acumular(sessaoId, eventoId, nota, 1);
+
+    AvaliacaoDTO dto = new AvaliacaoDTO(salva);
+    auditoriaService.registrar(usuarioId, "CADASTRO_AVALIACAO", "Avaliacao", salva.getId(), null,
+        dto);
+    return dto;
+  }
+
+  /**
+   * Remove uma avaliação do usuário
+   *
+   * @throws AvaliacaoNaoEncontradaException se a avaliação não existe ou é de outro usuário
+   */
+  public void remover(Long usuarioId, Long avaliacaoId) {
+    Avaliacao avaliacao = avaliacaoRepository.findById(avaliacaoId)
+        .filter(a -> a.getUsuario().getId().equals(usuarioId))
+        .orElseThrow(() -> new AvaliacaoNaoEncontradaException(
+            "Avaliação não encontrada com ID: " + avaliacaoId));
+
+    Long sessaoId = avaliacao.getSessao().getId();
+    Long eventoId = sessaoRepository.buscarEventoId(sessaoId).orElseThrow(
+        () -> new SessaoNaoEncontradaException("Sessão não encontrada com ID: " + sessaoId));
+    AvaliacaoDTO anterior = new AvaliacaoDTO(avaliacao);
+
+    avaliacaoRepository.delete(avaliacao);
+    acumular(sessaoId, eventoId, avaliacao.getNota(), -1);
+
+    auditoriaService.registrar(usuarioId, "REMOCAO_AVALIACAO", "Avaliacao", avaliacaoId,
+        anterior, null);
+  }
+
+  /**
+   * Lista uma página das avaliações da sessão, da mais recente para a mais antiga
+   *
+   * @param antesDe id da última avaliação da página anterior; null para a primeira página
+   */
+  @Transactional(readOnly = true)
+  public List<AvaliacaoDTO> listarPorSessao(Long sessaoId, Long antesDe, int limite) {
+    return avaliacaoRepository.buscarPaginaPorSessao(sessaoId, cursor(antesDe), pagina(limite))
+        .stream().map(AvaliacaoDTO::new).collect(Collectors.toList());
+  }
+
+  /**
+   * Lista uma página das avaliações de todas as sessões do evento
+   */
+  @Transactional(readOnly = true)
+  public List<AvaliacaoDTO> listarPorEvento(Long eventoId, Long antesDe, int limite) {
+    return avaliacaoRepository.buscarPaginaPorEvento(eventoId, cursor(antesDe), pagina(limite))
+        .stream().map(AvaliacaoDTO::new).collect(Collectors.toList());
+  }
+
+  @Transactional(readOnly = true)
+  public ResumoAvaliacoesDTO obterResumoSessao(Long sessaoId) {
+    return sessaoRepository.findById(sessaoId)
+        .map(sessao -> new ResumoAvaliacoesDTO(sessaoId, sessao.getResumoAvaliacoes()))
+        .orElseThrow(
+            () -> new SessaoNaoEncontradaException("Sessão não encontrada com ID: " + sessaoId));
+  }
+
+  @Transactional(readOnly = true)
+  public ResumoAvaliacoesDTO obterResumoEvento(Long eventoId) {
+    return eventoRepository.findById(eventoId)
+        .map(evento -> new ResumoAvaliacoesDTO(eventoId, evento.getResumoAvaliacoes()))
+        .orElseThrow(
+            () -> new EventoNaoEncontradoException("Evento não encontrado com ID: " + eventoId));
+  }
+
+  /**
+   * Recalcula os agregados de todas as sessões e eventos a partir das avaliações
+   *
+   * Usado só para corrigir divergências: o preenchimento inicial das colunas é feito uma única
+   * vez pela migração V10. Percorre as tabelas inteiras, por isso fica desligado na inicialização.
+   */
+  public int reconciliarResumos() {
+    return avaliacaoRepository.reconciliarResumosSessoes()
+        + avaliacaoRepository.reconciliarResumosEventos();
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(0)
+  public void reconciliarNaInicializacao() {
+    if (reconciliarNaInicializacao) {
+      log.info("Agregados de avaliações reconciliados: {} sessões e eventos",
+          reconciliarResumos());
+    }
+  }
+
+  private void acumular(Long sessaoId, Long eventoId, int nota, int delta) {
+    sessaoRepository.acumularAvaliacao(sessaoId, nota, delta);
+    eventoRepository.acumularAvaliacao(eventoId, nota, delta);
+    rankingAvaliacoesService.registrarAvaliacao(eventoId, nota, delta);
+  }
+
+  private int validarNota(Integer nota) {
+    if (nota == null || nota < 1 || nota > 5) {
+      throw new IllegalArgumentException("A nota deve estar entre 1 e 5");
+    }
+    return nota;
+  }
+
+  private Long cursor(Long antesDe) {
+    return antesDe != null ? antesDe : Long.MAX_VALUE;
+  }
+
+  private PageRequest pagina(int limite) {
+    return PageRequest.of(0, Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+  }
+}
@@ -0,0 +1,60 @@
+package com.teatro.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.teatro.model.Notificacao;
+
+/**
+ * Canal que apenas registra as mensagens em log, no lugar de um provedor real
+ *
+ * Usado em desenvolvimento e testes (teatro.notificacoes.canais-locais). Guarda as últimas
+ * mensagens enviadas para inspeção.
+ */
+public class CanalLocalNotificacao implements CanalNotificacao {
+
+  private static final Logger log = LoggerFactory.getLogger(CanalLocalNotificacao.class);
+
+  private static final int MAXIMO_GUARDADAS = 100;
+
+  private final Notificacao.Tipo tipo;
+  private final LongAdder enviadas = new LongAdder();
+  private final ConcurrentLinkedDeque<String> ultimas = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger guardadas = new AtomicInteger();
+
+  public CanalLocalNotificacao(Notificacao.Tipo tipo) {
+    this.tipo = tipo;
+  }
+
+  @Override
+  public Notificacao.Tipo getTipo() {
+    return tipo;
+  }
+
+  @Override
+  public void enviar(Destinatario destinatario, String titulo, String mensagem) {
+    String endereco = tipo == Notificacao.Tipo.SMS ? destinatario.getTelefone()
+        : tipo == Notificacao.Tipo.EMAIL ? destinatario.getEmail()
+            : "usuario:" + destinatario.getUsuarioId();
+    String registro = "[" + tipo + "] " + endereco + " - " + titulo;
+    log.debug("{}: {}", registro, mensagem);
+
+    enviadas.increment();
+    ultimas.addLast(registro);
+    if (guardadas.incrementAndGet() > MAXIMO_GUARDADAS && ultimas.pollFirst() != null) {
+      guardadas.decrementAndGet();
+    }
+  }
+
+  public long getEnviadas() {
+    return enviadas.sum();
+  }
+
+  public List<String> getUltimas() {
+    return new ArrayList<>(ultimas);
+  }
+}
@@ -0,0 +1,48 @@
+package com.teatro.service;
+
+import com.teatro.model.Notificacao;
+
+/**
+ * Canal de entrega de notificações (email, SMS, push)
+ *
+ * Cada implementação registrada como bean atende um tipo de Notificacao; o
+ * DisparoNotificacoesService aplica o limite de envios do canal antes de chamar
+ * {@link #enviar}. O tipo SISTEMA não precisa de canal: a linha em notificacoes já é a entrega.
+ */
+public interface CanalNotificacao {
+
+  Notificacao.Tipo getTipo();
+
+  /**
+   * Entrega a mensagem a um destinatário; exceções contam como falha só desse envio
+   */
+  void enviar(Destinatario destinatario, String titulo, String mensagem);
+
+  /**
+   * Contato de um usuário a notificar
+   */
+  final class Destinatario {
+
+    private final Long usuarioId;
+    private final String email;
+    private final String telefone;
+
+    public Destinatario(Long usuarioId, String email, String telefone) {
+      this.usuarioId = usuarioId;
+      this.email = email;
+      this.telefone = telefone;
+    }
+
+    public Long getUsuarioId() {
+      return usuarioId;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public String getTelefone() {
+      return telefone;
+    }
+  }
+}
@@ -0,0 +1,301 @@
+package com.teatro.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.teatro.model.CompradoresUnicos;
+import com.teatro.model.CompradoresUnicos.Escopo;
+import com.teatro.repository.CompradoresUnicosRepository;
+import com.teatro.repository.IngressoRepository;
+import com.teatro.util.HyperLogLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service que estima compradores distintos com esboços HyperLogLog
+ *
+ * Responsabilidades: - Manter um esboço por evento, sessão, dia e evento em um dia - Atualizar os
+ * esboços a cada compra - Persistir os esboços alterados periodicamente - Estimar compradores
+ * distintos de qualquer combinação de eventos, sessões e datas mesclando os esboços
+ *
+ * Apenas os esboços em uso ficam em memória; os demais são lidos da tabela compradores_unicos
+ * quando necessários. Cancelamentos não são descontados: o esboço conta quem chegou a comprar.
+ * Esboços com poucos compradores ficam na forma esparsa do {@link HyperLogLog}, então consultas
+ * que mesclam muitos esboços pequenos leem poucos bytes de cada um.
+ */
+@Service
+public class CompradoresUnicosService {
+
+  private static final Logger log = LoggerFactory.getLogger(CompradoresUnicosService.class);
+
+  private static final int TAMANHO_PAGINA_RECONSTRUCAO = 5000;
+
+  @Autowired
+  private CompradoresUnicosRepository compradoresUnicosRepository;
+
+  @Autowired
+  private IngressoRepository ingressoRepository;
+
+  @Value("${teatro.estatisticas.compradores-unicos.maximo-esbocos-consulta:5000}")
+  private int maximoEsbocosConsulta;
+
+  @Value("${teatro.estatisticas.compradores-unicos.ociosidade-maxima-ms:600000}")
+  private long ociosidadeMaximaMs;
+
+  private final Map<ChaveEsboco, Esboco> esbocos = new ConcurrentHashMap<>();
+
+  /**
+   * Registra uma compra nos esboços do evento, da sessão, do dia e do evento no dia
+   */
+  public void registrarCompra(Long usuarioId, Long eventoId, Long sessaoId,
+      LocalDateTime dataCompra) {
+    if (usuarioId == null) {
+      return;
+    }
+    LocalDate dia = dataCompra != null ? dataCompra.toLocalDate() : LocalDate.now();
+
+    adicionar(new ChaveEsboco(Escopo.DIA, dia.toString()), usuarioId);
+    if (eventoId != null) {
+      adicionar(new ChaveEsboco(Escopo.EVENTO, eventoId.toString()), usuarioId);
+      adicionar(new ChaveEsboco(Escopo.EVENTO_DIA, eventoId + ":" + dia), usuarioId);
+    }
+    if (sessaoId != null) {
+      adicionar(new ChaveEsboco(Escopo.SESSAO, sessaoId.toString()), usuarioId);
+    }
+  }
+
+  /**
+   * Estima os compradores distintos da união dos escopos informados
+   *
+   * Eventos com período usam os esboços de evento por dia; eventos sem período usam o esboço do
+   * evento; sessões usam o esboço da sessão; apenas período usa os esboços de dia.
+   *
+   * @param eventoIds IDs dos eventos (opcional)
+   * @param sessaoIds IDs das sessões (opcional)
+   * @param inicio Data de início (opcional, exige fim)
+   * @param fim Data de fim (opcional, exige início)
+   * @return Estimativa de compradores distintos
+   */
+  public long estimarCompradores(Collection<Long> eventoIds, Collection<Long> sessaoIds,
+      LocalDate inicio, LocalDate fim) {
+    boolean comEventos = eventoIds != null && !eventoIds.isEmpty();
+    boolean comSessoes = sessaoIds != null && !sessaoIds.isEmpty();
+    boolean comPeriodo = inicio != null && fim != null;
+
+    List<ChaveEsboco> chaves = new ArrayList<>();
+    if (comEventos) {
+      for (Long eventoId : eventoIds) {
+        if (comPeriodo) {
+          for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+            chaves.add(new ChaveEsboco(Escopo.EVENTO_DIA, eventoId + ":" + dia));
+            validarQuantidade(chaves);
+          }
+        } else {
+          chaves.add(new ChaveEsboco(Escopo.EVENTO, eventoId.toString()));
+        }
+      }
+    }
+    if (comSessoes) {
+      for (Long sessaoId : sessaoIds) {
+        chaves.add(new ChaveEsboco(Escopo.SESSAO, sessaoId.toString()));
+      }
+    }
+    if (!comEventos && !comSessoes && comPeriodo) {
+      for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+        chaves.add(new ChaveEsboco(Escopo.DIA, dia.toString()));
+        validarQuantidade(chaves);
+      }
+    }
+    validarQuantidade(chaves);
+
+    carregarAusentes(chaves);
+    HyperLogLog uniao = new HyperLogLog();
+    for (ChaveEsboco chave : chaves) {
+      Esboco esboco = esbocos.get(chave);
+      if (esboco != null) {
+        esboco.ultimoAcesso = System.currentTimeMillis();
+        synchronized (esboco) {
+          uniao.mesclar(esboco.hll);
+        }
+      }
+    }
+    return uniao.estimar();
+  }
+
+  /**
+   * Reconstrói os esboços a partir dos ingressos quando a tabela está vazia
+   */
+  @PostConstruct
+  public void inicializar() {
+    if (compradoresUnicosRepository.count() > 0) {
+      return;
+    }
+    log.info("Reconstruindo esboços de compradores distintos a partir dos ingressos");
+
+    long ultimoId = 0;
+    List<Object[]> pagina;
+    do {
+      pagina = ingressoRepository.buscarComprasAPartirDe(ultimoId,
+          PageRequest.of(0, TAMANHO_PAGINA_RECONSTRUCAO));
+      for (Object[] linha : pagina) {
+        ultimoId = (Long) linha[0];
+        registrarCompra((Long) linha[1], (Long) linha[3], (Long) linha[2],
+            (LocalDateTime) linha[4]);
+      }
+      // Grava a cada página para não acumular todos os esboços em memória
+      persistir();
+    } while (pagina.size() == TAMANHO_PAGINA_RECONSTRUCAO);
+  }
+
+  /**
+   * Grava os esboços alterados e libera da memória os que estão ociosos
+   */
+  @Scheduled(
+      fixedDelayString = "${teatro.estatisticas.contadores.intervalo-persistencia-ms:60000}",
+      initialDelayString = "${teatro.estatisticas.contadores.intervalo-persistencia-ms:60000}")
+  public void persistir() {
+    List<CompradoresUnicos> alterados = new ArrayList<>();
+    List<Esboco> origem = new ArrayList<>();
+    LocalDateTime agora = LocalDateTime.now();
+
+    esbocos.forEach((chave, esboco) -> {
+      synchronized (esboco) {
+        if (!esboco.alterado) {
+          return;
+        }
+        esboco.alterado = false;
+        CompradoresUnicos registro =
+            new CompradoresUnicos(chave.escopo(), chave.chave(), esboco.hll.paraBytes());
+        registro.setId(esboco.idPersistido);
+        registro.setDataAtualizacao(agora);
+        alterados.add(registro);
+        origem.add(esboco);
+      }
+    });
+
+    if (!alterados.isEmpty()) {
+      List<CompradoresUnicos> salvos;
+      try {
+        salvos = compradoresUnicosRepository.saveAll(alterados);
+      } catch (RuntimeException e) {
+        // Nada foi gravado: os esboços voltam a ficar pendentes e não são liberados da memória
+        for (Esboco esboco : origem) {
+          synchronized (esboco) {
+            esboco.alterado = true;
+          }
+        }
+        throw e;
+      }
+      for (int i = 0; i < salvos.size(); i++) {
+        origem.get(i).idPersistido = salvos.get(i).getId();
+      }
+      log.debug("{} esboços de compradores distintos persistidos", salvos.size());
+    }
+
+    long limite = System.currentTimeMillis() - ociosidadeMaximaMs;
+    esbocos.entrySet().removeIf(item -> {
+      Esboco esboco = item.getValue();
+      synchronized (esboco) {
+        esboco.removido = !esboco.alterado && esboco.ultimoAcesso < limite;
+        return esboco.removido;
+      }
+    });
+  }
+
+  /**
+   * Persiste os esboços pendentes no encerramento da aplicação
+   */
+  @PreDestroy
+  public void encerrar() {
+    try {
+      persistir();
+    } catch (Exception e) {
+      log.warn("Não foi possível persistir os esboços de compradores no encerramento", e);
+    }
+  }
+
+  private void adicionar(ChaveEsboco chave, Long usuarioId) {
+    while (true) {
+      Esboco esboco = obterOuCarregar(chave);
+      synchronized (esboco) {
+        // Esboço liberado por ociosidade entre a leitura e o bloqueio: busca de novo
+        if (esboco.removido) {
+          continue;
+        }
+        esboco.hll.adicionar(usuarioId);
+        esboco.alterado = true;
+        esboco.ultimoAcesso = System.currentTimeMillis();
+        return;
+      }
+    }
+  }
+
+  private Esboco obterOuCarregar(ChaveEsboco chave) {
+    Esboco esboco = esbocos.get(chave);
+    if (esboco != null) {
+      return esboco;
+    }
+    carregarAusentes(List.of(chave));
+    return esbocos.computeIfAbsent(chave, k -> new Esboco(new HyperLogLog(), null));
+  }
+
+  /**
+   * Lê do banco, em uma consulta por escopo, os esboços que ainda não estão em memória
+   */
+  private void carregarAusentes(List<ChaveEsboco> chaves) {
+    Map<Escopo, List<String>> ausentes = new HashMap<>();
+    for (ChaveEsboco chave : chaves) {
+      if (!esbocos.containsKey(chave)) {
+        ausentes.computeIfAbsent(chave.escopo(), e -> new ArrayList<>()).add(chave.chave());
+      }
+    }
+    ausentes.forEach((escopo, lista) -> {
+      for (CompradoresUnicos registro : compradoresUnicosRepository.findByEscopoAndChaveIn(escopo,
+          lista)) {
+        esbocos.putIfAbsent(new ChaveEsboco(escopo, registro.getChave()),
+            new Esboco(HyperLogLog.deBytes(registro.getRegistros()), registro.getId()));
+      }
+    });
+  }
+
+  private void validarQuantidade(List<ChaveEsboco> chaves) {
+    if (chaves.size() > maximoEsbocosConsulta) {
+      throw new IllegalArgumentException(
+          "Consulta muito ampla: reduza o período ou a quantidade de eventos");
+    }
+  }
+
+  /**
+   * Escopo e chave de um esboço
+   */
+  private record ChaveEsboco(Escopo escopo, String chave) {
+  }
+
+  /**
+   * Esboço em memória, com marcação de alteração pendente e id persistido
+   */
+  private static final class Esboco {
+    private final HyperLogLog hll;
+    private Long idPersistido;
+    private boolean alterado;
+    private boolean removido;
+    private volatile long ultimoAcesso = System.currentTimeMillis();
+
+    private Esboco(HyperLogLog hll, Long idPersistido) {
+      this.hll = hll;
+      this.idPersistido = idPersistido;
+    }
+  }
+}
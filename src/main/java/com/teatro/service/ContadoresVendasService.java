@@ -0,0 +1,485 @@
+package com.teatro.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.teatro.model.ContadorVendas;
+import com.teatro.model.ContadorVendas.Escopo;
+import com.teatro.repository.ContadorVendasRepository;
+import com.teatro.repository.IngressoRepository;
+import com.teatro.repository.SessaoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service que mantém contadores de vendas incrementais em memória
+ *
+ * Responsabilidades: - Contar ingressos válidos e faturamento por dia, evento e sessão - Manter a
+ * ocupação das sessões (média, lotadas e vazias) - Persistir os contadores periodicamente na tabela
+ * contadores_vendas - Recarregar os contadores na inicialização
+ *
+ * Compras e cancelamentos atualizam os contadores após o commit, então as leituras usadas pelas
+ * estatísticas não precisam de consultas agregadas sobre a tabela de ingressos.
+ *
+ * A persistência é periódica: uma queda da aplicação perde os incrementos desde a última gravação.
+ * Na inicialização os contadores diários do mês corrente (inclusive o dia atual) são recalculados a
+ * partir dos ingressos, e o total acompanha a correção. Dias anteriores e os contadores por evento e
+ * por sessão mantêm a diferença até uma reconstrução completa (tabela contadores_vendas vazia).
+ */
+@Service
+public class ContadoresVendasService {
+
+  private static final Logger log = LoggerFactory.getLogger(ContadoresVendasService.class);
+
+  private static final int TAMANHO_LOTE_CAPACIDADE = 500;
+
+  @Autowired
+  private ContadorVendasRepository contadorVendasRepository;
+
+  @Autowired
+  private IngressoRepository ingressoRepository;
+
+  @Autowired
+  private SessaoRepository sessaoRepository;
+
+  private final Contador total = new Contador();
+  private final Map<LocalDate, Contador> porDia = new ConcurrentHashMap<>();
+  private final Map<Long, Contador> porEvento = new ConcurrentHashMap<>();
+  private final Map<Long, Contador> porSessao = new ConcurrentHashMap<>();
+
+  private final Map<Long, OcupacaoSessao> ocupacaoPorSessao = new ConcurrentHashMap<>();
+  private final DoubleAdder somaOcupacao = new DoubleAdder();
+  private final LongAdder sessoesComVendas = new LongAdder();
+  private final LongAdder sessoesLotadas = new LongAdder();
+  private final AtomicLong totalSessoesAtivas = new AtomicLong();
+
+  /**
+   * Registra a venda de um ingresso válido
+   *
+   * @param dataCompra Data/hora da compra
+   * @param eventoId ID do evento
+   * @param sessaoId ID da sessão
+   * @param valor Valor do ingresso
+   */
+  public void registrarVenda(LocalDateTime dataCompra, Long eventoId, Long sessaoId,
+      BigDecimal valor) {
+    aplicar(dataCompra, eventoId, sessaoId, 1, paraCentavos(valor));
+  }
+
+  /**
+   * Registra o cancelamento de um ingresso que estava válido
+   *
+   * @param dataCompra Data/hora da compra original (o contador do dia da compra é decrementado)
+   * @param eventoId ID do evento
+   * @param sessaoId ID da sessão
+   * @param valor Valor do ingresso
+   */
+  public void registrarCancelamento(LocalDateTime dataCompra, Long eventoId, Long sessaoId,
+      BigDecimal valor) {
+    aplicar(dataCompra, eventoId, sessaoId, -1, -paraCentavos(valor));
+  }
+
+  /**
+   * Total de ingressos válidos vendidos
+   */
+  public long getTotalVendas() {
+    return total.quantidade.sum();
+  }
+
+  /**
+   * Faturamento total dos ingressos válidos
+   */
+  public BigDecimal getTotalFaturamento() {
+    return deCentavos(total.centavos.sum());
+  }
+
+  /**
+   * Ingressos vendidos entre duas datas de compra (inclusivas)
+   */
+  public long getVendas(LocalDate inicio, LocalDate fim) {
+    long soma = 0;
+    for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+      Contador contador = porDia.get(dia);
+      if (contador != null) {
+        soma += contador.quantidade.sum();
+      }
+    }
+    return soma;
+  }
+
+  /**
+   * Faturamento entre duas datas de compra (inclusivas)
+   */
+  public BigDecimal getFaturamento(LocalDate inicio, LocalDate fim) {
+    long soma = 0;
+    for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+      Contador contador = porDia.get(dia);
+      if (contador != null) {
+        soma += contador.centavos.sum();
+      }
+    }
+    return deCentavos(soma);
+  }
+
+  /**
+   * Ingressos válidos vendidos para um evento
+   */
+  public long getVendasEvento(Long eventoId) {
+    Contador contador = porEvento.get(eventoId);
+    return contador != null ? contador.quantidade.sum() : 0;
+  }
+
+  /**
+   * Faturamento de um evento
+   */
+  public BigDecimal getFaturamentoEvento(Long eventoId) {
+    Contador contador = porEvento.get(eventoId);
+    return contador != null ? deCentavos(contador.centavos.sum()) : BigDecimal.ZERO;
+  }
+
+  /**
+   * Ingressos válidos vendidos para uma sessão
+   */
+  public long getVendasSessao(Long sessaoId) {
+    Contador contador = porSessao.get(sessaoId);
+    return contador != null ? contador.quantidade.sum() : 0;
+  }
+
+  /**
+   * Ocupação média das sessões ativas, em percentual
+   *
+   * Numerador e denominador cobrem o mesmo conjunto: sessões desativadas saem da soma de ocupação
+   * na mesma atualização que as retira da contagem de sessões ativas.
+   */
+  public double getOcupacaoMedia() {
+    long sessoes = totalSessoesAtivas.get();
+    if (sessoes == 0) {
+      return 0.0;
+    }
+    return BigDecimal.valueOf(somaOcupacao.sum() * 100 / sessoes).setScale(2, RoundingMode.HALF_UP)
+        .doubleValue();
+  }
+
+  /**
+   * Quantidade de sessões com todas as poltronas vendidas
+   */
+  public long getSessoesLotadas() {
+    return sessoesLotadas.sum();
+  }
+
+  /**
+   * Quantidade de sessões ativas sem nenhum ingresso vendido
+   */
+  public long getSessoesVazias() {
+    return Math.max(0, totalSessoesAtivas.get() - sessoesComVendas.sum());
+  }
+
+  /**
+   * Carrega os contadores persistidos ou, na ausência deles, reconstrói a partir dos ingressos
+   */
+  @PostConstruct
+  public void carregar() {
+    List<ContadorVendas> persistidos = contadorVendasRepository.findAll();
+    if (persistidos.isEmpty()) {
+      reconstruir();
+    } else {
+      for (ContadorVendas registro : persistidos) {
+        Contador contador = switch (registro.getEscopo()) {
+          case DIA -> porDia.computeIfAbsent(LocalDate.parse(registro.getChave()),
+              k -> new Contador());
+          case EVENTO -> porEvento.computeIfAbsent(Long.valueOf(registro.getChave()),
+              k -> new Contador());
+          case SESSAO -> porSessao.computeIfAbsent(Long.valueOf(registro.getChave()),
+              k -> new Contador());
+        };
+        contador.idPersistido = registro.getId();
+        contador.quantidade.add(registro.getQuantidade());
+        contador.centavos.add(registro.getFaturamentoCentavos());
+        if (registro.getEscopo() == Escopo.DIA) {
+          total.quantidade.add(registro.getQuantidade());
+          total.centavos.add(registro.getFaturamentoCentavos());
+        }
+      }
+      LocalDate hoje = LocalDate.now();
+      reconciliarDias(hoje.withDayOfMonth(1), hoje);
+    }
+
+    inicializarOcupacao();
+    atualizarSessoesAtivas();
+  }
+
+  /**
+   * Grava os contadores alterados desde a última persistência
+   */
+  @Scheduled(fixedDelayString = "${teatro.estatisticas.contadores.intervalo-persistencia-ms:60000}",
+      initialDelayString = "${teatro.estatisticas.contadores.intervalo-persistencia-ms:60000}")
+  public void persistir() {
+    List<ContadorVendas> alterados = new ArrayList<>();
+    List<Contador> origem = new ArrayList<>();
+    LocalDateTime agora = LocalDateTime.now();
+
+    coletarAlterados(Escopo.DIA, porDia, alterados, origem, agora);
+    coletarAlterados(Escopo.EVENTO, porEvento, alterados, origem, agora);
+    coletarAlterados(Escopo.SESSAO, porSessao, alterados, origem, agora);
+
+    if (!alterados.isEmpty()) {
+      List<ContadorVendas> salvos;
+      try {
+        salvos = contadorVendasRepository.saveAll(alterados);
+      } catch (RuntimeException e) {
+        // Nada foi gravado: os contadores voltam a ficar pendentes para a próxima execução
+        origem.forEach(contador -> contador.alterado.set(true));
+        throw e;
+      }
+      for (int i = 0; i < salvos.size(); i++) {
+        origem.get(i).idPersistido = salvos.get(i).getId();
+      }
+      log.debug("{} contadores de vendas persistidos", salvos.size());
+    }
+
+    atualizarSessoesAtivas();
+  }
+
+  /**
+   * Persiste os contadores pendentes no encerramento da aplicação
+   */
+  @PreDestroy
+  public void encerrar() {
+    try {
+      persistir();
+    } catch (Exception e) {
+      log.warn("Não foi possível persistir os contadores de vendas no encerramento", e);
+    }
+  }
+
+  private void aplicar(LocalDateTime dataCompra, Long eventoId, Long sessaoId, int quantidade,
+      long centavos) {
+    LocalDate dia = dataCompra != null ? dataCompra.toLocalDate() : LocalDate.now();
+
+    total.adicionar(quantidade, centavos);
+    porDia.computeIfAbsent(dia, k -> new Contador()).adicionar(quantidade, centavos);
+    if (eventoId != null) {
+      porEvento.computeIfAbsent(eventoId, k -> new Contador()).adicionar(quantidade, centavos);
+    }
+    if (sessaoId != null) {
+      porSessao.computeIfAbsent(sessaoId, k -> new Contador()).adicionar(quantidade, centavos);
+      ajustarOcupacao(obterOcupacao(sessaoId), quantidade);
+    }
+  }
+
+  private OcupacaoSessao obterOcupacao(Long sessaoId) {
+    OcupacaoSessao ocupacao = ocupacaoPorSessao.get(sessaoId);
+    if (ocupacao != null) {
+      return ocupacao;
+    }
+    // Primeira venda da sessão: a capacidade é consultada uma única vez
+    int capacidade = 0;
+    for (Object[] linha : sessaoRepository.somarCapacidadePorSessao(List.of(sessaoId))) {
+      capacidade = ((Number) linha[1]).intValue();
+    }
+    OcupacaoSessao existente =
+        ocupacaoPorSessao.putIfAbsent(sessaoId, new OcupacaoSessao(capacidade));
+    return existente != null ? existente : ocupacaoPorSessao.get(sessaoId);
+  }
+
+  private void ajustarOcupacao(OcupacaoSessao ocupacao, int delta) {
+    synchronized (ocupacao) {
+      long anterior = ocupacao.vendidos;
+      ocupacao.vendidos = anterior + delta;
+      if (ocupacao.ativa) {
+        contabilizarOcupacao(ocupacao.capacidade, anterior, ocupacao.vendidos);
+      }
+    }
+  }
+
+  /**
+   * Inclui ou retira dos agregados de ocupação tudo o que já foi vendido para a sessão
+   */
+  private void definirAtiva(OcupacaoSessao ocupacao, boolean ativa) {
+    synchronized (ocupacao) {
+      if (ocupacao.ativa == ativa) {
+        return;
+      }
+      ocupacao.ativa = ativa;
+      if (ativa) {
+        contabilizarOcupacao(ocupacao.capacidade, 0, ocupacao.vendidos);
+      } else {
+        contabilizarOcupacao(ocupacao.capacidade, ocupacao.vendidos, 0);
+      }
+    }
+  }
+
+  private void contabilizarOcupacao(int capacidade, long anterior, long novo) {
+    if (anterior <= 0 && novo > 0) {
+      sessoesComVendas.increment();
+    } else if (anterior > 0 && novo <= 0) {
+      sessoesComVendas.decrement();
+    }
+
+    if (capacidade <= 0) {
+      return;
+    }
+    if (anterior < capacidade && novo >= capacidade) {
+      sessoesLotadas.increment();
+    } else if (anterior >= capacidade && novo < capacidade) {
+      sessoesLotadas.decrement();
+    }
+    somaOcupacao.add((double) (novo - anterior) / capacidade);
+  }
+
+  /**
+   * Alinha a soma de ocupação com a contagem de sessões ativas usada como denominador
+   */
+  private void atualizarSessoesAtivas() {
+    Set<Long> inativas = new HashSet<>(sessaoRepository.buscarIdsInativas());
+    ocupacaoPorSessao.forEach((sessaoId, ocupacao) ->
+        definirAtiva(ocupacao, !inativas.contains(sessaoId)));
+    totalSessoesAtivas.set(sessaoRepository.countByAtivaTrue());
+  }
+
+  private void reconstruir() {
+    log.info("Reconstruindo contadores de vendas a partir dos ingressos");
+
+    for (Object[] linha : ingressoRepository.agruparVendasPorDia()) {
+      LocalDate dia = (LocalDate) linha[0];
+      long quantidade = ((Number) linha[1]).longValue();
+      long centavos = paraCentavos((BigDecimal) linha[2]);
+      porDia.computeIfAbsent(dia, k -> new Contador()).adicionar(quantidade, centavos);
+      total.adicionar(quantidade, centavos);
+    }
+
+    for (Object[] linha : ingressoRepository.agruparVendasPorSessao()) {
+      Long sessaoId = (Long) linha[0];
+      Long eventoId = (Long) linha[1];
+      long quantidade = ((Number) linha[2]).longValue();
+      long centavos = paraCentavos((BigDecimal) linha[3]);
+      porSessao.computeIfAbsent(sessaoId, k -> new Contador()).adicionar(quantidade, centavos);
+      porEvento.computeIfAbsent(eventoId, k -> new Contador()).adicionar(quantidade, centavos);
+    }
+  }
+
+  /**
+   * Recalcula a partir dos ingressos os contadores diários entre duas datas de compra (inclusivas)
+   *
+   * Só é seguro sem compras em andamento, como na inicialização: uma venda contada pela consulta e
+   * aplicada depois pelo pós-compra entraria duas vezes.
+   */
+  private void reconciliarDias(LocalDate inicio, LocalDate fim) {
+    Map<LocalDate, long[]> apurados = new HashMap<>();
+    for (Object[] linha : ingressoRepository.agruparVendasPorDiaEntre(inicio.atStartOfDay(),
+        fim.plusDays(1).atStartOfDay())) {
+      apurados.put((LocalDate) linha[0],
+          new long[] {((Number) linha[1]).longValue(), paraCentavos((BigDecimal) linha[2])});
+    }
+
+    int corrigidos = 0;
+    for (LocalDate dia = inicio; !dia.isAfter(fim); dia = dia.plusDays(1)) {
+      long[] apurado = apurados.getOrDefault(dia, new long[2]);
+      Contador contador = porDia.get(dia);
+      long quantidade = contador != null ? contador.quantidade.sum() : 0;
+      long centavos = contador != null ? contador.centavos.sum() : 0;
+      if (apurado[0] == quantidade && apurado[1] == centavos) {
+        continue;
+      }
+      long deltaQuantidade = apurado[0] - quantidade;
+      long deltaCentavos = apurado[1] - centavos;
+      porDia.computeIfAbsent(dia, k -> new Contador()).adicionar(deltaQuantidade, deltaCentavos);
+      total.adicionar(deltaQuantidade, deltaCentavos);
+      corrigidos++;
+    }
+    if (corrigidos > 0) {
+      log.info("{} contadores diários de vendas reconciliados com os ingressos", corrigidos);
+    }
+  }
+
+  private void inicializarOcupacao() {
+    List<Long> sessaoIds = new ArrayList<>(porSessao.keySet());
+    for (int inicio = 0; inicio < sessaoIds.size(); inicio += TAMANHO_LOTE_CAPACIDADE) {
+      Collection<Long> lote =
+          sessaoIds.subList(inicio, Math.min(inicio + TAMANHO_LOTE_CAPACIDADE, sessaoIds.size()));
+      for (Object[] linha : sessaoRepository.somarCapacidadePorSessao(lote)) {
+        Long sessaoId = (Long) linha[0];
+        OcupacaoSessao ocupacao = new OcupacaoSessao(((Number) linha[1]).intValue());
+        ocupacaoPorSessao.put(sessaoId, ocupacao);
+        ajustarOcupacao(ocupacao, (int) porSessao.get(sessaoId).quantidade.sum());
+      }
+    }
+  }
+
+  private <K> void coletarAlterados(Escopo escopo, Map<K, Contador> contadores,
+      List<ContadorVendas> alterados, List<Contador> origem, LocalDateTime agora) {
+    contadores.forEach((chave, contador) -> {
+      // O flag é limpo antes da leitura: incrementos concorrentes marcam o contador de novo
+      if (contador.alterado.compareAndSet(true, false)) {
+        ContadorVendas registro = new ContadorVendas(escopo, chave.toString());
+        registro.setId(contador.idPersistido);
+        registro.setQuantidade(contador.quantidade.sum());
+        registro.setFaturamentoCentavos(contador.centavos.sum());
+        registro.setDataAtualizacao(agora);
+        alterados.add(registro);
+        origem.add(contador);
+      }
+    });
+  }
+
+  private static long paraCentavos(BigDecimal valor) {
+    if (valor == null) {
+      return 0;
+    }
+    return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  private static BigDecimal deCentavos(long centavos) {
+    return BigDecimal.valueOf(centavos, 2);
+  }
+
+  /**
+   * Par de acumuladores (quantidade e centavos) com marcação de alteração pendente
+   */
+  private static final class Contador {
+    private final LongAdder quantidade = new LongAdder();
+    private final LongAdder centavos = new LongAdder();
+    private final AtomicBoolean alterado = new AtomicBoolean();
+    private volatile Long idPersistido;
+
+    private void adicionar(long deltaQuantidade, long deltaCentavos) {
+      quantidade.add(deltaQuantidade);
+      centavos.add(deltaCentavos);
+      alterado.set(true);
+    }
+  }
+
+  /**
+   * Ocupação de uma sessão: capacidade total das áreas e poltronas vendidas
+   *
+   * Vendidos e situação são alterados sob o monitor da própria instância; só sessões ativas entram
+   * nos agregados de ocupação.
+   */
+  private static final class OcupacaoSessao {
+    private final int capacidade;
+    private long vendidos;
+    private boolean ativa = true;
+
+    private OcupacaoSessao(int capacidade) {
+      this.capacidade = capacidade;
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package com.teatro.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.config.NotificacoesProperties;
+import com.teatro.dto.AlteracaoSessaoEvento;
+import com.teatro.model.Notificacao;
+import com.teatro.service.CanalNotificacao.Destinatario;
+import com.teatro.util.BaldeGcra;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Service de disparo de notificações em massa
+ *
+ * Responsabilidades: - Percorrer os portadores de ingresso de uma sessão em lotes, com cursor por
+ * id de usuário (keyset), sem carregar a lista inteira - Inserir as notificações de cada lote com
+ * um único batch JDBC, na transação do evento do outbox, com ids reservados pelo mesmo gerador
+ * em blocos da entidade Notificacao - Entregar pelos canais externos (email,
+ * SMS, push) depois do commit, uma tarefa por canal, respeitando o limite de envios de cada um
+ */
+@Service
+public class DisparoNotificacoesService {
+
+  private static final Logger log = LoggerFactory.getLogger(DisparoNotificacoesService.class);
+
+  private static final String SQL_PORTADORES = "SELECT DISTINCT u.id, u.email, u.telefone "
+      + "FROM ingressos i JOIN usuarios u ON u.id = i.usuario_id "
+      + "WHERE i.sessao_id = ? AND i.status IN ('RESERVADO', 'PAGO') AND u.id > ? "
+      + "ORDER BY u.id LIMIT ?";
+
+  private static final String SQL_INSERIR = "INSERT INTO notificacoes "
+      + "(id, usuario_id, tipo, titulo, mensagem, lida, data_envio) "
+      + "VALUES (?, ?, ?, ?, ?, FALSE, ?)";
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Autowired
+  private NotificacoesProperties propriedades;
+
+  @Autowired
+  private List<CanalNotificacao> canaisRegistrados;
+
+  @Autowired
+  private MetricasService metricasService;
+
+  @Autowired
+  @Qualifier("executorNotificacoes")
+  private Executor executorNotificacoes;
+
+  private final Map<Notificacao.Tipo, CanalNotificacao> canais =
+      new EnumMap<>(Notificacao.Tipo.class);
+  private final Map<Notificacao.Tipo, BaldeGcra> baldes = new EnumMap<>(Notificacao.Tipo.class);
+  private final Map<Notificacao.Tipo, LongAdder> enviadas = new EnumMap<>(Notificacao.Tipo.class);
+  private final Map<Notificacao.Tipo, LongAdder> falhas = new EnumMap<>(Notificacao.Tipo.class);
+  private final Map<Notificacao.Tipo, LongAdder> recusadas =
+      new EnumMap<>(Notificacao.Tipo.class);
+  private LongAdder inseridas;
+  private IdentifierGenerator geradorIds;
+
+  @PostConstruct
+  public void inicializar() {
+    // Mesmo gerador (e bloco em memória) dos INSERTs feitos pelo Hibernate, para que os ids do
+    // batch JDBC nunca colidam com os das notificações gravadas via repository
+    geradorIds = (IdentifierGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getMappingMetamodel().getEntityDescriptor(Notificacao.class).getGenerator();
+
+    for (CanalNotificacao canal : canaisRegistrados) {
+      CanalNotificacao anterior = canais.put(canal.getTipo(), canal);
+      if (anterior != null) {
+        throw new IllegalStateException("Mais de um canal registrado para " + canal.getTipo());
+      }
+    }
+
+    inseridas = metricasService.contador("teatro_notificacoes_inseridas_total",
+        "Notificações gravadas pelo disparo em massa");
+    for (Notificacao.Tipo tipo : Notificacao.Tipo.values()) {
+      if (tipo == Notificacao.Tipo.SISTEMA) {
+        continue;
+      }
+      baldes.put(tipo, new BaldeGcra(System.nanoTime()));
+      enviadas.put(tipo, metricasService.contador("teatro_notificacoes_envios_total",
+          "Envios por canal externo", "canal", tipo.name(), "resultado", "enviado"));
+      falhas.put(tipo, metricasService.contador("teatro_notificacoes_envios_total",
+          "Envios por canal externo", "canal", tipo.name(), "resultado", "falha"));
+      recusadas.put(tipo, metricasService.contador("teatro_notificacoes_entregas_recusadas_total",
+          "Entregas em massa recusadas com a fila do executor cheia", "canal", tipo.name()));
+    }
+  }
+
+  /**
+   * Grava, em lotes, uma notificação por portador de ingresso da sessão
+   *
+   * A linha gravada é a notificação da caixa de entrada (tipo SISTEMA), única por portador
+   * qualquer que seja teatro.notificacoes.canais-sessao; os canais externos configurados só
+   * entregam a mesma mensagem fora da aplicação, em {@link #entregarAlteracaoSessao}.
+   *
+   * @return quantidade de notificações inseridas
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public int registrarAlteracaoSessao(AlteracaoSessaoEvento alteracao) {
+    Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+    SharedSessionContractImplementor sessao =
+        entityManager.unwrap(SharedSessionContractImplementor.class);
+    int[] total = new int[1];
+
+    percorrerPortadores(alteracao.getSessaoId(), lote -> {
+      List<Object[]> linhas = new ArrayList<>(lote.size());
+      for (Destinatario destinatario : lote) {
+        Object id = geradorIds.generate(sessao, null);
+        linhas.add(new Object[] {id, destinatario.getUsuarioId(), Notificacao.Tipo.SISTEMA.name(),
+            alteracao.getTitulo(), alteracao.getMensagem(), agora});
+      }
+      jdbcTemplate.batchUpdate(SQL_INSERIR, linhas);
+      total[0] += linhas.size();
+    });
+
+    inseridas.add(total[0]);
+    return total[0];
+  }
+
+  /**
+   * Agenda a entrega da alteração pelos canais externos configurados
+   *
+   * Deve ser chamado depois do commit de {@link #registrarAlteracaoSessao}; cada canal percorre
+   * os portadores por conta própria, no seu ritmo. Com a fila do executor cheia a entrega do canal
+   * é recusada e contada em teatro_notificacoes_entregas_recusadas_total; as notificações já
+   * gravadas continuam disponíveis na aplicação.
+   */
+  public void entregarAlteracaoSessao(AlteracaoSessaoEvento alteracao) {
+    for (Notificacao.Tipo tipo : propriedades.getCanaisSessao()) {
+      if (tipo == Notificacao.Tipo.SISTEMA) {
+        continue;
+      }
+      CanalNotificacao canal = canais.get(tipo);
+      if (canal == null) {
+        log.warn("Nenhum canal registrado para {}; entrega ignorada", tipo);
+        continue;
+      }
+      try {
+        executorNotificacoes.execute(() -> entregar(canal, alteracao));
+      } catch (RejectedExecutionException e) {
+        recusadas.get(tipo).increment();
+        log.warn("Fila de entrega de notificações cheia; entrega {} da sessão {} recusada", tipo,
+            alteracao.getSessaoId());
+      }
+    }
+  }
+
+  private void entregar(CanalNotificacao canal, AlteracaoSessaoEvento alteracao) {
+    Notificacao.Tipo tipo = canal.getTipo();
+    NotificacoesProperties.Canal limite =
+        propriedades.getCanais().getOrDefault(tipo, new NotificacoesProperties.Canal());
+    long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / limite.getPorSegundo());
+    long tolerancia = intervalo * Math.max(0, limite.getCapacidade() - 1);
+    BaldeGcra balde = baldes.get(tipo);
+
+    percorrerPortadores(alteracao.getSessaoId(), lote -> {
+      for (Destinatario destinatario : lote) {
+        long espera;
+        while ((espera = balde.consumir(System.nanoTime(), intervalo, tolerancia)) > 0) {
+          LockSupport.parkNanos(espera);
+        }
+        try {
+          canal.enviar(destinatario, alteracao.getTitulo(), alteracao.getMensagem());
+          enviadas.get(tipo).increment();
+        } catch (RuntimeException e) {
+          falhas.get(tipo).increment();
+          log.warn("Falha ao enviar {} ao usuário {}", tipo, destinatario.getUsuarioId(), e);
+        }
+      }
+    });
+  }
+
+  /**
+   * Entrega ao consumidor os portadores de ingresso válido da sessão, em lotes ordenados por id
+   */
+  private void percorrerPortadores(Long sessaoId, Consumer<List<Destinatario>> consumidor) {
+    int tamanhoLote = propriedades.getTamanhoLote();
+    long ultimoId = 0;
+    while (true) {
+      List<Destinatario> lote = jdbcTemplate.query(SQL_PORTADORES,
+          (rs, linha) -> new Destinatario(rs.getLong(1), rs.getString(2), rs.getString(3)),
+          sessaoId, ultimoId, tamanhoLote);
+      if (lote.isEmpty()) {
+        return;
+      }
+      consumidor.accept(lote);
+      if (lote.size() < tamanhoLote) {
+        return;
+      }
+      ultimoId = lote.get(lote.size() - 1).getUsuarioId();
+    }
+  }
+}
@@ -1,16 +1,41 @@
 package com.teatro.service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.teatro.dto.ResumoAvaliacoesDTO;
+import com.teatro.exception.EventoNaoEncontradoException;
+import com.teatro.model.Evento;
+import com.teatro.model.Ingresso;
 import com.teatro.repository.EventoRepository;
 import com.teatro.repository.IngressoRepository;
 import com.teatro.repository.SessaoRepository;
 import com.teatro.repository.UsuarioRepository;
+import com.teatro.util.SpaceSaving;
+import jakarta.annotation.PostConstruct;
 
 /**
  * Service para operações relacionadas a estatísticas e dashboard
@@ -22,6 +47,8 @@ import com.teatro.repository.UsuarioRepository;
 @Service
 public class EstatisticasService {
 
+  private static final Logger log = LoggerFactory.getLogger(EstatisticasService.class);
+
   @Autowired
   private EventoRepository eventoRepository;
 
@@ -34,19 +61,61 @@ public class EstatisticasService {
   @Autowired
   private UsuarioRepository usuarioRepository;
 
+  @Autowired
+  private ContadoresVendasService contadoresVendasService;
+
+  @Autowired
+  private VendasAgregadasService vendasAgregadasService;
+
+  @Autowired
+  private PopularidadeService popularidadeService;
+
+  @Autowired
+  private CompradoresUnicosService compradoresUnicosService;
+
+  @Autowired
+  private SnapshotsEstatisticasService snapshots;
+
+  @Autowired
+  @Qualifier("executorEstatisticas")
+  private ExecutorService executorEstatisticas;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private Environment environment;
+
+  @Value("${teatro.estatisticas.dashboard.timeout-padrao-ms:2000}")
+  private long timeoutPadraoDashboardMs;
+
+  @Value("${teatro.estatisticas.dashboard.conexoes:4}")
+  private int conexoesDashboard;
+
+  private Semaphore vagasDashboard;
+
+  @PostConstruct
+  public void inicializar() {
+    vagasDashboard = new Semaphore(conexoesDashboard);
+  }
+
   /**
    * Obtém estatísticas gerais do sistema
    * 
    * @return Map com estatísticas gerais
    */
   public Map<String, Object> obterEstatisticasGerais() {
+    return snapshots.obter("gerais", this::calcularEstatisticasGerais);
+  }
+
+  private Map<String, Object> calcularEstatisticasGerais() {
     Map<String, Object> estatisticas = new HashMap<>();
 
     // Contadores básicos
     estatisticas.put("totalEventos", eventoRepository.countByAtivoTrue());
     estatisticas.put("totalSessoes", sessaoRepository.countByAtivaTrue());
     estatisticas.put("totalUsuarios", usuarioRepository.countByAtivoTrue());
-    estatisticas.put("totalIngressos", ingressoRepository.count());
+    estatisticas.put("totalIngressos", contadoresVendasService.getTotalVendas());
 
     // Eventos com sessões futuras
     List<Object> eventosComSessoesFuturas =
@@ -67,22 +136,135 @@ public class EstatisticasService {
    * @return Map com estatísticas de eventos
    */
   public Map<String, Object> obterEstatisticasEventos() {
+    return snapshots.obter("eventos", this::calcularEstatisticasEventos);
+  }
+
+  private Map<String, Object> calcularEstatisticasEventos() {
     Map<String, Object> estatisticas = new HashMap<>();
 
-    // Eventos mais populares (por número de ingressos vendidos)
-    List<Object> eventosPopulares =
-        eventoRepository.findEventosComSessoesFuturas().stream().limit(5).map(evento -> {
-          Map<String, Object> eventoMap = new HashMap<>();
-          eventoMap.put("id", evento.getId());
-          eventoMap.put("nome", evento.getNome());
-          eventoMap.put("totalSessoes", evento.getSessoes().size());
-          return eventoMap;
-        }).collect(java.util.stream.Collectors.toList());
+    // Eventos mais populares (por número de ingressos vendidos na última semana)
+    List<SpaceSaving.Contagem<Long>> populares =
+        popularidadeService.eventosPopulares(PopularidadeService.Janela.SEMANA, 5);
+    List<Long> eventoIds = populares.stream().map(SpaceSaving.Contagem::getItem).toList();
+
+    // Total de sessões por evento em uma consulta agrupada, sem inicializar evento.getSessoes()
+    Map<Long, Long> sessoesPorEvento = new HashMap<>();
+    if (!eventoIds.isEmpty()) {
+      for (Object[] linha : sessaoRepository.contarPorEvento(eventoIds)) {
+        sessoesPorEvento.put((Long) linha[0], ((Number) linha[1]).longValue());
+      }
+    }
+
+    List<Object> eventosPopulares = montarEventosPopulares(populares).stream().map(evento -> {
+      evento.put("totalSessoes", sessoesPorEvento.getOrDefault((Long) evento.get("id"), 0L));
+      return (Object) evento;
+    }).collect(java.util.stream.Collectors.toList());
     estatisticas.put("eventosPopulares", eventosPopulares);
 
     return estatisticas;
   }
 
+  /**
+   * Obtém os eventos e sessões mais vendidos em uma janela recente
+   *
+   * @param janela Janela de tempo (HORA, DIA ou SEMANA)
+   * @param limite Quantidade máxima de itens por lista
+   * @return Map com eventos e sessões populares
+   */
+  public Map<String, Object> obterPopulares(String janela, int limite) {
+    PopularidadeService.Janela periodo;
+    try {
+      periodo = PopularidadeService.Janela.valueOf(janela.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Janela inválida. Use HORA, DIA ou SEMANA");
+    }
+    if (limite <= 0) {
+      throw new IllegalArgumentException("Limite deve ser positivo");
+    }
+
+    Map<String, Object> estatisticas = new HashMap<>();
+    estatisticas.put("janela", periodo.name());
+    estatisticas.put("eventos",
+        montarEventosPopulares(popularidadeService.eventosPopulares(periodo, limite)));
+    estatisticas.put("sessoes",
+        popularidadeService.sessoesPopulares(periodo, limite).stream().map(contagem -> {
+          Map<String, Object> sessaoMap = new HashMap<>();
+          sessaoMap.put("id", contagem.getItem());
+          sessaoMap.put("ingressosVendidos", contagem.getValor());
+          sessaoMap.put("erroMaximo", contagem.getErro());
+          return sessaoMap;
+        }).collect(java.util.stream.Collectors.toList()));
+
+    return estatisticas;
+  }
+
+  /**
+   * Estima os compradores distintos de eventos, sessões e/ou período
+   *
+   * @param eventoIds IDs dos eventos (opcional)
+   * @param sessaoIds IDs das sessões (opcional)
+   * @param dataInicio Data de início (opcional)
+   * @param dataFim Data de fim (opcional)
+   * @return Map com a estimativa de compradores distintos
+   */
+  public Map<String, Object> obterCompradoresUnicos(List<Long> eventoIds, List<Long> sessaoIds,
+      String dataInicio, String dataFim) {
+    LocalDate inicio = null;
+    LocalDate fim = null;
+    if (dataInicio != null || dataFim != null) {
+      if (dataInicio == null || dataFim == null) {
+        throw new IllegalArgumentException("Informe dataInicio e dataFim juntas");
+      }
+      try {
+        inicio = LocalDate.parse(dataInicio);
+        fim = LocalDate.parse(dataFim);
+      } catch (DateTimeParseException e) {
+        throw new IllegalArgumentException("Formato de data inválido. Use YYYY-MM-DD");
+      }
+      if (inicio.isAfter(fim)) {
+        throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+      }
+    }
+    boolean semEventos = eventoIds == null || eventoIds.isEmpty();
+    boolean semSessoes = sessaoIds == null || sessaoIds.isEmpty();
+    if (semEventos && semSessoes && inicio == null) {
+      throw new IllegalArgumentException("Informe eventos, sessões ou um período");
+    }
+
+    Map<String, Object> estatisticas = new HashMap<>();
+    estatisticas.put("eventoIds", semEventos ? List.of() : eventoIds);
+    estatisticas.put("sessaoIds", semSessoes ? List.of() : sessaoIds);
+    if (inicio != null) {
+      estatisticas.put("periodo", inicio + " a " + fim);
+    }
+    estatisticas.put("compradoresUnicos",
+        compradoresUnicosService.estimarCompradores(eventoIds, sessaoIds, inicio, fim));
+    estatisticas.put("aproximado", true);
+
+    return estatisticas;
+  }
+
+  /**
+   * Monta a lista de eventos populares buscando apenas os eventos do top-K
+   */
+  private List<Map<String, Object>> montarEventosPopulares(
+      List<SpaceSaving.Contagem<Long>> populares) {
+    Map<Long, String> nomes = new HashMap<>();
+    eventoRepository.findAllById(populares.stream().map(SpaceSaving.Contagem::getItem).toList())
+        .forEach(evento -> nomes.put(evento.getId(), evento.getNome()));
+
+    List<Map<String, Object>> eventos = new ArrayList<>();
+    for (SpaceSaving.Contagem<Long> contagem : populares) {
+      Map<String, Object> eventoMap = new HashMap<>();
+      eventoMap.put("id", contagem.getItem());
+      eventoMap.put("nome", nomes.get(contagem.getItem()));
+      eventoMap.put("ingressosVendidos", contagem.getValor());
+      eventoMap.put("erroMaximo", contagem.getErro());
+      eventos.add(eventoMap);
+    }
+    return eventos;
+  }
+
   /**
    * Obtém estatísticas de um evento específico
    * 
@@ -90,24 +272,101 @@ public class EstatisticasService {
    * @return Map com estatísticas do evento
    */
   public Map<String, Object> obterEstatisticasEvento(Long eventoId) {
-    Map<String, Object> estatisticas = new HashMap<>();
+    return snapshots.obter("evento:" + eventoId, () -> calcularEstatisticasEvento(eventoId));
+  }
+
+  private Map<String, Object> calcularEstatisticasEvento(Long eventoId) {
+    Evento evento = eventoRepository.findById(eventoId).orElseThrow(
+        () -> new EventoNaoEncontradoException("Evento não encontrado com ID: " + eventoId));
 
-    // TODO: Implementar lógica específica para um evento
-    // Por enquanto, retorna dados básicos
+    Map<String, Object> estatisticas = new HashMap<>();
     estatisticas.put("eventoId", eventoId);
-    estatisticas.put("totalSessoes", 0);
-    estatisticas.put("totalIngressosVendidos", 0);
-    estatisticas.put("faturamentoTotal", BigDecimal.ZERO);
+    estatisticas.put("nome", evento.getNome());
+    estatisticas.put("totalSessoes", sessaoRepository.countByEventoId(eventoId));
+
+    // Capacidade oferecida por área (uma linha por área, somando as sessões do evento)
+    Map<Long, Map<String, Object>> areas = new LinkedHashMap<>();
+    for (Object[] linha : sessaoRepository.somarCapacidadePorAreaDoEvento(eventoId)) {
+      Map<String, Object> area = novaAreaEstatistica((Long) linha[0], (String) linha[1]);
+      area.put("totalSessoes", ((Number) linha[2]).longValue());
+      area.put("capacidade", ((Number) linha[3]).longValue());
+      areas.put((Long) linha[0], area);
+    }
+
+    // Ingressos por área e status em uma única consulta agrupada
+    Map<String, Long> ingressosPorStatus = new LinkedHashMap<>();
+    for (Ingresso.Status status : Ingresso.Status.values()) {
+      ingressosPorStatus.put(status.name(), 0L);
+    }
+    long totalVendidos = 0;
+    BigDecimal faturamentoTotal = BigDecimal.ZERO;
+    for (Object[] linha : ingressoRepository.agruparPorAreaEStatusDoEvento(eventoId)) {
+      Ingresso.Status status = (Ingresso.Status) linha[2];
+      long quantidade = ((Number) linha[3]).longValue();
+      BigDecimal valor = (BigDecimal) linha[4];
+      ingressosPorStatus.merge(status.name(), quantidade, Long::sum);
+
+      if (status == Ingresso.Status.RESERVADO || status == Ingresso.Status.PAGO) {
+        Map<String, Object> area = areas.computeIfAbsent((Long) linha[0],
+            id -> novaAreaEstatistica(id, (String) linha[1]));
+        area.put("ingressosVendidos", (Long) area.get("ingressosVendidos") + quantidade);
+        area.put("faturamento", ((BigDecimal) area.get("faturamento")).add(valor));
+        totalVendidos += quantidade;
+        faturamentoTotal = faturamentoTotal.add(valor);
+      }
+    }
+
+    long capacidadeTotal = 0;
+    for (Map<String, Object> area : areas.values()) {
+      long capacidade = (Long) area.get("capacidade");
+      capacidadeTotal += capacidade;
+      area.put("ocupacao", percentual((Long) area.get("ingressosVendidos"), capacidade));
+    }
+
+    estatisticas.put("ingressosPorStatus", ingressosPorStatus);
+    estatisticas.put("totalIngressosVendidos", totalVendidos);
+    estatisticas.put("faturamentoTotal", faturamentoTotal);
+    estatisticas.put("ocupacaoMedia", percentual(totalVendidos, capacidadeTotal));
+    estatisticas.put("ocupacaoPorArea", new ArrayList<>(areas.values()));
+
+    // Avaliações das sessões do evento (agregado materializado no evento)
+    ResumoAvaliacoesDTO avaliacoes = new ResumoAvaliacoesDTO(eventoId, evento.getResumoAvaliacoes());
+    estatisticas.put("totalAvaliacoes", avaliacoes.getQuantidade());
+    estatisticas.put("notaMedia", avaliacoes.getMedia());
+    estatisticas.put("distribuicaoNotas", avaliacoes.getHistograma());
 
     return estatisticas;
   }
 
+  private Map<String, Object> novaAreaEstatistica(Long areaId, String nome) {
+    Map<String, Object> area = new HashMap<>();
+    area.put("areaId", areaId);
+    area.put("nome", nome);
+    area.put("totalSessoes", 0L);
+    area.put("capacidade", 0L);
+    area.put("ingressosVendidos", 0L);
+    area.put("faturamento", BigDecimal.ZERO);
+    return area;
+  }
+
+  private double percentual(long parte, long total) {
+    if (total == 0) {
+      return 0.0;
+    }
+    return BigDecimal.valueOf(parte * 100.0 / total).setScale(2, RoundingMode.HALF_UP)
+        .doubleValue();
+  }
+
   /**
    * Obtém estatísticas de sessões
    * 
    * @return Map com estatísticas de sessões
    */
   public Map<String, Object> obterEstatisticasSessoes() {
+    return snapshots.obter("sessoes", this::calcularEstatisticasSessoes);
+  }
+
+  private Map<String, Object> calcularEstatisticasSessoes() {
     Map<String, Object> estatisticas = new HashMap<>();
 
     // Sessões futuras
@@ -131,13 +390,19 @@ public class EstatisticasService {
    * @return Map com estatísticas de vendas
    */
   public Map<String, Object> obterEstatisticasVendas() {
+    return snapshots.obter("vendas", this::calcularEstatisticasVendas);
+  }
+
+  private Map<String, Object> calcularEstatisticasVendas() {
     Map<String, Object> estatisticas = new HashMap<>();
 
-    // Total de vendas
-    estatisticas.put("totalVendas", ingressoRepository.count());
-    estatisticas.put("vendasHoje", 0); // TODO: Implementar
-    estatisticas.put("vendasSemana", 0); // TODO: Implementar
-    estatisticas.put("vendasMes", 0); // TODO: Implementar
+    // Total de vendas (contadores incrementais, sem varrer a tabela de ingressos)
+    LocalDate hoje = LocalDate.now();
+    estatisticas.put("totalVendas", contadoresVendasService.getTotalVendas());
+    estatisticas.put("vendasHoje", contadoresVendasService.getVendas(hoje, hoje));
+    estatisticas.put("vendasSemana", contadoresVendasService.getVendas(hoje.minusDays(6), hoje));
+    estatisticas.put("vendasMes",
+        contadoresVendasService.getVendas(hoje.withDayOfMonth(1), hoje));
 
     return estatisticas;
   }
@@ -148,12 +413,15 @@ public class EstatisticasService {
    * @return Map com estatísticas de ocupação
    */
   public Map<String, Object> obterEstatisticasOcupacao() {
+    return snapshots.obter("ocupacao", this::calcularEstatisticasOcupacao);
+  }
+
+  private Map<String, Object> calcularEstatisticasOcupacao() {
     Map<String, Object> estatisticas = new HashMap<>();
 
-    // TODO: Implementar lógica de ocupação
-    estatisticas.put("ocupacaoMedia", 0.0);
-    estatisticas.put("sessoesLotadas", 0);
-    estatisticas.put("sessoesVazias", 0);
+    estatisticas.put("ocupacaoMedia", contadoresVendasService.getOcupacaoMedia());
+    estatisticas.put("sessoesLotadas", contadoresVendasService.getSessoesLotadas());
+    estatisticas.put("sessoesVazias", contadoresVendasService.getSessoesVazias());
 
     return estatisticas;
   }
@@ -164,13 +432,19 @@ public class EstatisticasService {
    * @return Map com estatísticas de faturamento
    */
   public Map<String, Object> obterEstatisticasFaturamento() {
+    return snapshots.obter("faturamento", this::calcularEstatisticasFaturamento);
+  }
+
+  private Map<String, Object> calcularEstatisticasFaturamento() {
     Map<String, Object> estatisticas = new HashMap<>();
 
-    // TODO: Implementar lógica de faturamento
-    estatisticas.put("faturamentoTotal", BigDecimal.ZERO);
-    estatisticas.put("faturamentoHoje", BigDecimal.ZERO);
-    estatisticas.put("faturamentoSemana", BigDecimal.ZERO);
-    estatisticas.put("faturamentoMes", BigDecimal.ZERO);
+    LocalDate hoje = LocalDate.now();
+    estatisticas.put("faturamentoTotal", contadoresVendasService.getTotalFaturamento());
+    estatisticas.put("faturamentoHoje", contadoresVendasService.getFaturamento(hoje, hoje));
+    estatisticas.put("faturamentoSemana",
+        contadoresVendasService.getFaturamento(hoje.minusDays(6), hoje));
+    estatisticas.put("faturamentoMes",
+        contadoresVendasService.getFaturamento(hoje.withDayOfMonth(1), hoje));
 
     return estatisticas;
   }
@@ -181,6 +455,10 @@ public class EstatisticasService {
    * @return Map com estatísticas de fidelidade
    */
   public Map<String, Object> obterEstatisticasFidelidade() {
+    return snapshots.obter("fidelidade", this::calcularEstatisticasFidelidade);
+  }
+
+  private Map<String, Object> calcularEstatisticasFidelidade() {
     Map<String, Object> estatisticas = new HashMap<>();
 
     // TODO: Implementar lógica de fidelidade
@@ -199,24 +477,34 @@ public class EstatisticasService {
    * @return Map com estatísticas do período
    */
   public Map<String, Object> obterEstatisticasPorPeriodo(String dataInicio, String dataFim) {
-    Map<String, Object> estatisticas = new HashMap<>();
-
+    LocalDate inicio;
+    LocalDate fim;
     try {
-      LocalDate inicio = LocalDate.parse(dataInicio);
-      LocalDate fim = LocalDate.parse(dataFim);
+      inicio = LocalDate.parse(dataInicio);
+      fim = LocalDate.parse(dataFim);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Formato de data inválido. Use YYYY-MM-DD");
+    }
 
-      if (inicio.isAfter(fim)) {
-        throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
-      }
+    if (inicio.isAfter(fim)) {
+      throw new IllegalArgumentException("Data de início deve ser anterior à data de fim");
+    }
+
+    return snapshots.obter("periodo:" + inicio + ":" + fim,
+        () -> calcularEstatisticasPorPeriodo(inicio, fim));
+  }
 
-      // TODO: Implementar lógica de estatísticas por período
-      estatisticas.put("periodo", dataInicio + " a " + dataFim);
-      estatisticas.put("totalVendas", 0);
-      estatisticas.put("faturamentoTotal", BigDecimal.ZERO);
+  private Map<String, Object> calcularEstatisticasPorPeriodo(LocalDate inicio, LocalDate fim) {
+    Map<String, Object> estatisticas = new HashMap<>();
 
-    } catch (Exception e) {
-      throw new IllegalArgumentException("Formato de data inválido. Use YYYY-MM-DD");
-    }
+    // Soma dos buckets agregados do período (minuto, hora e dia)
+    VendasAgregadasService.TotaisPeriodo totais = vendasAgregadasService.obterTotais(inicio, fim);
+    estatisticas.put("periodo", inicio + " a " + fim);
+    estatisticas.put("totalVendas", totais.getTotalVendas());
+    estatisticas.put("faturamentoTotal", totais.getFaturamentoTotal());
+    estatisticas.put("ingressosReservados", totais.getQuantidade(Ingresso.Status.RESERVADO));
+    estatisticas.put("ingressosPagos", totais.getQuantidade(Ingresso.Status.PAGO));
+    estatisticas.put("ingressosCancelados", totais.getQuantidade(Ingresso.Status.CANCELADO));
 
     return estatisticas;
   }
@@ -227,29 +515,125 @@ public class EstatisticasService {
    * @return Map com dados do dashboard
    */
   public Map<String, Object> obterDashboard() {
-    Map<String, Object> dashboard = new HashMap<>();
+    // Cada seção abre a própria transação ao conseguir uma vaga de conexão
+    return snapshots.obterComTransacaoPropria("dashboard", this::calcularDashboard);
+  }
 
-    // Estatísticas gerais
-    dashboard.put("estatisticasGerais", obterEstatisticasGerais());
+  /**
+   * Solicita o recálculo de todos os snapshots de estatísticas em segundo plano
+   *
+   * @return Quantidade de snapshots agendados para recálculo
+   */
+  public int solicitarAtualizacao() {
+    return snapshots.solicitarAtualizacao();
+  }
 
-    // Estatísticas de eventos
-    dashboard.put("estatisticasEventos", obterEstatisticasEventos());
+  /**
+   * Monta o dashboard calculando as seções em paralelo
+   *
+   * Cada seção roda em uma transação somente leitura. Uma seção que não termina dentro do seu
+   * prazo (ou falha) é devolvida como parcial, sem atrasar as demais. No máximo
+   * {@code teatro.estatisticas.dashboard.conexoes} seções rodam ao mesmo tempo, somando todas as
+   * requisições, para que o dashboard nunca ocupe o pool de conexões inteiro.
+   */
+  private Map<String, Object> calcularDashboard() {
+    Map<String, Supplier<Map<String, Object>>> secoes = new LinkedHashMap<>();
+    secoes.put("estatisticasGerais", this::calcularEstatisticasGerais);
+    secoes.put("estatisticasEventos", this::calcularEstatisticasEventos);
+    secoes.put("estatisticasSessoes", this::calcularEstatisticasSessoes);
+    secoes.put("estatisticasVendas", this::calcularEstatisticasVendas);
+    secoes.put("estatisticasOcupacao", this::calcularEstatisticasOcupacao);
+    secoes.put("estatisticasFaturamento", this::calcularEstatisticasFaturamento);
+    secoes.put("estatisticasFidelidade", this::calcularEstatisticasFidelidade);
+
+    long inicio = System.nanoTime();
+    Map<String, Long> prazos = new HashMap<>();
+    Map<String, CompletableFuture<Map<String, Object>>> futuros = new LinkedHashMap<>();
+    secoes.forEach((chave, secao) -> {
+      long prazo = inicio + TimeUnit.MILLISECONDS.toNanos(obterTimeoutSecao(chave));
+      prazos.put(chave, prazo);
+      futuros.put(chave, agendarSecao(secao, prazo));
+    });
 
-    // Estatísticas de sessões
-    dashboard.put("estatisticasSessoes", obterEstatisticasSessoes());
+    Map<String, Object> dashboard = new HashMap<>();
+    List<String> secoesParciais = new ArrayList<>();
+    futuros.forEach((chave, futuro) -> {
+      long restante = prazos.get(chave) - System.nanoTime();
+      try {
+        dashboard.put(chave, futuro.get(Math.max(0, restante), TimeUnit.NANOSECONDS));
+      } catch (TimeoutException e) {
+        // Impede o início se a seção ainda está na fila; a que já roda para no timeout da transação
+        futuro.cancel(false);
+        secoesParciais.add(chave);
+        dashboard.put(chave, secaoParcial("Tempo limite excedido"));
+      } catch (ExecutionException e) {
+        secoesParciais.add(chave);
+        if (e.getCause() instanceof RejectedExecutionException) {
+          dashboard.put(chave, secaoParcial("Capacidade de cálculo esgotada"));
+          return;
+        }
+        log.warn("Falha ao calcular a seção {} do dashboard", chave, e.getCause());
+        dashboard.put(chave, secaoParcial("Erro ao calcular a seção"));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        secoesParciais.add(chave);
+        dashboard.put(chave, secaoParcial("Cálculo interrompido"));
+      }
+    });
 
-    // Estatísticas de vendas
-    dashboard.put("estatisticasVendas", obterEstatisticasVendas());
+    dashboard.put("parcial", !secoesParciais.isEmpty());
+    dashboard.put("secoesParciais", secoesParciais);
 
-    // Estatísticas de ocupação
-    dashboard.put("estatisticasOcupacao", obterEstatisticasOcupacao());
+    return dashboard;
+  }
 
-    // Estatísticas de faturamento
-    dashboard.put("estatisticasFaturamento", obterEstatisticasFaturamento());
+  /**
+   * Agenda o cálculo de uma seção do dashboard, recusando-o quando não há capacidade
+   *
+   * A seção espera por uma vaga de conexão só até o prazo, e a transação somente leitura recebe
+   * timeout que termina no prazo (aplicado às consultas pelo JPA). Uma seção atrasada libera a
+   * conexão em vez de continuar rodando depois de o dashboard ser devolvido como parcial.
+   */
+  private CompletableFuture<Map<String, Object>> agendarSecao(
+      Supplier<Map<String, Object>> secao, long prazo) {
+    try {
+      return CompletableFuture.supplyAsync(() -> {
+        try {
+          if (!vagasDashboard.tryAcquire(Math.max(0, prazo - System.nanoTime()),
+              TimeUnit.NANOSECONDS)) {
+            throw new RejectedExecutionException("Sem vaga de conexão para a seção");
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new RejectedExecutionException("Espera por vaga interrompida", e);
+        }
+        try {
+          TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+          transacao.setReadOnly(true);
+          transacao.setTimeout((int) Math.max(1,
+              TimeUnit.NANOSECONDS.toSeconds(prazo - System.nanoTime() + 999_999_999L)));
+          return transacao.execute(status -> secao.get());
+        } finally {
+          vagasDashboard.release();
+        }
+      }, executorEstatisticas);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
 
-    // Estatísticas de fidelidade
-    dashboard.put("estatisticasFidelidade", obterEstatisticasFidelidade());
+  /**
+   * Prazo de uma seção do dashboard, com valor padrão quando não configurado
+   */
+  private long obterTimeoutSecao(String secao) {
+    return environment.getProperty("teatro.estatisticas.dashboard.timeouts-ms." + secao,
+        Long.class, timeoutPadraoDashboardMs);
+  }
 
-    return dashboard;
+  private Map<String, Object> secaoParcial(String motivo) {
+    Map<String, Object> secao = new HashMap<>();
+    secao.put("parcial", true);
+    secao.put("erro", motivo);
+    return secao;
   }
 }
@@ -1,6 +1,7 @@
 package com.teatro.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -24,6 +25,12 @@ public class EventoService {
   @Autowired
   private EventoRepository eventoRepository;
 
+  @Autowired
+  private AuditoriaService auditoriaService;
+
+  @Autowired
+  private RankingAvaliacoesService rankingAvaliacoesService;
+
   /**
    * Cadastra um novo evento
    * 
@@ -46,7 +53,10 @@ public class EventoService {
     evento.setAtivo(true);
 
     Evento eventoSalvo = eventoRepository.save(evento);
-    return new EventoDTO(eventoSalvo);
+    rankingAvaliacoesService.atualizarEvento(eventoSalvo);
+    EventoDTO salvo = new EventoDTO(eventoSalvo);
+    auditoriaService.registrar("CADASTRO_EVENTO", "Evento", salvo.getId(), null, salvo);
+    return salvo;
   }
 
   /**
@@ -109,6 +119,7 @@ public class EventoService {
         .orElseThrow(() -> new EventoNaoEncontradoException("Evento não encontrado com ID: " + id));
 
     Evento evento = eventoDTO.toEntity();
+    EventoDTO anterior = new EventoDTO(eventoExistente);
 
     // Validações de negócio
     validarDadosEvento(evento);
@@ -127,7 +138,10 @@ public class EventoService {
     eventoExistente.setUrlPoster(evento.getUrlPoster());
 
     Evento eventoAtualizado = eventoRepository.save(eventoExistente);
-    return new EventoDTO(eventoAtualizado);
+    rankingAvaliacoesService.atualizarEvento(eventoAtualizado);
+    EventoDTO atualizado = new EventoDTO(eventoAtualizado);
+    auditoriaService.registrar("ATUALIZACAO_EVENTO", "Evento", id, anterior, atualizado);
+    return atualizado;
   }
 
   /**
@@ -141,8 +155,12 @@ public class EventoService {
   public EventoDTO alterarStatusEvento(Long id, boolean ativo) {
     Evento evento = eventoRepository.findById(id)
         .orElseThrow(() -> new EventoNaoEncontradoException("Evento não encontrado com ID: " + id));
+    boolean ativoAnterior = evento.isAtivo();
     evento.setAtivo(ativo);
     Evento eventoAtualizado = eventoRepository.save(evento);
+    rankingAvaliacoesService.atualizarEvento(eventoAtualizado);
+    auditoriaService.registrar("ALTERACAO_STATUS_EVENTO", "Evento", id,
+        Map.of("ativo", ativoAnterior), Map.of("ativo", ativo));
     return new EventoDTO(eventoAtualizado);
   }
 
@@ -164,6 +182,8 @@ public class EventoService {
 
     evento.setAtivo(false);
     eventoRepository.save(evento);
+    rankingAvaliacoesService.atualizarEvento(evento);
+    auditoriaService.registrar("REMOCAO_EVENTO", "Evento", id, new EventoDTO(evento), null);
   }
 
   /**
@@ -0,0 +1,138 @@
+package com.teatro.service;
+
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.exception.UsuarioNaoEncontradoException;
+import com.teatro.model.PontosFidelidade;
+import com.teatro.model.PontosFidelidade.TipoOperacao;
+import com.teatro.repository.PontosFidelidadeRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Service para operações do programa de fidelidade
+ *
+ * Responsabilidades: - Registrar ganhos, resgates, expirações e estornos no extrato - Manter o
+ * saldo materializado em usuarios.saldo_pontos - Consultar saldo sem percorrer o extrato
+ *
+ * Cada operação faz um único UPDATE condicional no saldo (que também trava a linha do usuário) e
+ * insere o lançamento na mesma transação, então saldo e extrato não divergem e resgates
+ * concorrentes não deixam o saldo negativo. Só o estorno pode deixá-lo negativo, quando os pontos
+ * de uma compra cancelada já foram resgatados.
+ */
+@Service
+@Transactional
+public class FidelidadeService {
+
+  private static final Logger log = LoggerFactory.getLogger(FidelidadeService.class);
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private PontosFidelidadeRepository pontosFidelidadeRepository;
+
+  @Value("${teatro.fidelidade.reconciliar-saldos-na-inicializacao:false}")
+  private boolean reconciliarNaInicializacao;
+
+  /**
+   * Credita pontos ao usuário
+   *
+   * @throws UsuarioNaoEncontradoException se usuário não existe
+   * @throws IllegalArgumentException se a quantidade não é positiva
+   */
+  public int ganhar(Long usuarioId, int pontos, String origem, String descricao) {
+    return registrar(usuarioId, pontos, TipoOperacao.GANHO, origem, descricao);
+  }
+
+  /**
+   * Debita pontos resgatados pelo usuário
+   *
+   * @throws IllegalArgumentException se a quantidade não é positiva ou o saldo é insuficiente
+   */
+  public int resgatar(Long usuarioId, int pontos, String origem, String descricao) {
+    return registrar(usuarioId, pontos, TipoOperacao.RESGATE, origem, descricao);
+  }
+
+  /**
+   * Debita pontos expirados do usuário
+   *
+   * @throws IllegalArgumentException se a quantidade não é positiva ou o saldo é insuficiente
+   */
+  public int expirar(Long usuarioId, int pontos, String origem, String descricao) {
+    return registrar(usuarioId, pontos, TipoOperacao.EXPIRACAO, origem, descricao);
+  }
+
+  /**
+   * Debita os pontos creditados por uma compra cancelada
+   *
+   * Não depende de saldo: se os pontos já foram resgatados, o saldo fica negativo até ser coberto
+   * por novos ganhos, e nesse intervalo resgates são recusados.
+   *
+   * @throws UsuarioNaoEncontradoException se usuário não existe
+   * @throws IllegalArgumentException se a quantidade não é positiva
+   */
+  public int estornar(Long usuarioId, int pontos, String origem, String descricao) {
+    return registrar(usuarioId, pontos, TipoOperacao.ESTORNO, origem, descricao);
+  }
+
+  /**
+   * Consulta o saldo de pontos do usuário
+   *
+   * @throws UsuarioNaoEncontradoException se usuário não existe
+   */
+  @Transactional(readOnly = true)
+  public int consultarSaldo(Long usuarioId) {
+    return usuarioRepository.buscarSaldoPontos(usuarioId).orElseThrow(
+        () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + usuarioId));
+  }
+
+  /**
+   * Recalcula o saldo de todos os usuários a partir do extrato
+   *
+   * Usado só para corrigir divergências: o preenchimento inicial da coluna é feito uma única vez
+   * pela migração V8. Percorre a tabela inteira, por isso fica desligado na inicialização.
+   */
+  public int reconciliarSaldos() {
+    return pontosFidelidadeRepository.reconciliarSaldos(TipoOperacao.GANHO);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconciliarNaInicializacao() {
+    if (reconciliarNaInicializacao) {
+      log.info("Saldos de fidelidade reconciliados: {} usuários", reconciliarSaldos());
+    }
+  }
+
+  private int registrar(Long usuarioId, int pontos, TipoOperacao tipo, String origem,
+      String descricao) {
+    if (pontos <= 0) {
+      throw new IllegalArgumentException("Quantidade de pontos deve ser positiva");
+    }
+
+    int alterados = switch (tipo) {
+      case GANHO -> usuarioRepository.creditarPontos(usuarioId, pontos);
+      case ESTORNO -> usuarioRepository.creditarPontos(usuarioId, -pontos);
+      default -> usuarioRepository.debitarPontos(usuarioId, pontos);
+    };
+    if (alterados == 0) {
+      if (!usuarioRepository.existsById(usuarioId)) {
+        throw new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + usuarioId);
+      }
+      throw new IllegalArgumentException("Saldo de pontos insuficiente");
+    }
+
+    PontosFidelidade lancamento = new PontosFidelidade(
+        usuarioRepository.getReferenceById(usuarioId), pontos, tipo, origem, descricao);
+    lancamento.setDataOperacao(LocalDateTime.now());
+    pontosFidelidadeRepository.save(lancamento);
+
+    return consultarSaldo(usuarioId);
+  }
+}
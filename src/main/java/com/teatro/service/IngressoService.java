@@ -4,12 +4,16 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.teatro.config.EscritasRecentes;
+import com.teatro.dto.VendaIngressoEvento;
 import com.teatro.exception.IngressoNaoEncontradoException;
 import com.teatro.exception.PoltronaOcupadaException;
 import com.teatro.model.Area;
+import com.teatro.model.EventoOutbox;
 import com.teatro.model.Ingresso;
 import com.teatro.model.Sessao;
 import com.teatro.model.Usuario;
@@ -17,6 +21,8 @@ import com.teatro.repository.AreaRepository;
 import com.teatro.repository.IngressoRepository;
 import com.teatro.repository.SessaoRepository;
 import com.teatro.repository.UsuarioRepository;
+import com.teatro.util.HistogramaLatencia;
+import jakarta.annotation.PostConstruct;
 
 @Service
 @Transactional
@@ -34,11 +40,41 @@ public class IngressoService {
   @Autowired
   private SessaoRepository sessaoRepository;
 
+  @Autowired
+  private OutboxService outboxService;
+
+  @Autowired
+  private MetricasService metricasService;
+
+  @Autowired
+  private EscritasRecentes escritasRecentes;
+
+  private HistogramaLatencia etapaCarregar;
+  private HistogramaLatencia etapaVerificarPoltrona;
+  private HistogramaLatencia etapaSalvar;
+  private HistogramaLatencia etapaTotal;
+  private LongAdder conflitosPoltrona;
+
+  @PostConstruct
+  public void inicializarMetricas() {
+    String metrica = "teatro_compra_etapa_latencia_segundos";
+    String descricao = "Latência das etapas da compra de ingresso";
+    etapaCarregar = metricasService.histograma(metrica, descricao, "etapa", "carregar");
+    etapaVerificarPoltrona =
+        metricasService.histograma(metrica, descricao, "etapa", "verificar_poltrona");
+    etapaSalvar = metricasService.histograma(metrica, descricao, "etapa", "salvar");
+    etapaTotal = metricasService.histograma(metrica, descricao, "etapa", "total");
+    conflitosPoltrona = metricasService.contador("teatro_poltrona_conflitos_total",
+        "Compras recusadas por poltrona já ocupada");
+  }
+
   /**
    * Compra ingresso com IDs e faz as associações necessárias
    */
   public Ingresso comprarIngresso(Long usuarioId, Long sessaoId, Long areaId,
       Integer numeroPoltrona, java.math.BigDecimal valor) {
+    long inicio = System.nanoTime();
+
     // Buscar entidades
     Usuario usuario = usuarioRepository.findById(usuarioId)
         .orElseThrow(() -> new RuntimeException("Usuário não encontrado"));
@@ -59,9 +95,15 @@ public class IngressoService {
       throw new RuntimeException("Sessão já aconteceu");
     }
 
+    long aposCarregar = System.nanoTime();
+    etapaCarregar.registrar(aposCarregar - inicio);
+
     // Verificar se a poltrona está disponível
     boolean ocupado = ingressoRepository.isPoltronaOcupada(sessaoId, areaId, numeroPoltrona);
+    long aposVerificar = System.nanoTime();
+    etapaVerificarPoltrona.registrar(aposVerificar - aposCarregar);
     if (ocupado) {
+      conflitosPoltrona.increment();
       throw new PoltronaOcupadaException("Poltrona " + numeroPoltrona + " já está ocupada!");
     }
 
@@ -76,7 +118,14 @@ public class IngressoService {
     ingresso.setCodigo("ING-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
     ingresso.setStatus(Ingresso.Status.RESERVADO);
 
-    return ingressoRepository.save(ingresso);
+    Ingresso salvo = ingressoRepository.save(ingresso);
+    long aposSalvar = System.nanoTime();
+    etapaSalvar.registrar(aposSalvar - aposVerificar);
+    etapaTotal.registrar(aposSalvar - inicio);
+
+    escritasRecentes.registrar(usuarioId);
+    publicarVenda(salvo);
+    return salvo;
   }
 
   public Ingresso comprarIngresso(Ingresso ingresso) {
@@ -84,9 +133,13 @@ public class IngressoService {
     boolean ocupado = ingressoRepository.isPoltronaOcupada(ingresso.getSessao().getId(),
         ingresso.getArea().getId(), ingresso.getNumeroPoltrona());
     if (ocupado) {
+      conflitosPoltrona.increment();
       throw new PoltronaOcupadaException("Poltrona já ocupada!");
     }
-    return ingressoRepository.save(ingresso);
+    Ingresso salvo = ingressoRepository.save(ingresso);
+    escritasRecentes.registrar(salvo.getUsuario().getId());
+    publicarVenda(salvo);
+    return salvo;
   }
 
   public List<Ingresso> listarTodosIngressos() {
@@ -122,6 +175,8 @@ public class IngressoService {
   public void cancelarIngresso(Long id) {
     Ingresso ingresso = buscarPorId(id);
     // TODO: Implementar soft delete ou marcar como cancelado
+    publicarCancelamento(ingresso);
+    escritasRecentes.registrar(ingresso.getUsuario().getId());
     ingressoRepository.delete(ingresso);
   }
 
@@ -154,4 +209,27 @@ public class IngressoService {
 
     return poltronasDisponiveis;
   }
+
+  /**
+   * Publica no outbox o evento de compra; pontos, notificação, auditoria e estatísticas são
+   * processados depois do commit pelo OutboxService
+   */
+  private void publicarVenda(Ingresso ingresso) {
+    if (!ingresso.isValido()) {
+      return;
+    }
+    outboxService.publicar(EventoOutbox.Tipo.COMPRA_INGRESSO, ingresso.getId(),
+        VendaIngressoEvento.de(ingresso));
+  }
+
+  /**
+   * Publica no outbox o evento de cancelamento
+   */
+  private void publicarCancelamento(Ingresso ingresso) {
+    if (!ingresso.isValido()) {
+      return;
+    }
+    outboxService.publicar(EventoOutbox.Tipo.CANCELAMENTO_INGRESSO, ingresso.getId(),
+        VendaIngressoEvento.de(ingresso));
+  }
 }
@@ -0,0 +1,145 @@
+package com.teatro.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Service;
+import com.teatro.util.HistogramaLatencia;
+
+/**
+ * Service que mantém as métricas da aplicação e as exporta no formato texto do Prometheus
+ *
+ * Responsabilidades: - Registrar histogramas de latência, contadores e medidores por nome e rótulos
+ * - Exportar p50, p99 e p999 de cada histograma como summary
+ *
+ * Quem mede obtém o histograma ou contador uma única vez e guarda a referência; o registro em si
+ * não passa por este service nem aloca memória.
+ */
+@Service
+public class MetricasService {
+
+  private static final double[] QUANTIS = {0.5, 0.99, 0.999};
+  private static final double NANOS_POR_SEGUNDO = 1_000_000_000.0;
+
+  private final Map<String, Familia> familias = new ConcurrentHashMap<>();
+
+  /**
+   * Obtém (ou cria) o histograma de latência de uma série
+   *
+   * @param nome Nome da métrica
+   * @param descricao Texto de ajuda exportado
+   * @param rotulos Pares nome/valor de rótulos
+   */
+  public HistogramaLatencia histograma(String nome, String descricao, String... rotulos) {
+    return (HistogramaLatencia) familia(nome, descricao, Tipo.SUMMARY).series
+        .computeIfAbsent(formatarRotulos(rotulos), r -> new HistogramaLatencia());
+  }
+
+  /**
+   * Obtém (ou cria) o contador de uma série
+   */
+  public LongAdder contador(String nome, String descricao, String... rotulos) {
+    return (LongAdder) familia(nome, descricao, Tipo.COUNTER).series
+        .computeIfAbsent(formatarRotulos(rotulos), r -> new LongAdder());
+  }
+
+  /**
+   * Registra um medidor lido no momento da exportação
+   */
+  public void medidor(String nome, String descricao, LongSupplier valor, String... rotulos) {
+    familia(nome, descricao, Tipo.GAUGE).series.put(formatarRotulos(rotulos), valor);
+  }
+
+  /**
+   * Exporta todas as métricas no formato texto do Prometheus (versão 0.0.4)
+   */
+  public String exportarPrometheus() {
+    StringBuilder saida = new StringBuilder(4096);
+    for (Familia familia : new TreeMap<>(familias).values()) {
+      saida.append("# HELP ").append(familia.nome).append(' ').append(familia.descricao)
+          .append('\n');
+      saida.append("# TYPE ").append(familia.nome).append(' ')
+          .append(familia.tipo.name().toLowerCase()).append('\n');
+
+      for (Map.Entry<String, Object> serie : new TreeMap<>(familia.series).entrySet()) {
+        String rotulos = serie.getKey();
+        switch (familia.tipo) {
+          case SUMMARY -> exportarHistograma(saida, familia.nome, rotulos,
+              ((HistogramaLatencia) serie.getValue()).ler());
+          case COUNTER -> linha(saida, familia.nome, rotulos,
+              Long.toString(((LongAdder) serie.getValue()).sum()));
+          case GAUGE -> linha(saida, familia.nome, rotulos,
+              Long.toString(((LongSupplier) serie.getValue()).getAsLong()));
+        }
+      }
+    }
+    return saida.toString();
+  }
+
+  private void exportarHistograma(StringBuilder saida, String nome, String rotulos,
+      HistogramaLatencia.Leitura leitura) {
+    for (double quantil : QUANTIS) {
+      String comQuantil = (rotulos.isEmpty() ? "" : rotulos + ",") + "quantile=\"" + quantil + "\"";
+      linha(saida, nome, comQuantil, segundos(leitura.percentil(quantil)));
+    }
+    linha(saida, nome + "_sum", rotulos, segundos(leitura.getSoma()));
+    linha(saida, nome + "_count", rotulos, Long.toString(leitura.getTotal()));
+  }
+
+  private static void linha(StringBuilder saida, String nome, String rotulos, String valor) {
+    saida.append(nome);
+    if (!rotulos.isEmpty()) {
+      saida.append('{').append(rotulos).append('}');
+    }
+    saida.append(' ').append(valor).append('\n');
+  }
+
+  private static String segundos(long nanos) {
+    return Double.toString(nanos / NANOS_POR_SEGUNDO);
+  }
+
+  private Familia familia(String nome, String descricao, Tipo tipo) {
+    Familia familia = familias.computeIfAbsent(nome, n -> new Familia(n, descricao, tipo));
+    if (familia.tipo != tipo) {
+      throw new IllegalArgumentException("Métrica " + nome + " já registrada como " + familia.tipo);
+    }
+    return familia;
+  }
+
+  private static String formatarRotulos(String... rotulos) {
+    if (rotulos.length % 2 != 0) {
+      throw new IllegalArgumentException("Rótulos devem ser informados em pares nome/valor");
+    }
+    StringBuilder formatado = new StringBuilder();
+    for (int i = 0; i < rotulos.length; i += 2) {
+      if (formatado.length() > 0) {
+        formatado.append(',');
+      }
+      formatado.append(rotulos[i]).append("=\"").append(rotulos[i + 1].replace("\\", "\\\\")
+          .replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+    }
+    return formatado.toString();
+  }
+
+  private enum Tipo {
+    SUMMARY, COUNTER, GAUGE
+  }
+
+  /**
+   * Conjunto de séries de uma métrica
+   */
+  private static final class Familia {
+    private final String nome;
+    private final String descricao;
+    private final Tipo tipo;
+    private final Map<String, Object> series = new ConcurrentHashMap<>();
+
+    private Familia(String nome, String descricao, Tipo tipo) {
+      this.nome = nome;
+      this.descricao = descricao;
+      this.tipo = tipo;
+    }
+  }
+}
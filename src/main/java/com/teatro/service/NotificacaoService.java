@@ -0,0 +1,64 @@
+package com.teatro.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.dto.NotificacaoDTO;
+import com.teatro.repository.NotificacaoRepository;
+
+/**
+ * Service da caixa de entrada de notificações
+ *
+ * Nenhuma operação carrega a coleção de notificações do usuário: a contagem de não lidas é um
+ * COUNT sobre o índice (usuario_id, lida), a listagem é paginada por cursor e marcar como lidas é
+ * um único UPDATE.
+ */
+@Service
+@Transactional
+public class NotificacaoService {
+
+  public static final int LIMITE_MAXIMO = 100;
+
+  @Autowired
+  private NotificacaoRepository notificacaoRepository;
+
+  /**
+   * Lista uma página da caixa de entrada, da notificação mais recente para a mais antiga
+   *
+   * @param antesDe id da última notificação da página anterior; null para a primeira página
+   * @param limite tamanho da página, limitado a {@value #LIMITE_MAXIMO}
+   */
+  @Transactional(readOnly = true)
+  public List<NotificacaoDTO> listar(Long usuarioId, Long antesDe, int limite,
+      boolean apenasNaoLidas) {
+    Long cursor = antesDe != null ? antesDe : Long.MAX_VALUE;
+    PageRequest pagina = PageRequest.of(0, Math.max(1, Math.min(limite, LIMITE_MAXIMO)));
+    return (apenasNaoLidas ? notificacaoRepository.buscarPaginaNaoLidas(usuarioId, cursor, pagina)
+        : notificacaoRepository.buscarPagina(usuarioId, cursor, pagina)).stream()
+        .map(NotificacaoDTO::new).collect(Collectors.toList());
+  }
+
+  @Transactional(readOnly = true)
+  public long contarNaoLidas(Long usuarioId) {
+    return notificacaoRepository.countByUsuarioIdAndLidaFalse(usuarioId);
+  }
+
+  /**
+   * @return true se a notificação existia, pertencia ao usuário e ainda não estava lida
+   */
+  public boolean marcarComoLida(Long usuarioId, Long notificacaoId) {
+    return notificacaoRepository.marcarComoLida(notificacaoId, usuarioId,
+        LocalDateTime.now()) > 0;
+  }
+
+  /**
+   * @return quantidade de notificações marcadas
+   */
+  public int marcarTodasComoLidas(Long usuarioId) {
+    return notificacaoRepository.marcarTodasComoLidas(usuarioId, LocalDateTime.now());
+  }
+}
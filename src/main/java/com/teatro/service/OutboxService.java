@@ -0,0 +1,355 @@
+package com.teatro.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teatro.dto.AlteracaoSessaoEvento;
+import com.teatro.dto.VendaIngressoEvento;
+import com.teatro.model.EventoOutbox;
+import com.teatro.model.EventoOutbox.Status;
+import com.teatro.model.EventoOutbox.Tipo;
+import com.teatro.repository.EventoOutboxRepository;
+import com.teatro.util.HistogramaLatencia;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Service do outbox transacional
+ *
+ * Responsabilidades: - Gravar o evento na transação da operação que o origina - Despachar os
+ * eventos pendentes em segundo plano, com no máximo {@code paralelismo} eventos em andamento -
+ * Reagendar com espera exponencial os eventos que falham, até o limite de tentativas - Devolver
+ * à fila eventos de processadores interrompidos e remover os já concluídos
+ *
+ * Cada evento é processado em uma transação própria, que também o marca como concluído; os
+ * efeitos fora do banco (estatísticas em memória, entrega de notificações) rodam depois do commit.
+ * O despacho é disparado logo após o commit da transação que publicou o evento e, como garantia,
+ * por uma varredura periódica.
+ */
+@Service
+public class OutboxService {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+
+  @Autowired
+  private EventoOutboxRepository eventoOutboxRepository;
+
+  @Autowired
+  private PosCompraService posCompraService;
+
+  @Autowired
+  private DisparoNotificacoesService disparoNotificacoesService;
+
+  @Autowired
+  private MetricasService metricasService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("executorOutbox")
+  private Executor executorOutbox;
+
+  @Value("${teatro.outbox.paralelismo:4}")
+  private int paralelismo;
+
+  @Value("${teatro.outbox.maximo-tentativas:8}")
+  private int maximoTentativas;
+
+  @Value("${teatro.outbox.espera-inicial-ms:1000}")
+  private long esperaInicialMs;
+
+  @Value("${teatro.outbox.espera-maxima-ms:300000}")
+  private long esperaMaximaMs;
+
+  @Value("${teatro.outbox.reserva-ms:300000}")
+  private long reservaMs;
+
+  @Value("${teatro.outbox.retencao-ms:86400000}")
+  private long retencaoMs;
+
+  private TransactionTemplate transacao;
+  private Semaphore vagas;
+  private final AtomicBoolean varreduraAgendada = new AtomicBoolean();
+  private final AtomicBoolean varrendo = new AtomicBoolean();
+  private volatile boolean haMaisPendentes;
+
+  private LongAdder concluidos;
+  private LongAdder falhas;
+  private LongAdder descartados;
+  private HistogramaLatencia atraso;
+  private HistogramaLatencia duracao;
+
+  @PostConstruct
+  public void inicializar() {
+    transacao = new TransactionTemplate(transactionManager);
+    vagas = new Semaphore(paralelismo);
+
+    concluidos = metricasService.contador("teatro_outbox_eventos_total",
+        "Eventos do outbox processados", "resultado", "concluido");
+    falhas = metricasService.contador("teatro_outbox_eventos_total",
+        "Eventos do outbox processados", "resultado", "falha");
+    descartados = metricasService.contador("teatro_outbox_eventos_total",
+        "Eventos do outbox processados", "resultado", "descartado");
+    atraso = metricasService.histograma("teatro_outbox_atraso_segundos",
+        "Tempo entre a publicação e a conclusão do evento");
+    duracao = metricasService.histograma("teatro_outbox_processamento_segundos",
+        "Duração do processamento de um evento");
+    metricasService.medidor("teatro_outbox_em_andamento", "Eventos do outbox em processamento",
+        () -> paralelismo - vagas.availablePermits());
+  }
+
+  /**
+   * Grava o evento na transação corrente e agenda o despacho para depois do commit
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public EventoOutbox publicar(Tipo tipo, Long agregadoId, Object dados) {
+    String payload;
+    try {
+      payload = objectMapper.writeValueAsString(dados);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Payload do evento não serializável", e);
+    }
+    EventoOutbox evento = eventoOutboxRepository.save(new EventoOutbox(tipo, agregadoId, payload));
+
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        acordar();
+      }
+    });
+    return evento;
+  }
+
+  /**
+   * Agenda uma varredura no executor do outbox; chamadas concorrentes são agrupadas
+   */
+  public void acordar() {
+    if (!varreduraAgendada.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      executorOutbox.execute(() -> {
+        varreduraAgendada.set(false);
+        despachar();
+      });
+    } catch (RejectedExecutionException e) {
+      // Executor ocupado: a varredura periódica assume
+      varreduraAgendada.set(false);
+    }
+  }
+
+  /**
+   * Reserva e despacha tantos eventos disponíveis quantas forem as vagas livres
+   */
+  @Scheduled(fixedDelayString = "${teatro.outbox.intervalo-varredura-ms:5000}")
+  public void despachar() {
+    if (!varrendo.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      int livres = vagas.availablePermits();
+      if (livres == 0) {
+        haMaisPendentes = true;
+        return;
+      }
+      LocalDateTime agora = LocalDateTime.now();
+      List<Long> ids = eventoOutboxRepository.buscarDisponiveis(Status.PENDENTE, agora,
+          PageRequest.of(0, livres));
+      haMaisPendentes = ids.size() == livres;
+
+      LocalDateTime reservaAte = agora.plus(reservaMs, ChronoUnit.MILLIS);
+      for (Long id : ids) {
+        if (!vagas.tryAcquire()) {
+          haMaisPendentes = true;
+          break;
+        }
+        String reserva = UUID.randomUUID().toString();
+        if (eventoOutboxRepository.reservar(id, Status.PENDENTE, Status.PROCESSANDO,
+            reservaAte, reserva) == 0) {
+          vagas.release();
+          continue;
+        }
+        try {
+          executorOutbox.execute(() -> {
+            try {
+              processar(id, reserva);
+            } finally {
+              vagas.release();
+              if (haMaisPendentes) {
+                acordar();
+              }
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // A reserva vence e o evento volta à fila na próxima manutenção
+          vagas.release();
+          haMaisPendentes = true;
+          break;
+        }
+      }
+    } finally {
+      varrendo.set(false);
+    }
+  }
+
+  /**
+   * Devolve à fila eventos com reserva vencida e remove os concluídos há mais que a retenção
+   */
+  @Scheduled(fixedDelayString = "${teatro.outbox.intervalo-manutencao-ms:60000}",
+      initialDelayString = "${teatro.outbox.intervalo-manutencao-ms:60000}")
+  public void manter() {
+    LocalDateTime agora = LocalDateTime.now();
+    int liberados =
+        eventoOutboxRepository.liberarReservasVencidas(Status.PENDENTE, Status.PROCESSANDO, agora);
+    if (liberados > 0) {
+      log.warn("Eventos do outbox com reserva vencida devolvidos à fila: {}", liberados);
+      acordar();
+    }
+    int removidos = eventoOutboxRepository.removerProcessados(Status.CONCLUIDO,
+        agora.minus(retencaoMs, ChronoUnit.MILLIS));
+    log.debug("Eventos do outbox concluídos removidos: {}", removidos);
+  }
+
+  /**
+   * Processa um evento reservado; em caso de erro, reagenda ou marca como falho
+   *
+   * Se a reserva venceu e o evento foi liberado ou reservado por outro processador, a versão da
+   * linha mudou e o commit é recusado, desfazendo os efeitos gravados por este processador.
+   */
+  void processar(Long id, String reserva) {
+    long inicio = System.nanoTime();
+    try {
+      EventoOutbox evento = transacao.execute(status -> aplicar(id, reserva));
+      if (evento == null) {
+        return;
+      }
+      aposConclusao(evento);
+      concluidos.increment();
+      atraso.registrar(
+          ChronoUnit.NANOS.between(evento.getDataCriacao(), evento.getDataProcessamento()));
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Reserva do evento {} do outbox venceu durante o processamento; efeitos desfeitos",
+          id);
+    } catch (RuntimeException e) {
+      registrarFalha(id, reserva, e);
+    } finally {
+      duracao.registrar(System.nanoTime() - inicio);
+    }
+  }
+
+  private EventoOutbox aplicar(Long id, String reserva) {
+    EventoOutbox evento = eventoOutboxRepository.findById(id).orElse(null);
+    if (evento == null || !reservadoPor(evento, reserva)) {
+      return null;
+    }
+    switch (evento.getTipo()) {
+      case COMPRA_INGRESSO -> posCompraService
+          .aplicarCompra(ler(evento, VendaIngressoEvento.class), evento.getPayload());
+      case CANCELAMENTO_INGRESSO -> posCompraService
+          .aplicarCancelamento(ler(evento, VendaIngressoEvento.class), evento.getPayload());
+      case ALTERACAO_SESSAO -> disparoNotificacoesService
+          .registrarAlteracaoSessao(ler(evento, AlteracaoSessaoEvento.class));
+    }
+    evento.setStatus(Status.CONCLUIDO);
+    evento.setTentativas(evento.getTentativas() + 1);
+    evento.setDataProcessamento(LocalDateTime.now());
+    evento.setUltimoErro(null);
+    return evento;
+  }
+
+  /**
+   * Efeitos fora do banco, executados depois do commit do evento
+   */
+  private void aposConclusao(EventoOutbox evento) {
+    try {
+      switch (evento.getTipo()) {
+        case COMPRA_INGRESSO -> posCompraService
+            .contabilizarCompra(ler(evento, VendaIngressoEvento.class));
+        case CANCELAMENTO_INGRESSO -> posCompraService
+            .contabilizarCancelamento(ler(evento, VendaIngressoEvento.class));
+        case ALTERACAO_SESSAO -> disparoNotificacoesService
+            .entregarAlteracaoSessao(ler(evento, AlteracaoSessaoEvento.class));
+      }
+    } catch (RuntimeException e) {
+      // O evento já foi concluído e não é reprocessado
+      log.warn("Falha nos efeitos pós-commit do evento {} do outbox", evento.getId(), e);
+    }
+  }
+
+  private void registrarFalha(Long id, String reserva, RuntimeException erro) {
+    falhas.increment();
+    try {
+      transacao.executeWithoutResult(status -> eventoOutboxRepository.findById(id)
+          .filter(evento -> reservadoPor(evento, reserva))
+          .ifPresent(evento -> reagendar(evento, erro)));
+    } catch (OptimisticLockingFailureException e) {
+      log.warn("Reserva do evento {} do outbox venceu antes do reagendamento", id);
+    } catch (RuntimeException e) {
+      // A reserva vence e o evento volta à fila na próxima manutenção
+      log.error("Falha ao reagendar o evento {} do outbox", id, e);
+    }
+  }
+
+  private static boolean reservadoPor(EventoOutbox evento, String reserva) {
+    return evento.getStatus() == Status.PROCESSANDO && reserva.equals(evento.getReserva());
+  }
+
+  private void reagendar(EventoOutbox evento, RuntimeException erro) {
+    int tentativas = evento.getTentativas() + 1;
+    evento.setTentativas(tentativas);
+    evento.setUltimoErro(resumir(erro));
+    LocalDateTime agora = LocalDateTime.now();
+    if (tentativas >= maximoTentativas) {
+      evento.setStatus(Status.FALHOU);
+      evento.setDataProcessamento(agora);
+      descartados.increment();
+      log.error("Evento {} do outbox ({}) descartado após {} tentativas", evento.getId(),
+          evento.getTipo(), tentativas, erro);
+      return;
+    }
+    long espera = Math.min(esperaMaximaMs, esperaInicialMs << Math.min(tentativas - 1, 20));
+    evento.setStatus(Status.PENDENTE);
+    evento.setDisponivelEm(agora.plus(espera, ChronoUnit.MILLIS));
+    log.warn("Evento {} do outbox ({}) falhou na tentativa {}; nova tentativa em {} ms",
+        evento.getId(), evento.getTipo(), tentativas, espera);
+  }
+
+  private <T> T ler(EventoOutbox evento, Class<T> tipo) {
+    try {
+      return objectMapper.readValue(evento.getPayload(), tipo);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Payload inválido no evento " + evento.getId(), e);
+    }
+  }
+
+  private static String resumir(Throwable erro) {
+    String mensagem = erro.getClass().getSimpleName() + ": " + erro.getMessage();
+    return mensagem.length() > 500 ? mensagem.substring(0, 500) : mensagem;
+  }
+}
@@ -0,0 +1,150 @@
+package com.teatro.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import com.teatro.model.Ingresso.Status;
+import com.teatro.model.VendaAgregada;
+import com.teatro.repository.VendaAgregadaRepository;
+import com.teatro.util.JanelaTopK;
+import com.teatro.util.SpaceSaving;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Service que mantém os eventos e sessões mais vendidos em janelas deslizantes
+ *
+ * Responsabilidades: - Alimentar estruturas top-K (Space-Saving) a cada venda ou cancelamento -
+ * Responder "populares agora" na última hora, dia ou semana sem agregar a tabela de ingressos -
+ * Recompor as janelas na inicialização a partir das vendas agregadas
+ */
+@Service
+public class PopularidadeService {
+
+  private static final long MINUTO_MS = 60_000L;
+  private static final long HORA_MS = 60 * MINUTO_MS;
+  private static final long DIA_MS = 24 * HORA_MS;
+
+  @Autowired
+  private VendaAgregadaRepository vendaAgregadaRepository;
+
+  @Value("${teatro.estatisticas.populares.capacidade:100}")
+  private int capacidade;
+
+  private final Map<Janela, JanelaTopK<Long>> eventos = new EnumMap<>(Janela.class);
+  private final Map<Janela, JanelaTopK<Long>> sessoes = new EnumMap<>(Janela.class);
+
+  /**
+   * Enum que define as janelas de popularidade disponíveis
+   */
+  public enum Janela {
+    HORA("Última hora", 12, 5 * MINUTO_MS), DIA("Último dia", 24, HORA_MS), SEMANA("Última semana",
+        7, DIA_MS);
+
+    private final String descricao;
+    private final int fatias;
+    private final long duracaoFatiaMs;
+
+    Janela(String descricao, int fatias, long duracaoFatiaMs) {
+      this.descricao = descricao;
+      this.fatias = fatias;
+      this.duracaoFatiaMs = duracaoFatiaMs;
+    }
+
+    public String getDescricao() {
+      return descricao;
+    }
+  }
+
+  /**
+   * Cria as janelas e recompõe a última semana a partir das vendas agregadas
+   *
+   * Buckets já compactados em hora ou dia entram no início do seu intervalo, então a janela da
+   * última hora só fica exata para vendas feitas depois da inicialização.
+   */
+  @PostConstruct
+  public void inicializar() {
+    for (Janela janela : Janela.values()) {
+      eventos.put(janela, new JanelaTopK<>(janela.fatias, janela.duracaoFatiaMs, capacidade));
+      sessoes.put(janela, new JanelaTopK<>(janela.fatias, janela.duracaoFatiaMs, capacidade));
+    }
+
+    LocalDateTime inicio = LocalDateTime.now().minusDays(Janela.SEMANA.fatias);
+    for (VendaAgregada bucket : vendaAgregadaRepository.findByInicioGreaterThanEqualOrderByInicio(inicio)) {
+      if (bucket.getStatus() == Status.CANCELADO || bucket.getQuantidade() == 0) {
+        continue;
+      }
+      long instante = bucket.getInicio().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+      for (Janela janela : Janela.values()) {
+        aplicar(janela, bucket.getEventoId(), bucket.getSessaoId(), bucket.getQuantidade(),
+            instante);
+      }
+    }
+  }
+
+  /**
+   * Registra a venda de um ingresso na fatia do momento da compra
+   *
+   * Usa a data da compra, e não o relógio de quem processa o evento, para que uma venda entregue
+   * com atraso (fila do pós-compra, reprocessamento do outbox) caia na mesma fatia de onde o
+   * cancelamento vai descontá-la.
+   */
+  public void registrarVenda(Long eventoId, Long sessaoId, LocalDateTime dataCompra) {
+    long instante = instante(dataCompra);
+    for (Janela janela : Janela.values()) {
+      aplicar(janela, eventoId, sessaoId, 1, instante);
+    }
+  }
+
+  /**
+   * Registra o cancelamento de um ingresso, descontando-o da fatia em que foi comprado
+   */
+  public void registrarCancelamento(Long eventoId, Long sessaoId, LocalDateTime dataCompra) {
+    long instante = instante(dataCompra);
+    for (Janela janela : Janela.values()) {
+      aplicar(janela, eventoId, sessaoId, -1, instante);
+    }
+  }
+
+  /**
+   * Eventos mais vendidos na janela
+   */
+  public List<SpaceSaving.Contagem<Long>> eventosPopulares(Janela janela, int limite) {
+    return eventos.get(janela).topo(limite, System.currentTimeMillis());
+  }
+
+  /**
+   * Sessões mais vendidas na janela
+   */
+  public List<SpaceSaving.Contagem<Long>> sessoesPopulares(Janela janela, int limite) {
+    return sessoes.get(janela).topo(limite, System.currentTimeMillis());
+  }
+
+  private static long instante(LocalDateTime dataCompra) {
+    return dataCompra != null
+        ? dataCompra.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+        : System.currentTimeMillis();
+  }
+
+  private void aplicar(Janela janela, Long eventoId, Long sessaoId, long quantidade,
+      long instante) {
+    if (eventoId != null) {
+      atualizar(eventos.get(janela), eventoId, quantidade, instante);
+    }
+    if (sessaoId != null) {
+      atualizar(sessoes.get(janela), sessaoId, quantidade, instante);
+    }
+  }
+
+  private void atualizar(JanelaTopK<Long> janela, Long item, long quantidade, long instante) {
+    if (quantidade >= 0) {
+      janela.adicionar(item, quantidade, instante);
+    } else {
+      janela.subtrair(item, -quantidade, instante);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.teatro.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.teatro.dto.VendaIngressoEvento;
+import com.teatro.model.Notificacao;
+import com.teatro.repository.NotificacaoRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Service com os efeitos de uma compra ou cancelamento que não precisam acontecer na transação
+ * da compra
+ *
+ * Chamado pelo OutboxService. Os métodos {@code aplicar*} gravam no banco (pontos de fidelidade e
+ * notificação) e participam da transação que marca o evento do outbox como concluído, então um
+ * evento reprocessado após falha não duplica esses registros; a auditoria é publicada no
+ * AuditoriaService e só segue para gravação se essa transação for confirmada. Os métodos
+ * {@code contabilizar*} atualizam as estatísticas em memória e só são chamados depois do commit.
+ */
+@Service
+public class PosCompraService {
+
+  private static final String ENTIDADE_INGRESSO = "Ingresso";
+
+  @Autowired
+  private FidelidadeService fidelidadeService;
+
+  @Autowired
+  private NotificacaoRepository notificacaoRepository;
+
+  @Autowired
+  private AuditoriaService auditoriaService;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private ContadoresVendasService contadoresVendasService;
+
+  @Autowired
+  private VendasAgregadasService vendasAgregadasService;
+
+  @Autowired
+  private PopularidadeService popularidadeService;
+
+  @Autowired
+  private CompradoresUnicosService compradoresUnicosService;
+
+  @Value("${teatro.fidelidade.pontos-por-real:1}")
+  private BigDecimal pontosPorReal;
+
+  /**
+   * Credita os pontos da compra, notifica o comprador e registra a auditoria
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void aplicarCompra(VendaIngressoEvento venda, String dados) {
+    Long usuarioId = venda.getUsuarioId();
+    if (usuarioId != null) {
+      int pontos = calcularPontos(venda.getValor());
+      if (pontos > 0) {
+        fidelidadeService.ganhar(usuarioId, pontos, "COMPRA",
+            "Compra do ingresso " + venda.getCodigo());
+      }
+
+      Notificacao notificacao = Notificacao.notificacaoSistema(
+          usuarioRepository.getReferenceById(usuarioId), "Compra confirmada",
+          "Ingresso " + venda.getCodigo() + " confirmado para a poltrona "
+              + venda.getNumeroPoltrona() + ".");
+      notificacao.setDataEnvio(LocalDateTime.now());
+      notificacaoRepository.save(notificacao);
+    }
+
+    auditoriaService.registrar(usuarioId, "COMPRA_INGRESSO", ENTIDADE_INGRESSO,
+        venda.getIngressoId(), null, dados);
+  }
+
+  /**
+   * Estorna os pontos creditados pela compra e publica a auditoria do cancelamento
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void aplicarCancelamento(VendaIngressoEvento venda, String dados) {
+    Long usuarioId = venda.getUsuarioId();
+    if (usuarioId != null) {
+      int pontos = calcularPontos(venda.getValor());
+      if (pontos > 0) {
+        fidelidadeService.estornar(usuarioId, pontos, "CANCELAMENTO",
+            "Cancelamento do ingresso " + venda.getCodigo());
+      }
+    }
+
+    auditoriaService.registrar(venda.getUsuarioId(), "CANCELAMENTO_INGRESSO", ENTIDADE_INGRESSO,
+        venda.getIngressoId(), dados, null);
+  }
+
+  /**
+   * Atualiza as estatísticas em memória com a venda
+   */
+  public void contabilizarCompra(VendaIngressoEvento venda) {
+    contadoresVendasService.registrarVenda(venda.getDataCompra(), venda.getEventoId(),
+        venda.getSessaoId(), venda.getValor());
+    vendasAgregadasService.registrarVenda(venda.getDataCompra(), venda.getEventoId(),
+        venda.getSessaoId(), venda.getAreaId(), venda.getStatus(), venda.getValor());
+    popularidadeService.registrarVenda(venda.getEventoId(), venda.getSessaoId(),
+        venda.getDataCompra());
+    compradoresUnicosService.registrarCompra(venda.getUsuarioId(), venda.getEventoId(),
+        venda.getSessaoId(), venda.getDataCompra());
+  }
+
+  /**
+   * Atualiza as estatísticas em memória com o cancelamento
+   */
+  public void contabilizarCancelamento(VendaIngressoEvento venda) {
+    contadoresVendasService.registrarCancelamento(venda.getDataCompra(), venda.getEventoId(),
+        venda.getSessaoId(), venda.getValor());
+    vendasAgregadasService.registrarCancelamento(venda.getDataCompra(), venda.getEventoId(),
+        venda.getSessaoId(), venda.getAreaId(), venda.getStatus(), venda.getValor());
+    popularidadeService.registrarCancelamento(venda.getEventoId(), venda.getSessaoId(),
+        venda.getDataCompra());
+  }
+
+  private int calcularPontos(BigDecimal valor) {
+    if (valor == null) {
+      return 0;
+    }
+    return valor.multiply(pontosPorReal).setScale(0, RoundingMode.DOWN).intValue();
+  }
+}
@@ -0,0 +1,216 @@
+package com.teatro.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.teatro.dto.EventoRankingDTO;
+import com.teatro.model.Evento;
+import com.teatro.model.ResumoAvaliacoes;
+import com.teatro.repository.EventoRepository;
+import com.teatro.util.Placar;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Service do ranking de eventos mais bem avaliados
+ *
+ * Os eventos são ordenados pela média bayesiana (P * m + soma) / (P + n), em que n e soma vêm do
+ * agregado de avaliações do evento, m é a média geral de todas as avaliações e P o peso da média
+ * geral: eventos com poucas avaliações ficam próximos de m até acumularem votos. O ranking vive
+ * em memória (Placar) e é atualizado a cada avaliação incluída ou removida, depois do commit;
+ * a consulta paginada não acessa o banco.
+ *
+ * A média geral m muda a cada avaliação, mas é fixada a cada recarga completa, feita na
+ * inicialização e periodicamente a partir das colunas materializadas dos eventos. A recarga
+ * também corrige alterações que se percam entre a leitura do banco e a troca do índice.
+ */
+@Service
+public class RankingAvaliacoesService {
+
+  private static final Logger log = LoggerFactory.getLogger(RankingAvaliacoesService.class);
+
+  public static final int LIMITE_MAXIMO = 100;
+
+  @Autowired
+  private EventoRepository eventoRepository;
+
+  @Autowired
+  private MetricasService metricasService;
+
+  @Value("${teatro.avaliacoes.ranking.peso-media-geral:10}")
+  private double pesoMediaGeral;
+
+  @Value("${teatro.avaliacoes.ranking.media-inicial:3.0}")
+  private double mediaInicial;
+
+  @Value("${teatro.avaliacoes.ranking.minimo-avaliacoes:1}")
+  private long minimoAvaliacoes;
+
+  private volatile Indice indice;
+
+  @PostConstruct
+  public void iniciar() {
+    indice = new Indice(mediaInicial);
+    metricasService.medidor("teatro_ranking_avaliacoes_eventos",
+        "Eventos classificados no ranking de avaliações", () -> indice.placar.tamanho());
+  }
+
+  /**
+   * Carrega o ranking depois da reconciliação dos agregados de avaliações
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  @Order(1)
+  public void carregarNaInicializacao() {
+    recarregar();
+  }
+
+  /**
+   * Reconstrói o ranking a partir dos agregados gravados nos eventos e recalcula a média geral
+   */
+  @Scheduled(fixedDelayString = "${teatro.avaliacoes.ranking.intervalo-recarga-ms:300000}",
+      initialDelayString = "${teatro.avaliacoes.ranking.intervalo-recarga-ms:300000}")
+  public void recarregar() {
+    List<EstadoEvento> estados = new ArrayList<>();
+    long somaGeral = 0;
+    long quantidadeGeral = 0;
+    for (Object[] linha : eventoRepository.listarResumosAvaliacoes()) {
+      EstadoEvento estado = new EstadoEvento((Long) linha[0], (String) linha[1],
+          Boolean.TRUE.equals(linha[2]), ((Number) linha[3]).longValue(),
+          ((Number) linha[4]).longValue());
+      estados.add(estado);
+      somaGeral += estado.soma;
+      quantidadeGeral += estado.quantidade;
+    }
+
+    Indice novo =
+        new Indice(quantidadeGeral > 0 ? (double) somaGeral / quantidadeGeral : mediaInicial);
+    for (EstadoEvento estado : estados) {
+      novo.eventos.put(estado.eventoId, estado);
+      classificar(novo, estado);
+    }
+    indice = novo;
+    log.debug("Ranking de avaliações recarregado: {} eventos classificados, média geral {}",
+        novo.placar.tamanho(), novo.mediaGeral);
+  }
+
+  /**
+   * Aplica ao ranking uma nota incluída (delta = 1) ou removida (delta = -1) de um evento, após o
+   * commit da transação corrente
+   */
+  public void registrarAvaliacao(Long eventoId, int nota, int delta) {
+    aposCommit(() -> alterar(eventoId, estado -> estado == null ? null
+        : new EstadoEvento(eventoId, estado.nome, estado.ativo,
+            estado.soma + (long) nota * delta, estado.quantidade + delta)));
+  }
+
+  /**
+   * Atualiza nome e situação do evento no ranking, após o commit da transação corrente
+   */
+  public void atualizarEvento(Evento evento) {
+    Long eventoId = evento.getId();
+    String nome = evento.getNome();
+    boolean ativo = evento.isAtivo();
+    ResumoAvaliacoes resumo = evento.getResumoAvaliacoes();
+    aposCommit(() -> alterar(eventoId, estado -> estado != null
+        ? new EstadoEvento(eventoId, nome, ativo, estado.soma, estado.quantidade)
+        : new EstadoEvento(eventoId, nome, ativo, resumo.getSoma(), resumo.getQuantidade())));
+  }
+
+  /**
+   * Retorna uma página do ranking, do evento mais bem avaliado para o menos
+   */
+  public List<EventoRankingDTO> listar(int pagina, int tamanho) {
+    int limite = Math.max(1, Math.min(tamanho, LIMITE_MAXIMO));
+    int inicio = Math.max(0, pagina) * limite;
+
+    List<EventoRankingDTO> resultado = new ArrayList<>(limite);
+    int posicao = inicio;
+    for (Placar.Entrada<Long, EstadoEvento> entrada : indice.placar.pagina(inicio, limite)) {
+      EstadoEvento estado = entrada.getValor();
+      resultado.add(new EventoRankingDTO(++posicao, estado.eventoId, estado.nome,
+          arredondar(entrada.getPontuacao()), arredondar((double) estado.soma / estado.quantidade),
+          estado.quantidade));
+    }
+    return resultado;
+  }
+
+  private void alterar(Long eventoId, UnaryOperator<EstadoEvento> alteracao) {
+    Indice atual = indice;
+    atual.eventos.compute(eventoId, (id, estado) -> {
+      EstadoEvento novo = alteracao.apply(estado);
+      if (novo == null) {
+        atual.placar.remover(id);
+      } else {
+        classificar(atual, novo);
+      }
+      return novo;
+    });
+  }
+
+  private void classificar(Indice alvo, EstadoEvento estado) {
+    if (estado.ativo && estado.quantidade > 0 && estado.quantidade >= minimoAvaliacoes) {
+      alvo.placar.colocar(estado.eventoId,
+          (pesoMediaGeral * alvo.mediaGeral + estado.soma) / (pesoMediaGeral + estado.quantidade),
+          estado);
+    } else {
+      alvo.placar.remover(estado.eventoId);
+    }
+  }
+
+  private void aposCommit(Runnable acao) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      acao.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        acao.run();
+      }
+    });
+  }
+
+  private double arredondar(double valor) {
+    return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP).doubleValue();
+  }
+
+  private static final class Indice {
+    private final Map<Long, EstadoEvento> eventos = new ConcurrentHashMap<>();
+    private final Placar<Long, EstadoEvento> placar = new Placar<>();
+    private final double mediaGeral;
+
+    private Indice(double mediaGeral) {
+      this.mediaGeral = mediaGeral;
+    }
+  }
+
+  private static final class EstadoEvento {
+    private final Long eventoId;
+    private final String nome;
+    private final boolean ativo;
+    private final long soma;
+    private final long quantidade;
+
+    private EstadoEvento(Long eventoId, String nome, boolean ativo, long soma, long quantidade) {
+      this.eventoId = eventoId;
+      this.nome = nome;
+      this.ativo = ativo;
+      this.soma = soma;
+      this.quantidade = quantidade;
+    }
+  }
+}
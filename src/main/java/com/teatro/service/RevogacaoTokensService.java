@@ -0,0 +1,115 @@
+package com.teatro.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import com.teatro.model.TokenRevogado;
+import com.teatro.repository.TokenRevogadoRepository;
+import com.teatro.util.FiltroBloom;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Service que mantém em memória os refresh tokens revogados
+ *
+ * Responsabilidades: - Reconstruir o filtro de Bloom e o conjunto exato a partir da tabela
+ * tokens_revogados na inicialização - Responder se um jti foi revogado sem acessar o banco -
+ * Revogar um jti de forma atômica (usado na rotação) e persistir a revogação - Descartar
+ * revogações de tokens já expirados
+ *
+ * O filtro de Bloom responde a grande maioria das consultas (tokens não revogados) sem tocar no
+ * conjunto; quando ele indica "talvez", o conjunto exato elimina o falso positivo.
+ */
+@Service
+public class RevogacaoTokensService {
+
+  private static final Logger log = LoggerFactory.getLogger(RevogacaoTokensService.class);
+
+  @Autowired
+  private TokenRevogadoRepository tokenRevogadoRepository;
+
+  @Value("${teatro.autenticacao.refresh.bloom-itens-esperados:100000}")
+  private long itensEsperados;
+
+  @Value("${teatro.autenticacao.refresh.bloom-falso-positivo:0.01}")
+  private double taxaFalsoPositivo;
+
+  /**
+   * jti revogado -> instante (epoch ms) em que o token expira
+   */
+  private final Map<String, Long> revogados = new ConcurrentHashMap<>();
+  private volatile FiltroBloom filtro;
+
+  @PostConstruct
+  public void carregar() {
+    List<TokenRevogado> persistidos =
+        tokenRevogadoRepository.findByExpiraEmAfter(LocalDateTime.now());
+    for (TokenRevogado token : persistidos) {
+      revogados.put(token.getJti(), paraEpochMs(token.getExpiraEm()));
+    }
+    reconstruirFiltro();
+    log.info("Revogações de refresh token carregadas: {}", revogados.size());
+  }
+
+  /**
+   * Verifica se o jti foi revogado
+   */
+  public boolean estaRevogado(String jti) {
+    return filtro.podeConter(jti) && revogados.containsKey(jti);
+  }
+
+  /**
+   * Revoga o jti e persiste a revogação
+   *
+   * @return true se esta chamada revogou o token; false se ele já estava revogado, o que na
+   *         rotação indica reuso de um refresh token já trocado
+   */
+  public boolean revogar(String jti, Long usuarioId, Date expiraEm) {
+    long expiraEmMs = expiraEm.getTime();
+    if (revogados.putIfAbsent(jti, expiraEmMs) != null) {
+      return false;
+    }
+    filtro.adicionar(jti);
+    tokenRevogadoRepository.save(new TokenRevogado(jti, usuarioId,
+        LocalDateTime.ofInstant(expiraEm.toInstant(), ZoneId.systemDefault())));
+    return true;
+  }
+
+  /**
+   * Remove revogações de tokens expirados, em memória e no banco
+   *
+   * O filtro de Bloom não permite remoção, então é reconstruído com o conjunto restante.
+   */
+  @Scheduled(fixedDelayString = "${teatro.autenticacao.refresh.intervalo-limpeza-ms:3600000}",
+      initialDelayString = "${teatro.autenticacao.refresh.intervalo-limpeza-ms:3600000}")
+  public void limparExpirados() {
+    long agora = System.currentTimeMillis();
+    revogados.values().removeIf(expiraEm -> expiraEm <= agora);
+    reconstruirFiltro();
+    int removidos = tokenRevogadoRepository.removerExpirados(LocalDateTime.now());
+    log.debug("Revogações expiradas removidas: {}", removidos);
+  }
+
+  /**
+   * Troca o filtro por um novo e reinsere o conjunto; revogações concorrentes que já leram o
+   * filtro novo o atualizam, e as anteriores estão no conjunto percorrido depois da troca
+   */
+  private void reconstruirFiltro() {
+    filtro = new FiltroBloom(Math.max(itensEsperados, revogados.size() * 2L), taxaFalsoPositivo);
+    for (String jti : revogados.keySet()) {
+      filtro.adicionar(jti);
+    }
+  }
+
+  private static long paraEpochMs(LocalDateTime instante) {
+    return instante.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
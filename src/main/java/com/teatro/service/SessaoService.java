@@ -3,14 +3,17 @@ package com.teatro.service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import com.teatro.dto.AlteracaoSessaoEvento;
 import com.teatro.dto.SessaoDTO;
 import com.teatro.exception.SessaoJaExisteException;
 import com.teatro.exception.SessaoNaoEncontradaException;
 import com.teatro.model.Evento;
+import com.teatro.model.EventoOutbox;
 import com.teatro.model.Sessao;
 import com.teatro.model.Sessao.TipoSessao;
 import com.teatro.repository.SessaoRepository;
@@ -31,6 +34,12 @@ public class SessaoService {
   @Autowired
   private EventoService eventoService;
 
+  @Autowired
+  private AuditoriaService auditoriaService;
+
+  @Autowired
+  private OutboxService outboxService;
+
   /**
    * Cadastra uma nova sessão
    * 
@@ -55,7 +64,9 @@ public class SessaoService {
     sessao.setAtiva(true);
 
     Sessao sessaoSalva = sessaoRepository.save(sessao);
-    return new SessaoDTO(sessaoSalva);
+    SessaoDTO salva = new SessaoDTO(sessaoSalva);
+    auditoriaService.registrar("CADASTRO_SESSAO", "Sessao", salva.getId(), null, salva);
+    return salva;
   }
 
   /**
@@ -73,11 +84,18 @@ public class SessaoService {
     LocalTime[] horariosTarde = {LocalTime.of(13, 0), LocalTime.of(14, 30), LocalTime.of(16, 0)};
     LocalTime[] horariosNoite = {LocalTime.of(18, 0), LocalTime.of(19, 30), LocalTime.of(21, 0)};
 
-    List<SessaoDTO> sessoesGeradas = new java.util.ArrayList<>();
+    // Horários já ocupados numa única consulta; um exists por horário forçaria o flush das
+    // sessões pendentes a cada volta e impediria o INSERT em batch
+    java.util.Set<LocalTime> horariosExistentes = new java.util.HashSet<>();
+    for (Sessao existente : sessaoRepository.findByEventoIdAndDataSessao(eventoId, data)) {
+      horariosExistentes.add(existente.getHorario());
+    }
+
+    List<Sessao> novasSessoes = new java.util.ArrayList<>();
 
     // Gera sessões para cada tipo
     for (LocalTime horario : horariosManha) {
-      if (!sessaoRepository.existsByEventoIdAndDataSessaoAndHorario(eventoId, data, horario)) {
+      if (!horariosExistentes.contains(horario)) {
         Sessao sessao = new Sessao();
         sessao.setEvento(evento);
         sessao.setNome("Sessão " + TipoSessao.MANHA.getDescricao() + " - " + horario);
@@ -86,13 +104,12 @@ public class SessaoService {
         sessao.setHorario(horario);
         sessao.setAtiva(true);
 
-        Sessao sessaoSalva = sessaoRepository.save(sessao);
-        sessoesGeradas.add(new SessaoDTO(sessaoSalva));
+        novasSessoes.add(sessao);
       }
     }
 
     for (LocalTime horario : horariosTarde) {
-      if (!sessaoRepository.existsByEventoIdAndDataSessaoAndHorario(eventoId, data, horario)) {
+      if (!horariosExistentes.contains(horario)) {
         Sessao sessao = new Sessao();
         sessao.setEvento(evento);
         sessao.setNome("Sessão " + TipoSessao.TARDE.getDescricao() + " - " + horario);
@@ -101,13 +118,12 @@ public class SessaoService {
         sessao.setHorario(horario);
         sessao.setAtiva(true);
 
-        Sessao sessaoSalva = sessaoRepository.save(sessao);
-        sessoesGeradas.add(new SessaoDTO(sessaoSalva));
+        novasSessoes.add(sessao);
       }
     }
 
     for (LocalTime horario : horariosNoite) {
-      if (!sessaoRepository.existsByEventoIdAndDataSessaoAndHorario(eventoId, data, horario)) {
+      if (!horariosExistentes.contains(horario)) {
         Sessao sessao = new Sessao();
         sessao.setEvento(evento);
         sessao.setNome("Sessão " + TipoSessao.NOITE.getDescricao() + " - " + horario);
@@ -116,11 +132,15 @@ public class SessaoService {
         sessao.setHorario(horario);
         sessao.setAtiva(true);
 
-        Sessao sessaoSalva = sessaoRepository.save(sessao);
-        sessoesGeradas.add(new SessaoDTO(sessaoSalva));
+        novasSessoes.add(sessao);
       }
     }
 
+    List<SessaoDTO> sessoesGeradas = new java.util.ArrayList<>();
+    for (Sessao sessaoSalva : sessaoRepository.saveAll(novasSessoes)) {
+      sessoesGeradas.add(new SessaoDTO(sessaoSalva));
+    }
+
     return sessoesGeradas;
   }
 
@@ -244,6 +264,8 @@ public class SessaoService {
         .orElseThrow(() -> new SessaoNaoEncontradaException("Sessão não encontrada com ID: " + id));
 
     Sessao sessao = sessaoDTO.toEntity();
+    SessaoDTO anterior = new SessaoDTO(sessaoExistente);
+    String nomeAnterior = sessaoExistente.getNomeCompleto();
 
     // Validações de negócio
     validarDadosSessao(sessao);
@@ -266,7 +288,14 @@ public class SessaoService {
     sessaoExistente.setHorario(sessao.getHorario());
 
     Sessao sessaoAtualizada = sessaoRepository.save(sessaoExistente);
-    return new SessaoDTO(sessaoAtualizada);
+    if (!anterior.getDataSessao().equals(sessaoAtualizada.getDataSessao())
+        || !anterior.getHorario().equals(sessaoAtualizada.getHorario())) {
+      notificarPortadores(id, "Sessão reagendada", "A sessão " + nomeAnterior
+          + " foi reagendada para " + sessaoAtualizada.getNomeCompleto() + ".");
+    }
+    SessaoDTO atualizada = new SessaoDTO(sessaoAtualizada);
+    auditoriaService.registrar("ATUALIZACAO_SESSAO", "Sessao", id, anterior, atualizada);
+    return atualizada;
   }
 
   /**
@@ -280,8 +309,15 @@ public class SessaoService {
   public SessaoDTO alterarStatusSessao(Long id, boolean ativa) {
     Sessao sessao = sessaoRepository.findById(id)
         .orElseThrow(() -> new SessaoNaoEncontradaException("Sessão não encontrada com ID: " + id));
+    boolean ativaAnterior = sessao.isAtiva();
     sessao.setAtiva(ativa);
     Sessao sessaoAtualizada = sessaoRepository.save(sessao);
+    auditoriaService.registrar("ALTERACAO_STATUS_SESSAO", "Sessao", id,
+        Map.of("ativa", ativaAnterior), Map.of("ativa", ativa));
+    if (ativaAnterior && !ativa) {
+      notificarPortadores(id, "Sessão cancelada",
+          "A sessão " + sessao.getNomeCompleto() + " foi cancelada.");
+    }
     return new SessaoDTO(sessaoAtualizada);
   }
 
@@ -303,6 +339,7 @@ public class SessaoService {
 
     sessao.setAtiva(false);
     sessaoRepository.save(sessao);
+    auditoriaService.registrar("REMOCAO_SESSAO", "Sessao", id, new SessaoDTO(sessao), null);
   }
 
   /**
@@ -445,4 +482,13 @@ public class SessaoService {
       throw new IllegalArgumentException("Horário da sessão não pode ser no passado");
     }
   }
+
+  /**
+   * Publica no outbox o aviso aos portadores de ingresso; o disparo em massa acontece depois do
+   * commit, pelo DisparoNotificacoesService
+   */
+  private void notificarPortadores(Long sessaoId, String titulo, String mensagem) {
+    outboxService.publicar(EventoOutbox.Tipo.ALTERACAO_SESSAO, sessaoId,
+        new AlteracaoSessaoEvento(sessaoId, titulo, mensagem));
+  }
 }
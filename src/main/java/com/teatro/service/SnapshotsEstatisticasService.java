@@ -0,0 +1,227 @@
+package com.teatro.service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service que guarda os resultados das estatísticas como snapshots imutáveis
+ *
+ * Responsabilidades: - Servir sempre o último snapshot calculado de cada chave - Recalcular os
+ * snapshots em uma única thread de fundo, periodicamente ou sob demanda - Descartar chaves que não
+ * são consultadas há algum tempo
+ *
+ * Apenas a primeira consulta de uma chave calcula na thread da requisição; as demais recebem o
+ * snapshot existente e, se ele estiver vencido, disparam o recálculo em segundo plano. Se esse
+ * primeiro cálculo falha (por exemplo, um evento inexistente), a chave não é guardada. O recálculo
+ * periódico só alcança as chaves consultadas no último intervalo; as demais são recalculadas na
+ * próxima consulta ou descartadas ao ficarem ociosas.
+ *
+ * Um resultado marcado como parcial ({@code parcial=true}) não substitui um snapshot completo: o
+ * anterior continua sendo servido e o recálculo é tentado de novo no próximo ciclo.
+ */
+@Service
+public class SnapshotsEstatisticasService {
+
+  private static final Logger log = LoggerFactory.getLogger(SnapshotsEstatisticasService.class);
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Value("${teatro.estatisticas.snapshots.idade-maxima-ms:30000}")
+  private long idadeMaximaMs;
+
+  @Value("${teatro.estatisticas.snapshots.ociosidade-maxima-ms:600000}")
+  private long ociosidadeMaximaMs;
+
+  private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+  private TransactionTemplate transacaoLeitura;
+  private ExecutorService atualizador;
+
+  @PostConstruct
+  public void inicializar() {
+    transacaoLeitura = new TransactionTemplate(transactionManager);
+    transacaoLeitura.setReadOnly(true);
+    atualizador = Executors.newSingleThreadExecutor(tarefa -> {
+      Thread thread = new Thread(tarefa, "estatisticas-snapshots");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  @PreDestroy
+  public void encerrar() {
+    atualizador.shutdownNow();
+  }
+
+  /**
+   * Retorna o snapshot mais recente de uma chave, com geradoEm e idadeMs
+   *
+   * @param chave Identificador do snapshot
+   * @param calculo Cálculo que produz o conteúdo do snapshot
+   * @return Cópia do snapshot acrescida dos metadados
+   */
+  public Map<String, Object> obter(String chave, Supplier<Map<String, Object>> calculo) {
+    return obter(chave, calculo, false);
+  }
+
+  /**
+   * Como {@link #obter(String, Supplier)}, para cálculos que abrem as próprias transações
+   *
+   * O cálculo roda sem a transação somente leitura externa, que seguraria uma conexão do pool
+   * enquanto as partes do cálculo esperam pelas suas.
+   */
+  public Map<String, Object> obterComTransacaoPropria(String chave,
+      Supplier<Map<String, Object>> calculo) {
+    return obter(chave, calculo, true);
+  }
+
+  private Map<String, Object> obter(String chave, Supplier<Map<String, Object>> calculo,
+      boolean transacaoPropria) {
+    Entrada entrada =
+        entradas.computeIfAbsent(chave, k -> new Entrada(calculo, transacaoPropria));
+    entrada.ultimoAcesso = System.currentTimeMillis();
+
+    Snapshot snapshot = entrada.atual.get();
+    if (snapshot == null) {
+      synchronized (entrada) {
+        snapshot = entrada.atual.get();
+        if (snapshot == null) {
+          try {
+            snapshot = calcular(entrada);
+          } catch (RuntimeException e) {
+            entradas.remove(chave, entrada);
+            throw e;
+          }
+        }
+      }
+    } else if (snapshot.idadeMs() > idadeMaximaMs) {
+      agendar(entrada);
+    }
+    return snapshot.comMetadados();
+  }
+
+  /**
+   * Solicita o recálculo imediato de todos os snapshots em segundo plano
+   *
+   * @return Quantidade de snapshots agendados
+   */
+  public int solicitarAtualizacao() {
+    return agendarConsultadasDesde(0);
+  }
+
+  /**
+   * Recalcula os snapshots consultados no último intervalo e descarta os ociosos
+   */
+  @Scheduled(fixedDelayString = "${teatro.estatisticas.snapshots.idade-maxima-ms:30000}")
+  public void atualizarPeriodicamente() {
+    long agora = System.currentTimeMillis();
+    entradas.entrySet().removeIf(item -> agora - item.getValue().ultimoAcesso > ociosidadeMaximaMs);
+    agendarConsultadasDesde(agora - idadeMaximaMs);
+  }
+
+  private int agendarConsultadasDesde(long instante) {
+    int agendados = 0;
+    for (Entrada entrada : entradas.values()) {
+      if (entrada.ultimoAcesso >= instante && agendar(entrada)) {
+        agendados++;
+      }
+    }
+    return agendados;
+  }
+
+  private boolean agendar(Entrada entrada) {
+    if (entrada.atual.get() == null || !entrada.atualizando.compareAndSet(false, true)) {
+      return false;
+    }
+    try {
+      atualizador.execute(() -> {
+        try {
+          calcular(entrada);
+        } catch (RuntimeException e) {
+          log.warn("Falha ao recalcular snapshot de estatísticas; mantendo o anterior", e);
+        } finally {
+          entrada.atualizando.set(false);
+        }
+      });
+      return true;
+    } catch (RejectedExecutionException e) {
+      entrada.atualizando.set(false);
+      return false;
+    }
+  }
+
+  private Snapshot calcular(Entrada entrada) {
+    Map<String, Object> dados = entrada.transacaoPropria ? entrada.calculo.get()
+        : transacaoLeitura.execute(status -> entrada.calculo.get());
+    Snapshot snapshot = new Snapshot(Collections.unmodifiableMap(new HashMap<>(dados)),
+        System.currentTimeMillis());
+
+    Snapshot anterior = entrada.atual.get();
+    if (snapshot.isParcial() && anterior != null && !anterior.isParcial()) {
+      log.debug("Recálculo parcial de snapshot descartado; mantendo o anterior completo");
+      return anterior;
+    }
+    entrada.atual.set(snapshot);
+    return snapshot;
+  }
+
+  /**
+   * Resultado calculado em um instante
+   */
+  private record Snapshot(Map<String, Object> dados, long geradoEmMs) {
+
+    private boolean isParcial() {
+      return Boolean.TRUE.equals(dados.get("parcial"));
+    }
+
+    private long idadeMs() {
+      return System.currentTimeMillis() - geradoEmMs;
+    }
+
+    private Map<String, Object> comMetadados() {
+      Map<String, Object> resposta = new HashMap<>(dados);
+      resposta.put("geradoEm",
+          LocalDateTime.ofInstant(Instant.ofEpochMilli(geradoEmMs), ZoneId.systemDefault()));
+      resposta.put("idadeMs", idadeMs());
+      return resposta;
+    }
+  }
+
+  /**
+   * Snapshot atual de uma chave, o cálculo que o produz e o estado do recálculo
+   */
+  private static final class Entrada {
+    private final Supplier<Map<String, Object>> calculo;
+    private final boolean transacaoPropria;
+    private final AtomicReference<Snapshot> atual = new AtomicReference<>();
+    private final AtomicBoolean atualizando = new AtomicBoolean();
+    private volatile long ultimoAcesso;
+
+    private Entrada(Supplier<Map<String, Object>> calculo, boolean transacaoPropria) {
+      this.calculo = calculo;
+      this.transacaoPropria = transacaoPropria;
+    }
+  }
+}
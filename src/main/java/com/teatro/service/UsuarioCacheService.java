@@ -0,0 +1,207 @@
+package com.teatro.service;
+
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.teatro.model.Usuario;
+import com.teatro.model.Usuario.TipoUsuario;
+import com.teatro.repository.UsuarioRepository;
+import com.teatro.util.CacheLimitado;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Service que resolve a identidade de usuários com cache em memória
+ *
+ * Responsabilidades: - Buscar usuários por email, CPF ou identificador (CPF ou email) consultando
+ * o banco só na falta - Invalidar as entradas quando dados de login mudam
+ *
+ * O cache guarda um resumo imutável (não a entidade gerenciada), indexado pelo email normalizado e
+ * pelo CPF normalizado, com tamanho máximo e tempo de vida. A busca por identificador decide pelo
+ * formato se é email ou CPF e faz uma única consulta pontual no índice correspondente, em vez do
+ * antigo OR entre as duas colunas. A invalidação remove as entradas na hora e de novo após o
+ * commit, para que uma leitura concorrente não deixe no cache o estado anterior à alteração.
+ */
+@Service
+public class UsuarioCacheService {
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Value("${teatro.usuarios.cache.maximo-entradas:10000}")
+  private int maximoEntradas;
+
+  @Value("${teatro.usuarios.cache.ttl-ms:300000}")
+  private long ttlMs;
+
+  private CacheLimitado<String, UsuarioResumo> porEmail;
+  private CacheLimitado<String, UsuarioResumo> porCpf;
+
+  @PostConstruct
+  public void inicializar() {
+    porEmail = new CacheLimitado<>(maximoEntradas);
+    porCpf = new CacheLimitado<>(maximoEntradas);
+  }
+
+  /**
+   * Busca usuário por email
+   */
+  public Optional<UsuarioResumo> buscarPorEmail(String email) {
+    String chave = normalizarEmail(email);
+    if (chave == null) {
+      return Optional.empty();
+    }
+    UsuarioResumo resumo = porEmail.obter(chave, System.currentTimeMillis());
+    if (resumo != null) {
+      return Optional.of(resumo);
+    }
+    return usuarioRepository.findByEmail(email.trim()).map(this::guardar);
+  }
+
+  /**
+   * Busca usuário por CPF, aceitando também os 11 dígitos sem formatação
+   */
+  public Optional<UsuarioResumo> buscarPorCpf(String cpf) {
+    String chave = normalizarCpf(cpf);
+    if (chave == null) {
+      return Optional.empty();
+    }
+    UsuarioResumo resumo = porCpf.obter(chave, System.currentTimeMillis());
+    if (resumo != null) {
+      return Optional.of(resumo);
+    }
+    return usuarioRepository.findByCpf(chave).map(this::guardar);
+  }
+
+  /**
+   * Busca usuário por CPF ou email (para autenticação)
+   */
+  public Optional<UsuarioResumo> buscarPorIdentificador(String identificador) {
+    if (identificador == null) {
+      return Optional.empty();
+    }
+    return identificador.indexOf('@') >= 0 ? buscarPorEmail(identificador)
+        : buscarPorCpf(identificador);
+  }
+
+  /**
+   * Remove do cache as entradas de um usuário
+   *
+   * @param email Email (atual ou anterior) do usuário
+   * @param cpf CPF (atual ou anterior) do usuário
+   */
+  public void invalidar(String email, String cpf) {
+    String chaveEmail = normalizarEmail(email);
+    String chaveCpf = normalizarCpf(cpf);
+    Runnable remover = () -> {
+      if (chaveEmail != null) {
+        porEmail.remover(chaveEmail);
+      }
+      if (chaveCpf != null) {
+        porCpf.remover(chaveCpf);
+      }
+    };
+    remover.run();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          remover.run();
+        }
+      });
+    }
+  }
+
+  public void invalidar(Usuario usuario) {
+    invalidar(usuario.getEmail(), usuario.getCpf());
+  }
+
+  private UsuarioResumo guardar(Usuario usuario) {
+    UsuarioResumo resumo = new UsuarioResumo(usuario);
+    long agora = System.currentTimeMillis();
+    long expiraEm = agora + ttlMs;
+    String chaveEmail = normalizarEmail(usuario.getEmail());
+    String chaveCpf = normalizarCpf(usuario.getCpf());
+    if (chaveEmail != null) {
+      porEmail.guardar(chaveEmail, resumo, expiraEm, agora);
+    }
+    if (chaveCpf != null) {
+      porCpf.guardar(chaveCpf, resumo, expiraEm, agora);
+    }
+    return resumo;
+  }
+
+  private static String normalizarEmail(String email) {
+    if (email == null || email.isBlank()) {
+      return null;
+    }
+    return email.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static String normalizarCpf(String cpf) {
+    if (cpf == null || cpf.isBlank()) {
+      return null;
+    }
+    String valor = cpf.trim();
+    if (valor.length() == 11 && valor.chars().allMatch(Character::isDigit)) {
+      return valor.substring(0, 3) + "." + valor.substring(3, 6) + "." + valor.substring(6, 9)
+          + "-" + valor.substring(9);
+    }
+    return valor;
+  }
+
+  /**
+   * Dados de identificação e login de um usuário, imutáveis e seguros para compartilhar entre
+   * threads
+   */
+  public static final class UsuarioResumo {
+    private final Long id;
+    private final String nome;
+    private final String email;
+    private final String cpf;
+    private final String senha;
+    private final TipoUsuario tipoUsuario;
+    private final boolean ativo;
+
+    private UsuarioResumo(Usuario usuario) {
+      this.id = usuario.getId();
+      this.nome = usuario.getNome();
+      this.email = usuario.getEmail();
+      this.cpf = usuario.getCpf();
+      this.senha = usuario.getSenha();
+      this.tipoUsuario = usuario.getTipoUsuario();
+      this.ativo = usuario.isAtivo();
+    }
+
+    public Long getId() {
+      return id;
+    }
+
+    public String getNome() {
+      return nome;
+    }
+
+    public String getEmail() {
+      return email;
+    }
+
+    public String getCpf() {
+      return cpf;
+    }
+
+    public String getSenha() {
+      return senha;
+    }
+
+    public TipoUsuario getTipoUsuario() {
+      return tipoUsuario;
+    }
+
+    public boolean isAtivo() {
+      return ativo;
+    }
+  }
+}
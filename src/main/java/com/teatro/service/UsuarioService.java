@@ -2,12 +2,16 @@ package com.teatro.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.teatro.dto.LoginRequest;
 import com.teatro.dto.LoginResponse;
 import com.teatro.dto.UsuarioDTO;
@@ -17,12 +21,21 @@ import com.teatro.exception.UsuarioNaoEncontradoException;
 import com.teatro.model.Usuario;
 import com.teatro.model.Usuario.TipoUsuario;
 import com.teatro.repository.UsuarioRepository;
+import com.teatro.security.JwtTokenProvider;
+import com.teatro.security.RevogacaoUsuarios;
+import com.teatro.service.UsuarioCacheService.UsuarioResumo;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 
 /**
  * Service para operações de negócio relacionadas a usuários
  * 
  * Responsabilidades: - Autenticação de usuários - Cadastro e validação de dados - Gerenciamento de
  * perfis (ADMIN/COMUM) - Sistema de fidelidade - Validações de negócio
+ *
+ * Os métodos que verificam ou geram hash de senha rodam fora de transação: o BCrypt pode esperar
+ * na fila do codificador limitado e não deve segurar uma conexão do pool nesse tempo. Só a
+ * gravação abre transação, depois do hash pronto.
  */
 @Service
 @Transactional
@@ -34,6 +47,34 @@ public class UsuarioService {
   @Autowired
   private PasswordEncoder passwordEncoder;
 
+  @Autowired
+  private RevogacaoUsuarios revogacaoUsuarios;
+
+  @Autowired
+  private RevogacaoTokensService revogacaoTokensService;
+
+  @Autowired
+  private JwtTokenProvider tokenProvider;
+
+  @Autowired
+  private UsuarioCacheService usuarioCacheService;
+
+  @Autowired
+  private FidelidadeService fidelidadeService;
+
+  @Autowired
+  private AuditoriaService auditoriaService;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate transacao;
+
+  @PostConstruct
+  void inicializar() {
+    transacao = new TransactionTemplate(transactionManager);
+  }
+
   /**
    * Autentica um usuário e retorna resposta com token
    * 
@@ -41,17 +82,81 @@ public class UsuarioService {
    * @return LoginResponse com token e informações do usuário
    * @throws AutenticacaoException se credenciais inválidas
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public LoginResponse autenticarUsuario(LoginRequest loginRequest) {
     Usuario usuario = autenticarUsuario(loginRequest.getIdentificador(), loginRequest.getSenha());
 
-    // TODO: Implementar geração de JWT token
-    String token = "jwt-token-placeholder";
-    String refreshToken = "refresh-token-placeholder";
-    LocalDateTime dataExpiracao = LocalDateTime.now().plusHours(24);
+    LoginResponse response = emitirTokens(usuario.getEmail(), usuario.getId(),
+        usuario.getTipoUsuario());
+    response.setUsuarioNome(usuario.getNome());
+    response.setPontosFidelidade(usuario.getTotalPontosFidelidade());
+    response.setNivelFidelidade(calcularNivelFidelidade(usuario.getTotalPontosFidelidade()));
+    return response;
+  }
+
+  /**
+   * Troca um refresh token por um novo par de tokens (rotação)
+   *
+   * A verificação usa apenas as claims e as revogações em memória. O jti apresentado é revogado
+   * de forma atômica; se já estava revogado, o token foi reutilizado (possível vazamento) e todos
+   * os tokens do usuário são invalidados. A recusa não desfaz a transação, para que essa
+   * revogação fique gravada.
+   *
+   * @param refreshToken Refresh token recebido no login ou na última renovação
+   * @return LoginResponse com o novo token de acesso e o novo refresh token
+   * @throws AutenticacaoException se o refresh token é inválido, expirado ou revogado
+   */
+  @Transactional(noRollbackFor = AutenticacaoException.class)
+  public LoginResponse renovarTokens(String refreshToken) {
+    Claims claims = tokenProvider.obterClaimsRefresh(refreshToken);
+    if (claims == null) {
+      throw new AutenticacaoException("Refresh token inválido ou expirado");
+    }
+
+    Long usuarioId = claims.get(JwtTokenProvider.CLAIM_USUARIO_ID, Number.class).longValue();
+    if (revogacaoUsuarios.estaRevogado(usuarioId, claims.getIssuedAt().getTime())) {
+      throw new AutenticacaoException("Refresh token revogado");
+    }
+    if (revogacaoTokensService.estaRevogado(claims.getId())
+        || !revogacaoTokensService.revogar(claims.getId(), usuarioId, claims.getExpiration())) {
+      revogacaoUsuarios.revogarImediatamente(usuarioId);
+      throw new AutenticacaoException("Refresh token revogado");
+    }
+
+    TipoUsuario perfil =
+        TipoUsuario.valueOf(claims.get(JwtTokenProvider.CLAIM_PERFIL, String.class));
+    return emitirTokens(claims.getSubject(), usuarioId, perfil);
+  }
+
+  /**
+   * Encerra a sessão revogando o refresh token informado; tokens inválidos são ignorados
+   *
+   * @param refreshToken Refresh token da sessão
+   */
+  public void encerrarSessao(String refreshToken) {
+    Claims claims = tokenProvider.obterClaimsRefresh(refreshToken);
+    if (claims == null) {
+      return;
+    }
+    Number usuarioId = claims.get(JwtTokenProvider.CLAIM_USUARIO_ID, Number.class);
+    revogacaoTokensService.revogar(claims.getId(),
+        usuarioId != null ? usuarioId.longValue() : null, claims.getExpiration());
+  }
 
-    return new LoginResponse(token, refreshToken, usuario.getId(), usuario.getNome(),
-        usuario.getEmail(), usuario.getTipoUsuario(), usuario.getTotalPontosFidelidade(),
-        calcularNivelFidelidade(usuario.getTotalPontosFidelidade()), dataExpiracao);
+  /**
+   * Emite o token de acesso e o refresh token de um usuário
+   */
+  private LoginResponse emitirTokens(String email, Long usuarioId, TipoUsuario perfil) {
+    LoginResponse response = new LoginResponse();
+    response.setToken(tokenProvider.generateTokenFromUsuario(email, usuarioId, perfil));
+    response.setRefreshToken(tokenProvider.generateRefreshToken(email, usuarioId, perfil));
+    response.setTipo("Bearer");
+    response.setUsuarioId(usuarioId);
+    response.setUsuarioEmail(email);
+    response.setTipoUsuario(perfil);
+    response.setDataExpiracao(
+        LocalDateTime.now().plusNanos(tokenProvider.getJwtExpirationMs() * 1_000_000L));
+    return response;
   }
 
   /**
@@ -62,27 +167,30 @@ public class UsuarioService {
    * @return Usuário autenticado
    * @throws AutenticacaoException se credenciais inválidas
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public Usuario autenticarUsuario(String identificador, String senha) {
-    // Busca usuário por CPF ou email
-    Optional<Usuario> usuarioOpt = usuarioRepository.findByCpfOrEmail(identificador);
+    // Busca usuário por CPF ou email (consulta pontual, servida pelo cache)
+    Optional<UsuarioResumo> usuarioOpt =
+        usuarioCacheService.buscarPorIdentificador(identificador);
 
     if (usuarioOpt.isEmpty()) {
       throw new AutenticacaoException("CPF/Email ou senha incorretos");
     }
 
-    Usuario usuario = usuarioOpt.get();
+    UsuarioResumo resumo = usuarioOpt.get();
 
     // Verifica se a senha está correta
-    if (!passwordEncoder.matches(senha, usuario.getSenha())) {
+    if (!passwordEncoder.matches(senha, resumo.getSenha())) {
       throw new AutenticacaoException("CPF/Email ou senha incorretos");
     }
 
     // Verifica se o usuário está ativo
-    if (!usuario.isAtivo()) {
+    if (!resumo.isAtivo()) {
       throw new AutenticacaoException("Usuário inativo. Entre em contato com o administrador.");
     }
 
-    return usuario;
+    return usuarioRepository.findById(resumo.getId())
+        .orElseThrow(() -> new AutenticacaoException("CPF/Email ou senha incorretos"));
   }
 
   /**
@@ -92,22 +200,13 @@ public class UsuarioService {
    * @return UsuarioDTO do usuário cadastrado
    * @throws UsuarioJaExisteException se CPF ou email já existem
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public UsuarioDTO cadastrarUsuario(UsuarioDTO usuarioDTO) {
     Usuario usuario = usuarioDTO.toEntity();
 
     // Validações de negócio
     validarDadosUsuario(usuario);
 
-    // Verifica se CPF já existe
-    if (usuarioRepository.existsByCpf(usuario.getCpf())) {
-      throw new UsuarioJaExisteException("CPF já cadastrado: " + usuario.getCpf());
-    }
-
-    // Verifica se email já existe
-    if (usuarioRepository.existsByEmail(usuario.getEmail())) {
-      throw new UsuarioJaExisteException("Email já cadastrado: " + usuario.getEmail());
-    }
-
     // Define tipo de usuário padrão como COMUM
     if (usuario.getTipoUsuario() == null) {
       usuario.setTipoUsuario(TipoUsuario.COMUM);
@@ -116,11 +215,25 @@ public class UsuarioService {
     // Define usuário como ativo
     usuario.setAtivo(true);
 
-    // Criptografa a senha
+    // Criptografa a senha antes de abrir a transação
     usuario.setSenha(passwordEncoder.encode(usuario.getSenha()));
 
-    Usuario usuarioSalvo = usuarioRepository.save(usuario);
-    return new UsuarioDTO(usuarioSalvo);
+    return transacao.execute(status -> {
+      // Verifica se CPF já existe
+      if (usuarioRepository.existsByCpf(usuario.getCpf())) {
+        throw new UsuarioJaExisteException("CPF já cadastrado: " + usuario.getCpf());
+      }
+
+      // Verifica se email já existe
+      if (usuarioRepository.existsByEmail(usuario.getEmail())) {
+        throw new UsuarioJaExisteException("Email já cadastrado: " + usuario.getEmail());
+      }
+
+      Usuario usuarioSalvo = usuarioRepository.save(usuario);
+      UsuarioDTO salvo = new UsuarioDTO(usuarioSalvo);
+      auditoriaService.registrar("CADASTRO_USUARIO", "Usuario", salvo.getId(), null, salvo);
+      return salvo;
+    });
   }
 
   /**
@@ -146,9 +259,9 @@ public class UsuarioService {
    */
   @Transactional(readOnly = true)
   public UsuarioDTO buscarPorCpf(String cpf) {
-    Usuario usuario = usuarioRepository.findByCpf(cpf).orElseThrow(
+    Long id = usuarioCacheService.buscarPorCpf(cpf).map(UsuarioResumo::getId).orElseThrow(
         () -> new UsuarioNaoEncontradoException("Usuário não encontrado com CPF: " + cpf));
-    return new UsuarioDTO(usuario);
+    return buscarPorId(id);
   }
 
   /**
@@ -160,8 +273,9 @@ public class UsuarioService {
    */
   @Transactional(readOnly = true)
   public Usuario buscarPorEmail(String email) {
-    return usuarioRepository.findByEmail(email).orElseThrow(
-        () -> new UsuarioNaoEncontradoException("Usuário não encontrado com email: " + email));
+    return usuarioCacheService.buscarPorEmail(email).map(UsuarioResumo::getId)
+        .flatMap(usuarioRepository::findById).orElseThrow(
+            () -> new UsuarioNaoEncontradoException("Usuário não encontrado com email: " + email));
   }
 
   /**
@@ -183,15 +297,26 @@ public class UsuarioService {
    * @return UsuarioDTO do usuário atualizado
    * @throws UsuarioNaoEncontradoException se usuário não existe
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public UsuarioDTO atualizarUsuario(Long id, UsuarioDTO usuarioDTO) {
-    Usuario usuarioExistente = usuarioRepository.findById(id).orElseThrow(
-        () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + id));
-
     Usuario usuario = usuarioDTO.toEntity();
 
     // Validações de negócio
     validarDadosUsuario(usuario);
 
+    // Se a senha foi alterada, criptografa antes de abrir a transação
+    String senhaCriptografada = usuario.getSenha() != null && !usuario.getSenha().isEmpty()
+        ? passwordEncoder.encode(usuario.getSenha())
+        : null;
+
+    return transacao.execute(status -> atualizarUsuario(id, usuario, senhaCriptografada));
+  }
+
+  private UsuarioDTO atualizarUsuario(Long id, Usuario usuario, String senhaCriptografada) {
+    Usuario usuarioExistente = usuarioRepository.findById(id).orElseThrow(
+        () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + id));
+    UsuarioDTO anterior = new UsuarioDTO(usuarioExistente);
+
     // Verifica se CPF foi alterado e se já existe
     if (!usuarioExistente.getCpf().equals(usuario.getCpf())
         && usuarioRepository.existsByCpf(usuario.getCpf())) {
@@ -204,6 +329,11 @@ public class UsuarioService {
       throw new UsuarioJaExisteException("Email já cadastrado: " + usuario.getEmail());
     }
 
+    boolean perfilAlterado = usuarioExistente.getTipoUsuario() != usuario.getTipoUsuario()
+        || !usuarioExistente.getEmail().equals(usuario.getEmail());
+    usuarioCacheService.invalidar(usuarioExistente);
+    usuarioCacheService.invalidar(usuario);
+
     // Atualiza os dados
     usuarioExistente.setNome(usuario.getNome());
     usuarioExistente.setCpf(usuario.getCpf());
@@ -212,13 +342,20 @@ public class UsuarioService {
     usuarioExistente.setTelefone(usuario.getTelefone());
     usuarioExistente.setTipoUsuario(usuario.getTipoUsuario());
 
-    // Se a senha foi alterada, criptografa
-    if (usuario.getSenha() != null && !usuario.getSenha().isEmpty()) {
-      usuarioExistente.setSenha(passwordEncoder.encode(usuario.getSenha()));
+    if (senhaCriptografada != null) {
+      usuarioExistente.setSenha(senhaCriptografada);
+      perfilAlterado = true;
+    }
+
+    // Tokens emitidos carregam email e perfil; os anteriores à alteração deixam de valer
+    if (perfilAlterado) {
+      revogacaoUsuarios.revogar(id);
     }
 
     Usuario usuarioAtualizado = usuarioRepository.save(usuarioExistente);
-    return new UsuarioDTO(usuarioAtualizado);
+    UsuarioDTO atualizado = new UsuarioDTO(usuarioAtualizado);
+    auditoriaService.registrar("ATUALIZACAO_USUARIO", "Usuario", id, anterior, atualizado);
+    return atualizado;
   }
 
   /**
@@ -232,7 +369,14 @@ public class UsuarioService {
   public UsuarioDTO alterarStatusUsuario(Long id, boolean ativo) {
     Usuario usuario = usuarioRepository.findById(id).orElseThrow(
         () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + id));
+    boolean ativoAnterior = usuario.isAtivo();
     usuario.setAtivo(ativo);
+    usuarioCacheService.invalidar(usuario);
+    auditoriaService.registrar("ALTERACAO_STATUS_USUARIO", "Usuario", id,
+        Map.of("ativo", ativoAnterior), Map.of("ativo", ativo));
+    if (!ativo) {
+      revogacaoUsuarios.revogar(id);
+    }
     Usuario usuarioAtualizado = usuarioRepository.save(usuario);
     return new UsuarioDTO(usuarioAtualizado);
   }
@@ -246,18 +390,30 @@ public class UsuarioService {
    * @return true se alteração foi bem-sucedida
    * @throws AutenticacaoException se senha atual está incorreta
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public boolean alterarSenha(Long id, String senhaAtual, String novaSenha) {
-    Usuario usuario = usuarioRepository.findById(id).orElseThrow(
+    String senhaLida = usuarioRepository.findById(id).map(Usuario::getSenha).orElseThrow(
         () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + id));
 
     // Verifica se a senha atual está correta
-    if (!passwordEncoder.matches(senhaAtual, usuario.getSenha())) {
+    if (!passwordEncoder.matches(senhaAtual, senhaLida)) {
       throw new AutenticacaoException("Senha atual incorreta");
     }
 
-    // Criptografa e salva a nova senha
-    usuario.setSenha(passwordEncoder.encode(novaSenha));
-    usuarioRepository.save(usuario);
+    // Criptografa fora da transação e só grava se a senha não mudou desde a leitura
+    String senhaCriptografada = passwordEncoder.encode(novaSenha);
+    transacao.executeWithoutResult(status -> {
+      Usuario usuario = usuarioRepository.findById(id).orElseThrow(
+          () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + id));
+      if (!usuario.getSenha().equals(senhaLida)) {
+        throw new AutenticacaoException("Senha atual incorreta");
+      }
+      usuario.setSenha(senhaCriptografada);
+      usuarioRepository.save(usuario);
+      usuarioCacheService.invalidar(usuario);
+      revogacaoUsuarios.revogar(id);
+      auditoriaService.registrar("ALTERACAO_SENHA", "Usuario", id, null, null);
+    });
 
     return true;
   }
@@ -271,18 +427,27 @@ public class UsuarioService {
    * @return true se recuperação foi bem-sucedida
    * @throws UsuarioNaoEncontradoException se usuário não existe
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public boolean recuperarSenha(String cpf, String email, String novaSenha) {
-    Usuario usuario = usuarioRepository.findByCpf(cpf).orElseThrow(
-        () -> new UsuarioNaoEncontradoException("Usuário não encontrado com CPF: " + cpf));
-
-    // Verifica se o email corresponde ao CPF
-    if (!usuario.getEmail().equals(email)) {
-      throw new UsuarioNaoEncontradoException("Email não corresponde ao CPF informado");
-    }
-
-    // Criptografa e salva a nova senha
-    usuario.setSenha(passwordEncoder.encode(novaSenha));
-    usuarioRepository.save(usuario);
+    // Criptografa antes de abrir a transação
+    String senhaCriptografada = passwordEncoder.encode(novaSenha);
+
+    transacao.executeWithoutResult(status -> {
+      Usuario usuario = usuarioRepository.findByCpf(cpf).orElseThrow(
+          () -> new UsuarioNaoEncontradoException("Usuário não encontrado com CPF: " + cpf));
+
+      // Verifica se o email corresponde ao CPF
+      if (!usuario.getEmail().equals(email)) {
+        throw new UsuarioNaoEncontradoException("Email não corresponde ao CPF informado");
+      }
+
+      usuario.setSenha(senhaCriptografada);
+      usuarioRepository.save(usuario);
+      usuarioCacheService.invalidar(usuario);
+      revogacaoUsuarios.revogar(usuario.getId());
+      auditoriaService.registrar(usuario.getId(), "RECUPERACAO_SENHA", "Usuario", usuario.getId(),
+          null, null);
+    });
 
     return true;
   }
@@ -295,12 +460,8 @@ public class UsuarioService {
    * @return UsuarioDTO do usuário atualizado
    */
   public UsuarioDTO adicionarPontosFidelidade(Long usuarioId, int pontos) {
-    Usuario usuario = usuarioRepository.findById(usuarioId).orElseThrow(
-        () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + usuarioId));
-
-    // TODO: Implementar lógica de pontos de fidelidade
-    // Por enquanto, apenas retorna o usuário
-    return new UsuarioDTO(usuario);
+    fidelidadeService.ganhar(usuarioId, pontos, "ADMIN", null);
+    return buscarPorId(usuarioId);
   }
 
   /**
@@ -386,6 +547,9 @@ public class UsuarioService {
         () -> new UsuarioNaoEncontradoException("Usuário não encontrado com ID: " + id));
     usuario.setAtivo(false);
     usuarioRepository.save(usuario);
+    usuarioCacheService.invalidar(usuario);
+    revogacaoUsuarios.revogar(id);
+    auditoriaService.registrar("REMOCAO_USUARIO", "Usuario", id, null, null);
   }
 
   /**
@@ -395,6 +559,7 @@ public class UsuarioService {
    * @return Usuario cadastrado
    * @throws UsuarioJaExisteException se CPF ou email já existem
    */
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public Usuario cadastrar(UsuarioDTO usuarioDTO) {
     UsuarioDTO usuarioSalvo = cadastrarUsuario(usuarioDTO);
     return buscarPorEmail(usuarioSalvo.getEmail());
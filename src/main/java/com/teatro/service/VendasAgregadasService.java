@@ -0,0 +1,360 @@
+package com.teatro.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.teatro.model.Ingresso.Status;
+import com.teatro.model.VendaAgregada;
+import com.teatro.model.VendaAgregada.Granularidade;
+import com.teatro.repository.IngressoRepository;
+import com.teatro.repository.VendaAgregadaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service que mantém a série temporal agregada de vendas
+ *
+ * Responsabilidades: - Acumular em memória buckets por minuto (evento, sessão, área e status) -
+ * Descarregar os buckets periodicamente na tabela vendas_agregadas - Compactar minutos em horas e
+ * horas em dias - Responder totais de um período somando os buckets do intervalo
+ *
+ * As consultas de totais compartilham a trava de leitura; a descarga toma a de escrita, para que
+ * nenhuma consulta veja um bucket já retirado do buffer e ainda não gravado. A compactação roda
+ * fora da trava: cada lote move linhas de uma granularidade para a seguinte numa única transação,
+ * então o total do período é o mesmo antes e depois do commit. As linhas do lote ficam travadas no
+ * banco até o commit, o que protege as somas de uma descarga concorrente.
+ */
+@Service
+public class VendasAgregadasService {
+
+  private static final Logger log = LoggerFactory.getLogger(VendasAgregadasService.class);
+
+  @Autowired
+  private VendaAgregadaRepository vendaAgregadaRepository;
+
+  @Autowired
+  private IngressoRepository ingressoRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @Value("${teatro.estatisticas.rollup.lote-compactacao:1000}")
+  private int loteCompactacao;
+
+  private final Map<ChaveBucket, Acumulador> buffer = new ConcurrentHashMap<>();
+  private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+  /**
+   * Registra a venda de um ingresso no bucket do minuto da compra
+   */
+  public void registrarVenda(LocalDateTime dataCompra, Long eventoId, Long sessaoId, Long areaId,
+      Status status, BigDecimal valor) {
+    acumular(momentoCompra(dataCompra), eventoId, sessaoId, areaId, status, 1,
+        paraCentavos(valor));
+  }
+
+  /**
+   * Registra o cancelamento de um ingresso no bucket do minuto da compra original
+   *
+   * O ingresso sai do status anterior e entra como CANCELADO no mesmo bucket em que foi vendido,
+   * a mesma regra dos contadores de vendas e da carga inicial a partir dos ingressos (que agrupa
+   * pela data da compra). Se o minuto já foi compactado, a linha nova é somada ao bucket de hora ou
+   * dia correspondente na próxima compactação.
+   */
+  public void registrarCancelamento(LocalDateTime dataCompra, Long eventoId, Long sessaoId,
+      Long areaId, Status statusAnterior, BigDecimal valor) {
+    LocalDateTime momento = momentoCompra(dataCompra);
+    long centavos = paraCentavos(valor);
+    acumular(momento, eventoId, sessaoId, areaId, statusAnterior, -1, -centavos);
+    acumular(momento, eventoId, sessaoId, areaId, Status.CANCELADO, 1, centavos);
+  }
+
+  /**
+   * Soma os buckets entre duas datas (inclusivas), agrupando por status
+   *
+   * @param inicio Data de início
+   * @param fim Data de fim
+   * @return Totais do período
+   */
+  public TotaisPeriodo obterTotais(LocalDate inicio, LocalDate fim) {
+    LocalDateTime de = inicio.atStartOfDay();
+    LocalDateTime ate = fim.plusDays(1).atStartOfDay();
+    TotaisPeriodo totais = new TotaisPeriodo();
+
+    trava.readLock().lock();
+    try {
+      for (Object[] linha : vendaAgregadaRepository.somarPorStatus(de, ate)) {
+        totais.somar((Status) linha[0], ((Number) linha[1]).longValue(),
+            ((Number) linha[2]).longValue());
+      }
+      // Buckets ainda não descarregados também entram no total
+      buffer.forEach((chave, acumulador) -> {
+        if (!chave.inicio().isBefore(de) && chave.inicio().isBefore(ate)) {
+          totais.somar(chave.status(), acumulador.quantidade, acumulador.centavos);
+        }
+      });
+    } finally {
+      trava.readLock().unlock();
+    }
+    return totais;
+  }
+
+  /**
+   * Popula os buckets diários a partir dos ingressos quando a tabela está vazia
+   */
+  @PostConstruct
+  public void inicializar() {
+    if (vendaAgregadaRepository.count() > 0) {
+      return;
+    }
+    log.info("Populando vendas agregadas a partir dos ingressos");
+
+    List<VendaAgregada> buckets = ingressoRepository.agruparVendasPorDiaEDimensoes().stream()
+        .map(linha -> {
+          VendaAgregada bucket = new VendaAgregada(Granularidade.DIA,
+              ((LocalDate) linha[0]).atStartOfDay(), (Long) linha[1], (Long) linha[2],
+              (Long) linha[3], (Status) linha[4]);
+          bucket.setQuantidade(((Number) linha[5]).longValue());
+          bucket.setValorCentavos(paraCentavos((BigDecimal) linha[6]));
+          return bucket;
+        }).toList();
+    vendaAgregadaRepository.saveAll(buckets);
+  }
+
+  /**
+   * Grava os buckets acumulados em memória como linhas por minuto
+   */
+  @Scheduled(fixedDelayString = "${teatro.estatisticas.rollup.intervalo-descarga-ms:10000}")
+  public void descarregar() {
+    trava.writeLock().lock();
+    try {
+      Map<ChaveBucket, Acumulador> drenados = new HashMap<>();
+      for (ChaveBucket chave : buffer.keySet()) {
+        Acumulador acumulador = buffer.remove(chave);
+        if (acumulador != null) {
+          drenados.put(chave, acumulador);
+        }
+      }
+      if (drenados.isEmpty()) {
+        return;
+      }
+
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> mesclar(Granularidade.MINUTO, drenados, ChronoUnit.MINUTES));
+      } catch (RuntimeException e) {
+        log.warn("Falha ao descarregar vendas agregadas; buckets mantidos em memória", e);
+        drenados.forEach((chave, acumulador) -> buffer.merge(chave, acumulador, Acumulador::somar));
+      }
+    } finally {
+      trava.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Compacta minutos de horas encerradas em horas e horas de dias encerrados em dias
+   */
+  @Scheduled(fixedDelayString = "${teatro.estatisticas.rollup.intervalo-compactacao-ms:300000}",
+      initialDelayString = "${teatro.estatisticas.rollup.intervalo-compactacao-ms:300000}")
+  public void compactar() {
+    LocalDateTime agora = LocalDateTime.now();
+    compactar(Granularidade.MINUTO, Granularidade.HORA, agora.truncatedTo(ChronoUnit.HOURS),
+        inicio -> inicio.truncatedTo(ChronoUnit.HOURS), ChronoUnit.HOURS);
+    compactar(Granularidade.HORA, Granularidade.DIA, agora.toLocalDate().atStartOfDay(),
+        inicio -> inicio.toLocalDate().atStartOfDay(), ChronoUnit.DAYS);
+  }
+
+  /**
+   * Descarrega os buckets pendentes no encerramento da aplicação
+   */
+  @PreDestroy
+  public void encerrar() {
+    descarregar();
+  }
+
+  /**
+   * Move as linhas da origem anteriores ao limite para a granularidade destino, um lote por
+   * transação, até não restar nenhuma
+   */
+  private void compactar(Granularidade origem, Granularidade destino, LocalDateTime limite,
+      Function<LocalDateTime, LocalDateTime> truncar, ChronoUnit unidadeDestino) {
+    Pageable lote = PageRequest.of(0, loteCompactacao);
+    Integer movidas;
+    do {
+      // Sempre a primeira página: as linhas do lote anterior já foram removidas
+      movidas = transactionTemplate.execute(status -> {
+        List<VendaAgregada> linhas = vendaAgregadaRepository
+            .findByGranularidadeAndInicioBeforeOrderById(origem, limite, lote);
+        if (linhas.isEmpty()) {
+          return 0;
+        }
+
+        Map<ChaveBucket, Acumulador> agrupados = new HashMap<>();
+        for (VendaAgregada linha : linhas) {
+          ChaveBucket chave = new ChaveBucket(truncar.apply(linha.getInicio()),
+              linha.getEventoId(), linha.getSessaoId(), linha.getAreaId(), linha.getStatus());
+          agrupados.computeIfAbsent(chave, k -> new Acumulador()).adicionar(linha.getQuantidade(),
+              linha.getValorCentavos());
+        }
+
+        mesclar(destino, agrupados, unidadeDestino);
+        vendaAgregadaRepository.deleteAllInBatch(linhas);
+        log.debug("{} buckets {} compactados em {} buckets {}", linhas.size(), origem,
+            agrupados.size(), destino);
+        return linhas.size();
+      });
+    } while (movidas != null && movidas == loteCompactacao);
+  }
+
+  /**
+   * Soma os acumuladores nas linhas existentes da granularidade, criando as que faltarem
+   */
+  private void mesclar(Granularidade granularidade, Map<ChaveBucket, Acumulador> acumulados,
+      ChronoUnit unidade) {
+    LocalDateTime menor = null;
+    LocalDateTime maior = null;
+    for (ChaveBucket chave : acumulados.keySet()) {
+      menor = menor == null || chave.inicio().isBefore(menor) ? chave.inicio() : menor;
+      maior = maior == null || chave.inicio().isAfter(maior) ? chave.inicio() : maior;
+    }
+
+    Map<ChaveBucket, VendaAgregada> existentes = new HashMap<>();
+    for (VendaAgregada linha : vendaAgregadaRepository
+        .findByGranularidadeAndInicioGreaterThanEqualAndInicioLessThan(granularidade, menor,
+            maior.plus(1, unidade))) {
+      existentes.put(new ChaveBucket(linha.getInicio(), linha.getEventoId(), linha.getSessaoId(),
+          linha.getAreaId(), linha.getStatus()), linha);
+    }
+
+    acumulados.forEach((chave, acumulador) -> {
+      VendaAgregada linha = existentes.get(chave);
+      if (linha == null) {
+        if (acumulador.quantidade == 0 && acumulador.centavos == 0) {
+          return;
+        }
+        linha = new VendaAgregada(granularidade, chave.inicio(), chave.eventoId(),
+            chave.sessaoId(), chave.areaId(), chave.status());
+        existentes.put(chave, linha);
+      }
+      linha.setQuantidade(linha.getQuantidade() + acumulador.quantidade);
+      linha.setValorCentavos(linha.getValorCentavos() + acumulador.centavos);
+    });
+
+    vendaAgregadaRepository.saveAll(existentes.values());
+  }
+
+  private void acumular(LocalDateTime momento, Long eventoId, Long sessaoId, Long areaId,
+      Status status, long quantidade, long centavos) {
+    ChaveBucket chave = new ChaveBucket(momento.truncatedTo(ChronoUnit.MINUTES), eventoId,
+        sessaoId, areaId, status);
+    // compute serializa as atualizações de um mesmo bucket e a remoção feita pela descarga
+    buffer.compute(chave, (k, acumulador) -> {
+      Acumulador atual = acumulador != null ? acumulador : new Acumulador();
+      atual.adicionar(quantidade, centavos);
+      return atual;
+    });
+  }
+
+  private static LocalDateTime momentoCompra(LocalDateTime dataCompra) {
+    return dataCompra != null ? dataCompra : LocalDateTime.now();
+  }
+
+  private static long paraCentavos(BigDecimal valor) {
+    if (valor == null) {
+      return 0;
+    }
+    return valor.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+  }
+
+  /**
+   * Dimensões de um bucket
+   */
+  private record ChaveBucket(LocalDateTime inicio, Long eventoId, Long sessaoId, Long areaId,
+      Status status) {
+  }
+
+  /**
+   * Quantidade e centavos acumulados de um bucket
+   */
+  private static final class Acumulador {
+    private volatile long quantidade;
+    private volatile long centavos;
+
+    private void adicionar(long deltaQuantidade, long deltaCentavos) {
+      quantidade += deltaQuantidade;
+      centavos += deltaCentavos;
+    }
+
+    private static Acumulador somar(Acumulador a, Acumulador b) {
+      a.adicionar(b.quantidade, b.centavos);
+      return a;
+    }
+  }
+
+  /**
+   * Totais de um período agrupados por status
+   */
+  public static class TotaisPeriodo {
+    private final Map<Status, long[]> porStatus = new EnumMap<>(Status.class);
+
+    private void somar(Status status, long quantidade, long centavos) {
+      long[] totais = porStatus.computeIfAbsent(status, s -> new long[2]);
+      totais[0] += quantidade;
+      totais[1] += centavos;
+    }
+
+    public long getQuantidade(Status status) {
+      long[] totais = porStatus.get(status);
+      return totais != null ? totais[0] : 0;
+    }
+
+    public BigDecimal getValor(Status status) {
+      long[] totais = porStatus.get(status);
+      return BigDecimal.valueOf(totais != null ? totais[1] : 0, 2);
+    }
+
+    /**
+     * Ingressos vendidos no período (todos os status exceto CANCELADO)
+     */
+    public long getTotalVendas() {
+      long soma = 0;
+      for (Map.Entry<Status, long[]> entrada : porStatus.entrySet()) {
+        if (entrada.getKey() != Status.CANCELADO) {
+          soma += entrada.getValue()[0];
+        }
+      }
+      return soma;
+    }
+
+    /**
+     * Faturamento do período (todos os status exceto CANCELADO)
+     */
+    public BigDecimal getFaturamentoTotal() {
+      long soma = 0;
+      for (Map.Entry<Status, long[]> entrada : porStatus.entrySet()) {
+        if (entrada.getKey() != Status.CANCELADO) {
+          soma += entrada.getValue()[1];
+        }
+      }
+      return BigDecimal.valueOf(soma, 2);
+    }
+  }
+}
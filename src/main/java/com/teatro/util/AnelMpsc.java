@@ -0,0 +1,105 @@
+package com.teatro.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Fila circular limitada, sem locks, para vários produtores e um único consumidor
+ *
+ * Cada posição do anel tem um número de sequência que indica de quem é a vez: igual à posição
+ * lógica, a posição está livre para o produtor; uma unidade à frente, contém um elemento pronto
+ * para o consumidor. Produtores disputam a cauda com compare-and-set e publicam o elemento
+ * avançando a sequência; o consumidor é único, então a cabeça não precisa de CAS.
+ *
+ * {@link #oferecer} nunca bloqueia: com o anel cheio retorna false e cabe ao chamador decidir o
+ * que fazer com o elemento. {@link #drenar} só pode ser chamado por uma thread de cada vez.
+ *
+ * @param <T> Tipo do elemento
+ */
+public class AnelMpsc<T> {
+
+  private final int mascara;
+  private final Object[] elementos;
+  private final AtomicLongArray sequencias;
+  private final AtomicLong cauda = new AtomicLong();
+  private volatile long cabeca;
+
+  public AnelMpsc(int capacidadeMinima) {
+    if (capacidadeMinima <= 0 || capacidadeMinima > (1 << 30)) {
+      throw new IllegalArgumentException("Capacidade inválida: " + capacidadeMinima);
+    }
+    // Com uma única posição, "pronta para o consumidor" e "livre na volta seguinte" teriam a
+    // mesma sequência; por isso o mínimo é 2
+    int capacidade = Math.max(2, Integer.highestOneBit(capacidadeMinima - 1) << 1);
+    this.mascara = capacidade - 1;
+    this.elementos = new Object[capacidade];
+    this.sequencias = new AtomicLongArray(capacidade);
+    for (int i = 0; i < capacidade; i++) {
+      sequencias.set(i, i);
+    }
+  }
+
+  /**
+   * Insere o elemento se houver espaço
+   *
+   * @return false se o anel estiver cheio
+   */
+  public boolean oferecer(T elemento) {
+    if (elemento == null) {
+      throw new NullPointerException("Elemento nulo");
+    }
+    while (true) {
+      long posicao = cauda.get();
+      int indice = (int) (posicao & mascara);
+      long diferenca = sequencias.get(indice) - posicao;
+      if (diferenca == 0) {
+        if (cauda.compareAndSet(posicao, posicao + 1)) {
+          elementos[indice] = elemento;
+          sequencias.set(indice, posicao + 1);
+          return true;
+        }
+      } else if (diferenca < 0) {
+        return false;
+      }
+      // diferenca > 0: outro produtor avançou a cauda; tenta de novo com a posição atual
+    }
+  }
+
+  /**
+   * Entrega ao consumidor até {@code maximo} elementos, na ordem em que foram publicados
+   *
+   * @return quantidade de elementos entregues
+   */
+  @SuppressWarnings("unchecked")
+  public int drenar(Consumer<T> consumidor, int maximo) {
+    long posicao = cabeca;
+    int entregues = 0;
+    while (entregues < maximo) {
+      int indice = (int) (posicao & mascara);
+      if (sequencias.get(indice) != posicao + 1) {
+        break;
+      }
+      T elemento = (T) elementos[indice];
+      elementos[indice] = null;
+      sequencias.set(indice, posicao + elementos.length);
+      posicao++;
+      cabeca = posicao;
+      entregues++;
+      consumidor.accept(elemento);
+    }
+    return entregues;
+  }
+
+  /**
+   * Quantidade aproximada de elementos no anel
+   */
+  public int tamanho() {
+    long tamanho = cauda.get() - cabeca;
+    return (int) Math.max(0, Math.min(tamanho, elementos.length));
+  }
+
+  public int capacidade() {
+    return elementos.length;
+  }
+}
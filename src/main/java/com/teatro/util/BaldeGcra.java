@@ -0,0 +1,50 @@
+package com.teatro.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens implementado pelo algoritmo GCRA (generic cell rate algorithm)
+ *
+ * Em vez de guardar tokens e o instante da última recarga, guarda um único valor: o instante
+ * teórico de chegada (TAT) da próxima requisição. Uma requisição é aceita se o TAT não estiver
+ * mais de {@code tolerancia} à frente do agora, e então o TAT avança um intervalo de emissão. O
+ * estado cabe em um AtomicLong e cada tentativa é um compare-and-set, sem locks.
+ */
+public class BaldeGcra {
+
+  private final AtomicLong instanteTeorico;
+
+  public BaldeGcra(long agoraNanos) {
+    this.instanteTeorico = new AtomicLong(agoraNanos);
+  }
+
+  /**
+   * Tenta consumir um token
+   *
+   * @param agoraNanos Instante atual (System.nanoTime)
+   * @param intervaloNanos Intervalo de emissão (1 / taxa)
+   * @param toleranciaNanos Rajada tolerada: intervalo * (capacidade - 1)
+   * @return 0 se aceito; caso contrário, nanossegundos até o próximo token
+   */
+  public long consumir(long agoraNanos, long intervaloNanos, long toleranciaNanos) {
+    while (true) {
+      long atual = instanteTeorico.get();
+      long base = Math.max(atual, agoraNanos);
+      long excesso = base - agoraNanos - toleranciaNanos;
+      if (excesso > 0) {
+        return excesso;
+      }
+      if (instanteTeorico.compareAndSet(atual, base + intervaloNanos)) {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * Verifica se o balde está cheio desde antes de {@code limiteNanos}; nesse caso descartá-lo
+   * equivale a recriá-lo depois
+   */
+  public boolean ocioso(long limiteNanos) {
+    return instanteTeorico.get() - limiteNanos < 0;
+  }
+}
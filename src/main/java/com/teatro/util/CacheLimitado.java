@@ -0,0 +1,91 @@
+package com.teatro.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache concorrente com tamanho máximo e expiração por entrada
+ *
+ * Cada entrada carrega o instante (em milissegundos) a partir do qual deixa de valer. Leituras de
+ * entradas vencidas as removem e retornam null. Ao atingir o tamanho máximo, uma inserção primeiro
+ * descarta as entradas vencidas e, se ainda faltar espaço, remove entradas arbitrárias até liberar
+ * uma fração da capacidade; não há ordem LRU, o que mantém leitura e escrita sem locks.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do valor
+ */
+public class CacheLimitado<K, V> {
+
+  private final int tamanhoMaximo;
+  private final Map<K, Entrada<V>> entradas;
+
+  public CacheLimitado(int tamanhoMaximo) {
+    if (tamanhoMaximo <= 0) {
+      throw new IllegalArgumentException("Tamanho máximo deve ser positivo");
+    }
+    this.tamanhoMaximo = tamanhoMaximo;
+    this.entradas = new ConcurrentHashMap<>(Math.min(tamanhoMaximo, 1 << 16));
+  }
+
+  /**
+   * Retorna o valor da chave, ou null se ausente ou vencido
+   */
+  public V obter(K chave, long agoraMs) {
+    Entrada<V> entrada = entradas.get(chave);
+    if (entrada == null) {
+      return null;
+    }
+    if (entrada.expiraEmMs <= agoraMs) {
+      entradas.remove(chave, entrada);
+      return null;
+    }
+    return entrada.valor;
+  }
+
+  /**
+   * Guarda um valor válido até {@code expiraEmMs}
+   */
+  public void guardar(K chave, V valor, long expiraEmMs, long agoraMs) {
+    if (expiraEmMs <= agoraMs) {
+      return;
+    }
+    if (entradas.size() >= tamanhoMaximo) {
+      liberarEspaco(agoraMs);
+    }
+    entradas.put(chave, new Entrada<>(valor, expiraEmMs));
+  }
+
+  public void remover(K chave) {
+    entradas.remove(chave);
+  }
+
+  public void limpar() {
+    entradas.clear();
+  }
+
+  public int tamanho() {
+    return entradas.size();
+  }
+
+  private void liberarEspaco(long agoraMs) {
+    entradas.values().removeIf(entrada -> entrada.expiraEmMs <= agoraMs);
+
+    int alvo = tamanhoMaximo - Math.max(1, tamanhoMaximo / 10);
+    Iterator<K> chaves = entradas.keySet().iterator();
+    while (entradas.size() > alvo && chaves.hasNext()) {
+      chaves.next();
+      chaves.remove();
+    }
+  }
+
+  private static final class Entrada<V> {
+    private final V valor;
+    private final long expiraEmMs;
+
+    private Entrada(V valor, long expiraEmMs) {
+      this.valor = valor;
+      this.expiraEmMs = expiraEmMs;
+    }
+  }
+}
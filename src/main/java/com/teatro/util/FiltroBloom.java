@@ -0,0 +1,74 @@
+package com.teatro.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom concorrente para strings
+ *
+ * Responde "certamente ausente" ou "talvez presente". O tamanho é calculado a partir da quantidade
+ * esperada de itens e da taxa de falsos positivos desejada; as k posições de cada item vêm de dois
+ * hashes de 64 bits combinados (double hashing). A inserção liga bits com compare-and-set e a
+ * consulta só lê, então ambas podem ocorrer em paralelo sem locks. Itens não podem ser removidos:
+ * quem precisa descartar itens reconstrói o filtro.
+ */
+public class FiltroBloom {
+
+  private final AtomicLongArray bits;
+  private final long totalBits;
+  private final int funcoes;
+
+  public FiltroBloom(long itensEsperados, double taxaFalsoPositivo) {
+    if (itensEsperados <= 0 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+      throw new IllegalArgumentException("Parâmetros inválidos para o filtro de Bloom");
+    }
+    double ln2 = Math.log(2);
+    long m = (long) Math.ceil(-itensEsperados * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+    int palavras = (int) Math.max(1, (m + 63) >>> 6);
+    this.bits = new AtomicLongArray(palavras);
+    this.totalBits = (long) palavras << 6;
+    this.funcoes = Math.max(1, (int) Math.round((double) totalBits / itensEsperados * ln2));
+  }
+
+  public void adicionar(String item) {
+    long h1 = hash(item, 0x9E3779B97F4A7C15L);
+    long h2 = hash(item, 0xC2B2AE3D27D4EB4FL) | 1;
+    for (int i = 0; i < funcoes; i++) {
+      long posicao = Math.floorMod(h1 + i * h2, totalBits);
+      int palavra = (int) (posicao >>> 6);
+      long mascara = 1L << posicao;
+      long atual = bits.get(palavra);
+      while ((atual & mascara) == 0 && !bits.compareAndSet(palavra, atual, atual | mascara)) {
+        atual = bits.get(palavra);
+      }
+    }
+  }
+
+  public boolean podeConter(String item) {
+    long h1 = hash(item, 0x9E3779B97F4A7C15L);
+    long h2 = hash(item, 0xC2B2AE3D27D4EB4FL) | 1;
+    for (int i = 0; i < funcoes; i++) {
+      long posicao = Math.floorMod(h1 + i * h2, totalBits);
+      if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  int getFuncoes() {
+    return funcoes;
+  }
+
+  private static long hash(String item, long semente) {
+    long h = semente;
+    for (int i = 0; i < item.length(); i++) {
+      h = (h ^ item.charAt(i)) * 0x100000001B3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xFF51AFD7ED558CCDL;
+    h ^= h >>> 33;
+    h *= 0xC4CEB9FE1A85EC53L;
+    h ^= h >>> 33;
+    return h;
+  }
+}
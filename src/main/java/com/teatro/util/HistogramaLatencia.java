@@ -0,0 +1,119 @@
+package com.teatro.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências com buckets log-lineares
+ *
+ * Cada potência de dois é dividida em 32 sub-buckets, então qualquer valor fica em um bucket com
+ * largura de no máximo ~3% do próprio valor. O registro é um incremento atômico em um
+ * {@link AtomicLongArray} mais duas somas atômicas: não há bloqueios nem alocação no caminho
+ * quente.
+ *
+ * Os valores são registrados em nanossegundos.
+ */
+public class HistogramaLatencia {
+
+  private static final int BITS_SUB_BUCKET = 5;
+  private static final int SUB_BUCKETS = 1 << BITS_SUB_BUCKET;
+  private static final int TOTAL_BUCKETS = (64 - BITS_SUB_BUCKET + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(TOTAL_BUCKETS);
+  private final AtomicLong soma = new AtomicLong();
+  private final AtomicLong maximo = new AtomicLong();
+
+  /**
+   * Registra uma duração em nanossegundos (valores negativos contam como zero)
+   */
+  public void registrar(long nanos) {
+    long valor = Math.max(0, nanos);
+    buckets.incrementAndGet(indice(valor));
+    soma.addAndGet(valor);
+    long atual = maximo.get();
+    while (valor > atual && !maximo.compareAndSet(atual, valor)) {
+      atual = maximo.get();
+    }
+  }
+
+  /**
+   * Retorna uma fotografia do histograma para cálculo de percentis
+   */
+  public Leitura ler() {
+    long[] contagens = new long[TOTAL_BUCKETS];
+    long total = 0;
+    for (int i = 0; i < TOTAL_BUCKETS; i++) {
+      contagens[i] = buckets.get(i);
+      total += contagens[i];
+    }
+    return new Leitura(contagens, total, soma.get(), maximo.get());
+  }
+
+  static int indice(long valor) {
+    if (valor < SUB_BUCKETS) {
+      return (int) valor;
+    }
+    int expoente = 63 - Long.numberOfLeadingZeros(valor);
+    int deslocamento = expoente - BITS_SUB_BUCKET;
+    int mantissa = (int) ((valor >>> deslocamento) & (SUB_BUCKETS - 1));
+    return (deslocamento + 1) * SUB_BUCKETS + mantissa;
+  }
+
+  static long limiteSuperior(int indice) {
+    if (indice < SUB_BUCKETS) {
+      return indice;
+    }
+    int deslocamento = indice / SUB_BUCKETS - 1;
+    long inicio = (long) (SUB_BUCKETS + indice % SUB_BUCKETS) << deslocamento;
+    return inicio + (1L << deslocamento) - 1;
+  }
+
+  /**
+   * Fotografia imutável de um histograma
+   */
+  public static final class Leitura {
+    private final long[] contagens;
+    private final long total;
+    private final long soma;
+    private final long maximo;
+
+    private Leitura(long[] contagens, long total, long soma, long maximo) {
+      this.contagens = contagens;
+      this.total = total;
+      this.soma = soma;
+      this.maximo = maximo;
+    }
+
+    /**
+     * Percentil em nanossegundos (limite superior do bucket, nunca acima do máximo observado)
+     *
+     * @param quantil Valor entre 0 e 1
+     */
+    public long percentil(double quantil) {
+      if (total == 0) {
+        return 0;
+      }
+      long alvo = Math.max(1, (long) Math.ceil(quantil * total));
+      long acumulado = 0;
+      for (int i = 0; i < contagens.length; i++) {
+        acumulado += contagens[i];
+        if (acumulado >= alvo) {
+          return Math.min(limiteSuperior(i), maximo);
+        }
+      }
+      return maximo;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    public long getSoma() {
+      return soma;
+    }
+
+    public long getMaximo() {
+      return maximo;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package com.teatro.util;
+
+import java.util.Arrays;
+
+/**
+ * Esboço HyperLogLog para estimar a quantidade de valores distintos
+ *
+ * Usa 2^12 registradores de um byte (4 KB), com erro padrão em torno de 1,6%. Dois esboços podem
+ * ser mesclados (união) tomando o maior valor de cada registrador, o que permite combinar esboços
+ * de eventos, sessões e dias diferentes sem voltar aos dados originais.
+ *
+ * Enquanto poucos registradores estão preenchidos o esboço fica na forma esparsa: só os
+ * registradores não nulos, ordenados por índice, em memória e na serialização (3 bytes cada). Ao
+ * passar de {@link #LIMITE_ESPARSO} registradores ele é convertido para a forma densa de 4 KB. A
+ * forma densa é serializada como os 4096 registradores, o mesmo formato dos esboços já gravados.
+ *
+ * Não é thread-safe; quem compartilha a instância deve sincronizar o acesso.
+ */
+public class HyperLogLog {
+
+  public static final int PRECISAO = 12;
+  public static final int TAMANHO = 1 << PRECISAO;
+
+  /**
+   * Máximo de registradores na forma esparsa; acima disso a forma densa ocupa menos
+   */
+  public static final int LIMITE_ESPARSO = TAMANHO / 4;
+
+  private static final int BYTES_POR_ENTRADA = 3;
+
+  /**
+   * Registradores da forma densa; nulo enquanto o esboço é esparso
+   */
+  private byte[] registros;
+
+  /**
+   * Entradas da forma esparsa, cada uma com o índice nos bits altos e o valor no byte baixo
+   */
+  private int[] entradas;
+  private int quantidadeEntradas;
+
+  public HyperLogLog() {
+    this.entradas = new int[16];
+  }
+
+  private HyperLogLog(byte[] registros) {
+    this.registros = registros;
+  }
+
+  private HyperLogLog(int[] entradas, int quantidadeEntradas) {
+    this.entradas = entradas;
+    this.quantidadeEntradas = quantidadeEntradas;
+  }
+
+  /**
+   * Reconstrói um esboço a partir da forma serializada (densa ou esparsa)
+   */
+  public static HyperLogLog deBytes(byte[] bytes) {
+    if (bytes == null) {
+      throw new IllegalArgumentException("Esboço HyperLogLog ausente");
+    }
+    if (bytes.length == TAMANHO) {
+      return new HyperLogLog(Arrays.copyOf(bytes, TAMANHO));
+    }
+    int quantidade = bytes.length / BYTES_POR_ENTRADA;
+    if (bytes.length % BYTES_POR_ENTRADA != 0 || quantidade > LIMITE_ESPARSO) {
+      throw new IllegalArgumentException(
+          "Esboço HyperLogLog com tamanho inválido: " + bytes.length + " bytes");
+    }
+
+    int[] entradas = new int[Math.max(quantidade, 16)];
+    int anterior = -1;
+    for (int i = 0; i < quantidade; i++) {
+      int deslocamento = i * BYTES_POR_ENTRADA;
+      int indice = ((bytes[deslocamento] & 0xFF) << 8) | (bytes[deslocamento + 1] & 0xFF);
+      int valor = bytes[deslocamento + 2] & 0xFF;
+      if (indice <= anterior || indice >= TAMANHO || valor == 0) {
+        throw new IllegalArgumentException("Esboço HyperLogLog esparso corrompido");
+      }
+      entradas[i] = entrada(indice, valor);
+      anterior = indice;
+    }
+    return new HyperLogLog(entradas, quantidade);
+  }
+
+  /**
+   * Registra um valor no esboço
+   */
+  public void adicionar(long valor) {
+    long hash = misturar(valor);
+    int indice = (int) (hash >>> (64 - PRECISAO));
+    // O bit de guarda limita a posição ao tamanho restante do hash
+    long resto = (hash << PRECISAO) | (1L << (PRECISAO - 1));
+    atualizar(indice, Long.numberOfLeadingZeros(resto) + 1);
+  }
+
+  /**
+   * Acrescenta a este esboço os valores de outro (união)
+   */
+  public void mesclar(HyperLogLog outro) {
+    if (outro.registros == null) {
+      for (int i = 0; i < outro.quantidadeEntradas; i++) {
+        atualizar(outro.entradas[i] >>> 8, outro.entradas[i] & 0xFF);
+      }
+      return;
+    }
+    if (registros == null) {
+      densificar();
+    }
+    for (int i = 0; i < TAMANHO; i++) {
+      if (outro.registros[i] > registros[i]) {
+        registros[i] = outro.registros[i];
+      }
+    }
+  }
+
+  /**
+   * Estima a quantidade de valores distintos registrados
+   */
+  public long estimar() {
+    double soma = 0;
+    int zeros = 0;
+    if (registros == null) {
+      zeros = TAMANHO - quantidadeEntradas;
+      soma = zeros;
+      for (int i = 0; i < quantidadeEntradas; i++) {
+        soma += 1.0 / (1L << (entradas[i] & 0xFF));
+      }
+    } else {
+      for (byte registro : registros) {
+        soma += 1.0 / (1L << registro);
+        if (registro == 0) {
+          zeros++;
+        }
+      }
+    }
+
+    double alfa = 0.7213 / (1 + 1.079 / TAMANHO);
+    double estimativa = alfa * TAMANHO * TAMANHO / soma;
+    if (estimativa <= 2.5 * TAMANHO && zeros > 0) {
+      // Correção para cardinalidades pequenas (contagem linear)
+      estimativa = TAMANHO * Math.log((double) TAMANHO / zeros);
+    }
+    return Math.round(estimativa);
+  }
+
+  /**
+   * Indica se o esboço ainda está na forma esparsa
+   */
+  public boolean isEsparso() {
+    return registros == null;
+  }
+
+  /**
+   * Cópia dos registradores para persistência: 4096 bytes na forma densa ou 3 bytes por
+   * registrador preenchido (índice em dois bytes e valor) na forma esparsa
+   */
+  public byte[] paraBytes() {
+    if (registros != null) {
+      return Arrays.copyOf(registros, TAMANHO);
+    }
+    byte[] bytes = new byte[quantidadeEntradas * BYTES_POR_ENTRADA];
+    for (int i = 0; i < quantidadeEntradas; i++) {
+      int indice = entradas[i] >>> 8;
+      int deslocamento = i * BYTES_POR_ENTRADA;
+      bytes[deslocamento] = (byte) (indice >>> 8);
+      bytes[deslocamento + 1] = (byte) indice;
+      bytes[deslocamento + 2] = (byte) entradas[i];
+    }
+    return bytes;
+  }
+
+  private void atualizar(int indice, int valor) {
+    if (registros != null) {
+      if (valor > registros[indice]) {
+        registros[indice] = (byte) valor;
+      }
+      return;
+    }
+
+    // As entradas do mesmo índice ficam logo após (indice << 8), já que o valor é sempre positivo
+    int posicao = -Arrays.binarySearch(entradas, 0, quantidadeEntradas, entrada(indice, 0)) - 1;
+    if (posicao < quantidadeEntradas && entradas[posicao] >>> 8 == indice) {
+      if (valor > (entradas[posicao] & 0xFF)) {
+        entradas[posicao] = entrada(indice, valor);
+      }
+      return;
+    }
+
+    if (quantidadeEntradas == LIMITE_ESPARSO) {
+      densificar();
+      registros[indice] = (byte) valor;
+      return;
+    }
+    if (quantidadeEntradas == entradas.length) {
+      entradas = Arrays.copyOf(entradas, Math.min(entradas.length * 2, LIMITE_ESPARSO));
+    }
+    System.arraycopy(entradas, posicao, entradas, posicao + 1, quantidadeEntradas - posicao);
+    entradas[posicao] = entrada(indice, valor);
+    quantidadeEntradas++;
+  }
+
+  private void densificar() {
+    byte[] densos = new byte[TAMANHO];
+    for (int i = 0; i < quantidadeEntradas; i++) {
+      densos[entradas[i] >>> 8] = (byte) entradas[i];
+    }
+    registros = densos;
+    entradas = null;
+    quantidadeEntradas = 0;
+  }
+
+  private static int entrada(int indice, int valor) {
+    return (indice << 8) | valor;
+  }
+
+  /**
+   * Função de mistura splitmix64, que espalha IDs sequenciais por todo o espaço de 64 bits
+   */
+  private static long misturar(long valor) {
+    long z = valor + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
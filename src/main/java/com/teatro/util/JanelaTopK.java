@@ -0,0 +1,81 @@
+package com.teatro.util;
+
+import java.util.List;
+
+/**
+ * Top-K aproximado sobre uma janela deslizante de tempo
+ *
+ * A janela é dividida em {@code fatias} intervalos de {@code duracaoFatiaMs}, cada um com seu
+ * próprio {@link SpaceSaving}. Fatias que saem da janela são reaproveitadas, então memória e custo
+ * de consulta dependem apenas de fatias × capacidade, nunca do volume de vendas.
+ *
+ * @param <K> Tipo do item
+ */
+public class JanelaTopK<K> {
+
+  private final long duracaoFatiaMs;
+  private final SpaceSaving<K>[] fatias;
+  private final long[] periodos;
+  private final int capacidade;
+
+  @SuppressWarnings("unchecked")
+  public JanelaTopK(int fatias, long duracaoFatiaMs, int capacidade) {
+    this.duracaoFatiaMs = duracaoFatiaMs;
+    this.capacidade = capacidade;
+    this.fatias = (SpaceSaving<K>[]) new SpaceSaving<?>[fatias];
+    this.periodos = new long[fatias];
+    for (int i = 0; i < fatias; i++) {
+      this.fatias[i] = new SpaceSaving<>(capacidade);
+      this.periodos[i] = Long.MIN_VALUE;
+    }
+  }
+
+  /**
+   * Soma um peso ao item na fatia do instante informado (ignora instantes fora da janela)
+   */
+  public synchronized void adicionar(K item, long peso, long instanteMs) {
+    SpaceSaving<K> fatia = fatia(instanteMs);
+    if (fatia != null) {
+      fatia.adicionar(item, peso);
+    }
+  }
+
+  /**
+   * Subtrai um peso do item na fatia do instante informado, se ela ainda estiver na janela
+   */
+  public synchronized void subtrair(K item, long peso, long instanteMs) {
+    SpaceSaving<K> fatia = fatia(instanteMs);
+    if (fatia != null) {
+      fatia.subtrair(item, peso);
+    }
+  }
+
+  /**
+   * Retorna os itens mais frequentes da janela que termina no instante informado
+   */
+  public synchronized List<SpaceSaving.Contagem<K>> topo(int limite, long agoraMs) {
+    long atual = Math.floorDiv(agoraMs, duracaoFatiaMs);
+    SpaceSaving<K> soma = new SpaceSaving<>(capacidade);
+    for (int i = 0; i < fatias.length; i++) {
+      if (periodos[i] > atual - fatias.length && periodos[i] <= atual) {
+        soma.mesclar(fatias[i]);
+      }
+    }
+    return soma.topo(limite);
+  }
+
+  private SpaceSaving<K> fatia(long instanteMs) {
+    long periodo = Math.floorDiv(instanteMs, duracaoFatiaMs);
+    int indice = (int) Math.floorMod(periodo, (long) fatias.length);
+    if (periodos[indice] == periodo) {
+      return fatias[indice];
+    }
+    if (periodos[indice] > periodo) {
+      // A posição já foi reaproveitada por um período mais novo
+      return null;
+    }
+    fatias[indice].limpar();
+    periodos[indice] = periodo;
+    return fatias[indice];
+  }
+}
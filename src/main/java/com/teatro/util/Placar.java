@@ -0,0 +1,105 @@
+package com.teatro.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Classificação concorrente de itens por pontuação, da maior para a menor
+ *
+ * As entradas ficam em uma skip list ordenada por pontuação (decrescente) e chave (crescente, para
+ * desempate estável), e um mapa por chave localiza a entrada atual para removê-la quando a
+ * pontuação muda. Alterações da mesma chave são serializadas pelo mapa; leitores percorrem a skip
+ * list sem bloquear e podem, durante uma troca de pontuação, deixar de ver por um instante a chave
+ * que está sendo reposicionada.
+ *
+ * @param <K> Tipo da chave
+ * @param <V> Tipo do valor associado
+ */
+public class Placar<K extends Comparable<K>, V> {
+
+  private final Map<K, Entrada<K, V>> porChave = new ConcurrentHashMap<>();
+  private final ConcurrentSkipListSet<Entrada<K, V>> ordem =
+      new ConcurrentSkipListSet<>(Comparator.<Entrada<K, V>>comparingDouble(e -> -e.pontuacao)
+          .thenComparing(e -> e.chave));
+
+  /**
+   * Insere a chave ou a reposiciona com a nova pontuação
+   */
+  public void colocar(K chave, double pontuacao, V valor) {
+    if (Double.isNaN(pontuacao)) {
+      throw new IllegalArgumentException("Pontuação inválida");
+    }
+    porChave.compute(chave, (k, atual) -> {
+      if (atual != null) {
+        ordem.remove(atual);
+      }
+      Entrada<K, V> nova = new Entrada<>(k, pontuacao, valor);
+      ordem.add(nova);
+      return nova;
+    });
+  }
+
+  public void remover(K chave) {
+    porChave.computeIfPresent(chave, (k, atual) -> {
+      ordem.remove(atual);
+      return null;
+    });
+  }
+
+  /**
+   * Retorna a entrada atual da chave, ou null se ela não está no placar
+   */
+  public Entrada<K, V> obter(K chave) {
+    return porChave.get(chave);
+  }
+
+  /**
+   * Retorna até {@code limite} entradas a partir da posição {@code inicio} (0 é a maior pontuação)
+   *
+   * O custo é proporcional a inicio + limite.
+   */
+  public List<Entrada<K, V>> pagina(int inicio, int limite) {
+    List<Entrada<K, V>> resultado = new ArrayList<>(Math.min(Math.max(limite, 0), 256));
+    Iterator<Entrada<K, V>> entradas = ordem.iterator();
+    for (int i = 0; i < inicio && entradas.hasNext(); i++) {
+      entradas.next();
+    }
+    while (resultado.size() < limite && entradas.hasNext()) {
+      resultado.add(entradas.next());
+    }
+    return resultado;
+  }
+
+  public int tamanho() {
+    return porChave.size();
+  }
+
+  public static final class Entrada<K, V> {
+    private final K chave;
+    private final double pontuacao;
+    private final V valor;
+
+    private Entrada(K chave, double pontuacao, V valor) {
+      this.chave = chave;
+      this.pontuacao = pontuacao;
+      this.valor = valor;
+    }
+
+    public K getChave() {
+      return chave;
+    }
+
+    public double getPontuacao() {
+      return pontuacao;
+    }
+
+    public V getValor() {
+      return valor;
+    }
+  }
+}
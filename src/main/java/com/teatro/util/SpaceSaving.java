@@ -0,0 +1,146 @@
+package com.teatro.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Estrutura Space-Saving para estimar os itens mais frequentes de um fluxo
+ *
+ * Mantém no máximo {@code capacidade} contadores. Quando chega um item novo com a tabela cheia, ele
+ * herda o contador do item menos frequente (que é descartado) e esse valor fica registrado como
+ * erro máximo da estimativa. Qualquer item com frequência real acima de total/capacidade está
+ * garantidamente na tabela.
+ *
+ * Não é thread-safe; quem compartilha a instância deve sincronizar o acesso.
+ *
+ * @param <K> Tipo do item
+ */
+public class SpaceSaving<K> {
+
+  private final int capacidade;
+  private final Map<K, Contagem<K>> contagens;
+
+  public SpaceSaving(int capacidade) {
+    if (capacidade <= 0) {
+      throw new IllegalArgumentException("Capacidade deve ser positiva");
+    }
+    this.capacidade = capacidade;
+    this.contagens = new HashMap<>(capacidade * 2);
+  }
+
+  /**
+   * Soma um peso à contagem de um item
+   */
+  public void adicionar(K item, long peso) {
+    Contagem<K> contagem = contagens.get(item);
+    if (contagem != null) {
+      contagem.valor += peso;
+      return;
+    }
+    if (contagens.size() < capacidade) {
+      contagens.put(item, new Contagem<>(item, peso, 0));
+      return;
+    }
+
+    Contagem<K> menor = null;
+    for (Contagem<K> candidata : contagens.values()) {
+      if (menor == null || candidata.valor < menor.valor) {
+        menor = candidata;
+      }
+    }
+    contagens.remove(menor.item);
+    contagens.put(item, new Contagem<>(item, menor.valor + peso, menor.valor));
+  }
+
+  /**
+   * Subtrai um peso da contagem de um item monitorado (ignora itens fora da tabela)
+   */
+  public void subtrair(K item, long peso) {
+    Contagem<K> contagem = contagens.get(item);
+    if (contagem != null) {
+      contagem.valor = Math.max(contagem.erro, contagem.valor - peso);
+    }
+  }
+
+  /**
+   * Acrescenta as contagens de outra estrutura a esta
+   */
+  public void mesclar(SpaceSaving<K> outra) {
+    for (Contagem<K> contagem : outra.contagens.values()) {
+      Contagem<K> existente = contagens.get(contagem.item);
+      if (existente != null) {
+        existente.valor += contagem.valor;
+        existente.erro += contagem.erro;
+      } else {
+        contagens.put(contagem.item,
+            new Contagem<>(contagem.item, contagem.valor, contagem.erro));
+      }
+    }
+    // Mantém apenas os maiores contadores depois da soma
+    if (contagens.size() > capacidade) {
+      List<Contagem<K>> ordenadas = ordenadas();
+      for (Contagem<K> excedente : ordenadas.subList(capacidade, ordenadas.size())) {
+        contagens.remove(excedente.item);
+      }
+    }
+  }
+
+  /**
+   * Retorna os {@code limite} itens de maior contagem, em ordem decrescente
+   */
+  public List<Contagem<K>> topo(int limite) {
+    List<Contagem<K>> ordenadas = ordenadas();
+    List<Contagem<K>> resultado = new ArrayList<>(Math.min(limite, ordenadas.size()));
+    for (Contagem<K> contagem : ordenadas.subList(0, Math.min(limite, ordenadas.size()))) {
+      resultado.add(new Contagem<>(contagem.item, contagem.valor, contagem.erro));
+    }
+    return resultado;
+  }
+
+  /**
+   * Remove todas as contagens
+   */
+  public void limpar() {
+    contagens.clear();
+  }
+
+  public boolean isVazio() {
+    return contagens.isEmpty();
+  }
+
+  private List<Contagem<K>> ordenadas() {
+    List<Contagem<K>> ordenadas = new ArrayList<>(contagens.values());
+    ordenadas.sort(Comparator.comparingLong((Contagem<K> c) -> c.valor).reversed());
+    return ordenadas;
+  }
+
+  /**
+   * Contagem estimada de um item e o erro máximo da estimativa
+   */
+  public static final class Contagem<K> {
+    private final K item;
+    private long valor;
+    private long erro;
+
+    private Contagem(K item, long valor, long erro) {
+      this.item = item;
+      this.valor = valor;
+      this.erro = erro;
+    }
+
+    public K getItem() {
+      return item;
+    }
+
+    public long getValor() {
+      return valor;
+    }
+
+    public long getErro() {
+      return erro;
+    }
+  }
+}
@@ -0,0 +1,31 @@
+-- ========================================
+-- V10 - Agregados iniciais das avaliações
+-- ========================================
+-- Preenche uma única vez os agregados de avaliações de sessões e eventos (colunas criadas na V2)
+-- a partir das avaliações já gravadas, depois da remoção das repetidas na V9. Daqui em diante o
+-- AvaliacaoService mantém os agregados junto com cada avaliação.
+
+UPDATE sessoes s SET
+    avaliacoes_soma = COALESCE((SELECT SUM(a.nota) FROM avaliacoes a WHERE a.sessao_id = s.id), 0),
+    avaliacoes_quantidade = (SELECT COUNT(*) FROM avaliacoes a WHERE a.sessao_id = s.id),
+    avaliacoes_nota1 = (SELECT COUNT(*) FROM avaliacoes a WHERE a.sessao_id = s.id AND a.nota = 1),
+    avaliacoes_nota2 = (SELECT COUNT(*) FROM avaliacoes a WHERE a.sessao_id = s.id AND a.nota = 2),
+    avaliacoes_nota3 = (SELECT COUNT(*) FROM avaliacoes a WHERE a.sessao_id = s.id AND a.nota = 3),
+    avaliacoes_nota4 = (SELECT COUNT(*) FROM avaliacoes a WHERE a.sessao_id = s.id AND a.nota = 4),
+    avaliacoes_nota5 = (SELECT COUNT(*) FROM avaliacoes a WHERE a.sessao_id = s.id AND a.nota = 5);
+
+UPDATE eventos e SET
+    avaliacoes_soma = COALESCE((SELECT SUM(s.avaliacoes_soma) FROM sessoes s
+        WHERE s.evento_id = e.id), 0),
+    avaliacoes_quantidade = COALESCE((SELECT SUM(s.avaliacoes_quantidade) FROM sessoes s
+        WHERE s.evento_id = e.id), 0),
+    avaliacoes_nota1 = COALESCE((SELECT SUM(s.avaliacoes_nota1) FROM sessoes s
+        WHERE s.evento_id = e.id), 0),
+    avaliacoes_nota2 = COALESCE((SELECT SUM(s.avaliacoes_nota2) FROM sessoes s
+        WHERE s.evento_id = e.id), 0),
+    avaliacoes_nota3 = COALESCE((SELECT SUM(s.avaliacoes_nota3) FROM sessoes s
+        WHERE s.evento_id = e.id), 0),
+    avaliacoes_nota4 = COALESCE((SELECT SUM(s.avaliacoes_nota4) FROM sessoes s
+        WHERE s.evento_id = e.id), 0),
+    avaliacoes_nota5 = COALESCE((SELECT SUM(s.avaliacoes_nota5) FROM sessoes s
+        WHERE s.evento_id = e.id), 0);
@@ -0,0 +1,6 @@
+-- ========================================
+-- V11 - Índice dos ingressos por data de compra
+-- ========================================
+-- A inicialização dos contadores de vendas reconcilia os dias do mês corrente a partir dos
+-- ingressos; sem o índice a consulta por período de compra percorreria a tabela inteira.
+CREATE INDEX idx_ingressos_data_compra ON ingressos (data_compra);
@@ -0,0 +1,169 @@
+-- ========================================
+-- V1 - Esquema inicial
+-- ========================================
+-- Esquema que o ddl-auto=update gerava antes das migrações, tabela por tabela e com os mesmos
+-- nomes de restrição (gerados pelo Hibernate). Bancos criados dessa forma entram no Flyway já
+-- na versão 1 (spring.flyway.baseline-on-migrate) e recebem apenas as migrações seguintes, por
+-- isso este arquivo não deve mudar: alterações de esquema vão em novas versões.
+--
+-- Sintaxe MySQL 8; os testes executam o mesmo script no H2 em modo MySQL.
+
+-- Usuários
+CREATE TABLE usuarios (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(100) NOT NULL,
+    cpf VARCHAR(14) NOT NULL,
+    endereco VARCHAR(200),
+    telefone VARCHAR(20),
+    email VARCHAR(100) NOT NULL,
+    senha VARCHAR(255) NOT NULL,
+    tipo_usuario ENUM('ADMIN', 'COMUM') NOT NULL,
+    ativo BIT NOT NULL,
+    data_cadastro DATETIME(6) NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Eventos
+CREATE TABLE eventos (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(100) NOT NULL,
+    descricao TEXT,
+    poster VARCHAR(255),
+    duracao_minutos INTEGER,
+    classificacao_indicativa VARCHAR(255),
+    url_poster VARCHAR(255),
+    ativo BIT NOT NULL,
+    data_criacao DATETIME(6) NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Sessões
+CREATE TABLE sessoes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(100),
+    tipo_sessao ENUM('MANHA', 'TARDE', 'NOITE') NOT NULL,
+    data_sessao DATE NOT NULL,
+    horario TIME(6) NOT NULL,
+    ativa BIT NOT NULL,
+    evento_id BIGINT NOT NULL,
+    data_criacao DATETIME(6) NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Áreas do teatro
+CREATE TABLE areas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    nome VARCHAR(50) NOT NULL,
+    preco DECIMAL(10,2) NOT NULL,
+    capacidade_total INTEGER NOT NULL,
+    descricao TEXT,
+    ativo BIT NOT NULL,
+    data_criacao DATETIME(6) NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Áreas oferecidas em cada sessão
+CREATE TABLE sessoes_areas (
+    sessao_id BIGINT NOT NULL,
+    area_id BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+-- Ingressos
+CREATE TABLE ingressos (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id BIGINT NOT NULL,
+    sessao_id BIGINT NOT NULL,
+    area_id BIGINT NOT NULL,
+    numero_poltrona INTEGER NOT NULL,
+    valor DECIMAL(10,2) NOT NULL,
+    codigo VARCHAR(50) NOT NULL,
+    status ENUM('RESERVADO', 'PAGO', 'CANCELADO', 'UTILIZADO') NOT NULL,
+    data_compra DATETIME(6) NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Reservas temporárias de poltronas
+CREATE TABLE reservas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    sessao_id BIGINT NOT NULL,
+    area_id BIGINT NOT NULL,
+    numero_poltrona INTEGER NOT NULL,
+    usuario_id BIGINT NOT NULL,
+    data_reserva DATETIME(6) NOT NULL,
+    expira_em DATETIME(6) NOT NULL,
+    status ENUM('ATIVA', 'EXPIRADA', 'CONVERTIDA', 'CANCELADA') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Extrato do programa de fidelidade
+CREATE TABLE pontos_fidelidade (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id BIGINT NOT NULL,
+    pontos INTEGER NOT NULL,
+    tipo_operacao ENUM('GANHO', 'RESGATE', 'EXPIRACAO') NOT NULL,
+    origem VARCHAR(100),
+    descricao TEXT,
+    data_operacao DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Notificações
+CREATE TABLE notificacoes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id BIGINT NOT NULL,
+    tipo ENUM('EMAIL', 'SMS', 'PUSH', 'SISTEMA') NOT NULL,
+    titulo VARCHAR(100) NOT NULL,
+    mensagem TEXT NOT NULL,
+    lida BIT NOT NULL,
+    dados_extras JSON,
+    data_envio DATETIME(6) NOT NULL,
+    data_leitura DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Avaliações
+CREATE TABLE avaliacoes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id BIGINT NOT NULL,
+    sessao_id BIGINT NOT NULL,
+    nota INTEGER NOT NULL,
+    comentario TEXT,
+    data_avaliacao DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE ingressos ADD CONSTRAINT UK_av00mwbsnkcj5svtow6um7nn8 UNIQUE (codigo);
+ALTER TABLE usuarios ADD CONSTRAINT UK_2et2smpfrtsohr7w9fe1v8a5e UNIQUE (cpf);
+ALTER TABLE usuarios ADD CONSTRAINT UK_kfsp0s1tflm1cwlj8idhqsad0 UNIQUE (email);
+
+ALTER TABLE avaliacoes ADD CONSTRAINT FKi18h9teaqvryaq0xiok17uuoe
+    FOREIGN KEY (sessao_id) REFERENCES sessoes (id);
+ALTER TABLE avaliacoes ADD CONSTRAINT FKss4928rp8e299uvvhaf2yaxon
+    FOREIGN KEY (usuario_id) REFERENCES usuarios (id);
+ALTER TABLE ingressos ADD CONSTRAINT FKkchu9kw47i5fdl3sfqjdbnosr
+    FOREIGN KEY (area_id) REFERENCES areas (id);
+ALTER TABLE ingressos ADD CONSTRAINT FKkdr4gifdue3kmn4m0w4vy6nlt
+    FOREIGN KEY (sessao_id) REFERENCES sessoes (id);
+ALTER TABLE ingressos ADD CONSTRAINT FKpibim0ooaf5yu4krkrw2657a7
+    FOREIGN KEY (usuario_id) REFERENCES usuarios (id);
+ALTER TABLE notificacoes ADD CONSTRAINT FK3jcnk0ggmxklk5sjxm2plk5ml
+    FOREIGN KEY (usuario_id) REFERENCES usuarios (id);
+ALTER TABLE pontos_fidelidade ADD CONSTRAINT FKrxo6h3r78lwikq8c09rsj52ho
+    FOREIGN KEY (usuario_id) REFERENCES usuarios (id);
+ALTER TABLE reservas ADD CONSTRAINT FK2lbwgqmgrblvc2ok3qk1538w8
+    FOREIGN KEY (area_id) REFERENCES areas (id);
+ALTER TABLE reservas ADD CONSTRAINT FKh6xnkxd3avaf38o5a215aewnp
+    FOREIGN KEY (sessao_id) REFERENCES sessoes (id);
+ALTER TABLE reservas ADD CONSTRAINT FKcfh7qcr7oxomqk5hhbxdg2m7p
+    FOREIGN KEY (usuario_id) REFERENCES usuarios (id);
+ALTER TABLE sessoes ADD CONSTRAINT FKgkyy0mo0xrlf9lo7iyluplcyn
+    FOREIGN KEY (evento_id) REFERENCES eventos (id);
+ALTER TABLE sessoes_areas ADD CONSTRAINT FKo5h3d3qj20qo69y5jy8ma3htv
+    FOREIGN KEY (area_id) REFERENCES areas (id);
+ALTER TABLE sessoes_areas ADD CONSTRAINT FK13jer431juxaouvdpv3g2rafo
+    FOREIGN KEY (sessao_id) REFERENCES sessoes (id);
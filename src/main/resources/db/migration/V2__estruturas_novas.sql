@@ -0,0 +1,121 @@
+-- ========================================
+-- V2 - Tabelas, colunas e índices novos das entidades
+-- ========================================
+-- Tudo o que as entidades ganharam depois do esquema da V1: saldo de fidelidade materializado,
+-- agregados de avaliações, auditoria, outbox do pós-compra, refresh tokens revogados e as
+-- tabelas das estatísticas. Enums são gravados como VARCHAR (ver V3).
+
+-- Saldo de pontos materializado (extrato em pontos_fidelidade)
+ALTER TABLE usuarios ADD COLUMN saldo_pontos INTEGER DEFAULT 0 NOT NULL;
+
+-- Agregados de avaliações por evento e por sessão
+ALTER TABLE eventos ADD COLUMN avaliacoes_soma BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE eventos ADD COLUMN avaliacoes_quantidade BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE eventos ADD COLUMN avaliacoes_nota1 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE eventos ADD COLUMN avaliacoes_nota2 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE eventos ADD COLUMN avaliacoes_nota3 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE eventos ADD COLUMN avaliacoes_nota4 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE eventos ADD COLUMN avaliacoes_nota5 BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE sessoes ADD COLUMN avaliacoes_soma BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sessoes ADD COLUMN avaliacoes_quantidade BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sessoes ADD COLUMN avaliacoes_nota1 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sessoes ADD COLUMN avaliacoes_nota2 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sessoes ADD COLUMN avaliacoes_nota3 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sessoes ADD COLUMN avaliacoes_nota4 BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE sessoes ADD COLUMN avaliacoes_nota5 BIGINT DEFAULT 0 NOT NULL;
+
+-- Caixa de notificações por usuário (não lidas e paginação por id)
+CREATE INDEX idx_notificacoes_usuario ON notificacoes (usuario_id, lida);
+CREATE INDEX idx_notificacoes_usuario_id ON notificacoes (usuario_id, id);
+
+-- Avaliações por sessão (paginação) e por usuário
+CREATE INDEX idx_avaliacoes_sessao ON avaliacoes (sessao_id, id);
+CREATE INDEX idx_avaliacoes_usuario ON avaliacoes (usuario_id, sessao_id);
+
+-- Tokens de refresh revogados
+CREATE TABLE tokens_revogados (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    jti VARCHAR(36) NOT NULL,
+    usuario_id BIGINT,
+    expira_em DATETIME(6) NOT NULL,
+    data_revogacao DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tokens_revogados_jti UNIQUE (jti)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_tokens_revogados_expira_em ON tokens_revogados (expira_em);
+
+-- Log de auditoria
+CREATE TABLE logs_auditoria (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id BIGINT,
+    acao VARCHAR(100) NOT NULL,
+    entidade VARCHAR(50) NOT NULL,
+    entidade_id BIGINT,
+    dados_anteriores TEXT,
+    dados_novos TEXT,
+    ip_address VARCHAR(45),
+    user_agent TEXT,
+    data_acao DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_logs_usuario ON logs_auditoria (usuario_id);
+CREATE INDEX idx_logs_acao ON logs_auditoria (acao, data_acao);
+
+-- Outbox transacional do pós-compra
+CREATE TABLE eventos_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    tipo VARCHAR(30) NOT NULL,
+    agregado_id BIGINT,
+    payload VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    tentativas INTEGER NOT NULL,
+    disponivel_em DATETIME(6) NOT NULL,
+    data_criacao DATETIME(6) NOT NULL,
+    data_processamento DATETIME(6),
+    ultimo_erro VARCHAR(500),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_eventos_outbox_status ON eventos_outbox (status, disponivel_em);
+
+-- Estatísticas: contadores de vendas
+CREATE TABLE contadores_vendas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    escopo VARCHAR(10) NOT NULL,
+    chave VARCHAR(20) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    faturamento_centavos BIGINT NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_contadores_vendas_escopo_chave UNIQUE (escopo, chave)
+) ENGINE=InnoDB;
+
+-- Estatísticas: vendas agregadas por janela de tempo
+CREATE TABLE vendas_agregadas (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    granularidade VARCHAR(10) NOT NULL,
+    inicio DATETIME(6) NOT NULL,
+    evento_id BIGINT,
+    sessao_id BIGINT,
+    area_id BIGINT,
+    status VARCHAR(20) NOT NULL,
+    quantidade BIGINT NOT NULL,
+    valor_centavos BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_vendas_agregadas_granularidade_inicio ON vendas_agregadas (granularidade, inicio);
+
+-- Estatísticas: compradores únicos (HyperLogLog serializado)
+CREATE TABLE compradores_unicos (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    escopo VARCHAR(15) NOT NULL,
+    chave VARCHAR(40) NOT NULL,
+    registros VARBINARY(4096) NOT NULL,
+    data_atualizacao DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_compradores_unicos_escopo_chave UNIQUE (escopo, chave)
+) ENGINE=InnoDB;
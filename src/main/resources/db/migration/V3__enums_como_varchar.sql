@@ -0,0 +1,14 @@
+-- ========================================
+-- V3 - Colunas de enum como VARCHAR
+-- ========================================
+-- O ddl-auto criava ENUM nativo do MySQL para os campos @Enumerated(STRING). As entidades passam
+-- a mapear esses campos como VARCHAR (@JdbcTypeCode(SqlTypes.VARCHAR)), o que valida igual no
+-- MySQL e no H2 dos testes e dispensa DDL para acrescentar um valor ao enum. Os valores
+-- gravados são os próprios nomes, então a conversão preserva os dados.
+
+ALTER TABLE usuarios MODIFY tipo_usuario VARCHAR(20) NOT NULL;
+ALTER TABLE sessoes MODIFY tipo_sessao VARCHAR(20) NOT NULL;
+ALTER TABLE ingressos MODIFY status VARCHAR(20) NOT NULL;
+ALTER TABLE reservas MODIFY status VARCHAR(20) NOT NULL;
+ALTER TABLE pontos_fidelidade MODIFY tipo_operacao VARCHAR(20) NOT NULL;
+ALTER TABLE notificacoes MODIFY tipo VARCHAR(20) NOT NULL;
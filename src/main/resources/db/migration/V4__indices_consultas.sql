@@ -0,0 +1,16 @@
+-- ========================================
+-- V4 - Índices das consultas mais frequentes
+-- ========================================
+-- Índices de database_moderno.sql que o ddl-auto nunca criou, restritos aos que atendem
+-- consultas atuais dos repositories. Colunas de chave estrangeira isoladas (ingressos.usuario_id,
+-- pontos_fidelidade.usuario_id) e colunas únicas (email, cpf, codigo) já têm índice próprio.
+
+-- Poltronas ocupadas, vendidos e faturamento por sessão/área; portadores de uma sessão
+CREATE INDEX idx_ingressos_sessao_area ON ingressos (sessao_id, area_id, numero_poltrona);
+
+-- Ingressos do usuário e verificação de ingresso para avaliar uma sessão
+CREATE INDEX idx_ingressos_usuario_sessao ON ingressos (usuario_id, sessao_id);
+
+-- Sessões de um evento por data e listagens por período/horário
+CREATE INDEX idx_sessoes_evento_data ON sessoes (evento_id, data_sessao);
+CREATE INDEX idx_sessoes_data_horario ON sessoes (data_sessao, horario);
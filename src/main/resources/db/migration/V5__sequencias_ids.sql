@@ -0,0 +1,30 @@
+-- ========================================
+-- V5 - Geração de ids em blocos (pooled)
+-- ========================================
+-- Ingressos, sessões, notificações e pontos de fidelidade deixam o AUTO_INCREMENT (IDENTITY),
+-- que obriga o Hibernate a executar cada INSERT na hora para ler a chave gerada e desliga o
+-- batch JDBC. O MySQL não tem sequences; os ids passam a ser reservados em blocos numa tabela,
+-- uma linha por tabela de destino (@TableGenerator com allocationSize = 50).
+--
+-- proximo_valor é o maior id do próximo bloco a reservar: com o otimizador pooled, ler o valor V
+-- libera os ids V-49..V. Por isso cada linha começa em MAX(id) + 50, e o incremento daqui deve
+-- acompanhar o allocationSize das entidades. O AUTO_INCREMENT das colunas fica sem uso: todo
+-- INSERT nessas tabelas informa o id.
+
+CREATE TABLE sequencias_ids (
+    nome VARCHAR(64) NOT NULL,
+    proximo_valor BIGINT NOT NULL,
+    PRIMARY KEY (nome)
+) ENGINE=InnoDB;
+
+INSERT INTO sequencias_ids (nome, proximo_valor)
+SELECT 'ingressos', COALESCE(MAX(id), 0) + 50 FROM ingressos;
+
+INSERT INTO sequencias_ids (nome, proximo_valor)
+SELECT 'sessoes', COALESCE(MAX(id), 0) + 50 FROM sessoes;
+
+INSERT INTO sequencias_ids (nome, proximo_valor)
+SELECT 'notificacoes', COALESCE(MAX(id), 0) + 50 FROM notificacoes;
+
+INSERT INTO sequencias_ids (nome, proximo_valor)
+SELECT 'pontos_fidelidade', COALESCE(MAX(id), 0) + 50 FROM pontos_fidelidade;
@@ -0,0 +1,9 @@
+-- ========================================
+-- V6 - Instante de revogação dos tokens por usuário
+-- ========================================
+-- Desativação, troca de perfil, de email ou de senha invalidam os tokens emitidos até o momento.
+-- O instante (epoch em milissegundos) passa a ser gravado no usuário e recarregado na
+-- inicialização; antes ficava só em memória, e um token revogado voltava a valer após um
+-- reinício, com o perfil antigo.
+
+ALTER TABLE usuarios ADD COLUMN tokens_validos_desde BIGINT;
@@ -0,0 +1,10 @@
+-- ========================================
+-- V7 - Dono da reserva dos eventos do outbox
+-- ========================================
+-- Um processador que passa do prazo da reserva deixava o evento voltar à fila e ser processado
+-- por outro ao mesmo tempo. Cada reserva passa a gravar um identificador próprio e a incrementar
+-- a versão da linha: o processador só conclui ou reagenda o evento se a reserva ainda for dele,
+-- e a versão (@Version) recusa no commit a gravação de quem perdeu a reserva no meio do caminho.
+
+ALTER TABLE eventos_outbox ADD COLUMN reserva VARCHAR(36);
+ALTER TABLE eventos_outbox ADD COLUMN versao BIGINT DEFAULT 0 NOT NULL;
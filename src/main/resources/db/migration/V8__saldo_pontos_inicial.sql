@@ -0,0 +1,11 @@
+-- ========================================
+-- V8 - Saldo inicial de pontos de fidelidade
+-- ========================================
+-- Preenche uma única vez usuarios.saldo_pontos (criada na V2) a partir do extrato, para bancos
+-- que já tinham lançamentos antes da coluna. GANHO soma; os demais tipos subtraem. Daqui em
+-- diante o saldo é mantido pelo FidelidadeService junto com cada lançamento.
+
+UPDATE usuarios u SET saldo_pontos = COALESCE((
+    SELECT SUM(CASE WHEN p.tipo_operacao = 'GANHO' THEN p.pontos ELSE -p.pontos END)
+    FROM pontos_fidelidade p
+    WHERE p.usuario_id = u.id), 0);
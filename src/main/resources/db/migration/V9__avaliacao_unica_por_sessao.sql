@@ -0,0 +1,17 @@
+-- ========================================
+-- V9 - Uma avaliação por usuário e sessão
+-- ========================================
+-- A verificação de avaliação repetida no AvaliacaoService não impedia duas requisições
+-- simultâneas de gravarem a mesma avaliação. Mantém a avaliação mais antiga de cada par
+-- (usuario_id, sessao_id) e passa a garantir a regra no banco. A restrição única substitui o
+-- índice idx_avaliacoes_usuario, que tinha as mesmas colunas.
+
+DELETE FROM avaliacoes WHERE id NOT IN (
+    SELECT id FROM (
+        SELECT MIN(id) AS id FROM avaliacoes GROUP BY usuario_id, sessao_id
+    ) mantidas
+);
+
+ALTER TABLE avaliacoes ADD CONSTRAINT uk_avaliacoes_usuario_sessao UNIQUE (usuario_id, sessao_id);
+
+DROP INDEX idx_avaliacoes_usuario ON avaliacoes;
@@ -0,0 +1,93 @@
+package com.teatro.config;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.teatro.model.Usuario.TipoUsuario;
+import com.teatro.security.UsuarioPrincipal;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityTransaction;
+
+class GerenciadorTransacoesReplicaTest {
+
+  private static final String ARMAZENAMENTO =
+      GerenciadorTransacoesReplica.PROPRIEDADE_ARMAZENAMENTO;
+
+  private final EntityManager entityManager = mock(EntityManager.class);
+  private final Map<String, Object> propriedades = new HashMap<>();
+
+  private EscritasRecentes escritasRecentes;
+  private TransactionTemplate escrita;
+  private TransactionTemplate leitura;
+
+  @BeforeEach
+  void preparar() {
+    EntityManagerFactory fabrica = mock(EntityManagerFactory.class);
+    when(fabrica.createEntityManager()).thenReturn(entityManager);
+    when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+    when(entityManager.isOpen()).thenReturn(true);
+    when(entityManager.getProperties()).thenReturn(propriedades);
+    doAnswer(invocacao -> propriedades.put(invocacao.getArgument(0),
+        invocacao.getArgument(1))).when(entityManager).setProperty(any(), any());
+
+    ReplicaLeituraProperties configuracao = new ReplicaLeituraProperties();
+    configuracao.setHabilitada(true);
+    escritasRecentes = new EscritasRecentes(configuracao);
+
+    GerenciadorTransacoesReplica transacoes = new GerenciadorTransacoesReplica(escritasRecentes);
+    transacoes.setEntityManagerFactory(fabrica);
+    escrita = new TransactionTemplate(transacoes);
+    leitura = new TransactionTemplate(transacoes);
+    leitura.setReadOnly(true);
+  }
+
+  @AfterEach
+  void limpar() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Não deve gravar no cache de segundo nível o que foi lido da réplica")
+  void naoDeveGravarNoCacheLeiturasDaReplica() {
+    leitura.executeWithoutResult(status -> verify(entityManager).setProperty(ARMAZENAMENTO,
+        CacheStoreMode.BYPASS));
+
+    verify(entityManager).setProperty(ARMAZENAMENTO, CacheStoreMode.USE);
+  }
+
+  @Test
+  @DisplayName("Deve manter o cache normal nas transações que vão ao primário")
+  void deveManterCacheNoPrimario() {
+    escrita.executeWithoutResult(status -> {
+    });
+
+    autenticar(1L);
+    escritasRecentes.registrar(1L);
+    leitura.executeWithoutResult(status -> {
+    });
+
+    verify(entityManager, never()).setProperty(eq(ARMAZENAMENTO), any());
+  }
+
+  private void autenticar(Long usuarioId) {
+    UsuarioPrincipal principal =
+        UsuarioPrincipal.deToken(usuarioId, "u" + usuarioId + "@teste.com", TipoUsuario.COMUM);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+}
@@ -0,0 +1,150 @@
+package com.teatro.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javax.sql.DataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Confere as migrações nos dois caminhos de instalação: banco vazio (V1 em diante) e banco criado
+ * pelo ddl-auto antes das migrações (baseline na versão 1, só V2 em diante)
+ */
+class MigracoesFlywayTest {
+
+  private static final String ESQUEMA_LEGADO = "db/legado/esquema-baseline.sql";
+
+  private static final String SQL_COLUNAS = "SELECT table_name, column_name, data_type, "
+      + "is_nullable FROM information_schema.columns WHERE table_schema = 'public' "
+      + "AND table_name <> 'flyway_schema_history' ORDER BY table_name, column_name";
+
+  private static final String SQL_RESTRICOES = "SELECT table_name, constraint_name, "
+      + "constraint_type FROM information_schema.table_constraints WHERE table_schema = 'public' "
+      + "AND constraint_type <> 'PRIMARY KEY' AND table_name <> 'flyway_schema_history' "
+      + "ORDER BY table_name, constraint_name";
+
+  private static final String SQL_INDICES = "SELECT table_name, index_name "
+      + "FROM information_schema.indexes WHERE table_schema = 'public' "
+      + "AND index_type_name <> 'PRIMARY KEY' AND table_name <> 'flyway_schema_history' "
+      + "ORDER BY table_name, index_name";
+
+  @Test
+  @DisplayName("Deve chegar ao mesmo esquema a partir do banco vazio e do banco legado")
+  void deveAtualizarBancoLegadoParaOMesmoEsquema() {
+    DataSource novo = banco("migracoes_novo");
+    migrar(novo, false);
+
+    DataSource legado = banco("migracoes_legado");
+    executarScript(legado, ESQUEMA_LEGADO);
+    migrar(legado, true);
+
+    JdbcTemplate jdbcNovo = new JdbcTemplate(novo);
+    JdbcTemplate jdbcLegado = new JdbcTemplate(legado);
+    assertEquals(jdbcNovo.queryForList(SQL_COLUNAS), jdbcLegado.queryForList(SQL_COLUNAS));
+    assertEquals(jdbcNovo.queryForList(SQL_RESTRICOES), jdbcLegado.queryForList(SQL_RESTRICOES));
+    assertEquals(jdbcNovo.queryForList(SQL_INDICES), jdbcLegado.queryForList(SQL_INDICES));
+  }
+
+  @Test
+  @DisplayName("Deve validar o mapeamento das entidades no banco legado atualizado")
+  void deveValidarMapeamentoNoBancoLegado() {
+    DataSource legado = banco("migracoes_validacao");
+    executarScript(legado, ESQUEMA_LEGADO);
+    migrar(legado, true);
+
+    validarMapeamento(legado);
+
+    JdbcTemplate jdbc = new JdbcTemplate(legado);
+    List<String> perfis =
+        jdbc.queryForList("SELECT tipo_usuario FROM usuarios ORDER BY id", String.class);
+    assertEquals(List.of("COMUM", "ADMIN"), perfis);
+  }
+
+  @Test
+  @DisplayName("Deve preencher o saldo de pontos a partir do extrato do banco legado")
+  void devePreencherSaldoDePontos() {
+    DataSource legado = banco("migracoes_saldo");
+    executarScript(legado, ESQUEMA_LEGADO);
+    migrar(legado, true);
+
+    List<Integer> saldos = new JdbcTemplate(legado)
+        .queryForList("SELECT saldo_pontos FROM usuarios ORDER BY id", Integer.class);
+    assertEquals(List.of(30, 50), saldos);
+  }
+
+  @Test
+  @DisplayName("Deve manter só a primeira avaliação de cada usuário na sessão")
+  void deveRemoverAvaliacoesRepetidas() {
+    DataSource legado = banco("migracoes_avaliacoes");
+    executarScript(legado, ESQUEMA_LEGADO);
+    migrar(legado, true);
+
+    List<Long> ids = new JdbcTemplate(legado)
+        .queryForList("SELECT id FROM avaliacoes ORDER BY id", Long.class);
+    assertEquals(List.of(1L, 2L), ids);
+  }
+
+  @Test
+  @DisplayName("Deve preencher os agregados de avaliações de sessões e eventos")
+  void devePreencherResumosDeAvaliacoes() {
+    DataSource legado = banco("migracoes_resumos");
+    executarScript(legado, ESQUEMA_LEGADO);
+    migrar(legado, true);
+
+    JdbcTemplate jdbc = new JdbcTemplate(legado);
+    String colunas = "avaliacoes_soma, avaliacoes_quantidade, avaliacoes_nota4, avaliacoes_nota5";
+    for (String tabela : List.of("sessoes", "eventos")) {
+      assertEquals(Map.of("avaliacoes_soma", 9L, "avaliacoes_quantidade", 2L,
+          "avaliacoes_nota4", 1L, "avaliacoes_nota5", 1L),
+          jdbc.queryForMap("SELECT " + colunas + " FROM " + tabela + " WHERE id = 1"));
+    }
+  }
+
+  private static DataSource banco(String nome) {
+    return new DriverManagerDataSource(
+        "jdbc:h2:mem:" + nome + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+  }
+
+  private static void executarScript(DataSource dataSource, String script) {
+    new JdbcTemplate(dataSource).execute((ConnectionCallback<Void>) conexao -> {
+      ScriptUtils.executeSqlScript(conexao, new ClassPathResource(script));
+      return null;
+    });
+  }
+
+  private static void migrar(DataSource dataSource, boolean bancoExistente) {
+    Flyway.configure().dataSource(dataSource).locations("classpath:db/migration")
+        .baselineOnMigrate(bancoExistente).baselineVersion("1").load().migrate();
+  }
+
+  /**
+   * Sobe o Hibernate com ddl-auto=validate sobre o banco, como a aplicação faz na inicialização
+   */
+  private static void validarMapeamento(DataSource dataSource) {
+    Properties propriedades = new Properties();
+    propriedades.put("hibernate.hbm2ddl.auto", "validate");
+    propriedades.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+    propriedades.put("hibernate.physical_naming_strategy",
+        "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
+    propriedades.put("hibernate.implicit_naming_strategy",
+        "org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy");
+
+    LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+    fabrica.setDataSource(dataSource);
+    fabrica.setPackagesToScan("com.teatro.model");
+    fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+    fabrica.setJpaProperties(propriedades);
+    fabrica.afterPropertiesSet();
+    fabrica.destroy();
+  }
+}
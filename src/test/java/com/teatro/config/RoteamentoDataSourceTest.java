@@ -0,0 +1,106 @@
+package com.teatro.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.teatro.model.Usuario.TipoUsuario;
+import com.teatro.security.UsuarioPrincipal;
+
+/**
+ * Usa duas instâncias H2 em memória, cada uma identificada pelo conteúdo da tabela origem, como
+ * primário e réplica
+ */
+class RoteamentoDataSourceTest {
+
+  private EscritasRecentes escritasRecentes;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate escrita;
+  private TransactionTemplate leitura;
+
+  @BeforeEach
+  void preparar() {
+    ReplicaLeituraProperties propriedades = new ReplicaLeituraProperties();
+    propriedades.setHabilitada(true);
+    propriedades.setJanelaLeituraPropriaMs(200);
+    escritasRecentes = new EscritasRecentes(propriedades);
+
+    DataSource dataSource = RoteamentoDataSource.criar(banco("primario"), banco("replica"),
+        escritasRecentes);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    DataSourceTransactionManager transacoes = new DataSourceTransactionManager(dataSource);
+    escrita = new TransactionTemplate(transacoes);
+    leitura = new TransactionTemplate(transacoes);
+    leitura.setReadOnly(true);
+  }
+
+  @AfterEach
+  void limpar() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Deve ler da réplica em transações somente leitura e escrever no primário")
+  void deveRotearPorTipoDeTransacao() {
+    assertEquals("replica", leitura.execute(status -> origem()));
+    assertEquals("primario", escrita.execute(status -> origem()));
+    assertEquals("primario", origem());
+  }
+
+  @Test
+  @DisplayName("Deve manter as leituras do usuário no primário logo após a escrita dele")
+  void deveLerAsPropriasEscritas() throws InterruptedException {
+    autenticar(1L);
+    escrita.executeWithoutResult(status -> escritasRecentes.registrar(1L));
+
+    assertEquals("primario", leitura.execute(status -> origem()));
+
+    autenticar(2L);
+    assertEquals("replica", leitura.execute(status -> origem()));
+
+    autenticar(1L);
+    Thread.sleep(300);
+    assertEquals("replica", leitura.execute(status -> origem()));
+  }
+
+  @Test
+  @DisplayName("Não deve marcar o usuário quando a transação da escrita é desfeita")
+  void deveIgnorarEscritaDesfeita() {
+    autenticar(1L);
+    escrita.executeWithoutResult(status -> {
+      escritasRecentes.registrar(1L);
+      status.setRollbackOnly();
+    });
+
+    assertEquals("replica", leitura.execute(status -> origem()));
+  }
+
+  private String origem() {
+    return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+  }
+
+  private void autenticar(Long usuarioId) {
+    UsuarioPrincipal principal =
+        UsuarioPrincipal.deToken(usuarioId, "u" + usuarioId + "@teste.com", TipoUsuario.COMUM);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+  }
+
+  private static DataSource banco(String nome) {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+        "jdbc:h2:mem:roteamento_" + nome + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE IF NOT EXISTS origem (nome VARCHAR(20))");
+    jdbc.execute("DELETE FROM origem");
+    jdbc.update("INSERT INTO origem (nome) VALUES (?)", nome);
+    return dataSource;
+  }
+}
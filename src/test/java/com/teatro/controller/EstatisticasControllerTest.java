@@ -1,9 +1,11 @@
 package com.teatro.controller;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import java.util.Collections;
+import java.util.List;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -104,4 +106,28 @@ class EstatisticasControllerTest {
     Mockito.when(estatisticasService.obterDashboard()).thenReturn(Collections.emptyMap());
     mockMvc.perform(get("/api/estatisticas/dashboard")).andExpect(status().isOk());
   }
+
+  @Test
+  @DisplayName("Deve retornar eventos e sessões populares")
+  void deveRetornarPopulares() throws Exception {
+    Mockito.when(estatisticasService.obterPopulares("HORA", 5)).thenReturn(Collections.emptyMap());
+    mockMvc.perform(get("/api/estatisticas/populares?janela=HORA&limite=5"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Deve retornar compradores distintos de eventos")
+  void deveRetornarCompradoresUnicos() throws Exception {
+    Mockito.when(estatisticasService.obterCompradoresUnicos(List.of(1L, 2L), null, null, null))
+        .thenReturn(Collections.emptyMap());
+    mockMvc.perform(get("/api/estatisticas/compradores-unicos?eventoIds=1,2"))
+        .andExpect(status().isOk());
+  }
+
+  @Test
+  @DisplayName("Deve agendar a atualização das estatísticas")
+  void deveAgendarAtualizacao() throws Exception {
+    Mockito.when(estatisticasService.solicitarAtualizacao()).thenReturn(3);
+    mockMvc.perform(post("/api/estatisticas/atualizar")).andExpect(status().isAccepted());
+  }
 }
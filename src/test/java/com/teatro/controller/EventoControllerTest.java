@@ -21,6 +21,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.teatro.config.TestConfig;
 import com.teatro.dto.EventoDTO;
+import com.teatro.service.EstatisticasService;
 import com.teatro.service.EventoService;
 
 @WebMvcTest(EventoController.class)
@@ -33,6 +34,9 @@ class EventoControllerTest {
   @MockBean
   private EventoService eventoService;
 
+  @MockBean
+  private EstatisticasService estatisticasService;
+
   @Autowired
   private ObjectMapper objectMapper;
 
@@ -23,9 +23,11 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.teatro.config.TestSecurityConfig;
 import com.teatro.dto.LoginRequest;
+import com.teatro.dto.LoginResponse;
 import com.teatro.dto.UsuarioDTO;
 import com.teatro.model.Usuario;
 import com.teatro.model.Usuario.TipoUsuario;
+import com.teatro.service.FidelidadeService;
 import com.teatro.service.UsuarioService;
 
 @WebMvcTest(UsuarioController.class)
@@ -39,6 +41,9 @@ class UsuarioControllerTest {
   @MockBean
   private UsuarioService usuarioService;
 
+  @MockBean
+  private FidelidadeService fidelidadeService;
+
   @Autowired
   private ObjectMapper objectMapper;
 
@@ -50,13 +55,10 @@ class UsuarioControllerTest {
     request.setIdentificador("joao@email.com");
     request.setSenha("senha123");
 
-    Usuario usuario = new Usuario();
-    usuario.setId(1L);
-    usuario.setNome("João Silva");
-    usuario.setEmail("joao@email.com");
-    usuario.setTipoUsuario(TipoUsuario.COMUM);
+    LoginResponse response = new LoginResponse("token", "refresh-token", 1L, "João Silva",
+        "joao@email.com", TipoUsuario.COMUM, 0, "INICIANTE", null);
 
-    Mockito.when(usuarioService.autenticarUsuario(anyString(), anyString())).thenReturn(usuario);
+    Mockito.when(usuarioService.autenticarUsuario(any(LoginRequest.class))).thenReturn(response);
 
     // Act & Assert
     mockMvc
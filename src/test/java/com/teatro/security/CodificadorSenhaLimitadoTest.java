@@ -0,0 +1,98 @@
+package com.teatro.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.teatro.exception.LimiteAutenticacaoExcedidoException;
+import com.teatro.service.MetricasService;
+
+class CodificadorSenhaLimitadoTest {
+
+  private final CountDownLatch liberar = new CountDownLatch(1);
+  private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+      new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+
+  @AfterEach
+  void encerrar() {
+    liberar.countDown();
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Deve delegar o hashing ao encoder original")
+  void deveDelegar() {
+    CodificadorSenhaLimitado codificador = criar(new EncoderFalso(false), 1_000);
+
+    assertEquals("hash:123", codificador.encode("123"));
+    assertTrue(codificador.matches("123", "hash:123"));
+  }
+
+  @Test
+  @DisplayName("Deve recusar com retry-after quando a fila está cheia")
+  void deveRecusarQuandoSaturado() {
+    CodificadorSenhaLimitado codificador = criar(new EncoderFalso(true), 50);
+    executor.submit(() -> {
+      liberar.await();
+      return null;
+    });
+    executor.submit(() -> {
+      liberar.await();
+      return null;
+    });
+
+    LimiteAutenticacaoExcedidoException excecao = assertThrows(
+        LimiteAutenticacaoExcedidoException.class, () -> codificador.encode("123"));
+    assertEquals(2, excecao.getRetryAfterSegundos());
+  }
+
+  @Test
+  @DisplayName("Deve recusar quando a operação não termina dentro da espera máxima")
+  void deveRecusarPorTempo() {
+    CodificadorSenhaLimitado codificador = criar(new EncoderFalso(true), 50);
+
+    assertThrows(LimiteAutenticacaoExcedidoException.class, () -> codificador.matches("1", "2"));
+  }
+
+  private CodificadorSenhaLimitado criar(PasswordEncoder delegado, long esperaMaximaMs) {
+    return new CodificadorSenhaLimitado(delegado, executor, esperaMaximaMs, 2,
+        new MetricasService());
+  }
+
+  private class EncoderFalso implements PasswordEncoder {
+    private final boolean bloquear;
+
+    EncoderFalso(boolean bloquear) {
+      this.bloquear = bloquear;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      aguardar();
+      return "hash:" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      aguardar();
+      return encodedPassword.equals("hash:" + rawPassword);
+    }
+
+    private void aguardar() {
+      if (bloquear) {
+        try {
+          liberar.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.teatro.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.teatro.repository.UsuarioRepository;
+
+class RevogacaoUsuariosTest {
+
+  private static final long VALIDADE_MS = 60_000;
+
+  private final UsuarioRepository usuarioRepository = mock(UsuarioRepository.class);
+
+  @Test
+  @DisplayName("Deve gravar o instante da revogação no usuário")
+  void deveGravarRevogacao() {
+    RevogacaoUsuarios revogacao = criar();
+
+    revogacao.revogar(7L);
+
+    verify(usuarioRepository).registrarRevogacao(eq(7L), anyLong());
+  }
+
+  @Test
+  @DisplayName("Deve recusar após reinício os tokens emitidos antes da revogação gravada")
+  void deveRecarregarRevogacoesGravadas() {
+    long agora = System.currentTimeMillis();
+    long revogadoEm = (agora / 1000) * 1000 - 5_000;
+    when(usuarioRepository.buscarRevogacoesDesde(anyLong()))
+        .thenReturn(List.<Object[]>of(new Object[] {7L, revogadoEm}));
+    when(usuarioRepository.buscarIdsInativos()).thenReturn(List.of());
+
+    RevogacaoUsuarios reiniciado = criar();
+    reiniciado.carregarRevogacoes();
+
+    assertTrue(reiniciado.estaRevogado(7L, revogadoEm - 10_000));
+    assertFalse(reiniciado.estaRevogado(7L, revogadoEm + 1_000));
+    assertFalse(reiniciado.estaRevogado(8L, revogadoEm - 10_000));
+  }
+
+  private RevogacaoUsuarios criar() {
+    RevogacaoUsuarios revogacao = new RevogacaoUsuarios(usuarioRepository);
+    ReflectionTestUtils.setField(revogacao, "jwtExpirationMs", VALIDADE_MS);
+    return revogacao;
+  }
+}
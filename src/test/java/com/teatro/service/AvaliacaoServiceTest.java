@@ -0,0 +1,166 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.teatro.dto.AvaliacaoDTO;
+import com.teatro.dto.AvaliacaoRequest;
+import com.teatro.dto.ResumoAvaliacoesDTO;
+import com.teatro.model.Area;
+import com.teatro.model.Evento;
+import com.teatro.model.Sessao;
+import com.teatro.model.Sessao.TipoSessao;
+import com.teatro.model.Usuario;
+import com.teatro.repository.AreaRepository;
+import com.teatro.repository.AvaliacaoRepository;
+import com.teatro.repository.EventoRepository;
+import com.teatro.repository.SessaoRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Confere os agregados de avaliações materializados na sessão e no evento e a recusa da avaliação
+ * duplicada pela restrição única
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class AvaliacaoServiceTest {
+
+  @Autowired
+  private AvaliacaoService avaliacaoService;
+
+  @Autowired
+  private AvaliacaoRepository avaliacaoRepository;
+
+  @Autowired
+  private IngressoService ingressoService;
+
+  @Autowired
+  private AreaRepository areaRepository;
+
+  @Autowired
+  private EventoRepository eventoRepository;
+
+  @Autowired
+  private SessaoRepository sessaoRepository;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  private AvaliacaoService avaliacoes;
+  private Long eventoId;
+  private Long sessaoId;
+  private Long primeiroId;
+  private Long segundoId;
+
+  @BeforeEach
+  void preparar() {
+    avaliacoes = AopTestUtils.getUltimateTargetObject(avaliacaoService);
+    long sufixo = System.nanoTime() % 1_000_000;
+
+    Area area = new Area();
+    area.setNome("Plateia avaliação " + sufixo);
+    area.setPreco(new BigDecimal("40.00"));
+    area.setCapacidadeTotal(100);
+    area.setDataCriacao(LocalDateTime.now());
+    area = areaRepository.save(area);
+
+    Evento evento = new Evento();
+    evento.setNome("Evento avaliação " + sufixo);
+    evento.setDataCriacao(LocalDateTime.now());
+    eventoId = eventoRepository.save(evento).getId();
+
+    Sessao sessao = new Sessao();
+    sessao.setTipoSessao(TipoSessao.MANHA);
+    sessao.setDataSessao(LocalDate.now().plusDays(12));
+    sessao.setHorario(LocalTime.of(11, 0));
+    sessao.setEvento(evento);
+    sessao.setDataCriacao(LocalDateTime.now());
+    sessaoId = sessaoRepository.save(sessao).getId();
+
+    primeiroId = criarPortador(sufixo, 1, area);
+    segundoId = criarPortador(sufixo, 2, area);
+  }
+
+  @AfterEach
+  void restaurar() {
+    ReflectionTestUtils.setField(avaliacoes, "avaliacaoRepository", avaliacaoRepository);
+  }
+
+  @Test
+  @DisplayName("Deve atualizar média e histograma da sessão e do evento ao avaliar e remover")
+  void deveAtualizarAgregados() {
+    AvaliacaoDTO primeira =
+        avaliacaoService.avaliar(new AvaliacaoRequest(primeiroId, sessaoId, 5, "Ótima"));
+    avaliacaoService.avaliar(new AvaliacaoRequest(segundoId, sessaoId, 3, "Boa"));
+
+    for (ResumoAvaliacoesDTO resumo : new ResumoAvaliacoesDTO[] {
+        avaliacaoService.obterResumoSessao(sessaoId),
+        avaliacaoService.obterResumoEvento(eventoId)}) {
+      assertEquals(2, resumo.getQuantidade());
+      assertEquals(4.0, resumo.getMedia());
+      assertEquals(1, resumo.getHistograma().get(5));
+      assertEquals(1, resumo.getHistograma().get(3));
+    }
+
+    avaliacaoService.remover(primeiroId, primeira.getId());
+
+    for (ResumoAvaliacoesDTO resumo : new ResumoAvaliacoesDTO[] {
+        avaliacaoService.obterResumoSessao(sessaoId),
+        avaliacaoService.obterResumoEvento(eventoId)}) {
+      assertEquals(1, resumo.getQuantidade());
+      assertEquals(3.0, resumo.getMedia());
+      assertEquals(0, resumo.getHistograma().getOrDefault(5, 0L));
+    }
+  }
+
+  @Test
+  @DisplayName("Deve recusar a avaliação duplicada que passa pela verificação prévia")
+  void deveRecusarDuplicadaPelaRestricaoUnica() {
+    avaliacaoService.avaliar(new AvaliacaoRequest(primeiroId, sessaoId, 4, null));
+
+    // Simula a requisição concorrente: a verificação não vê a avaliação já gravada
+    AvaliacaoRepository semVerificacao = mock(AvaliacaoRepository.class,
+        AdditionalAnswers.delegatesTo(avaliacaoRepository));
+    doReturn(false).when(semVerificacao).existsByUsuarioIdAndSessaoId(any(), any());
+    ReflectionTestUtils.setField(avaliacoes, "avaliacaoRepository", semVerificacao);
+
+    IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+        () -> avaliacaoService.avaliar(new AvaliacaoRequest(primeiroId, sessaoId, 1, null)));
+
+    assertEquals("Usuário já avaliou esta sessão", erro.getMessage());
+    ResumoAvaliacoesDTO resumo = avaliacaoService.obterResumoSessao(sessaoId);
+    assertEquals(1, resumo.getQuantidade());
+    assertEquals(4.0, resumo.getMedia());
+    assertEquals(1, resumo.getHistograma().get(4));
+    assertEquals(0, resumo.getHistograma().getOrDefault(1, 0L));
+  }
+
+  private Long criarPortador(long sufixo, int indice, Area area) {
+    Usuario usuario = new Usuario();
+    usuario.setNome("Avaliador " + indice);
+    usuario.setCpf(String.format("%03d.%03d.%03d-%02d", sufixo % 1000, (sufixo / 1000) % 1000,
+        930 + indice, 44));
+    usuario.setEmail("avaliador" + indice + "." + sufixo + "@teste.com");
+    usuario.setSenha("hash");
+    usuario.setDataCadastro(LocalDateTime.now());
+    Long usuarioId = usuarioRepository.save(usuario).getId();
+    ingressoService.comprarIngresso(usuarioId, sessaoId, area.getId(), indice, area.getPreco());
+    return usuarioId;
+  }
+}
@@ -0,0 +1,107 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.teatro.model.Area;
+import com.teatro.model.Evento;
+import com.teatro.model.Sessao;
+import com.teatro.model.Sessao.TipoSessao;
+import com.teatro.model.Usuario;
+import com.teatro.repository.AreaRepository;
+import com.teatro.repository.EventoRepository;
+import com.teatro.repository.SessaoRepository;
+import com.teatro.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Confere, pelas estatísticas do Hibernate, que a compra lê a área do cache de segundo nível
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class CompraCacheSegundoNivelTest {
+
+  @Autowired
+  private IngressoService ingressoService;
+
+  @Autowired
+  private AreaRepository areaRepository;
+
+  @Autowired
+  private EventoRepository eventoRepository;
+
+  @Autowired
+  private SessaoRepository sessaoRepository;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @AfterEach
+  void desligarEstatisticas() {
+    estatisticas().setStatisticsEnabled(false);
+  }
+
+  @Test
+  @DisplayName("Não deve consultar a tabela de áreas na compra com a área em cache")
+  void deveComprarSemConsultarAreas() {
+    Area area = new Area();
+    area.setNome("Plateia cache");
+    area.setPreco(new BigDecimal("80.00"));
+    area.setCapacidadeTotal(100);
+    area.setDataCriacao(LocalDateTime.now());
+    area = areaRepository.save(area);
+
+    Evento evento = new Evento();
+    evento.setNome("Evento cache");
+    evento.setDataCriacao(LocalDateTime.now());
+    evento = eventoRepository.save(evento);
+
+    Sessao sessao = new Sessao();
+    sessao.setTipoSessao(TipoSessao.NOITE);
+    sessao.setDataSessao(LocalDate.now().plusDays(7));
+    sessao.setHorario(LocalTime.of(20, 0));
+    sessao.setEvento(evento);
+    sessao.setDataCriacao(LocalDateTime.now());
+    sessao = sessaoRepository.save(sessao);
+
+    Usuario usuario = new Usuario();
+    usuario.setNome("Comprador cache");
+    usuario.setCpf("987.654.321-00");
+    usuario.setEmail("comprador.cache@teste.com");
+    usuario.setSenha("hash");
+    usuario.setDataCadastro(LocalDateTime.now());
+    usuario = usuarioRepository.save(usuario);
+
+    // A área inserida com id IDENTITY não entra no cache; a primeira compra a carrega do banco
+    ingressoService.comprarIngresso(usuario.getId(), sessao.getId(), area.getId(), 1,
+        area.getPreco());
+
+    Statistics estatisticas = estatisticas();
+    estatisticas.setStatisticsEnabled(true);
+    estatisticas.clear();
+
+    ingressoService.comprarIngresso(usuario.getId(), sessao.getId(), area.getId(), 2,
+        area.getPreco());
+
+    assertEquals(0, estatisticas.getEntityStatistics(Area.class.getName()).getLoadCount());
+    assertTrue(estatisticas.getDomainDataRegionStatistics(Area.class.getName()).getHitCount() > 0);
+  }
+
+  private Statistics estatisticas() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+}
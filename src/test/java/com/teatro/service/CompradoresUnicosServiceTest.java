@@ -0,0 +1,84 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.teatro.model.CompradoresUnicos;
+import com.teatro.repository.CompradoresUnicosRepository;
+import com.teatro.util.HyperLogLog;
+
+class CompradoresUnicosServiceTest {
+
+  private static final LocalDateTime COMPRA = LocalDateTime.of(2024, 3, 10, 20, 0);
+
+  private final CompradoresUnicosRepository repository = mock(CompradoresUnicosRepository.class);
+
+  private final CompradoresUnicosService compradores = new CompradoresUnicosService();
+
+  @BeforeEach
+  void configurar() {
+    ReflectionTestUtils.setField(compradores, "compradoresUnicosRepository", repository);
+    ReflectionTestUtils.setField(compradores, "maximoEsbocosConsulta", 5000);
+    ReflectionTestUtils.setField(compradores, "ociosidadeMaximaMs", 600_000L);
+  }
+
+  @Test
+  @DisplayName("Deve contar uma vez o comprador de várias sessões do evento")
+  void deveEstimarCompradoresDistintos() {
+    compradores.registrarCompra(1L, 10L, 100L, COMPRA);
+    compradores.registrarCompra(1L, 10L, 101L, COMPRA);
+    compradores.registrarCompra(2L, 10L, 101L, COMPRA);
+
+    assertEquals(2, compradores.estimarCompradores(List.of(10L), null, null, null));
+    assertEquals(2, compradores.estimarCompradores(null, List.of(100L, 101L), null, null));
+    LocalDate dia = COMPRA.toLocalDate();
+    assertEquals(2, compradores.estimarCompradores(null, null, dia, dia));
+  }
+
+  @Test
+  @DisplayName("Deve gravar esboços pequenos na forma esparsa")
+  @SuppressWarnings("unchecked")
+  void deveGravarEsbocosEsparsos() {
+    when(repository.saveAll(any())).thenAnswer(invocacao -> invocacao.getArgument(0));
+    compradores.registrarCompra(1L, 10L, 100L, COMPRA);
+
+    compradores.persistir();
+
+    ArgumentCaptor<List<CompradoresUnicos>> gravados = ArgumentCaptor.forClass(List.class);
+    verify(repository).saveAll(gravados.capture());
+    assertEquals(4, gravados.getValue().size());
+    for (CompradoresUnicos registro : gravados.getValue()) {
+      assertTrue(registro.getRegistros().length < HyperLogLog.TAMANHO);
+      assertEquals(1, HyperLogLog.deBytes(registro.getRegistros()).estimar());
+    }
+  }
+
+  @Test
+  @DisplayName("Deve manter os esboços pendentes quando a gravação falha")
+  void deveManterPendentesQuandoGravacaoFalha() {
+    when(repository.saveAll(any()))
+        .thenThrow(new DataAccessResourceFailureException("Banco indisponível"))
+        .thenAnswer(invocacao -> invocacao.getArgument(0));
+    compradores.registrarCompra(1L, 10L, 100L, COMPRA);
+
+    assertThrows(DataAccessResourceFailureException.class, compradores::persistir);
+    compradores.persistir();
+    compradores.persistir();
+
+    verify(repository, times(2)).saveAll(any());
+  }
+}
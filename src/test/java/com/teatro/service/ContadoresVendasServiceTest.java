@@ -0,0 +1,61 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.teatro.model.ContadorVendas;
+import com.teatro.model.ContadorVendas.Escopo;
+import com.teatro.repository.ContadorVendasRepository;
+import com.teatro.repository.IngressoRepository;
+import com.teatro.repository.SessaoRepository;
+
+class ContadoresVendasServiceTest {
+
+  private final ContadorVendasRepository contadorVendasRepository =
+      mock(ContadorVendasRepository.class);
+  private final IngressoRepository ingressoRepository = mock(IngressoRepository.class);
+
+  @Test
+  @DisplayName("Deve reconciliar com os ingressos os dias do mês corrente na inicialização")
+  void deveReconciliarDiasDoMesCorrente() {
+    LocalDate hoje = LocalDate.now();
+    LocalDate mesPassado = hoje.withDayOfMonth(1).minusDays(1);
+    // Persistidos antes da queda: o dia atual ficou sem as duas últimas vendas
+    when(contadorVendasRepository.findAll()).thenReturn(List.of(
+        registro(1L, mesPassado, 10, 100_000), registro(2L, hoje, 3, 30_000)));
+    when(ingressoRepository.agruparVendasPorDiaEntre(any(), any())).thenReturn(
+        List.<Object[]>of(new Object[] {hoje, 5L, new BigDecimal("500.00")}));
+
+    ContadoresVendasService contadores = criar();
+
+    assertEquals(5, contadores.getVendas(hoje, hoje));
+    assertEquals(new BigDecimal("500.00"), contadores.getFaturamento(hoje, hoje));
+    assertEquals(10, contadores.getVendas(mesPassado, mesPassado));
+    assertEquals(15, contadores.getTotalVendas());
+    assertEquals(new BigDecimal("1500.00"), contadores.getTotalFaturamento());
+  }
+
+  private ContadoresVendasService criar() {
+    ContadoresVendasService contadores = new ContadoresVendasService();
+    ReflectionTestUtils.setField(contadores, "contadorVendasRepository", contadorVendasRepository);
+    ReflectionTestUtils.setField(contadores, "ingressoRepository", ingressoRepository);
+    ReflectionTestUtils.setField(contadores, "sessaoRepository", mock(SessaoRepository.class));
+    contadores.carregar();
+    return contadores;
+  }
+
+  private static ContadorVendas registro(Long id, LocalDate dia, long quantidade, long centavos) {
+    ContadorVendas registro = new ContadorVendas(Escopo.DIA, dia.toString());
+    registro.setId(id);
+    registro.setQuantidade(quantidade);
+    registro.setFaturamentoCentavos(centavos);
+    return registro;
+  }
+}
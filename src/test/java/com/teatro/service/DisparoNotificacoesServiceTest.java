@@ -0,0 +1,203 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.teatro.config.NotificacoesProperties;
+import com.teatro.dto.AlteracaoSessaoEvento;
+import com.teatro.model.Area;
+import com.teatro.model.Evento;
+import com.teatro.model.Notificacao;
+import com.teatro.model.Sessao;
+import com.teatro.model.Sessao.TipoSessao;
+import com.teatro.model.Usuario;
+import com.teatro.repository.AreaRepository;
+import com.teatro.repository.EventoRepository;
+import com.teatro.repository.SessaoRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Confere o disparo em massa: lotes por keyset, uma notificação por portador e recusa da entrega
+ * com a fila do executor cheia
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class DisparoNotificacoesServiceTest {
+
+  private static final int PORTADORES = 5;
+
+  @Autowired
+  private DisparoNotificacoesService disparoNotificacoesService;
+
+  @Autowired
+  private IngressoService ingressoService;
+
+  @Autowired
+  private AreaRepository areaRepository;
+
+  @Autowired
+  private EventoRepository eventoRepository;
+
+  @Autowired
+  private SessaoRepository sessaoRepository;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private NotificacoesProperties propriedades;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  @Qualifier("canalLocalEmail")
+  private CanalLocalNotificacao canalEmail;
+
+  private int tamanhoLoteOriginal;
+  private Object executorOriginal;
+  private Long sessaoId;
+  private final List<Long> usuarios = new ArrayList<>();
+
+  @BeforeEach
+  void preparar() {
+    tamanhoLoteOriginal = propriedades.getTamanhoLote();
+    executorOriginal =
+        ReflectionTestUtils.getField(disparoNotificacoesService, "executorNotificacoes");
+    // Lote menor que o número de portadores, para o cursor passar por mais de uma página
+    propriedades.setTamanhoLote(2);
+
+    long sufixo = System.nanoTime() % 1_000_000;
+    Area area = new Area();
+    area.setNome("Plateia disparo " + sufixo);
+    area.setPreco(new BigDecimal("50.00"));
+    area.setCapacidadeTotal(100);
+    area.setDataCriacao(LocalDateTime.now());
+    area = areaRepository.save(area);
+
+    Evento evento = new Evento();
+    evento.setNome("Evento disparo " + sufixo);
+    evento.setDataCriacao(LocalDateTime.now());
+    evento = eventoRepository.save(evento);
+
+    Sessao sessao = new Sessao();
+    sessao.setTipoSessao(TipoSessao.TARDE);
+    sessao.setDataSessao(LocalDate.now().plusDays(10));
+    sessao.setHorario(LocalTime.of(16, 0));
+    sessao.setEvento(evento);
+    sessao.setDataCriacao(LocalDateTime.now());
+    sessaoId = sessaoRepository.save(sessao).getId();
+
+    for (int i = 0; i < PORTADORES; i++) {
+      Usuario usuario = new Usuario();
+      usuario.setNome("Portador " + i);
+      usuario.setCpf(String.format("%03d.%03d.%03d-%02d", sufixo % 1000, (sufixo / 1000) % 1000,
+          700 + i, i));
+      usuario.setEmail("portador" + i + "." + sufixo + "@teste.com");
+      usuario.setSenha("hash");
+      usuario.setDataCadastro(LocalDateTime.now());
+      usuario = usuarioRepository.save(usuario);
+      usuarios.add(usuario.getId());
+      ingressoService.comprarIngresso(usuario.getId(), sessaoId, area.getId(), i + 1,
+          area.getPreco());
+    }
+  }
+
+  @AfterEach
+  void restaurar() {
+    propriedades.setTamanhoLote(tamanhoLoteOriginal);
+    ReflectionTestUtils.setField(disparoNotificacoesService, "executorNotificacoes",
+        executorOriginal);
+  }
+
+  @Test
+  @DisplayName("Deve gravar uma única notificação por portador, percorrendo mais de um lote")
+  void deveGravarUmaNotificacaoPorPortador() throws InterruptedException {
+    AlteracaoSessaoEvento alteracao =
+        new AlteracaoSessaoEvento(sessaoId, "Sessão reagendada", "Nova data em breve");
+    long enviadasAntes = canalEmail.getEnviadas();
+
+    Integer inseridas = new TransactionTemplate(transactionManager)
+        .execute(status -> disparoNotificacoesService.registrarAlteracaoSessao(alteracao));
+
+    assertEquals(PORTADORES, inseridas);
+    for (Long usuarioId : usuarios) {
+      // A compra também notifica o portador; só contam as linhas desta alteração
+      assertEquals(1, jdbcTemplate.queryForObject(
+          "SELECT COUNT(*) FROM notificacoes WHERE usuario_id = ? AND titulo = ?", Integer.class,
+          usuarioId, alteracao.getTitulo()));
+    }
+
+    disparoNotificacoesService.entregarAlteracaoSessao(alteracao);
+
+    long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (canalEmail.getEnviadas() - enviadasAntes < PORTADORES && System.nanoTime() < limite) {
+      Thread.sleep(20);
+    }
+    assertEquals(PORTADORES, canalEmail.getEnviadas() - enviadasAntes);
+  }
+
+  @Test
+  @DisplayName("Deve recusar a entrega com a fila do executor cheia, sem falhar o disparo")
+  void deveRecusarEntregaComFilaCheia() throws InterruptedException {
+    CountDownLatch liberar = new CountDownLatch(1);
+    ThreadPoolExecutor cheio = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+    try {
+      // Uma tarefa ocupa a thread e outra a única vaga da fila
+      for (int i = 0; i < 2; i++) {
+        cheio.execute(() -> {
+          try {
+            liberar.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
+      ReflectionTestUtils.setField(disparoNotificacoesService, "executorNotificacoes",
+          (Executor) cheio);
+
+      @SuppressWarnings("unchecked")
+      Map<Notificacao.Tipo, LongAdder> recusadas = (Map<Notificacao.Tipo, LongAdder>)
+          ReflectionTestUtils.getField(disparoNotificacoesService, "recusadas");
+      long recusadasAntes = recusadas.get(Notificacao.Tipo.EMAIL).sum();
+      long enviadasAntes = canalEmail.getEnviadas();
+
+      disparoNotificacoesService.entregarAlteracaoSessao(
+          new AlteracaoSessaoEvento(sessaoId, "Sessão cancelada", "Reembolso automático"));
+
+      assertEquals(recusadasAntes + 1, recusadas.get(Notificacao.Tipo.EMAIL).sum());
+      assertEquals(enviadasAntes, canalEmail.getEnviadas());
+    } finally {
+      liberar.countDown();
+      cheio.shutdown();
+      cheio.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import com.teatro.model.PontosFidelidade;
+import com.teatro.model.PontosFidelidade.TipoOperacao;
+import com.teatro.model.Usuario;
+import com.teatro.repository.PontosFidelidadeRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Confere o extrato de pontos com o saldo materializado: resgate sem saldo e estorno que deixa o
+ * saldo negativo
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FidelidadeServiceTest {
+
+  @Autowired
+  private FidelidadeService fidelidadeService;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private PontosFidelidadeRepository pontosFidelidadeRepository;
+
+  private Long usuarioId;
+
+  @BeforeEach
+  void preparar() {
+    long sufixo = System.nanoTime() % 1_000_000;
+    Usuario usuario = new Usuario();
+    usuario.setNome("Cliente fidelidade");
+    usuario.setCpf(String.format("%03d.%03d.%03d-%02d", sufixo % 1000, (sufixo / 1000) % 1000,
+        910, 22));
+    usuario.setEmail("cliente.fidelidade." + sufixo + "@teste.com");
+    usuario.setSenha("hash");
+    usuario.setDataCadastro(LocalDateTime.now());
+    usuarioId = usuarioRepository.save(usuario).getId();
+  }
+
+  @Test
+  @DisplayName("Deve recusar o resgate sem saldo suficiente sem alterar saldo nem extrato")
+  void deveRecusarResgateSemSaldo() {
+    fidelidadeService.ganhar(usuarioId, 20, "COMPRA", "Compra");
+
+    IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+        () -> fidelidadeService.resgatar(usuarioId, 21, "RESGATE", "Resgate"));
+
+    assertEquals("Saldo de pontos insuficiente", erro.getMessage());
+    assertEquals(20, fidelidadeService.consultarSaldo(usuarioId));
+    assertEquals(List.of(TipoOperacao.GANHO),
+        extrato().stream().map(PontosFidelidade::getTipoOperacao).toList());
+  }
+
+  @Test
+  @DisplayName("Deve estornar pontos já resgatados deixando o saldo negativo")
+  void deveEstornarParaSaldoNegativo() {
+    fidelidadeService.ganhar(usuarioId, 30, "COMPRA", "Compra");
+    fidelidadeService.resgatar(usuarioId, 30, "RESGATE", "Resgate");
+
+    assertEquals(-30, fidelidadeService.estornar(usuarioId, 30, "CANCELAMENTO", "Cancelamento"));
+
+    // Com saldo negativo nenhum resgate passa até um novo ganho cobrir o estorno
+    assertThrows(IllegalArgumentException.class,
+        () -> fidelidadeService.resgatar(usuarioId, 1, "RESGATE", "Resgate"));
+    assertEquals(10, fidelidadeService.ganhar(usuarioId, 40, "COMPRA", "Compra"));
+
+    List<PontosFidelidade> extrato = extrato();
+    assertEquals(4, extrato.size());
+    assertEquals(fidelidadeService.consultarSaldo(usuarioId), extrato.stream()
+        .mapToInt(lancamento -> lancamento.getTipoOperacao() == TipoOperacao.GANHO
+            ? lancamento.getPontos() : -lancamento.getPontos())
+        .sum());
+  }
+
+  private List<PontosFidelidade> extrato() {
+    return pontosFidelidadeRepository.findByUsuarioIdOrderByDataOperacaoDesc(usuarioId,
+        PageRequest.of(0, 10));
+  }
+}
@@ -0,0 +1,130 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import com.teatro.dto.NotificacaoDTO;
+import com.teatro.model.Notificacao;
+import com.teatro.model.Usuario;
+import com.teatro.repository.NotificacaoRepository;
+import com.teatro.repository.UsuarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Confere a caixa de entrada paginada por cursor e a marcação de todas como lidas num único UPDATE,
+ * sem carregar as notificações
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class NotificacaoServiceTest {
+
+  @Autowired
+  private NotificacaoService notificacaoService;
+
+  @Autowired
+  private NotificacaoRepository notificacaoRepository;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Usuario usuario;
+  private Usuario outro;
+  private final List<Long> ids = new ArrayList<>();
+
+  @BeforeEach
+  void preparar() {
+    long sufixo = System.nanoTime() % 1_000_000;
+    usuario = criarUsuario(sufixo, 1);
+    outro = criarUsuario(sufixo, 2);
+    for (int i = 0; i < 5; i++) {
+      ids.add(notificar(usuario, "Aviso " + i).getId());
+    }
+    notificar(outro, "Aviso de outro usuário");
+  }
+
+  @AfterEach
+  void desligarEstatisticas() {
+    estatisticas().setStatisticsEnabled(false);
+  }
+
+  @Test
+  @DisplayName("Deve percorrer a caixa de entrada por cursor, da mais recente para a mais antiga")
+  void devePaginarPorCursor() {
+    List<NotificacaoDTO> primeira = notificacaoService.listar(usuario.getId(), null, 2, false);
+    List<NotificacaoDTO> segunda = notificacaoService.listar(usuario.getId(),
+        primeira.get(primeira.size() - 1).getId(), 2, false);
+    List<NotificacaoDTO> terceira = notificacaoService.listar(usuario.getId(),
+        segunda.get(segunda.size() - 1).getId(), 2, false);
+
+    List<Long> percorridos = new ArrayList<>();
+    for (List<NotificacaoDTO> pagina : List.of(primeira, segunda, terceira)) {
+      pagina.forEach(notificacao -> percorridos.add(notificacao.getId()));
+    }
+    assertEquals(List.of(ids.get(4), ids.get(3), ids.get(2), ids.get(1), ids.get(0)),
+        percorridos);
+    assertTrue(notificacaoService.listar(usuario.getId(), ids.get(0), 2, false).isEmpty());
+
+    notificacaoService.marcarComoLida(usuario.getId(), ids.get(3));
+    assertEquals(List.of(ids.get(4), ids.get(2)),
+        notificacaoService.listar(usuario.getId(), null, 2, true).stream()
+            .map(NotificacaoDTO::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Deve marcar todas as notificações do usuário como lidas com um único UPDATE")
+  void deveMarcarTodasComUmUpdate() {
+    notificacaoService.marcarComoLida(usuario.getId(), ids.get(0));
+
+    Statistics estatisticas = estatisticas();
+    estatisticas.setStatisticsEnabled(true);
+    estatisticas.clear();
+
+    assertEquals(4, notificacaoService.marcarTodasComoLidas(usuario.getId()));
+
+    // Estatísticas da entidade, e não globais: as rotinas agendadas também usam o Hibernate
+    EntityStatistics notificacoes = estatisticas.getEntityStatistics(Notificacao.class.getName());
+    assertEquals(0, notificacoes.getLoadCount());
+    assertEquals(0, notificacoes.getUpdateCount());
+    assertTrue(Arrays.stream(estatisticas.getQueries())
+        .anyMatch(consulta -> consulta.startsWith("UPDATE Notificacao")));
+    assertEquals(0, notificacaoService.contarNaoLidas(usuario.getId()));
+    assertEquals(1, notificacaoService.contarNaoLidas(outro.getId()));
+  }
+
+  private Usuario criarUsuario(long sufixo, int indice) {
+    Usuario novo = new Usuario();
+    novo.setNome("Leitor " + indice);
+    novo.setCpf(String.format("%03d.%03d.%03d-%02d", sufixo % 1000, (sufixo / 1000) % 1000,
+        920 + indice, 33));
+    novo.setEmail("leitor" + indice + "." + sufixo + "@teste.com");
+    novo.setSenha("hash");
+    novo.setDataCadastro(LocalDateTime.now());
+    return usuarioRepository.save(novo);
+  }
+
+  private Notificacao notificar(Usuario destinatario, String titulo) {
+    Notificacao notificacao = Notificacao.notificacaoSistema(destinatario, titulo, "Mensagem");
+    notificacao.setDataEnvio(LocalDateTime.now());
+    return notificacaoRepository.save(notificacao);
+  }
+
+  private Statistics estatisticas() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+}
@@ -0,0 +1,223 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.teatro.dto.VendaIngressoEvento;
+import com.teatro.model.EventoOutbox;
+import com.teatro.model.EventoOutbox.Status;
+import com.teatro.model.EventoOutbox.Tipo;
+import com.teatro.model.Ingresso;
+import com.teatro.model.PontosFidelidade;
+import com.teatro.model.PontosFidelidade.TipoOperacao;
+import com.teatro.model.Usuario;
+import com.teatro.repository.EventoOutboxRepository;
+import com.teatro.repository.NotificacaoRepository;
+import com.teatro.repository.PontosFidelidadeRepository;
+import com.teatro.repository.UsuarioRepository;
+
+/**
+ * Confere o processamento de eventos do outbox: reserva, falha e nova tentativa, recusa do commit
+ * de uma reserva vencida e estorno dos pontos no cancelamento
+ *
+ * Os eventos são gravados já reservados por este teste, para que a varredura periódica não os
+ * despache por conta própria.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class OutboxServiceTest {
+
+  @Autowired
+  private OutboxService outboxService;
+
+  @Autowired
+  private PosCompraService posCompraService;
+
+  @Autowired
+  private EventoOutboxRepository eventoOutboxRepository;
+
+  @Autowired
+  private UsuarioRepository usuarioRepository;
+
+  @Autowired
+  private PontosFidelidadeRepository pontosFidelidadeRepository;
+
+  @Autowired
+  private NotificacaoRepository notificacaoRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  private OutboxService outbox;
+  private Object esperaInicialOriginal;
+  private Usuario usuario;
+  private final List<Long> eventos = new ArrayList<>();
+
+  @BeforeEach
+  void preparar() {
+    outbox = AopTestUtils.getUltimateTargetObject(outboxService);
+    // Sem isso o evento reagendado voltaria à varredura periódica durante o teste
+    esperaInicialOriginal = ReflectionTestUtils.getField(outbox, "esperaInicialMs");
+    ReflectionTestUtils.setField(outbox, "esperaInicialMs", 600_000L);
+
+    long sufixo = System.nanoTime() % 1_000_000;
+    usuario = new Usuario();
+    usuario.setNome("Cliente outbox");
+    usuario.setCpf(String.format("%03d.%03d.%03d-%02d", sufixo % 1000, (sufixo / 1000) % 1000,
+        900, 11));
+    usuario.setEmail("cliente.outbox." + sufixo + "@teste.com");
+    usuario.setSenha("hash");
+    usuario.setDataCadastro(LocalDateTime.now());
+    usuario = usuarioRepository.save(usuario);
+  }
+
+  @AfterEach
+  void restaurar() {
+    ReflectionTestUtils.setField(outbox, "esperaInicialMs", esperaInicialOriginal);
+    ReflectionTestUtils.setField(outbox, "posCompraService", posCompraService);
+    eventoOutboxRepository.deleteAllById(eventos);
+  }
+
+  @Test
+  @DisplayName("Deve reagendar o evento que falhou e concluí-lo na nova reserva")
+  void deveReagendarENovamenteProcessar() throws Exception {
+    EventoOutbox evento = gravarReservado(Tipo.COMPRA_INGRESSO, "{payload inválido", "reserva-1");
+
+    outbox.processar(evento.getId(), "reserva-1");
+
+    EventoOutbox reagendado = eventoOutboxRepository.findById(evento.getId()).orElseThrow();
+    assertEquals(Status.PENDENTE, reagendado.getStatus());
+    assertEquals(1, reagendado.getTentativas());
+    assertTrue(reagendado.getDisponivelEm().isAfter(LocalDateTime.now()));
+    assertTrue(reagendado.getUltimoErro().startsWith("IllegalStateException"));
+
+    reagendado.setPayload(payload(venda("OUT-1")));
+    eventoOutboxRepository.save(reagendado);
+    assertEquals(1, eventoOutboxRepository.reservar(evento.getId(), Status.PENDENTE,
+        Status.PROCESSANDO, LocalDateTime.now().plusMinutes(5), "reserva-2"));
+    // A reserva anterior não vale mais
+    outbox.processar(evento.getId(), "reserva-1");
+    assertEquals(Status.PROCESSANDO,
+        eventoOutboxRepository.findById(evento.getId()).orElseThrow().getStatus());
+
+    outbox.processar(evento.getId(), "reserva-2");
+
+    EventoOutbox concluido = eventoOutboxRepository.findById(evento.getId()).orElseThrow();
+    assertEquals(Status.CONCLUIDO, concluido.getStatus());
+    assertEquals(2, concluido.getTentativas());
+    assertNull(concluido.getUltimoErro());
+    assertEquals(50, saldo());
+  }
+
+  @Test
+  @DisplayName("Deve recusar o commit e desfazer os efeitos quando a reserva é tomada por outro")
+  void deveRecusarCommitComReservaVencida() throws Exception {
+    EventoOutbox evento =
+        gravarReservado(Tipo.COMPRA_INGRESSO, payload(venda("OUT-2")), "reserva-antiga");
+
+    // Durante o processamento a reserva vence e outro processador reserva o evento
+    PosCompraService espiao =
+        spy(AopTestUtils.<PosCompraService>getUltimateTargetObject(posCompraService));
+    doAnswer(invocacao -> {
+      invocacao.callRealMethod();
+      TransactionTemplate outroProcessador = new TransactionTemplate(transactionManager);
+      outroProcessador.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+      outroProcessador.executeWithoutResult(status -> {
+        EventoOutbox vencido = eventoOutboxRepository.findById(evento.getId()).orElseThrow();
+        vencido.setDisponivelEm(LocalDateTime.now().minusSeconds(1));
+        eventoOutboxRepository.saveAndFlush(vencido);
+        eventoOutboxRepository.liberarReservasVencidas(Status.PENDENTE, Status.PROCESSANDO,
+            LocalDateTime.now());
+        eventoOutboxRepository.reservar(evento.getId(), Status.PENDENTE, Status.PROCESSANDO,
+            LocalDateTime.now().plusMinutes(5), "reserva-nova");
+      });
+      return null;
+    }).when(espiao).aplicarCompra(any(), any());
+    ReflectionTestUtils.setField(outbox, "posCompraService", espiao);
+
+    outbox.processar(evento.getId(), "reserva-antiga");
+
+    EventoOutbox atual = eventoOutboxRepository.findById(evento.getId()).orElseThrow();
+    assertEquals(Status.PROCESSANDO, atual.getStatus());
+    assertEquals("reserva-nova", atual.getReserva());
+    assertEquals(0, atual.getTentativas());
+    assertEquals(0, saldo());
+    assertEquals(0, notificacaoRepository.countByUsuarioIdAndLidaFalse(usuario.getId()));
+  }
+
+  @Test
+  @DisplayName("Deve estornar no cancelamento os pontos creditados pela compra")
+  void deveEstornarPontosNoCancelamento() throws Exception {
+    VendaIngressoEvento venda = venda("OUT-3");
+    EventoOutbox compra = gravarReservado(Tipo.COMPRA_INGRESSO, payload(venda), "compra");
+    outbox.processar(compra.getId(), "compra");
+    assertEquals(50, saldo());
+
+    venda.setStatus(Ingresso.Status.CANCELADO);
+    EventoOutbox cancelamento =
+        gravarReservado(Tipo.CANCELAMENTO_INGRESSO, payload(venda), "cancelamento");
+    outbox.processar(cancelamento.getId(), "cancelamento");
+
+    assertEquals(Status.CONCLUIDO,
+        eventoOutboxRepository.findById(cancelamento.getId()).orElseThrow().getStatus());
+    assertEquals(0, saldo());
+    List<PontosFidelidade> extrato = pontosFidelidadeRepository
+        .findByUsuarioIdOrderByDataOperacaoDesc(usuario.getId(), PageRequest.of(0, 10));
+    assertEquals(2, extrato.size());
+    assertTrue(extrato.stream().anyMatch(lancamento -> lancamento.getTipoOperacao()
+        == TipoOperacao.ESTORNO && lancamento.getPontos() == 50));
+  }
+
+  private EventoOutbox gravarReservado(Tipo tipo, String payload, String reserva) {
+    EventoOutbox evento = new EventoOutbox(tipo, usuario.getId(), payload);
+    evento.setStatus(Status.PROCESSANDO);
+    evento.setReserva(reserva);
+    evento.setDisponivelEm(LocalDateTime.now().plusMinutes(5));
+    evento = eventoOutboxRepository.save(evento);
+    eventos.add(evento.getId());
+    return evento;
+  }
+
+  private VendaIngressoEvento venda(String codigo) {
+    VendaIngressoEvento venda = new VendaIngressoEvento();
+    venda.setCodigo(codigo);
+    venda.setUsuarioId(usuario.getId());
+    venda.setNumeroPoltrona(1);
+    venda.setStatus(Ingresso.Status.PAGO);
+    venda.setValor(new BigDecimal("50.00"));
+    venda.setDataCompra(LocalDateTime.now());
+    return venda;
+  }
+
+  private String payload(VendaIngressoEvento venda) throws Exception {
+    return objectMapper.writeValueAsString(venda);
+  }
+
+  private int saldo() {
+    return usuarioRepository.buscarSaldoPontos(usuario.getId()).orElseThrow();
+  }
+}
@@ -0,0 +1,95 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import com.teatro.model.Ingresso.Status;
+import com.teatro.model.VendaAgregada;
+import com.teatro.model.VendaAgregada.Granularidade;
+import com.teatro.repository.VendaAgregadaRepository;
+import com.teatro.service.PopularidadeService.Janela;
+import com.teatro.util.SpaceSaving;
+
+class PopularidadeServiceTest {
+
+  private final VendaAgregadaRepository repository = mock(VendaAgregadaRepository.class);
+
+  @Test
+  @DisplayName("Deve ordenar eventos e sessões pelas vendas da janela")
+  void deveOrdenarPorVendas() {
+    PopularidadeService popularidade = criar(List.of());
+    LocalDateTime agora = LocalDateTime.now();
+
+    popularidade.registrarVenda(1L, 10L, agora);
+    popularidade.registrarVenda(2L, 20L, agora);
+    popularidade.registrarVenda(2L, 21L, agora);
+
+    List<SpaceSaving.Contagem<Long>> eventos = popularidade.eventosPopulares(Janela.HORA, 5);
+    assertEquals(List.of(2L, 1L), eventos.stream().map(SpaceSaving.Contagem::getItem).toList());
+    assertEquals(2, eventos.get(0).getValor());
+    assertEquals(3, popularidade.sessoesPopulares(Janela.SEMANA, 5).size());
+  }
+
+  @Test
+  @DisplayName("Deve descontar o cancelamento da fatia da compra")
+  void deveDescontarCancelamento() {
+    PopularidadeService popularidade = criar(List.of());
+    LocalDateTime compra = LocalDateTime.now();
+
+    popularidade.registrarVenda(1L, 10L, compra);
+    popularidade.registrarVenda(1L, 10L, compra);
+    popularidade.registrarCancelamento(1L, 10L, compra);
+
+    assertEquals(1, popularidade.eventosPopulares(Janela.DIA, 5).get(0).getValor());
+    assertEquals(1, popularidade.sessoesPopulares(Janela.DIA, 5).get(0).getValor());
+  }
+
+  @Test
+  @DisplayName("Deve registrar a venda processada com atraso na fatia da compra")
+  void deveRegistrarVendaNaFatiaDaCompra() {
+    PopularidadeService popularidade = criar(List.of());
+
+    popularidade.registrarVenda(1L, 10L, LocalDateTime.now().minusHours(2));
+
+    assertTrue(popularidade.eventosPopulares(Janela.HORA, 5).isEmpty());
+    assertEquals(1, popularidade.eventosPopulares(Janela.DIA, 5).get(0).getValor());
+  }
+
+  @Test
+  @DisplayName("Deve recompor as janelas pelas vendas agregadas, sem os cancelados")
+  void deveRecomporPelasVendasAgregadas() {
+    LocalDateTime inicio = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    PopularidadeService popularidade = criar(List.of(bucket(inicio, 1L, Status.PAGO, 3),
+        bucket(inicio, 2L, Status.PAGO, 1), bucket(inicio, 2L, Status.CANCELADO, 5)));
+
+    List<SpaceSaving.Contagem<Long>> eventos = popularidade.eventosPopulares(Janela.HORA, 5);
+
+    assertEquals(List.of(1L, 2L), eventos.stream().map(SpaceSaving.Contagem::getItem).toList());
+    assertEquals(1, eventos.get(1).getValor());
+  }
+
+  private PopularidadeService criar(List<VendaAgregada> buckets) {
+    when(repository.findByInicioGreaterThanEqualOrderByInicio(any())).thenReturn(buckets);
+    PopularidadeService popularidade = new PopularidadeService();
+    ReflectionTestUtils.setField(popularidade, "vendaAgregadaRepository", repository);
+    ReflectionTestUtils.setField(popularidade, "capacidade", 10);
+    popularidade.inicializar();
+    return popularidade;
+  }
+
+  private static VendaAgregada bucket(LocalDateTime inicio, Long eventoId, Status status,
+      long quantidade) {
+    VendaAgregada bucket =
+        new VendaAgregada(Granularidade.MINUTO, inicio, eventoId, eventoId * 10, 1L, status);
+    bucket.setQuantidade(quantidade);
+    return bucket;
+  }
+}
@@ -0,0 +1,116 @@
+package com.teatro.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class SnapshotsEstatisticasServiceTest {
+
+  private static final long IDADE_MAXIMA_MS = 100;
+
+  private final SnapshotsEstatisticasService snapshots = new SnapshotsEstatisticasService();
+  private final PlatformTransactionManager transactionManager =
+      mock(PlatformTransactionManager.class);
+
+  @BeforeEach
+  void configurar() {
+    ReflectionTestUtils.setField(snapshots, "transactionManager", transactionManager);
+    ReflectionTestUtils.setField(snapshots, "idadeMaximaMs", IDADE_MAXIMA_MS);
+    ReflectionTestUtils.setField(snapshots, "ociosidadeMaximaMs", 60_000L);
+    snapshots.inicializar();
+  }
+
+  @AfterEach
+  void encerrar() {
+    snapshots.encerrar();
+  }
+
+  @Test
+  @DisplayName("Deve servir o snapshot calculado sem recalcular enquanto não vence")
+  void deveServirSnapshotExistente() {
+    AtomicInteger calculos = new AtomicInteger();
+
+    snapshots.obter("gerais", contador(calculos));
+    Map<String, Object> resposta = snapshots.obter("gerais", contador(calculos));
+
+    assertEquals(1, calculos.get());
+    assertEquals(1, resposta.get("valor"));
+  }
+
+  @Test
+  @DisplayName("Não deve guardar a chave quando o primeiro cálculo falha")
+  void naoDeveGuardarChaveQuandoPrimeiroCalculoFalha() {
+    assertThrows(IllegalStateException.class, () -> snapshots.obter("evento:999", () -> {
+      throw new IllegalStateException("Evento não encontrado");
+    }));
+
+    assertEquals(0, snapshots.solicitarAtualizacao());
+    assertEquals(7, snapshots.obter("evento:999", () -> Map.of("valor", 7)).get("valor"));
+  }
+
+  @Test
+  @DisplayName("Deve recalcular periodicamente apenas as chaves consultadas no último intervalo")
+  void deveRecalcularApenasChavesConsultadas() throws InterruptedException {
+    AtomicInteger lida = new AtomicInteger();
+    AtomicInteger ociosa = new AtomicInteger();
+    snapshots.obter("lida", contador(lida));
+    snapshots.obter("periodo:2024-01-01:2024-01-31", contador(ociosa));
+
+    Thread.sleep(IDADE_MAXIMA_MS + 50);
+    snapshots.obter("lida", contador(lida));
+    snapshots.atualizarPeriodicamente();
+    aguardar(() -> lida.get() >= 2);
+    snapshots.atualizarPeriodicamente();
+    Thread.sleep(50);
+
+    assertEquals(1, ociosa.get());
+  }
+
+  @Test
+  @DisplayName("Não deve trocar um snapshot completo por um recálculo parcial")
+  void deveManterSnapshotCompletoQuandoRecalculoParcial() throws InterruptedException {
+    AtomicInteger calculos = new AtomicInteger();
+    Supplier<Map<String, Object>> calculo = () -> calculos.incrementAndGet() == 1
+        ? Map.of("valor", 1, "parcial", false)
+        : Map.of("valor", 2, "parcial", true);
+    snapshots.obter("dashboard", calculo);
+
+    Thread.sleep(IDADE_MAXIMA_MS + 50);
+    snapshots.obter("dashboard", calculo);
+    aguardar(() -> calculos.get() >= 2);
+    Thread.sleep(50);
+
+    assertEquals(1, snapshots.obter("dashboard", calculo).get("valor"));
+  }
+
+  @Test
+  @DisplayName("Não deve abrir transação para cálculos que gerenciam as próprias")
+  void naoDeveAbrirTransacaoExterna() {
+    snapshots.obterComTransacaoPropria("dashboard", () -> Map.of("valor", 1));
+
+    verify(transactionManager, never()).getTransaction(any());
+  }
+
+  private static Supplier<Map<String, Object>> contador(AtomicInteger calculos) {
+    return () -> Map.of("valor", calculos.incrementAndGet());
+  }
+
+  private static void aguardar(Supplier<Boolean> condicao) throws InterruptedException {
+    long limite = System.currentTimeMillis() + 2_000;
+    while (!condicao.get() && System.currentTimeMillis() < limite) {
+      Thread.sleep(10);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.teatro.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.teatro.model.Ingresso.Status;
+import com.teatro.model.VendaAgregada;
+import com.teatro.model.VendaAgregada.Granularidade;
+import com.teatro.repository.VendaAgregadaRepository;
+
+class VendasAgregadasServiceTest {
+
+  private final VendaAgregadaRepository repository = mock(VendaAgregadaRepository.class);
+
+  @Test
+  @DisplayName("Deve compactar os minutos em lotes, uma transação por lote")
+  void deveCompactarEmLotes() {
+    TransactionTemplate transacoes = mock(TransactionTemplate.class);
+    when(transacoes.execute(any())).thenAnswer(
+        invocacao -> invocacao.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    VendasAgregadasService service = new VendasAgregadasService();
+    ReflectionTestUtils.setField(service, "vendaAgregadaRepository", repository);
+    ReflectionTestUtils.setField(service, "transactionTemplate", transacoes);
+    ReflectionTestUtils.setField(service, "loteCompactacao", 2);
+
+    LocalDateTime minuto = LocalDateTime.now().minusDays(1).truncatedTo(ChronoUnit.HOURS);
+    when(repository.findByGranularidadeAndInicioBeforeOrderById(eq(Granularidade.MINUTO), any(),
+        eq(PageRequest.of(0, 2)))).thenReturn(
+            List.of(minuto(minuto, 1L), minuto(minuto.plusMinutes(1), 2L)),
+            List.of(minuto(minuto.plusMinutes(2), 3L), minuto(minuto.plusMinutes(3), 4L)),
+            List.of(minuto(minuto.plusMinutes(4), 5L)));
+
+    service.compactar();
+
+    verify(repository, times(3)).findByGranularidadeAndInicioBeforeOrderById(
+        eq(Granularidade.MINUTO), any(), any());
+    verify(repository, times(3)).deleteAllInBatch(anyList());
+    verify(transacoes, times(4)).execute(any());
+  }
+
+  private static VendaAgregada minuto(LocalDateTime inicio, Long id) {
+    VendaAgregada linha =
+        new VendaAgregada(Granularidade.MINUTO, inicio, 1L, 10L, 100L, Status.PAGO);
+    linha.setId(id);
+    linha.setQuantidade(1L);
+    linha.setValorCentavos(5000L);
+    return linha;
+  }
+}
@@ -0,0 +1,100 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AnelMpscTest {
+
+  @Test
+  @DisplayName("Deve arredondar a capacidade e recusar quando cheio")
+  void deveRecusarQuandoCheio() {
+    assertEquals(2, new AnelMpsc<Integer>(1).capacidade());
+    AnelMpsc<Integer> anel = new AnelMpsc<>(3);
+    assertEquals(4, anel.capacidade());
+
+    for (int i = 0; i < 4; i++) {
+      assertTrue(anel.oferecer(i));
+    }
+    assertFalse(anel.oferecer(4));
+    assertEquals(4, anel.tamanho());
+
+    anel.drenar(elemento -> {
+    }, 1);
+    assertTrue(anel.oferecer(4));
+  }
+
+  @Test
+  @DisplayName("Deve entregar na ordem de publicação respeitando o máximo")
+  void deveEntregarEmOrdem() {
+    AnelMpsc<Integer> anel = new AnelMpsc<>(8);
+    for (int i = 0; i < 20; i++) {
+      anel.oferecer(i);
+      List<Integer> recebidos = new ArrayList<>();
+      anel.drenar(recebidos::add, 10);
+      assertEquals(List.of(i), recebidos);
+    }
+
+    for (int i = 0; i < 6; i++) {
+      anel.oferecer(i);
+    }
+    List<Integer> recebidos = new ArrayList<>();
+    assertEquals(4, anel.drenar(recebidos::add, 4));
+    assertEquals(List.of(0, 1, 2, 3), recebidos);
+    assertEquals(2, anel.drenar(recebidos::add, 4));
+    assertEquals(0, anel.tamanho());
+  }
+
+  @Test
+  @DisplayName("Deve entregar exatamente uma vez os elementos de vários produtores")
+  void deveSuportarVariosProdutores() throws InterruptedException {
+    int produtores = 4;
+    int porProdutor = 50_000;
+    AnelMpsc<Integer> anel = new AnelMpsc<>(1024);
+    ExecutorService executor = Executors.newFixedThreadPool(produtores);
+    CountDownLatch largada = new CountDownLatch(1);
+    for (int p = 0; p < produtores; p++) {
+      int base = p * porProdutor;
+      executor.execute(() -> {
+        try {
+          largada.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int i = 0; i < porProdutor; i++) {
+          while (!anel.oferecer(base + i)) {
+            Thread.onSpinWait();
+          }
+        }
+      });
+    }
+
+    boolean[] vistos = new boolean[produtores * porProdutor];
+    int[] ultimoPorProdutor = new int[produtores];
+    java.util.Arrays.fill(ultimoPorProdutor, -1);
+    int total = 0;
+    largada.countDown();
+    long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+    while (total < vistos.length && System.nanoTime() < limite) {
+      total += anel.drenar(valor -> {
+        assertFalse(vistos[valor]);
+        vistos[valor] = true;
+        int produtor = valor / porProdutor;
+        assertTrue(valor > ultimoPorProdutor[produtor]);
+        ultimoPorProdutor[produtor] = valor;
+      }, 256);
+    }
+    executor.shutdown();
+
+    assertEquals(vistos.length, total);
+  }
+}
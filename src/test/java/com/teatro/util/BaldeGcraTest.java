@@ -0,0 +1,46 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BaldeGcraTest {
+
+  private static final long INTERVALO = 1_000;
+  private static final long TOLERANCIA = INTERVALO * 4;
+
+  @Test
+  @DisplayName("Deve aceitar a rajada da capacidade e recusar a seguinte")
+  void deveLimitarRajada() {
+    BaldeGcra balde = new BaldeGcra(0);
+    for (int i = 0; i < 5; i++) {
+      assertEquals(0, balde.consumir(0, INTERVALO, TOLERANCIA));
+    }
+
+    long espera = balde.consumir(0, INTERVALO, TOLERANCIA);
+    assertEquals(INTERVALO, espera);
+  }
+
+  @Test
+  @DisplayName("Deve recarregar um token por intervalo")
+  void deveRecarregar() {
+    BaldeGcra balde = new BaldeGcra(0);
+    for (int i = 0; i < 5; i++) {
+      balde.consumir(0, INTERVALO, TOLERANCIA);
+    }
+
+    assertEquals(0, balde.consumir(INTERVALO, INTERVALO, TOLERANCIA));
+    assertTrue(balde.consumir(INTERVALO, INTERVALO, TOLERANCIA) > 0);
+  }
+
+  @Test
+  @DisplayName("Deve ficar ocioso depois de recarregar por completo")
+  void deveFicarOcioso() {
+    BaldeGcra balde = new BaldeGcra(0);
+    balde.consumir(0, INTERVALO, TOLERANCIA);
+
+    assertTrue(!balde.ocioso(INTERVALO));
+    assertTrue(balde.ocioso(INTERVALO + 1));
+  }
+}
@@ -0,0 +1,42 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CacheLimitadoTest {
+
+  @Test
+  @DisplayName("Deve descartar entradas vencidas na leitura")
+  void deveExpirarEntradas() {
+    CacheLimitado<String, String> cache = new CacheLimitado<>(10);
+    cache.guardar("a", "1", 1_000, 0);
+
+    assertEquals("1", cache.obter("a", 999));
+    assertNull(cache.obter("a", 1_000));
+    assertEquals(0, cache.tamanho());
+  }
+
+  @Test
+  @DisplayName("Não deve ultrapassar o tamanho máximo")
+  void deveRespeitarTamanhoMaximo() {
+    CacheLimitado<Integer, Integer> cache = new CacheLimitado<>(100);
+    for (int i = 0; i < 1_000; i++) {
+      cache.guardar(i, i, 10_000, 0);
+    }
+
+    assertTrue(cache.tamanho() <= 100);
+    assertEquals(999, cache.obter(999, 1));
+  }
+
+  @Test
+  @DisplayName("Deve ignorar entradas já vencidas")
+  void deveIgnorarEntradaVencida() {
+    CacheLimitado<String, String> cache = new CacheLimitado<>(10);
+    cache.guardar("a", "1", 500, 500);
+
+    assertNull(cache.obter("a", 0));
+  }
+}
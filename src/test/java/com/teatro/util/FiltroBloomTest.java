@@ -0,0 +1,41 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FiltroBloomTest {
+
+  @Test
+  @DisplayName("Não deve ter falsos negativos")
+  void naoDeveTerFalsosNegativos() {
+    FiltroBloom filtro = new FiltroBloom(1_000, 0.01);
+    String[] itens = new String[1_000];
+    for (int i = 0; i < itens.length; i++) {
+      itens[i] = UUID.randomUUID().toString();
+      filtro.adicionar(itens[i]);
+    }
+
+    for (String item : itens) {
+      assertTrue(filtro.podeConter(item));
+    }
+  }
+
+  @Test
+  @DisplayName("Deve manter a taxa de falsos positivos próxima da configurada")
+  void deveRespeitarTaxaDeFalsosPositivos() {
+    FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filtro.adicionar(UUID.randomUUID().toString());
+    }
+
+    int falsosPositivos = 0;
+    for (int i = 0; i < 100_000; i++) {
+      if (filtro.podeConter(UUID.randomUUID().toString())) {
+        falsosPositivos++;
+      }
+    }
+    assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+  }
+}
@@ -0,0 +1,47 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HistogramaLatenciaTest {
+
+  @Test
+  @DisplayName("Deve calcular percentis com erro relativo abaixo de 4%")
+  void deveCalcularPercentis() {
+    HistogramaLatencia histograma = new HistogramaLatencia();
+    for (long i = 1; i <= 10_000; i++) {
+      histograma.registrar(i * 1000);
+    }
+
+    HistogramaLatencia.Leitura leitura = histograma.ler();
+    assertEquals(10_000, leitura.getTotal());
+    assertEquals(10_000_000, leitura.getMaximo());
+    assertProximo(5_000_000, leitura.percentil(0.5));
+    assertProximo(9_900_000, leitura.percentil(0.99));
+    assertProximo(9_990_000, leitura.percentil(0.999));
+  }
+
+  @Test
+  @DisplayName("Deve posicionar cada valor em um bucket que o contém")
+  void deveRespeitarLimitesDosBuckets() {
+    long[] valores = {0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE};
+    for (long valor : valores) {
+      int indice = HistogramaLatencia.indice(valor);
+      assertTrue(HistogramaLatencia.limiteSuperior(indice) >= valor);
+      assertTrue(indice == 0 || HistogramaLatencia.limiteSuperior(indice - 1) < valor);
+    }
+  }
+
+  @Test
+  @DisplayName("Deve retornar zero quando vazio")
+  void deveRetornarZeroQuandoVazio() {
+    assertEquals(0, new HistogramaLatencia().ler().percentil(0.99));
+  }
+
+  private static void assertProximo(long esperado, long obtido) {
+    assertTrue(Math.abs(obtido - esperado) <= esperado * 0.04,
+        "esperado ~" + esperado + " mas foi " + obtido);
+  }
+}
@@ -0,0 +1,106 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTest {
+
+  @Test
+  @DisplayName("Deve contar valores pequenos de forma praticamente exata")
+  void deveContarPoucosValores() {
+    HyperLogLog hll = new HyperLogLog();
+    for (long i = 1; i <= 100; i++) {
+      hll.adicionar(i);
+      hll.adicionar(i);
+    }
+    assertTrue(Math.abs(hll.estimar() - 100) <= 5);
+  }
+
+  @Test
+  @DisplayName("Deve estimar grandes cardinalidades com erro abaixo de 5%")
+  void deveEstimarGrandesCardinalidades() {
+    HyperLogLog hll = new HyperLogLog();
+    for (long i = 1; i <= 200_000; i++) {
+      hll.adicionar(i);
+    }
+    assertTrue(Math.abs(hll.estimar() - 200_000) < 10_000);
+  }
+
+  @Test
+  @DisplayName("Deve mesclar esboços como união")
+  void deveMesclarEsbocos() {
+    HyperLogLog a = new HyperLogLog();
+    HyperLogLog b = new HyperLogLog();
+    for (long i = 1; i <= 3000; i++) {
+      a.adicionar(i);
+      b.adicionar(i + 1500);
+    }
+    a.mesclar(b);
+    assertTrue(Math.abs(a.estimar() - 4500) < 225);
+  }
+
+  @Test
+  @DisplayName("Deve preservar o estado ao serializar")
+  void deveSerializar() {
+    HyperLogLog hll = new HyperLogLog();
+    for (long i = 1; i <= 1000; i++) {
+      hll.adicionar(i);
+    }
+    assertEquals(hll.estimar(), HyperLogLog.deBytes(hll.paraBytes()).estimar());
+  }
+
+  @Test
+  @DisplayName("Deve serializar esboços de baixa cardinalidade na forma esparsa")
+  void deveSerializarEsparso() {
+    HyperLogLog hll = new HyperLogLog();
+    for (long i = 1; i <= 20; i++) {
+      hll.adicionar(i);
+    }
+
+    byte[] bytes = hll.paraBytes();
+
+    assertTrue(hll.isEsparso());
+    assertTrue(bytes.length <= 20 * 3);
+    HyperLogLog lido = HyperLogLog.deBytes(bytes);
+    assertTrue(lido.isEsparso());
+    assertEquals(hll.estimar(), lido.estimar());
+  }
+
+  @Test
+  @DisplayName("Deve passar para a forma densa sem perder registradores")
+  void deveConverterParaDenso() {
+    HyperLogLog esparso = new HyperLogLog();
+    HyperLogLog denso = new HyperLogLog();
+    for (long i = 1; i <= 3000; i++) {
+      esparso.adicionar(i);
+    }
+    for (long i = 3001; i <= 10_000; i++) {
+      denso.adicionar(i);
+    }
+    assertFalse(denso.isEsparso());
+
+    HyperLogLog uniao = HyperLogLog.deBytes(new HyperLogLog().paraBytes());
+    uniao.mesclar(esparso);
+    uniao.mesclar(denso);
+
+    assertEquals(HyperLogLog.TAMANHO, uniao.paraBytes().length);
+    assertTrue(Math.abs(uniao.estimar() - 10_000) < 500);
+  }
+
+  @Test
+  @DisplayName("Deve ler esboços densos gravados antes da forma esparsa")
+  void deveLerFormaDensa() {
+    byte[] gravado = new byte[HyperLogLog.TAMANHO];
+    gravado[7] = 3;
+
+    HyperLogLog hll = HyperLogLog.deBytes(gravado);
+
+    assertFalse(hll.isEsparso());
+    assertEquals(1, hll.estimar());
+    assertThrows(IllegalArgumentException.class, () -> HyperLogLog.deBytes(new byte[5]));
+  }
+}
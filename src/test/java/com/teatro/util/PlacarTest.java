@@ -0,0 +1,81 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PlacarTest {
+
+  @Test
+  @DisplayName("Deve ordenar por pontuação decrescente e desempatar pela chave")
+  void deveOrdenar() {
+    Placar<Long, String> placar = new Placar<>();
+    placar.colocar(3L, 4.0, "c");
+    placar.colocar(1L, 4.5, "a");
+    placar.colocar(2L, 4.0, "b");
+
+    assertEquals(List.of(1L, 2L, 3L), chaves(placar.pagina(0, 10)));
+    assertEquals(List.of(2L), chaves(placar.pagina(1, 1)));
+    assertEquals(List.of(), chaves(placar.pagina(5, 10)));
+  }
+
+  @Test
+  @DisplayName("Deve reposicionar a chave ao mudar a pontuação, sem duplicá-la")
+  void deveReposicionar() {
+    Placar<Long, String> placar = new Placar<>();
+    placar.colocar(1L, 5.0, "a");
+    placar.colocar(2L, 3.0, "b");
+
+    placar.colocar(2L, 4.8, "b2");
+    placar.colocar(2L, 5.5, "b3");
+
+    assertEquals(List.of(2L, 1L), chaves(placar.pagina(0, 10)));
+    assertEquals("b3", placar.obter(2L).getValor());
+    assertEquals(2, placar.tamanho());
+  }
+
+  @Test
+  @DisplayName("Deve remover a chave do placar")
+  void deveRemover() {
+    Placar<Long, String> placar = new Placar<>();
+    placar.colocar(1L, 5.0, "a");
+    placar.colocar(2L, 3.0, "b");
+
+    placar.remover(1L);
+    placar.remover(9L);
+
+    assertEquals(List.of(2L), chaves(placar.pagina(0, 10)));
+    assertNull(placar.obter(1L));
+    assertEquals(1, placar.tamanho());
+  }
+
+  @Test
+  @DisplayName("Deve manter uma entrada por chave sob alterações concorrentes")
+  void deveManterConsistenciaConcorrente() throws Exception {
+    Placar<Long, Integer> placar = new Placar<>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int t = 0; t < 4; t++) {
+      int semente = t;
+      executor.submit(() -> {
+        for (int i = 0; i < 10_000; i++) {
+          long chave = (i * 31L + semente) % 50;
+          placar.colocar(chave, (i * 7 + semente) % 97, i);
+        }
+      });
+    }
+    executor.shutdown();
+    executor.awaitTermination(30, TimeUnit.SECONDS);
+
+    assertEquals(50, placar.tamanho());
+    assertEquals(50, placar.pagina(0, 1000).size());
+  }
+
+  private static List<Long> chaves(List<? extends Placar.Entrada<Long, ?>> entradas) {
+    return entradas.stream().map(Placar.Entrada::getChave).toList();
+  }
+}
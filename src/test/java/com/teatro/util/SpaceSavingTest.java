@@ -0,0 +1,56 @@
+package com.teatro.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingTest {
+
+  @Test
+  @DisplayName("Deve manter os itens mais frequentes com capacidade limitada")
+  void deveManterItensMaisFrequentes() {
+    SpaceSaving<Long> topK = new SpaceSaving<>(4);
+    for (int i = 0; i < 100; i++) {
+      topK.adicionar(1L, 3);
+      topK.adicionar(2L, 2);
+      // Itens raros disputam as posições restantes
+      topK.adicionar(1000L + i, 1);
+    }
+
+    // Total de 600: itens acima de 600/4 ficam garantidamente na tabela
+    List<SpaceSaving.Contagem<Long>> topo = topK.topo(2);
+    assertEquals(1L, topo.get(0).getItem());
+    assertTrue(topo.get(0).getValor() - topo.get(0).getErro() <= 300);
+    assertTrue(topo.get(0).getValor() >= 300);
+    assertEquals(2L, topo.get(1).getItem());
+    assertTrue(topo.get(1).getValor() - topo.get(1).getErro() <= 200);
+    assertTrue(topo.get(1).getValor() >= 200);
+  }
+
+  @Test
+  @DisplayName("Deve descartar fatias que saíram da janela")
+  void deveDescartarFatiasAntigas() {
+    JanelaTopK<Long> janela = new JanelaTopK<>(3, 1000, 10);
+    janela.adicionar(1L, 5, 0);
+    janela.adicionar(2L, 2, 2500);
+
+    assertEquals(1L, janela.topo(1, 2999).get(0).getItem());
+    List<SpaceSaving.Contagem<Long>> depois = janela.topo(5, 3000);
+    assertEquals(1, depois.size());
+    assertEquals(2L, depois.get(0).getItem());
+  }
+
+  @Test
+  @DisplayName("Deve somar as fatias da janela")
+  void deveSomarFatias() {
+    JanelaTopK<Long> janela = new JanelaTopK<>(4, 1000, 10);
+    janela.adicionar(1L, 1, 100);
+    janela.adicionar(1L, 1, 1100);
+    janela.adicionar(1L, 1, 2100);
+    janela.subtrair(1L, 1, 2200);
+
+    assertEquals(2, janela.topo(1, 2500).get(0).getValor());
+  }
+}
@@ -0,0 +1,229 @@
+-- Esquema gerado pelo ddl-auto (Hibernate 6.3, MySQL8Dialect) a partir das entidades do commit
+-- anterior às migrações, exportado sem alterações, mais alguns dados. Usado por
+-- MigracoesFlywayTest para conferir a atualização de um banco existente pelo Flyway.
+
+
+    create table areas (
+        ativo bit not null,
+        capacidade_total integer not null,
+        preco decimal(10,2) not null,
+        data_atualizacao datetime(6),
+        data_criacao datetime(6) not null,
+        id bigint not null auto_increment,
+        nome varchar(50) not null,
+        descricao TEXT,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table avaliacoes (
+        nota integer not null,
+        data_avaliacao datetime(6) not null,
+        id bigint not null auto_increment,
+        sessao_id bigint not null,
+        usuario_id bigint not null,
+        comentario TEXT,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table eventos (
+        ativo bit not null,
+        duracao_minutos integer,
+        data_atualizacao datetime(6),
+        data_criacao datetime(6) not null,
+        id bigint not null auto_increment,
+        nome varchar(100) not null,
+        classificacao_indicativa varchar(255),
+        descricao TEXT,
+        poster varchar(255),
+        url_poster varchar(255),
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table ingressos (
+        numero_poltrona integer not null,
+        valor decimal(10,2) not null,
+        area_id bigint not null,
+        data_atualizacao datetime(6),
+        data_compra datetime(6) not null,
+        id bigint not null auto_increment,
+        sessao_id bigint not null,
+        usuario_id bigint not null,
+        codigo varchar(50) not null,
+        status enum ('RESERVADO','PAGO','CANCELADO','UTILIZADO') not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table notificacoes (
+        lida bit not null,
+        data_envio datetime(6) not null,
+        data_leitura datetime(6),
+        id bigint not null auto_increment,
+        usuario_id bigint not null,
+        titulo varchar(100) not null,
+        dados_extras JSON,
+        mensagem TEXT not null,
+        tipo enum ('EMAIL','SMS','PUSH','SISTEMA') not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table pontos_fidelidade (
+        pontos integer not null,
+        data_operacao datetime(6) not null,
+        id bigint not null auto_increment,
+        usuario_id bigint not null,
+        origem varchar(100),
+        descricao TEXT,
+        tipo_operacao enum ('GANHO','RESGATE','EXPIRACAO') not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table reservas (
+        numero_poltrona integer not null,
+        area_id bigint not null,
+        data_reserva datetime(6) not null,
+        expira_em datetime(6) not null,
+        id bigint not null auto_increment,
+        sessao_id bigint not null,
+        usuario_id bigint not null,
+        status enum ('ATIVA','EXPIRADA','CONVERTIDA','CANCELADA') not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table sessoes (
+        ativa bit not null,
+        data_sessao date not null,
+        horario time(6) not null,
+        data_atualizacao datetime(6),
+        data_criacao datetime(6) not null,
+        evento_id bigint not null,
+        id bigint not null auto_increment,
+        nome varchar(100),
+        tipo_sessao enum ('MANHA','TARDE','NOITE') not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    create table sessoes_areas (
+        area_id bigint not null,
+        sessao_id bigint not null
+    ) engine=InnoDB;
+
+    create table usuarios (
+        ativo bit not null,
+        data_atualizacao datetime(6),
+        data_cadastro datetime(6) not null,
+        id bigint not null auto_increment,
+        cpf varchar(14) not null,
+        telefone varchar(20),
+        email varchar(100) not null,
+        nome varchar(100) not null,
+        endereco varchar(200),
+        senha varchar(255) not null,
+        tipo_usuario enum ('ADMIN','COMUM') not null,
+        primary key (id)
+    ) engine=InnoDB;
+
+    alter table ingressos 
+       add constraint UK_av00mwbsnkcj5svtow6um7nn8 unique (codigo);
+
+    alter table usuarios 
+       add constraint UK_2et2smpfrtsohr7w9fe1v8a5e unique (cpf);
+
+    alter table usuarios 
+       add constraint UK_kfsp0s1tflm1cwlj8idhqsad0 unique (email);
+
+    alter table avaliacoes 
+       add constraint FKi18h9teaqvryaq0xiok17uuoe 
+       foreign key (sessao_id) 
+       references sessoes (id);
+
+    alter table avaliacoes 
+       add constraint FKss4928rp8e299uvvhaf2yaxon 
+       foreign key (usuario_id) 
+       references usuarios (id);
+
+    alter table ingressos 
+       add constraint FKkchu9kw47i5fdl3sfqjdbnosr 
+       foreign key (area_id) 
+       references areas (id);
+
+    alter table ingressos 
+       add constraint FKkdr4gifdue3kmn4m0w4vy6nlt 
+       foreign key (sessao_id) 
+       references sessoes (id);
+
+    alter table ingressos 
+       add constraint FKpibim0ooaf5yu4krkrw2657a7 
+       foreign key (usuario_id) 
+       references usuarios (id);
+
+    alter table notificacoes 
+       add constraint FK3jcnk0ggmxklk5sjxm2plk5ml 
+       foreign key (usuario_id) 
+       references usuarios (id);
+
+    alter table pontos_fidelidade 
+       add constraint FKrxo6h3r78lwikq8c09rsj52ho 
+       foreign key (usuario_id) 
+       references usuarios (id);
+
+    alter table reservas 
+       add constraint FK2lbwgqmgrblvc2ok3qk1538w8 
+       foreign key (area_id) 
+       references areas (id);
+
+    alter table reservas 
+       add constraint FKh6xnkxd3avaf38o5a215aewnp 
+       foreign key (sessao_id) 
+       references sessoes (id);
+
+    alter table reservas 
+       add constraint FKcfh7qcr7oxomqk5hhbxdg2m7p 
+       foreign key (usuario_id) 
+       references usuarios (id);
+
+    alter table sessoes 
+       add constraint FKgkyy0mo0xrlf9lo7iyluplcyn 
+       foreign key (evento_id) 
+       references eventos (id);
+
+    alter table sessoes_areas 
+       add constraint FKo5h3d3qj20qo69y5jy8ma3htv 
+       foreign key (area_id) 
+       references areas (id);
+
+    alter table sessoes_areas 
+       add constraint FK13jer431juxaouvdpv3g2rafo 
+       foreign key (sessao_id) 
+       references sessoes (id);
+
+    insert into usuarios (id, nome, cpf, email, senha, tipo_usuario, ativo, data_cadastro)
+    values (1, 'Ana', '111.111.111-11', 'ana@teste.com', 'x', 'COMUM', 1, '2024-01-10 10:00:00'),
+           (2, 'Bruno', '222.222.222-22', 'bruno@teste.com', 'x', 'ADMIN', 1, '2024-01-10 10:00:00');
+
+    insert into eventos (id, nome, ativo, data_criacao)
+    values (1, 'Hamlet', 1, '2024-01-10 10:00:00');
+
+    insert into sessoes (id, nome, tipo_sessao, data_sessao, horario, ativa, evento_id, data_criacao)
+    values (1, 'Sessão Noite', 'NOITE', '2024-02-01', '19:30:00', 1, 1, '2024-01-10 10:00:00');
+
+    insert into areas (id, nome, preco, capacidade_total, ativo, data_criacao)
+    values (1, 'Plateia A', 50.00, 100, 1, '2024-01-10 10:00:00');
+
+    insert into sessoes_areas (sessao_id, area_id) values (1, 1);
+
+    insert into ingressos (id, usuario_id, sessao_id, area_id, numero_poltrona, valor, codigo, status, data_compra)
+    values (1, 1, 1, 1, 10, 50.00, 'ING-LEGADO1', 'PAGO', '2024-01-15 12:00:00'),
+           (2, 2, 1, 1, 11, 50.00, 'ING-LEGADO2', 'PAGO', '2024-01-15 12:05:00');
+
+    insert into pontos_fidelidade (id, usuario_id, pontos, tipo_operacao, origem, data_operacao)
+    values (1, 1, 50, 'GANHO', 'COMPRA_INGRESSO', '2024-01-15 12:00:00'),
+           (2, 1, 20, 'RESGATE', 'RESGATE', '2024-01-20 12:00:00'),
+           (3, 2, 50, 'GANHO', 'COMPRA_INGRESSO', '2024-01-15 12:05:00');
+
+    insert into avaliacoes (id, usuario_id, sessao_id, nota, data_avaliacao)
+    values (1, 1, 1, 4, '2024-02-02 10:00:00'),
+           (2, 2, 1, 5, '2024-02-02 11:00:00'),
+           (3, 1, 1, 2, '2024-02-02 12:00:00');
+
+    insert into notificacoes (id, usuario_id, tipo, titulo, mensagem, lida, data_envio)
+    values (1, 1, 'SISTEMA', 'Compra confirmada', 'Ingresso ING-LEGADO1', 0, '2024-01-15 12:00:00');